@@ -18,11 +18,12 @@ package com.stackify.api;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import lombok.AllArgsConstructor;
-import lombok.Builder;
+import lombok.AccessLevel;
 import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.Setter;
+import lombok.ToString;
 
 import java.util.List;
 import java.util.UUID;
@@ -32,9 +33,6 @@ import java.util.UUID;
  *
  * @author Eric Martin
  */
-@AllArgsConstructor
-@NoArgsConstructor
-@Builder(builderClassName = "Builder", builderMethodName = "newBuilder", toBuilder = true)
 @Data
 @JsonInclude(JsonInclude.Include.NON_NULL)
 @JsonIgnoreProperties(ignoreUnknown = true)
@@ -97,11 +95,12 @@ public class LogMsg {
     private Integer srcLine;
 
     /**
-     * The log message id
+     * The log message id (text form, built from the compact form or generated on first use)
      */
-    @lombok.Builder.Default
     @JsonProperty("id")
-    private String id = UUID.randomUUID().toString();
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private String id;
 
     /**
      * List of Tags
@@ -109,5 +108,156 @@ public class LogMsg {
     @JsonProperty("Tags")
     private List<String> tags;
 
+    /**
+     * Compact form of the id (most significant bits)
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private long idHigh;
+
+    /**
+     * Compact form of the id (least significant bits)
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private long idLow;
+
+    /**
+     * True if the id is held in its compact form
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private boolean compactId;
+
+    /**
+     * Constructor
+     */
+    public LogMsg() {
+    }
+
+    /**
+     * Constructor
+     *
+     * @param msg       The log message
+     * @param data      Extra contextual data from the log message
+     * @param ex        The error/exception details
+     * @param th        The thread name
+     * @param epochMs   Unix timestamp of the log message
+     * @param level     Log level of the message
+     * @param transId   Transaction id
+     * @param srcMethod Source method name
+     * @param srcLine   Source line number
+     * @param id        The log message id (assigned when the message is queued, or generated when first read, if null)
+     * @param tags      List of Tags
+     */
+    @lombok.Builder(builderClassName = "Builder", builderMethodName = "newBuilder", toBuilder = true)
+    public LogMsg(final String msg,
+                  final String data,
+                  final StackifyError ex,
+                  final String th,
+                  final Long epochMs,
+                  final String level,
+                  final String transId,
+                  final String srcMethod,
+                  final Integer srcLine,
+                  @lombok.Builder.ObtainVia(method = "getId") final String id,
+                  final List<String> tags) {
+        this.msg = msg;
+        this.data = data;
+        this.ex = ex;
+        this.th = th;
+        this.epochMs = epochMs;
+        this.level = level;
+        this.transId = transId;
+        this.srcMethod = srcMethod;
+        this.srcLine = srcLine;
+        this.id = id;
+        this.tags = tags;
+    }
+
+    /**
+     * Gets the log message id. Messages queued by LogCollector get a compact id; a message serialized or sent without
+     * one gets a random id, generated lazily on the first read.
+     *
+     * @return The log message id
+     */
+    public String getId() {
+        if (id == null) {
+            id = compactId ? formatId(idHigh, idLow) : UUID.randomUUID().toString();
+        }
+
+        return id;
+    }
+
+    /**
+     * @return True if the log message has an id (in its text or compact form), without generating one
+     */
+    public boolean hasId() {
+        return id != null || compactId;
+    }
+
+    /**
+     * Sets the log message id
+     *
+     * @param id The log message id
+     */
+    public void setId(final String id) {
+        this.id = id;
+        this.compactId = false;
+    }
 
+    /**
+     * Sets the log message id in its compact form. The text form (formatted like a UUID) is only built when the id
+     * is read, which normally happens when the message is encoded on the background thread.
+     *
+     * @param high Most significant bits
+     * @param low  Least significant bits
+     */
+    public void setId(final long high, final long low) {
+        this.id = null;
+        this.idHigh = high;
+        this.idLow = low;
+        this.compactId = true;
+    }
+
+    /**
+     * Formats the id like a UUID (8-4-4-4-12 hex digits)
+     *
+     * @param high Most significant bits
+     * @param low  Least significant bits
+     * @return The text form of the id
+     */
+    private static String formatId(final long high, final long low) {
+        char[] chars = new char[36];
+        hex(chars, 0, high >>> 32, 8);
+        chars[8] = '-';
+        hex(chars, 9, high >>> 16, 4);
+        chars[13] = '-';
+        hex(chars, 14, high, 4);
+        chars[18] = '-';
+        hex(chars, 19, low >>> 48, 4);
+        chars[23] = '-';
+        hex(chars, 24, low, 12);
+        return new String(chars);
+    }
+
+    /**
+     * Writes the low digits of the value as lower case hex
+     *
+     * @param chars  Destination
+     * @param offset Offset of the first digit
+     * @param value  The value
+     * @param digits Number of digits
+     */
+    private static void hex(final char[] chars, final int offset, final long value, final int digits) {
+        for (int i = digits - 1; 0 <= i; --i) {
+            chars[offset + i] = Character.forDigit((int) ((value >>> ((digits - 1 - i) * 4)) & 0xF), 16);
+        }
+    }
 }
@@ -35,6 +35,17 @@ public class ApiConfiguration {
 
     private static final String DEFAULT_TRANSPORT = TRANSPORT_DIRECT;
     private static final String DEFAULT_AGENT_SOCKET_PATH_UNIX = "/usr/local/stackify/stackify.sock";
+    private static final String DEFAULT_LOG_QUEUE_OVERFLOW = "drop_oldest";
+    private static final long DEFAULT_LOG_QUEUE_BLOCK_MILLIS = 10;
+    private static final int DEFAULT_LOG_QUEUE_ERROR_CAPACITY = 1000;
+    private static final int DEFAULT_LOG_BATCH_MAX_MESSAGES = 100;
+    private static final long DEFAULT_LOG_BATCH_MAX_BYTES = 1048576;
+    private static final long DEFAULT_LOG_BATCH_MAX_LINGER_MILLIS = 0;
+    private static final int DEFAULT_LOG_SEND_MAX_IN_FLIGHT = 2;
+    private static final long DEFAULT_LOG_RESEND_MAX_BYTES = 8388608;
+    private static final int DEFAULT_ERROR_GOVERNOR_LIMIT = 100;
+    private static final long DEFAULT_ERROR_GOVERNOR_WINDOW_MILLIS = 60000;
+    private static final long DEFAULT_ERROR_SERVER_VARIABLES_INTERVAL_MILLIS = 3600000;
 
     /**
      * Default API URL
@@ -88,6 +99,170 @@ public class ApiConfiguration {
 
     private final String transport;
 
+    /**
+     * Log queue overflow strategy: drop_oldest (default), drop_newest or block
+     */
+    private final String logQueueOverflow;
+
+    /**
+     * Max time (milliseconds) a logging thread waits for room in the log queue when the overflow strategy is block
+     */
+    private final Long logQueueBlockMillis;
+
+    /**
+     * Max number of error messages waiting to be sent, held apart from the other levels so they are not evicted by them
+     */
+    private final Integer logQueueErrorCapacity;
+
+    /**
+     * Max number of log messages sent in a single request
+     */
+    private final Integer logBatchMaxMessages;
+
+    /**
+     * Max estimated size (bytes, before compression) of the log messages sent in a single request
+     */
+    private final Long logBatchMaxBytes;
+
+    /**
+     * Max time (milliseconds) a batch under the size limits is held back waiting for more log messages
+     */
+    private final Long logBatchMaxLingerMillis;
+
+    /**
+     * Max number of log message groups being sent at the same time (each on its own sender thread)
+     */
+    private final Integer logSendMaxInFlight;
+
+    /**
+     * Max total size (bytes) of the encoded log message groups waiting to be resent after a failed send
+     */
+    private final Long logResendMaxBytes;
+
+    /**
+     * Buffer appends in per-thread stripes that are published to the log queue in chunks
+     */
+    private final Boolean logStripedAppend;
+
+    /**
+     * Convert log events to log messages (stack traces, error governor) on the background thread instead of the
+     * logging thread
+     */
+    private final Boolean logAsyncEnrichment;
+
+    /**
+     * Recycle log events and log messages instead of allocating new ones for every append
+     */
+    private final Boolean logGarbageFree;
+
+    /**
+     * Only send logging from these logger prefixes (comma separated), ie) com.acme,org.example.app
+     */
+    private final String logFilterInclude;
+
+    /**
+     * Drop logging from these logger prefixes (comma separated), ie) org.hibernate,org.apache.http
+     */
+    private final String logFilterExclude;
+
+    /**
+     * Global minimum log level, ie) info
+     */
+    private final String logFilterMinLevel;
+
+    /**
+     * Minimum log level by logger prefix (comma separated), ie) org.springframework=warn,com.acme.noisy=error
+     */
+    private final String logFilterLevels;
+
+    /**
+     * Probability (0 to 1) that a non-error log message is kept
+     */
+    private final Double logSampleRate;
+
+    /**
+     * Sample on the transaction id so a transaction's messages are kept or dropped together (default true)
+     */
+    private final Boolean logSampleConsistent;
+
+    /**
+     * Max non-error log messages per second by level (comma separated), ie) debug=10,info=100
+     */
+    private final String logSampleLevels;
+
+    /**
+     * Max non-error log messages per second from each logger
+     */
+    private final Double logSampleLoggerRate;
+
+    /**
+     * True to capture the caller location (source method and line) of direct log messages at every level, not only
+     * errors
+     */
+    private final Boolean logCallerLocation;
+
+    /**
+     * Window (milliseconds) in which identical log messages are folded into one counted message, 0 to disable
+     */
+    private final Long logCoalesceWindowMillis;
+
+    /**
+     * Error governor mode: exact (default, one counter per distinct error) or sketch (fixed memory, approximate counts
+     * and a top errors view)
+     */
+    private final String errorGovernorMode;
+
+    /**
+     * Number of occurrences of a distinct error sent per error governor window (token bucket burst)
+     */
+    private final Integer errorGovernorLimit;
+
+    /**
+     * Error governor window (milliseconds): the limit refills over it and suppressed errors are summarized once per it
+     */
+    private final Long errorGovernorWindowMillis;
+
+    /**
+     * Server variables mode: always (default, with every error), fingerprint (once per interval per distinct error) or
+     * app (once per interval per application)
+     */
+    private final String errorServerVariables;
+
+    /**
+     * Interval (milliseconds) between two errors sent with server variables when they are not always sent
+     */
+    private final Long errorServerVariablesIntervalMillis;
+
+    /**
+     * Comma separated allowlist of the request headers attached to errors (all when not set)
+     */
+    private final String errorWebRequestHeaders;
+
+    /**
+     * Comma separated allowlist of the request cookies attached to errors (all when not set)
+     */
+    private final String errorWebRequestCookies;
+
+    /**
+     * Comma separated allowlist of the query string parameters attached to errors (all when not set)
+     */
+    private final String errorWebRequestQueryString;
+
+    /**
+     * Maximum number of frames kept per throwable in the causal chain, 0 (default) for no limit
+     */
+    private final Integer errorStackTraceMaxFrames;
+
+    /**
+     * True to elide the frames a cause shares with the trace of the throwable it caused (the JDK's "... N more")
+     */
+    private final Boolean errorStackTraceElideCommonFrames;
+
+    /**
+     * Comma separated package prefixes whose runs of consecutive frames are folded into a single frame
+     */
+    private final String errorStackTraceFoldPackages;
+
     /**
      * @return the apiUrl
      */
@@ -99,6 +274,50 @@ public class ApiConfiguration {
         return transport != null ? transport : DEFAULT_TRANSPORT;
     }
 
+    public String getLogQueueOverflow() {
+        return logQueueOverflow != null ? logQueueOverflow : DEFAULT_LOG_QUEUE_OVERFLOW;
+    }
+
+    public Long getLogQueueBlockMillis() {
+        return logQueueBlockMillis != null ? logQueueBlockMillis : DEFAULT_LOG_QUEUE_BLOCK_MILLIS;
+    }
+
+    public Integer getLogQueueErrorCapacity() {
+        return logQueueErrorCapacity != null ? logQueueErrorCapacity : DEFAULT_LOG_QUEUE_ERROR_CAPACITY;
+    }
+
+    public Integer getLogBatchMaxMessages() {
+        return logBatchMaxMessages != null ? logBatchMaxMessages : DEFAULT_LOG_BATCH_MAX_MESSAGES;
+    }
+
+    public Long getLogBatchMaxBytes() {
+        return logBatchMaxBytes != null ? logBatchMaxBytes : DEFAULT_LOG_BATCH_MAX_BYTES;
+    }
+
+    public Long getLogBatchMaxLingerMillis() {
+        return logBatchMaxLingerMillis != null ? logBatchMaxLingerMillis : DEFAULT_LOG_BATCH_MAX_LINGER_MILLIS;
+    }
+
+    public Integer getLogSendMaxInFlight() {
+        return logSendMaxInFlight != null ? logSendMaxInFlight : DEFAULT_LOG_SEND_MAX_IN_FLIGHT;
+    }
+
+    public Long getLogResendMaxBytes() {
+        return logResendMaxBytes != null ? logResendMaxBytes : DEFAULT_LOG_RESEND_MAX_BYTES;
+    }
+
+    public Integer getErrorGovernorLimit() {
+        return errorGovernorLimit != null ? errorGovernorLimit : DEFAULT_ERROR_GOVERNOR_LIMIT;
+    }
+
+    public Long getErrorGovernorWindowMillis() {
+        return errorGovernorWindowMillis != null ? errorGovernorWindowMillis : DEFAULT_ERROR_GOVERNOR_WINDOW_MILLIS;
+    }
+
+    public Long getErrorServerVariablesIntervalMillis() {
+        return errorServerVariablesIntervalMillis != null ? errorServerVariablesIntervalMillis : DEFAULT_ERROR_SERVER_VARIABLES_INTERVAL_MILLIS;
+    }
+
     public String getAgentSocketPath() {
         return DEFAULT_AGENT_SOCKET_PATH_UNIX;
     }
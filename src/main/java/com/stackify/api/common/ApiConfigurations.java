@@ -115,7 +115,102 @@ public class ApiConfigurations {
                 skipJson = Boolean.parseBoolean(properties.get("stackify.skipJson"));
             }
 
+            String logQueueOverflow = properties.get("stackify.log.queue.overflow");
+
+            Long logQueueBlockMillis = null;
+            if (properties.containsKey("stackify.log.queue.blockMillis")) {
+                logQueueBlockMillis = Long.parseLong(properties.get("stackify.log.queue.blockMillis"));
+            }
+
+            boolean logStripedAppend = false;
+            if (properties.containsKey("stackify.log.striped")) {
+                logStripedAppend = Boolean.parseBoolean(properties.get("stackify.log.striped"));
+            }
+
+            boolean logAsyncEnrichment = false;
+            if (properties.containsKey("stackify.log.asyncEnrichment")) {
+                logAsyncEnrichment = Boolean.parseBoolean(properties.get("stackify.log.asyncEnrichment"));
+            }
+
+            boolean logGarbageFree = false;
+            if (properties.containsKey("stackify.log.garbageFree")) {
+                logGarbageFree = Boolean.parseBoolean(properties.get("stackify.log.garbageFree"));
+            }
+
+            builder.logFilterInclude(properties.get("stackify.log.filter.include"));
+            builder.logFilterExclude(properties.get("stackify.log.filter.exclude"));
+            builder.logFilterMinLevel(properties.get("stackify.log.filter.minLevel"));
+            builder.logFilterLevels(properties.get("stackify.log.filter.levels"));
+
+            if (properties.containsKey("stackify.log.sample.rate")) {
+                builder.logSampleRate(Double.parseDouble(properties.get("stackify.log.sample.rate")));
+            }
+            if (properties.containsKey("stackify.log.sample.consistent")) {
+                builder.logSampleConsistent(Boolean.parseBoolean(properties.get("stackify.log.sample.consistent")));
+            }
+            if (properties.containsKey("stackify.log.sample.loggerRate")) {
+                builder.logSampleLoggerRate(Double.parseDouble(properties.get("stackify.log.sample.loggerRate")));
+            }
+            builder.logSampleLevels(properties.get("stackify.log.sample.levels"));
+
+            if (properties.containsKey("stackify.log.callerLocation")) {
+                builder.logCallerLocation(Boolean.parseBoolean(properties.get("stackify.log.callerLocation")));
+            }
+            if (properties.containsKey("stackify.log.coalesce.windowMillis")) {
+                builder.logCoalesceWindowMillis(Long.parseLong(properties.get("stackify.log.coalesce.windowMillis")));
+            }
+            if (properties.containsKey("stackify.log.queue.errorCapacity")) {
+                builder.logQueueErrorCapacity(Integer.parseInt(properties.get("stackify.log.queue.errorCapacity")));
+            }
+            if (properties.containsKey("stackify.log.batch.maxMessages")) {
+                builder.logBatchMaxMessages(Integer.parseInt(properties.get("stackify.log.batch.maxMessages")));
+            }
+            if (properties.containsKey("stackify.log.batch.maxBytes")) {
+                builder.logBatchMaxBytes(Long.parseLong(properties.get("stackify.log.batch.maxBytes")));
+            }
+            if (properties.containsKey("stackify.log.batch.maxLingerMillis")) {
+                builder.logBatchMaxLingerMillis(Long.parseLong(properties.get("stackify.log.batch.maxLingerMillis")));
+            }
+            if (properties.containsKey("stackify.log.send.maxInFlight")) {
+                builder.logSendMaxInFlight(Integer.parseInt(properties.get("stackify.log.send.maxInFlight")));
+            }
+            if (properties.containsKey("stackify.log.resend.maxBytes")) {
+                builder.logResendMaxBytes(Long.parseLong(properties.get("stackify.log.resend.maxBytes")));
+            }
+
+            builder.errorGovernorMode(properties.get("stackify.error.governor"));
+
+            if (properties.containsKey("stackify.error.governor.limit")) {
+                builder.errorGovernorLimit(Integer.parseInt(properties.get("stackify.error.governor.limit")));
+            }
+            if (properties.containsKey("stackify.error.governor.windowMillis")) {
+                builder.errorGovernorWindowMillis(Long.parseLong(properties.get("stackify.error.governor.windowMillis")));
+            }
+
+            builder.errorServerVariables(properties.get("stackify.error.serverVariables"));
+
+            if (properties.containsKey("stackify.error.serverVariables.intervalMillis")) {
+                builder.errorServerVariablesIntervalMillis(Long.parseLong(properties.get("stackify.error.serverVariables.intervalMillis")));
+            }
+
+            builder.errorWebRequestHeaders(properties.get("stackify.error.webRequest.headers"));
+            builder.errorWebRequestCookies(properties.get("stackify.error.webRequest.cookies"));
+            builder.errorWebRequestQueryString(properties.get("stackify.error.webRequest.queryString"));
+
+            if (properties.containsKey("stackify.error.stackTrace.maxFrames")) {
+                builder.errorStackTraceMaxFrames(Integer.parseInt(properties.get("stackify.error.stackTrace.maxFrames")));
+            }
+            if (properties.containsKey("stackify.error.stackTrace.elideCommonFrames")) {
+                builder.errorStackTraceElideCommonFrames(Boolean.parseBoolean(properties.get("stackify.error.stackTrace.elideCommonFrames")));
+            }
+            builder.errorStackTraceFoldPackages(properties.get("stackify.error.stackTrace.foldPackages"));
+
             builder.transport(transport);
+            builder.logStripedAppend(logStripedAppend);
+            builder.logAsyncEnrichment(logAsyncEnrichment);
+            builder.logGarbageFree(logGarbageFree);
+            builder.logQueueOverflow(logQueueOverflow);
+            builder.logQueueBlockMillis(logQueueBlockMillis);
             builder.httpProxyHost(httpProxyHost);
             builder.httpProxyPort(httpProxyPort);
             builder.apiUrl(apiUrl);
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 Stackify
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stackify.api.common.codec;
+
+/**
+ * Fingerprints
+ * <p>
+ * Non-cryptographic 64 bit fingerprints (FNV-1a over the chars, finished with the MurmurHash3 finalizer). Computed
+ * directly over the inputs, without building an intermediate string or byte array.
+ */
+public class Fingerprints {
+
+    /**
+     * FNV-1a 64 bit offset basis
+     */
+    public static final long SEED = 0xcbf29ce484222325L;
+
+    /**
+     * FNV-1a 64 bit prime
+     */
+    private static final long PRIME = 0x100000001b3L;
+
+    /**
+     * Folded in for a null value so it differs from "null" and from the empty string
+     */
+    private static final long NULL_MARKER = 0x9e3779b97f4a7c15L;
+
+    /**
+     * Fingerprints the values (order matters)
+     * @param a First value (can be null)
+     * @param b Second value (can be null)
+     * @param c Third value (can be null)
+     * @return The fingerprint
+     */
+    public static long fingerprint(final CharSequence a, final CharSequence b, final CharSequence c) {
+        return mix(hash(hash(hash(SEED, a), b), c));
+    }
+
+    /**
+     * Folds a value into a running hash. The length is folded in as well so the boundaries between values matter.
+     * @param hash The running hash (start with {@link #SEED})
+     * @param value The value (can be null)
+     * @return The updated running hash
+     */
+    public static long hash(final long hash, final CharSequence value) {
+        long h = hash;
+
+        if (value == null) {
+            return (h ^ NULL_MARKER) * PRIME;
+        }
+
+        int length = value.length();
+
+        for (int i = 0; i < length; ++i) {
+            h = (h ^ value.charAt(i)) * PRIME;
+        }
+
+        return (h ^ length) * PRIME;
+    }
+
+    /**
+     * Folds a value into a running hash
+     * @param hash The running hash (start with {@link #SEED})
+     * @param value The value
+     * @return The updated running hash
+     */
+    public static long hash(final long hash, final long value) {
+        return (hash ^ value) * PRIME;
+    }
+
+    /**
+     * Spreads the bits of a hash code (64 bit finalizer of MurmurHash3)
+     * @param hash The hash code
+     * @return The mixed hash
+     */
+    public static long mix(final long hash) {
+        long h = hash;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * Hidden to prevent construction
+     */
+    private Fingerprints() {
+        // do nothing
+    }
+}
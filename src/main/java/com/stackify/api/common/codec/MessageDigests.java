@@ -18,8 +18,6 @@ package com.stackify.api.common.codec;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 
-import javax.xml.bind.DatatypeConverter;
-
 /**
  * Utility class for functions on MessageDigest objects
  * 
@@ -27,6 +25,26 @@ import javax.xml.bind.DatatypeConverter;
  */
 public class MessageDigests {
 
+	/**
+	 * Upper case hex digits
+	 */
+	private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+	/**
+	 * Per thread MD5 digest (MessageDigest is not thread safe and expensive to look up)
+	 */
+	private static final ThreadLocal<MessageDigest> MD5 = new ThreadLocal<MessageDigest>() {
+		@Override
+		protected MessageDigest initialValue() {
+			try {
+				return MessageDigest.getInstance("MD5");
+			} catch (NoSuchAlgorithmException e) {
+				// this should never happen
+				throw new RuntimeException(e);
+			}
+		}
+	};
+
     /**
      * Generates an MD5 hash hex string for the input string
      * @param input The input string
@@ -37,19 +55,30 @@ public class MessageDigests {
 			throw new NullPointerException("String is null");
 		}
 
-    	MessageDigest digest = null;
-    	
-    	try {
-    		digest = MessageDigest.getInstance("MD5");
-    	} catch (NoSuchAlgorithmException e) {
-    		// this should never happen
-    		throw new RuntimeException(e);
-    	}
+    	MessageDigest digest = MD5.get();
+    	digest.reset();
         
         byte[] hash = digest.digest(input.getBytes());
         
-        return DatatypeConverter.printHexBinary(hash);
+        return toHex(hash);
     }
+
+	/**
+	 * Encodes the bytes as an upper case hex string
+	 * @param bytes The bytes
+	 * @return Hex string
+	 */
+	public static String toHex(final byte[] bytes) {
+		char[] hex = new char[bytes.length * 2];
+
+		for (int i = 0; i < bytes.length; ++i) {
+			int b = bytes[i] & 0xFF;
+			hex[i * 2] = HEX_DIGITS[b >>> 4];
+			hex[i * 2 + 1] = HEX_DIGITS[b & 0x0F];
+		}
+
+		return new String(hex);
+	}
 	
 	/**
 	 * Hidden to prevent construction
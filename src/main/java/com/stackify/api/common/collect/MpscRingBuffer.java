@@ -0,0 +1,405 @@
+/*
+ * Copyright 2026 Stackify
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stackify.api.common.collect;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import com.stackify.api.common.util.Preconditions;
+
+/**
+ * MpscRingBuffer
+ * <p>
+ * Bounded, lock-free ring buffer for many producer threads and a single draining thread. Each slot carries a
+ * sequence number so producers and the consumer coordinate with one CAS on the tail or head position instead of a
+ * monitor. When the buffer is full the configured {@link OverflowStrategy} decides what is dropped, and every drop is
+ * counted.
+ * <p>
+ * The consumer side is also safe for concurrent use, which lets a producer evict the oldest element itself under
+ * {@link OverflowStrategy#DROP_OLDEST}.
+ */
+public class MpscRingBuffer<E> implements Sink<E> {
+
+    /**
+     * Longest single park while waiting for room under {@link OverflowStrategy#BLOCK}
+     */
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * Maximum number of elements
+     */
+    private final int capacity;
+
+    /**
+     * Element slots
+     */
+    private final AtomicReferenceArray<E> buffer;
+
+    /**
+     * Per slot sequence numbers
+     */
+    private final AtomicLongArray sequences;
+
+    /**
+     * Next position to be written
+     */
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * Next position to be read
+     */
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * What to do when the buffer is full
+     */
+    private final OverflowStrategy overflowStrategy;
+
+    /**
+     * Wait budget for {@link OverflowStrategy#BLOCK} (nanoseconds)
+     */
+    private final long blockNanos;
+
+    /**
+     * Number of old elements evicted to make room
+     */
+    private final LongAdder droppedOldest = new LongAdder();
+
+    /**
+     * Number of new elements rejected
+     */
+    private final LongAdder droppedNewest = new LongAdder();
+
+    /**
+     * Constructor
+     * @param capacity Maximum number of elements
+     */
+    public MpscRingBuffer(final int capacity) {
+        this(capacity, OverflowStrategy.DROP_OLDEST, 0);
+    }
+
+    /**
+     * Constructor
+     * @param capacity Maximum number of elements (at least 2, a single slot cannot tell full from empty)
+     * @param overflowStrategy What to do when the buffer is full
+     * @param blockNanos Wait budget for {@link OverflowStrategy#BLOCK} (nanoseconds)
+     */
+    public MpscRingBuffer(final int capacity, final OverflowStrategy overflowStrategy, final long blockNanos) {
+        Preconditions.checkArgument(1 < capacity);
+        Preconditions.checkNotNull(overflowStrategy);
+        Preconditions.checkArgument(0 <= blockNanos);
+
+        this.capacity = capacity;
+        this.buffer = new AtomicReferenceArray<E>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        this.overflowStrategy = overflowStrategy;
+        this.blockNanos = blockNanos;
+
+        for (int i = 0; i < capacity; ++i) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Adds the element, applying the overflow strategy when the buffer is full
+     * @param e The element
+     * @return True if the element was added, false if it was dropped
+     */
+    @Override
+    public boolean offer(final E e) {
+        return offer(e, blockNanos);
+    }
+
+    /**
+     * Adds the element, applying the overflow strategy when the buffer is full
+     * @param e The element
+     * @param waitNanos Wait budget (nanoseconds) used instead of the configured one under {@link OverflowStrategy#BLOCK}
+     * @return True if the element was added, false if it was dropped
+     */
+    public boolean offer(final E e, final long waitNanos) {
+        Preconditions.checkNotNull(e);
+
+        if (tryOffer(e)) {
+            return true;
+        }
+
+        switch (overflowStrategy) {
+            case DROP_OLDEST:
+                while (!tryOffer(e)) {
+                    if (poll() != null) {
+                        droppedOldest.increment();
+                    }
+                }
+                return true;
+            case BLOCK:
+                if (awaitOffer(e, waitNanos)) {
+                    return true;
+                }
+                droppedNewest.increment();
+                return false;
+            default:
+                droppedNewest.increment();
+                return false;
+        }
+    }
+
+    /**
+     * Adds the elements, claiming a range of slots with a single CAS on the tail position for as many as fit. Never
+     * waits: under {@link OverflowStrategy#DROP_OLDEST} the oldest elements are evicted to make room, otherwise the
+     * elements that do not fit are rejected.
+     * @param elements The elements
+     * @param count Number of elements, from the start of the array
+     * @return The number of elements added (each cleared from the array)
+     */
+    @Override
+    public int offerAll(final E[] elements, final int count) {
+        Preconditions.checkNotNull(elements);
+        Preconditions.checkArgument(0 <= count && count <= elements.length);
+
+        int added = 0;
+
+        while (added < count) {
+            long pos = tail.get();
+            long free = capacity - (pos - head.get());
+
+            if (free <= 0) {
+                if (overflowStrategy == OverflowStrategy.DROP_OLDEST) {
+                    if (poll() != null) {
+                        droppedOldest.increment();
+                    }
+                    continue;
+                }
+                break;
+            }
+
+            int n = (int) Math.min(free, count - added);
+
+            if (!tail.compareAndSet(pos, pos + n)) {
+                continue;
+            }
+
+            for (int k = 0; k < n; ++k) {
+                long slot = pos + k;
+                int index = index(slot);
+
+                // the slot's previous element has been claimed by the consumer, wait until it is released
+
+                while (sequences.get(index) != slot) {
+                    Thread.yield();
+                }
+
+                buffer.lazySet(index, elements[added + k]);
+                sequences.set(index, slot + 1);
+                elements[added + k] = null;
+            }
+
+            added += n;
+        }
+
+        droppedNewest.add(count - added);
+        return added;
+    }
+
+    /**
+     * Adds the element, first waiting up to the wait budget for room whatever the overflow strategy, then applying
+     * the overflow strategy (without further waiting)
+     * @param e The element
+     * @param waitNanos Wait budget (nanoseconds)
+     * @return True if the element was added, false if it was dropped
+     */
+    public boolean offerWithin(final E e, final long waitNanos) {
+        Preconditions.checkNotNull(e);
+
+        if (tryOffer(e) || awaitOffer(e, waitNanos)) {
+            return true;
+        }
+
+        return offer(e, 0);
+    }
+
+    /**
+     * Removes the oldest element
+     * @return The oldest element or null if the buffer is empty
+     */
+    public E poll() {
+        long pos = head.get();
+
+        for (;;) {
+            int index = index(pos);
+            long dif = sequences.get(index) - (pos + 1);
+
+            if (dif == 0) {
+                if (head.compareAndSet(pos, pos + 1)) {
+                    E e = buffer.get(index);
+                    buffer.lazySet(index, null);
+                    sequences.set(index, pos + capacity);
+                    return e;
+                }
+                pos = head.get();
+            } else if (dif < 0) {
+                return null;
+            } else {
+                pos = head.get();
+            }
+        }
+    }
+
+    /**
+     * Removes up to max elements (oldest first) and adds them to the batch
+     * @param batch Destination of the removed elements
+     * @param max Maximum number of elements to remove
+     * @return The number of elements removed
+     */
+    public int drainTo(final Collection<? super E> batch, final int max) {
+        Preconditions.checkNotNull(batch);
+
+        int drained = 0;
+
+        while (drained < max) {
+            E e = poll();
+
+            if (e == null) {
+                break;
+            }
+
+            batch.add(e);
+            ++drained;
+        }
+
+        return drained;
+    }
+
+    /**
+     * @return Approximate number of elements in the buffer
+     */
+    public int size() {
+        long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+
+    /**
+     * @return True if the buffer is (approximately) empty
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return the overflowStrategy
+     */
+    public OverflowStrategy getOverflowStrategy() {
+        return overflowStrategy;
+    }
+
+    /**
+     * @return Number of old elements evicted to make room for new ones
+     */
+    public long getDroppedOldestCount() {
+        return droppedOldest.sum();
+    }
+
+    /**
+     * @return Number of new elements rejected because the buffer was full
+     */
+    public long getDroppedNewestCount() {
+        return droppedNewest.sum();
+    }
+
+    /**
+     * @return Total number of dropped elements
+     */
+    public long getDroppedCount() {
+        return getDroppedOldestCount() + getDroppedNewestCount();
+    }
+
+    /**
+     * Single attempt to add the element
+     * @param e The element
+     * @return True if added, false if the buffer is full
+     */
+    private boolean tryOffer(final E e) {
+        long pos = tail.get();
+
+        for (;;) {
+            int index = index(pos);
+            long dif = sequences.get(index) - pos;
+
+            if (dif == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    buffer.lazySet(index, e);
+                    sequences.set(index, pos + 1);
+                    return true;
+                }
+                pos = tail.get();
+            } else if (dif < 0) {
+                return false;
+            } else {
+                pos = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Retries adding the element with a growing back off until the wait budget runs out
+     * @param e The element
+     * @param waitNanos Wait budget (nanoseconds)
+     * @return True if added, false if the budget ran out
+     */
+    private boolean awaitOffer(final E e, final long waitNanos) {
+        if (waitNanos <= 0) {
+            return false;
+        }
+
+        long deadline = System.nanoTime() + waitNanos;
+        long parkNanos = 1000;
+
+        for (;;) {
+            long remaining = deadline - System.nanoTime();
+
+            if (remaining <= 0) {
+                return false;
+            }
+
+            LockSupport.parkNanos(Math.min(parkNanos, remaining));
+
+            if (tryOffer(e)) {
+                return true;
+            }
+
+            parkNanos = Math.min(parkNanos * 2, MAX_PARK_NANOS);
+        }
+    }
+
+    /**
+     * @param pos Position
+     * @return Slot index for the position
+     */
+    private int index(final long pos) {
+        return (int) (pos % capacity);
+    }
+}
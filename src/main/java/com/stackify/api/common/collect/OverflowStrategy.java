@@ -0,0 +1,58 @@
+/*
+ * Copyright 2026 Stackify
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stackify.api.common.collect;
+
+/**
+ * OverflowStrategy
+ * <p>
+ * What a bounded buffer does with a new element when it is full
+ */
+public enum OverflowStrategy {
+
+    /**
+     * Evict the oldest element to make room for the new one
+     */
+    DROP_OLDEST,
+
+    /**
+     * Reject the new element
+     */
+    DROP_NEWEST,
+
+    /**
+     * Wait (bounded) for room, then reject the new element
+     */
+    BLOCK;
+
+    /**
+     * Parses a configuration value (case insensitive, ie. drop_oldest)
+     *
+     * @param value        The configured value (can be null)
+     * @param defaultValue Returned when the value is null or unknown
+     * @return The overflow strategy
+     */
+    public static OverflowStrategy fromString(final String value, final OverflowStrategy defaultValue) {
+        if (value != null) {
+            for (OverflowStrategy strategy : values()) {
+                if (strategy.name().equalsIgnoreCase(value.trim())) {
+                    return strategy;
+                }
+            }
+        }
+
+        return defaultValue;
+    }
+}
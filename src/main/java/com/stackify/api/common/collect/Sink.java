@@ -0,0 +1,41 @@
+/*
+ * Copyright 2026 Stackify
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stackify.api.common.collect;
+
+/**
+ * Sink
+ * <p>
+ * Destination of the elements a buffer publishes
+ */
+public interface Sink<E> {
+
+    /**
+     * Adds the element
+     * @param e The element
+     * @return True if the element was added, false if it was dropped
+     */
+    boolean offer(E e);
+
+    /**
+     * Moves a chunk of elements into the sink, in order, without ever waiting for room (whatever the overflow
+     * strategy): elements that do not fit are dropped, and counted as such by the sink. Each element added is
+     * cleared from the array, so the elements left in it are the ones dropped.
+     * @param elements The elements
+     * @param count Number of elements, from the start of the array
+     * @return The number of elements added
+     */
+    int offerAll(E[] elements, int count);
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2026 Stackify
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stackify.api.common.collect;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntFunction;
+
+import com.stackify.api.common.util.Preconditions;
+
+/**
+ * StripedBuffer
+ * <p>
+ * Spreads producers over a set of small stripe buffers so concurrent threads do not contend on the shared ring
+ * buffer for every element. Each thread sticks to a stripe (moving to another one when it finds its stripe busy) and
+ * a stripe is published to the shared buffer in one chunk once it fills up, with a single claim of the room in the
+ * shared buffer. {@link #publish()} moves everything that is still sitting in the stripes and must be called before
+ * draining the shared buffer and on shut down.
+ * <p>
+ * Publishing never waits for room, whatever the overflow strategy of the shared buffer (the draining thread publishes
+ * too): the elements that do not fit are dropped and counted by the shared buffer.
+ */
+public class StripedBuffer<E> {
+
+    /**
+     * Upper bound on the number of stripes
+     */
+    private static final int MAX_STRIPES = 64;
+
+    /**
+     * Per thread stripe probe (hash)
+     */
+    private static final ThreadLocal<int[]> PROBE = new ThreadLocal<int[]>() {
+        @Override
+        protected int[] initialValue() {
+            return new int[]{ThreadLocalRandom.current().nextInt() | 1};
+        }
+    };
+
+    /**
+     * The stripes
+     */
+    private final Stripe<E>[] stripes;
+
+    /**
+     * Shared buffer the stripes are published to
+     */
+    private final Sink<E> sink;
+
+    /**
+     * Constructor
+     * @param sink Shared buffer the stripes are published to
+     * @param arrayFactory Allocates the element array of a stripe (e.g. String[]::new)
+     * @param chunkSize Number of elements a stripe holds before it is published
+     */
+    public StripedBuffer(final Sink<E> sink, final IntFunction<E[]> arrayFactory, final int chunkSize) {
+        this(sink, arrayFactory, chunkSize, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor
+     * @param sink Shared buffer the stripes are published to
+     * @param arrayFactory Allocates the element array of a stripe (e.g. String[]::new)
+     * @param chunkSize Number of elements a stripe holds before it is published
+     * @param parallelism Expected number of concurrent producers (rounded up to a power of two)
+     */
+    @SuppressWarnings("unchecked")
+    public StripedBuffer(final Sink<E> sink, final IntFunction<E[]> arrayFactory, final int chunkSize, final int parallelism) {
+        Preconditions.checkNotNull(sink);
+        Preconditions.checkNotNull(arrayFactory);
+        Preconditions.checkArgument(0 < chunkSize);
+        Preconditions.checkArgument(0 < parallelism);
+
+        int count = 1;
+
+        while (count < parallelism && count < MAX_STRIPES) {
+            count <<= 1;
+        }
+
+        this.sink = sink;
+        this.stripes = new Stripe[count];
+
+        for (int i = 0; i < count; ++i) {
+            stripes[i] = new Stripe<E>(arrayFactory.apply(chunkSize));
+        }
+    }
+
+    /**
+     * Adds the element to the calling thread's stripe, publishing the stripe when it is full. Falls back to the
+     * shared buffer when every stripe is busy.
+     * @param e The element
+     * @return True if the element was accepted, false if it was dropped (it completed its stripe and did not fit in
+     * the shared buffer)
+     */
+    public boolean offer(final E e) {
+        Preconditions.checkNotNull(e);
+
+        int[] probe = PROBE.get();
+        int h = probe[0];
+        int mask = stripes.length - 1;
+
+        for (int attempt = 0; attempt < stripes.length; ++attempt) {
+            Stripe<E> stripe = stripes[h & mask];
+
+            if (stripe.lock.tryLock()) {
+                try {
+                    stripe.elements[stripe.size++] = e;
+
+                    if (stripe.size == stripe.elements.length) {
+                        return publish(stripe);
+                    }
+
+                    return true;
+                } finally {
+                    stripe.lock.unlock();
+                }
+            }
+
+            // contended, move this thread to another stripe (xorshift)
+
+            h ^= h << 13;
+            h ^= h >>> 17;
+            h ^= h << 5;
+            probe[0] = h;
+        }
+
+        return sink.offer(e);
+    }
+
+    /**
+     * Publishes the contents of every stripe to the shared buffer
+     */
+    public void publish() {
+        for (Stripe<E> stripe : stripes) {
+            stripe.lock.lock();
+
+            try {
+                publish(stripe);
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * @return the number of stripes
+     */
+    public int getStripeCount() {
+        return stripes.length;
+    }
+
+    /**
+     * Moves the stripe's elements to the shared buffer in one chunk (caller holds the stripe lock)
+     * @param stripe The stripe
+     * @return True if the last element of the stripe was added, false if it was dropped
+     */
+    private boolean publish(final Stripe<E> stripe) {
+        int size = stripe.size;
+
+        if (size == 0) {
+            return true;
+        }
+
+        sink.offerAll(stripe.elements, size);
+
+        // the elements left in the stripe were dropped
+
+        boolean lastAdded = stripe.elements[size - 1] == null;
+
+        Arrays.fill(stripe.elements, 0, size, null);
+        stripe.size = 0;
+
+        return lastAdded;
+    }
+
+    /**
+     * Stripe
+     */
+    private static class Stripe<E> {
+
+        /**
+         * Guards the stripe
+         */
+        private final ReentrantLock lock = new ReentrantLock();
+
+        /**
+         * Buffered elements
+         */
+        private final E[] elements;
+
+        /**
+         * Number of buffered elements
+         */
+        private int size;
+
+        /**
+         * Constructor
+         * @param elements Element array (its length is the stripe capacity)
+         */
+        private Stripe(final E[] elements) {
+            this.elements = elements;
+        }
+    }
+}
@@ -0,0 +1,316 @@
+/*
+ * Copyright 2026 Stackify
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stackify.api.common.collect;
+
+import com.stackify.api.common.util.Preconditions;
+
+/**
+ * StripedLongMap
+ * <p>
+ * Thread safe map from primitive long keys to values. The key space is split over a fixed number of segments, each an
+ * open addressing (linear probing) table guarded by its own monitor, so there is no global lock and no boxing of the
+ * keys. Keys are expected to be well mixed hashes (fingerprints). Null values are not allowed.
+ */
+public class StripedLongMap<V> {
+
+    /**
+     * Number of segments (power of two)
+     */
+    private static final int SEGMENTS = 16;
+
+    /**
+     * Initial number of slots in a segment (power of two)
+     */
+    private static final int INITIAL_SEGMENT_CAPACITY = 16;
+
+    /**
+     * The segments
+     */
+    private final Segment<V>[] segments;
+
+    /**
+     * Constructor
+     */
+    @SuppressWarnings("unchecked")
+    public StripedLongMap() {
+        segments = new Segment[SEGMENTS];
+
+        for (int i = 0; i < SEGMENTS; ++i) {
+            segments[i] = new Segment<V>();
+        }
+    }
+
+    /**
+     * @param key The key
+     * @return The value mapped to the key or null
+     */
+    public V get(final long key) {
+        Segment<V> segment = segmentFor(key);
+
+        synchronized (segment) {
+            return segment.get(key);
+        }
+    }
+
+    /**
+     * Maps the key to the value unless it is already mapped
+     * @param key The key
+     * @param value The value
+     * @return The existing value or null if the value was added
+     */
+    public V putIfAbsent(final long key, final V value) {
+        Preconditions.checkNotNull(value);
+
+        Segment<V> segment = segmentFor(key);
+
+        synchronized (segment) {
+            V existing = segment.get(key);
+
+            if (existing != null) {
+                return existing;
+            }
+
+            segment.put(key, value);
+            return null;
+        }
+    }
+
+    /**
+     * Removes the key only if it is mapped to the value (identity)
+     * @param key The key
+     * @param value The expected value
+     * @return True if the entry was removed
+     */
+    public boolean remove(final long key, final V value) {
+        Segment<V> segment = segmentFor(key);
+
+        synchronized (segment) {
+            return segment.remove(key, value);
+        }
+    }
+
+    /**
+     * Removes the entries the visitor selects. Each segment is visited under its monitor, so the visitor should be
+     * quick and must not call back into the map.
+     * @param visitor Selects the entries to remove
+     * @return The number of entries removed
+     */
+    public int removeIf(final EntryVisitor<V> visitor) {
+        Preconditions.checkNotNull(visitor);
+
+        int removed = 0;
+
+        for (Segment<V> segment : segments) {
+            synchronized (segment) {
+                removed += segment.removeIf(visitor);
+            }
+        }
+
+        return removed;
+    }
+
+    /**
+     * @return The number of entries
+     */
+    public int size() {
+        int size = 0;
+
+        for (Segment<V> segment : segments) {
+            synchronized (segment) {
+                size += segment.size;
+            }
+        }
+
+        return size;
+    }
+
+    /**
+     * @param key The key
+     * @return The segment owning the key (selected by the high bits, the low bits pick the slot)
+     */
+    private Segment<V> segmentFor(final long key) {
+        return segments[(int) (key >>> 60) & (SEGMENTS - 1)];
+    }
+
+    /**
+     * Visits the entries of the map
+     */
+    public interface EntryVisitor<V> {
+
+        /**
+         * @param key The key
+         * @param value The value
+         * @return True to remove the entry
+         */
+        boolean remove(long key, V value);
+    }
+
+    /**
+     * Open addressing table, callers hold the segment monitor
+     */
+    private static class Segment<V> {
+
+        /**
+         * Keys
+         */
+        private long[] keys = new long[INITIAL_SEGMENT_CAPACITY];
+
+        /**
+         * Values (null marks a free slot)
+         */
+        private Object[] values = new Object[INITIAL_SEGMENT_CAPACITY];
+
+        /**
+         * Number of entries
+         */
+        private int size;
+
+        /**
+         * @param key The key
+         * @return The value or null
+         */
+        @SuppressWarnings("unchecked")
+        private V get(final long key) {
+            int mask = keys.length - 1;
+
+            for (int i = index(key, mask); values[i] != null; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return (V) values[i];
+                }
+            }
+
+            return null;
+        }
+
+        /**
+         * Adds an entry for a key that is not in the table
+         * @param key The key
+         * @param value The value
+         */
+        private void put(final long key, final Object value) {
+            if (keys.length <= (size + 1) * 2) {
+                resize();
+            }
+
+            int mask = keys.length - 1;
+            int i = index(key, mask);
+
+            while (values[i] != null) {
+                i = (i + 1) & mask;
+            }
+
+            keys[i] = key;
+            values[i] = value;
+            ++size;
+        }
+
+        /**
+         * Removes the entry if it maps the key to the value, shifting the following entries of the probe sequence
+         * back so no tombstones are needed
+         * @param key The key
+         * @param value The expected value
+         * @return True if the entry was removed
+         */
+        private boolean remove(final long key, final Object value) {
+            int mask = keys.length - 1;
+
+            for (int i = index(key, mask); values[i] != null; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    if (values[i] != value) {
+                        return false;
+                    }
+
+                    int hole = i;
+
+                    for (int j = (hole + 1) & mask; values[j] != null; j = (j + 1) & mask) {
+                        int home = index(keys[j], mask);
+
+                        // move the entry into the hole unless its home slot lies cyclically in (hole, j]
+                        if (((j - home) & mask) >= ((j - hole) & mask)) {
+                            keys[hole] = keys[j];
+                            values[hole] = values[j];
+                            hole = j;
+                        }
+                    }
+
+                    values[hole] = null;
+                    --size;
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        /**
+         * Removes the entries the visitor selects (selected first, since removing shifts entries)
+         * @param visitor Selects the entries to remove
+         * @return The number of entries removed
+         */
+        @SuppressWarnings("unchecked")
+        private int removeIf(final EntryVisitor<V> visitor) {
+            long[] selectedKeys = null;
+            Object[] selectedValues = null;
+            int selected = 0;
+
+            for (int i = 0; i < keys.length; ++i) {
+                if (values[i] != null && visitor.remove(keys[i], (V) values[i])) {
+                    if (selectedKeys == null) {
+                        selectedKeys = new long[size];
+                        selectedValues = new Object[size];
+                    }
+
+                    selectedKeys[selected] = keys[i];
+                    selectedValues[selected] = values[i];
+                    ++selected;
+                }
+            }
+
+            for (int i = 0; i < selected; ++i) {
+                remove(selectedKeys[i], selectedValues[i]);
+            }
+
+            return selected;
+        }
+
+        /**
+         * Doubles the table
+         */
+        private void resize() {
+            long[] oldKeys = keys;
+            Object[] oldValues = values;
+
+            keys = new long[oldKeys.length * 2];
+            values = new Object[oldValues.length * 2];
+            size = 0;
+
+            for (int i = 0; i < oldKeys.length; ++i) {
+                if (oldValues[i] != null) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        /**
+         * @param key The key
+         * @param mask Table mask
+         * @return Home slot of the key
+         */
+        private static int index(final long key, final int mask) {
+            return (int) (key ^ (key >>> 32)) & mask;
+        }
+    }
+}
@@ -21,6 +21,7 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.ReentrantLock;
 
 import org.slf4j.Logger;
@@ -28,6 +29,9 @@ import org.slf4j.LoggerFactory;
 
 /**
  * BackgroundService
+ * <p>
+ * Runs an iteration, then schedules the next one after the delay the service asks for. A service can be woken up to
+ * run its next iteration without waiting for the rest of the delay.
  * @author Eric Martin
  */
 public abstract class BackgroundService
@@ -52,6 +56,11 @@ public abstract class BackgroundService
 	 */
 	private final ReentrantLock lock = new ReentrantLock();
 
+	/**
+	 * True if a wake up was requested since the start of the last iteration
+	 */
+	private final AtomicBoolean wakeUpRequested = new AtomicBoolean();
+
 	/**
 	 * Start the background service
 	 * @throws Exception
@@ -69,6 +78,13 @@ public abstract class BackgroundService
 	 */
 	protected abstract long getNextScheduleDelayMilliseconds();
 
+	/**
+	 * @return True if a wake up may cut the schedule delay short (false while backing off after errors)
+	 */
+	protected boolean isWakeUpAllowed() {
+		return true;
+	}
+
 	/**
 	 * Shut down the background service
 	 * @throws Exception
@@ -145,6 +161,41 @@ public abstract class BackgroundService
 		}
 	}
 
+	/**
+	 * Runs the next iteration now instead of at the end of the schedule delay. Never blocks the caller: if an
+	 * iteration is running, the next one is scheduled without delay when it completes. Repeated wake ups before the
+	 * next iteration starts are cheap no-ops.
+	 */
+	public void wakeUp() {
+		if (!isWakeUpAllowed() || !wakeUpRequested.compareAndSet(false, true)) {
+			return;
+		}
+
+		// a busy lock means an iteration is running or rescheduling, both pick the wake up request up
+
+		if (lock.tryLock()) {
+			try {
+				moveUpPendingIteration();
+			} finally {
+				lock.unlock();
+			}
+		}
+	}
+
+	/**
+	 * Moves the pending iteration (if any) up to now, a running one reschedules itself (caller holds the lock)
+	 */
+	private void moveUpPendingIteration() {
+		try {
+			if (currentFuture != null && 0 < currentFuture.getDelay(TimeUnit.MILLISECONDS)
+					&& currentFuture.cancel(false)) {
+				currentFuture = executorService.schedule(new RunOneIterationAndReschedule(), 0, TimeUnit.MILLISECONDS);
+			}
+		} catch (Throwable t) {
+			LOGGER.info("Exception waking up the service", t);
+		}
+	}
+
 	/**
 	 * RunOneIterationAndReschedule
 	 */
@@ -161,6 +212,7 @@ public abstract class BackgroundService
 			lock.lock();
 
 			try {
+				wakeUpRequested.set(false);
 				runOneIteration();
 			} catch (Throwable t) {
 				LOGGER.info("Exception in iteration", t);
@@ -174,7 +226,7 @@ public abstract class BackgroundService
 
 			try {
 				if (!currentFuture.isCancelled()) {
-					long nextDelay = getNextScheduleDelayMilliseconds();
+					long nextDelay = (wakeUpRequested.get() && isWakeUpAllowed()) ? 0 : getNextScheduleDelayMilliseconds();
 					currentFuture = executorService.schedule(this, nextDelay, TimeUnit.MILLISECONDS);
 				}
 			} catch (Throwable t) {
@@ -183,6 +235,20 @@ public abstract class BackgroundService
 				lock.unlock();
 			}
 
+			// a wake up that came in while rescheduling could not get the lock, move the new iteration up for it
+
+			if (wakeUpRequested.get() && isWakeUpAllowed()) {
+				lock.lock();
+
+				try {
+					if (!currentFuture.isCancelled()) {
+						moveUpPendingIteration();
+					}
+				} finally {
+					lock.unlock();
+				}
+			}
+
 			// done
 
 			return null;
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2026 Stackify
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stackify.api.common.concurrent;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.stackify.api.common.util.Preconditions;
+
+/**
+ * TokenBucket
+ * <p>
+ * Lock-free rate limiter using the generic cell rate algorithm: the whole bucket state is one theoretical arrival
+ * time, advanced with a CAS for every permit granted.
+ */
+public class TokenBucket {
+
+    /**
+     * Time between permits (nanoseconds)
+     */
+    private final long intervalNanos;
+
+    /**
+     * How far the theoretical arrival time may run ahead of now (nanoseconds), allows bursts
+     */
+    private final long toleranceNanos;
+
+    /**
+     * Theoretical arrival time of the next permit (System.nanoTime)
+     */
+    private final AtomicLong tat;
+
+    /**
+     * Constructor
+     *
+     * @param permitsPerSecond Sustained rate
+     * @param burst            Number of permits that can be taken at once
+     */
+    public TokenBucket(final double permitsPerSecond, final int burst) {
+        Preconditions.checkArgument(0 < permitsPerSecond);
+        Preconditions.checkArgument(0 < burst);
+
+        this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        this.toleranceNanos = intervalNanos * (burst - 1);
+        this.tat = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * @return True if a permit was taken
+     */
+    public boolean tryAcquire() {
+        return tryAcquire(System.nanoTime());
+    }
+
+    /**
+     * @param now Current time (System.nanoTime)
+     * @return True if a permit was taken
+     */
+    public boolean tryAcquire(final long now) {
+        for (;;) {
+            long current = tat.get();
+            long start = (current - now < 0) ? now : current;
+
+            if (toleranceNanos < start - now) {
+                return false;
+            }
+
+            if (tat.compareAndSet(current, start + intervalNanos)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Gives back a permit taken with {@link #tryAcquire()} that ended up unused
+     */
+    public void release() {
+        tat.addAndGet(-intervalNanos);
+    }
+}
@@ -4,13 +4,15 @@
  */
 package com.stackify.api.common.error;
 
-import java.util.HashMap;
-import java.util.Iterator;
-import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.stackify.api.ErrorItem;
 import com.stackify.api.StackifyError;
+import com.stackify.api.common.codec.Fingerprints;
 import com.stackify.api.common.codec.MessageDigests;
+import com.stackify.api.common.collect.StripedLongMap;
 
 /**
  * ErrorCounter
@@ -18,19 +20,36 @@ import com.stackify.api.common.codec.MessageDigests;
  */
 public class ErrorCounter {
 	
+    /**
+     * Number of one minute slots in the eviction wheel
+     */
+    private static final int WHEEL_SIZE = 16;
+
     /**
      * Map from
-     *     MD5(<type>-<typeCode>-<method>)
+     *     fingerprint(<type>, <typeCode>, <method>)
      * to
-     *     Unix epoch minute, error count for that minute
+     *     Unix epoch minute (high 32 bits), error count for that minute (low 32 bits)
+     */
+    private final StripedLongMap<AtomicLong> errorCounter = new StripedLongMap<AtomicLong>();
+
+    /**
+     * Eviction wheel, slot (minute % WHEEL_SIZE) holds the keys whose counter started that minute
+     */
+    private final Queue<Long>[] wheel;
+
+    /**
+     * All minutes before this one have been swept from the wheel
      */
-    private final Map<String, MinuteCounter> errorCounter = new HashMap<String, MinuteCounter>();
+    private final AtomicLong sweptMinute = new AtomicLong(Long.MIN_VALUE);
 
     /**
      * Unix epoch minute and error count for that minute
      * 
      * @author Eric Martin
+     * @deprecated ErrorGovernor rate limits errors with token buckets
      */
+    @Deprecated
     protected static class MinuteCounter {
 
     	/**
@@ -85,6 +104,18 @@ public class ErrorCounter {
     		return errorCount;
     	}
     }
+
+    /**
+     * Constructor
+     */
+    @SuppressWarnings("unchecked")
+    public ErrorCounter() {
+        wheel = new Queue[WHEEL_SIZE];
+
+        for (int i = 0; i < WHEEL_SIZE; ++i) {
+            wheel[i] = new ConcurrentLinkedQueue<Long>();
+        }
+    }
     
     /**
      * Gets the base error (the last error in the causal chain)
@@ -107,6 +138,19 @@ public class ErrorCounter {
         return errorItem;
     }
     
+    /**
+     * Generates a 64 bit fingerprint of the error's type, type code, and method. This is the key of the counters.
+     * @param errorItem The error item
+     * @return The fingerprint of the error
+     */
+    public static long getFingerprint(final ErrorItem errorItem) {
+		if (errorItem == null) {
+			throw new NullPointerException("ErrorItem is null");
+		}
+
+		return Fingerprints.fingerprint(errorItem.getErrorType(), errorItem.getErrorTypeCode(), errorItem.getSourceMethod());
+    }
+
     /**
      * Generates a unique key based on the error. The key will be an MD5 hash of the type, type code, and method.
      * @param errorItem The error item
@@ -131,60 +175,144 @@ public class ErrorCounter {
      * @param error The error
      * @param epochMinute The epoch minute
      * @return The count for the error after it has been incremented
+     * @deprecated ErrorGovernor rate limits errors with token buckets
      */
-    public int incrementCounter(final StackifyError error, long epochMinute) {
+    @Deprecated
+    public int incrementCounter(final StackifyError error, final long epochMinute) {
 		if (error == null) {
 			throw new NullPointerException("StackifyError is null");
 		}
 
         ErrorItem baseError = getBaseError(error);
-    	String uniqueKey = getUniqueKey(baseError);
+    	long uniqueKey = getFingerprint(baseError);
 
         // get the counter for this error
-    	
-    	int count = 0;
 
-        if (errorCounter.containsKey(uniqueKey)) {
-        	
-            // counter exists
+        AtomicLong counter = errorCounter.get(uniqueKey);
 
-        	MinuteCounter counter = errorCounter.get(uniqueKey);
+        if (counter == null) {
+            AtomicLong newCounter = new AtomicLong(pack(epochMinute, 1));
+            counter = errorCounter.putIfAbsent(uniqueKey, newCounter);
 
-            if (counter.getEpochMinute() == epochMinute) {
-                // counter exists for this current minute
-                // increment the counter
-            	MinuteCounter incCounter = MinuteCounter.incrementCounter(counter);
-            	errorCounter.put(uniqueKey, incCounter);
-            	count = incCounter.getErrorCount();
+            if (counter == null) {
+                // counter did not exist so we created a new one
+                schedule(uniqueKey, epochMinute);
+                return 1;
+            }
+        }
+
+        for (;;) {
+            long current = counter.get();
+            long currentMinute = packedMinute(current);
+
+            if (currentMinute < epochMinute) {
+                // counter did not exist for this minute, start a new one
+                if (counter.compareAndSet(current, pack(epochMinute, 1))) {
+                    schedule(uniqueKey, epochMinute);
+                    return 1;
+                }
             } else {
-                // counter did not exist for this minute
-            	// overwrite the entry with a new one
-            	MinuteCounter newCounter = MinuteCounter.newMinuteCounter(epochMinute);
-            	errorCounter.put(uniqueKey, newCounter);
-            	count = newCounter.getErrorCount();
+                // counter exists for this minute (or a thread with a stale clock), increment it
+                int count = packedCount(current);
+                int incCount = count == Integer.MAX_VALUE ? count : count + 1;
+
+                if (counter.compareAndSet(current, pack(currentMinute, incCount))) {
+                    return incCount;
+                }
             }
-        } else {
-            // counter did not exist so create a new one
-        	MinuteCounter newCounter = MinuteCounter.newMinuteCounter(epochMinute);
-        	errorCounter.put(uniqueKey, newCounter);
-        	count = newCounter.getErrorCount();
         }
-        
-        return count;
     }
     
     /**
-     * Purges the errorCounter map of expired entries
+     * Purges the errorCounter map of expired entries. Only the wheel slots of the minutes that passed since the last
+     * purge are visited, and only one caller sweeps a given minute.
      * @param epochMinute The current time
+     * @deprecated ErrorGovernor rate limits errors with token buckets
      */
-    public void purgeCounters(final long epochMinute)
-    {
-    	for (Iterator<Map.Entry<String, MinuteCounter>> it = errorCounter.entrySet().iterator(); it.hasNext(); ) {
-    		Map.Entry<String, MinuteCounter> entry = it.next();
-    		
-    		if (entry.getValue().getEpochMinute() < epochMinute) {
-    			it.remove();
-    		}
-    	}
-    }	
+    @Deprecated
+    public void purgeCounters(final long epochMinute) {
+        long swept = sweptMinute.get();
+
+        if (epochMinute <= swept || !sweptMinute.compareAndSet(swept, epochMinute)) {
+            return;
+        }
+
+        long from = Math.max(swept, epochMinute - WHEEL_SIZE);
+
+        for (long minute = from; minute < epochMinute; ++minute) {
+            Queue<Long> slot = wheel[slot(minute)];
+
+            for (int pending = slot.size(); 0 < pending; --pending) {
+                Long key = slot.poll();
+
+                if (key == null) {
+                    break;
+                }
+
+                AtomicLong counter = errorCounter.get(key);
+
+                if (counter == null) {
+                    continue;
+                }
+
+                long keyMinute = packedMinute(counter.get());
+
+                if (keyMinute < epochMinute) {
+                    errorCounter.remove(key, counter);
+                } else if (slot(keyMinute) == slot(minute)) {
+                    // still live and scheduled in this slot (a later lap of the wheel), keep it
+                    slot.offer(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The number of counters
+     */
+    int size() {
+        return errorCounter.size();
+    }
+
+    /**
+     * Schedules the key for eviction once the minute has passed
+     * @param key The unique key
+     * @param epochMinute The minute the key's counter started
+     */
+    private void schedule(final long key, final long epochMinute) {
+        wheel[slot(epochMinute)].offer(key);
+    }
+
+    /**
+     * @param epochMinute Unix epoch minute
+     * @return The wheel slot of the minute
+     */
+    private static int slot(final long epochMinute) {
+        return (int) (epochMinute & (WHEEL_SIZE - 1));
+    }
+
+    /**
+     * @param epochMinute Unix epoch minute
+     * @param errorCount Error count for that minute
+     * @return Unix epoch minute (high 32 bits), error count (low 32 bits)
+     */
+    private static long pack(final long epochMinute, final int errorCount) {
+        return (epochMinute << 32) | (errorCount & 0xFFFFFFFFL);
+    }
+
+    /**
+     * @param packed Packed minute counter
+     * @return Unix epoch minute
+     */
+    private static long packedMinute(final long packed) {
+        return packed >>> 32;
+    }
+
+    /**
+     * @param packed Packed minute counter
+     * @return Error count
+     */
+    private static int packedCount(final long packed) {
+        return (int) packed;
+    }
 }
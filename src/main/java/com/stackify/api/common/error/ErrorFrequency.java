@@ -0,0 +1,110 @@
+/*
+ * Copyright 2026 Stackify
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stackify.api.common.error;
+
+/**
+ * ErrorFrequency
+ * <p>
+ * An entry of the top errors view: the error identity and how many times it occurred since it entered the view.
+ */
+public class ErrorFrequency {
+
+    /**
+     * Error type
+     */
+    private final String errorType;
+
+    /**
+     * Error type code
+     */
+    private final String errorTypeCode;
+
+    /**
+     * Source method
+     */
+    private final String sourceMethod;
+
+    /**
+     * Number of occurrences (may overcount by up to the overestimate)
+     */
+    private final long count;
+
+    /**
+     * Upper bound on the overcount (the count of the entry this error evicted from the view)
+     */
+    private final long overestimate;
+
+    /**
+     * Constructor
+     * @param errorType Error type
+     * @param errorTypeCode Error type code
+     * @param sourceMethod Source method
+     * @param count Number of occurrences
+     * @param overestimate Upper bound on the overcount
+     */
+    public ErrorFrequency(final String errorType, final String errorTypeCode, final String sourceMethod,
+                          final long count, final long overestimate) {
+        this.errorType = errorType;
+        this.errorTypeCode = errorTypeCode;
+        this.sourceMethod = sourceMethod;
+        this.count = count;
+        this.overestimate = overestimate;
+    }
+
+    /**
+     * @return the errorType
+     */
+    public String getErrorType() {
+        return errorType;
+    }
+
+    /**
+     * @return the errorTypeCode
+     */
+    public String getErrorTypeCode() {
+        return errorTypeCode;
+    }
+
+    /**
+     * @return the sourceMethod
+     */
+    public String getSourceMethod() {
+        return sourceMethod;
+    }
+
+    /**
+     * @return the count
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return the overestimate
+     */
+    public long getOverestimate() {
+        return overestimate;
+    }
+
+    /**
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        return "ErrorFrequency [errorType=" + errorType + ", errorTypeCode=" + errorTypeCode + ", sourceMethod="
+                + sourceMethod + ", count=" + count + ", overestimate=" + overestimate + "]";
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2026 Stackify
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stackify.api.common.error;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.stackify.api.common.util.Preconditions;
+
+/**
+ * ErrorFrequencySketch
+ * <p>
+ * Count-Min Sketch of error counts per epoch minute. Each cell packs the minute it counts (high 32 bits) with the
+ * count (low 32 bits), so a cell restarts by itself when it is first hit in a new minute and nothing ever has to be
+ * purged. Memory is fixed whatever the number of distinct errors; an estimate never undercounts and overcounts only
+ * through collisions with other errors of the same minute.
+ */
+public class ErrorFrequencySketch {
+
+    /**
+     * Number of hash rows
+     */
+    private static final int DEPTH = 4;
+
+    /**
+     * Number of cells per row (power of two)
+     */
+    private final int width;
+
+    /**
+     * The cells, row after row
+     */
+    private final AtomicLongArray cells;
+
+    /**
+     * Constructor
+     * @param width Number of cells per row (rounded up to a power of two)
+     */
+    public ErrorFrequencySketch(final int width) {
+        Preconditions.checkArgument(0 < width);
+
+        int w = 1;
+
+        while (w < width) {
+            w <<= 1;
+        }
+
+        this.width = w;
+        this.cells = new AtomicLongArray(DEPTH * w);
+    }
+
+    /**
+     * Counts one occurrence of the error in the epoch minute specified
+     * @param fingerprint The error fingerprint
+     * @param epochMinute The epoch minute
+     * @return The estimated count for the error in that minute, including this occurrence
+     */
+    public int increment(final long fingerprint, final long epochMinute) {
+        int h1 = (int) fingerprint;
+        int h2 = (int) (fingerprint >>> 32) | 1;
+
+        int estimate = Integer.MAX_VALUE;
+
+        for (int row = 0; row < DEPTH; ++row) {
+            int index = row * width + ((h1 + row * h2) & (width - 1));
+            estimate = Math.min(estimate, incrementCell(index, epochMinute));
+        }
+
+        return estimate;
+    }
+
+    /**
+     * @param fingerprint The error fingerprint
+     * @param epochMinute The epoch minute
+     * @return The estimated count for the error in that minute
+     */
+    public int estimate(final long fingerprint, final long epochMinute) {
+        int h1 = (int) fingerprint;
+        int h2 = (int) (fingerprint >>> 32) | 1;
+
+        int estimate = Integer.MAX_VALUE;
+
+        for (int row = 0; row < DEPTH; ++row) {
+            long cell = cells.get(row * width + ((h1 + row * h2) & (width - 1)));
+            estimate = Math.min(estimate, (cell >>> 32) == epochMinute ? (int) cell : 0);
+        }
+
+        return estimate;
+    }
+
+    /**
+     * @param index Cell index
+     * @param epochMinute The epoch minute
+     * @return The count of the cell after it has been incremented
+     */
+    private int incrementCell(final int index, final long epochMinute) {
+        for (;;) {
+            long cell = cells.get(index);
+            long cellMinute = cell >>> 32;
+            long next;
+
+            if (cellMinute < epochMinute) {
+                next = (epochMinute << 32) | 1;
+            } else {
+                int count = (int) cell;
+                next = count == Integer.MAX_VALUE ? cell : cell + 1;
+            }
+
+            if (cells.compareAndSet(index, cell, next)) {
+                return (int) next;
+            }
+        }
+    }
+}
@@ -15,37 +15,173 @@
  */
 package com.stackify.api.common.error;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.stackify.api.ErrorItem;
 import com.stackify.api.StackifyError;
+import com.stackify.api.common.ApiConfiguration;
+import com.stackify.api.common.collect.StripedLongMap;
+import com.stackify.api.common.concurrent.TokenBucket;
+import com.stackify.api.common.util.Preconditions;
 
 /**
  * Utility class for limiting transmission of duplicate errors 
+ * <p>
+ * Each distinct error may be sent up to the limit per window. In exact mode every distinct error has its own token
+ * bucket (the limit is the burst and it refills over the window); in sketch mode approximate counts per fixed window
+ * are kept in constant memory. Suppressed occurrences are counted and summarized once per window.
+ * <p>
+ * Exact mode evicts the buckets of errors that stopped occurring through a wheel of windows: a bucket is scheduled in
+ * the slot of the window it was last used in, and each summary only visits the slots of the windows that passed.
  * 
  * @author Eric Martin
  */
 public class ErrorGovernor {
 
     /**
-     * Number of instances of a unique error that are allowed to be sent in one minute 
+     * Number of instances of a unique error that are allowed to be sent in one minute (default limit)
      */
     private static final int MAX_DUP_ERROR_PER_MINUTE = 100;
 
     /**
-     * Elapsed time before the errorToCounter map is purged of expired entries 
+     * Default window (milliseconds)
+     */
+    private static final long WINDOW_MILLIS = 60000;
+
+    /**
+     * Error governor mode keeping one token bucket per distinct error
+     */
+    public static final String MODE_EXACT = "exact";
+
+    /**
+     * Error governor mode keeping fixed size approximate counters
+     */
+    public static final String MODE_SKETCH = "sketch";
+
+    /**
+     * Cells per row of the sketch (4 rows, 64KB)
+     */
+    private static final int SKETCH_WIDTH = 2048;
+
+    /**
+     * Number of window slots in the eviction wheel
+     */
+    private static final int WHEEL_SIZE = 16;
+
+    /**
+     * Number of errors in the top errors view
+     */
+    private static final int TOP_ERRORS = 32;
+
+    /**
+     * Number of occurrences of a distinct error sent per window
+     */
+    private final int limit;
+
+    /**
+     * Window (milliseconds)
      */
-    private static final int CLEAN_UP_MINUTES = 15;
-    
+    private final long windowMillis;
+
     /**
      * Map from
-     *     MD5(<type>-<typeCode>-<method>)
+     *     fingerprint(<type>, <typeCode>, <method>)
      * to
-     *     Unix epoch minute, error count for that minute
+     *     token bucket of that error and the window it was last used in
+     * (null in sketch mode)
+     */
+    private final StripedLongMap<GovernedError> buckets;
+
+    /**
+     * Eviction wheel, slot (window % WHEEL_SIZE) holds the fingerprints whose bucket was used in that window (null in
+     * sketch mode)
+     */
+    private final Queue<Long>[] wheel;
+
+    /**
+     * All windows before this one have been swept from the wheel
+     */
+    private final AtomicLong sweptWindow = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * Approximate error counts per window (null in exact mode)
+     */
+    private final ErrorFrequencySketch sketch;
+
+    /**
+     * Most frequent errors (null in exact mode)
+     */
+    private final TopErrors topErrors;
+
+    /**
+     * Suppressed error counts
+     */
+    private final SuppressedErrors suppressed = new SuppressedErrors();
+
+    /**
+     * Unix epoch milliseconds of the next suppressed errors summary
+     */
+    private final AtomicLong nextSummaryEpochMs;
+
+    /**
+     * Constructor (exact mode, 100 per minute)
+     */
+    public ErrorGovernor() {
+        this(MODE_EXACT);
+    }
+
+    /**
+     * Constructor
+     * @param apiConfig API configuration (error governor mode, limit and window)
+     */
+    public ErrorGovernor(final ApiConfiguration apiConfig) {
+        this(apiConfig.getErrorGovernorMode(), apiConfig.getErrorGovernorLimit(), apiConfig.getErrorGovernorWindowMillis());
+    }
+
+    /**
+     * Constructor (100 per minute)
+     * @param mode exact or sketch (null or unknown values mean exact)
      */
-    private final ErrorCounter errorCounter = new ErrorCounter();
+    public ErrorGovernor(final String mode) {
+        this(mode, MAX_DUP_ERROR_PER_MINUTE, WINDOW_MILLIS);
+    }
 
     /**
-     * The next time the errorToCounter dictionary needs to be purged of expired entries
+     * Constructor
+     * @param mode exact or sketch (null or unknown values mean exact)
+     * @param limit Number of occurrences of a distinct error sent per window
+     * @param windowMillis Window (milliseconds)
      */
-    private long nextErrorToCounterCleanUp = getUnixEpochMinutes() + CLEAN_UP_MINUTES;
+    @SuppressWarnings("unchecked")
+    public ErrorGovernor(final String mode, final int limit, final long windowMillis) {
+        Preconditions.checkArgument(0 < limit);
+        Preconditions.checkArgument(0 < windowMillis);
+
+        this.limit = limit;
+        this.windowMillis = windowMillis;
+        this.nextSummaryEpochMs = new AtomicLong(System.currentTimeMillis() + windowMillis);
+
+        if (MODE_SKETCH.equalsIgnoreCase(mode == null ? null : mode.trim())) {
+            this.buckets = null;
+            this.wheel = null;
+            this.sketch = new ErrorFrequencySketch(SKETCH_WIDTH);
+            this.topErrors = new TopErrors(TOP_ERRORS);
+        } else {
+            this.buckets = new StripedLongMap<GovernedError>();
+            this.wheel = new Queue[WHEEL_SIZE];
+            this.sketch = null;
+            this.topErrors = null;
+
+            for (int i = 0; i < WHEEL_SIZE; ++i) {
+                wheel[i] = new ConcurrentLinkedQueue<Long>();
+            }
+        }
+    }
 
     /**
      * Determines if the error should be sent based on our throttling criteria
@@ -53,41 +189,176 @@ public class ErrorGovernor {
      * @return True if this error should be sent to Stackify, false otherwise
      */
     public boolean errorShouldBeSent(final StackifyError error) {
+        return errorShouldBeSent(error, System.currentTimeMillis());
+    }
+
+    /**
+     * Determines if the error should be sent based on our throttling criteria
+     * @param error The error
+     * @param epochMs Current time (Unix epoch milliseconds)
+     * @return True if this error should be sent to Stackify, false otherwise
+     */
+    boolean errorShouldBeSent(final StackifyError error, final long epochMs) {
 		if (error == null) {
 			throw new NullPointerException("StackifyError is null");
 		}
 
-    	boolean shouldBeProcessed = false;
+        ErrorItem baseError = ErrorCounter.getBaseError(error);
+        long fingerprint = ErrorCounter.getFingerprint(baseError);
+
+        boolean shouldBeProcessed;
+
+        if (sketch != null) {
+            topErrors.offer(fingerprint, baseError);
+            shouldBeProcessed = sketch.increment(fingerprint, epochMs / windowMillis) <= limit;
+        } else {
+            shouldBeProcessed = bucketFor(fingerprint, epochMs / windowMillis).tryAcquire();
+        }
+
+        if (!shouldBeProcessed) {
+            suppressed.record(fingerprint, baseError, epochMs);
+        }
+
+        return shouldBeProcessed;
+    }
+
+    /**
+     * Summarizes the suppressed errors once per window. Also stops tracking errors whose token bucket refilled.
+     * @param force True to summarize now whether or not the window ended (ie. on shut down)
+     * @return One summary per suppressed error (empty if the window has not ended yet or nothing was suppressed)
+     */
+    public List<SuppressedError> drainSuppressed(final boolean force) {
+        long epochMs = System.currentTimeMillis();
+        long next = nextSummaryEpochMs.get();
+
+        if (!force && (epochMs < next || !nextSummaryEpochMs.compareAndSet(next, epochMs + windowMillis))) {
+            return Collections.emptyList();
+        }
+
+        if (buckets != null) {
+            evictIdle(epochMs / windowMillis);
+        }
+
+        return suppressed.drain();
+    }
+
+    /**
+     * Removes the buckets not used in the last full window, they refilled since. Only the wheel slots of the windows
+     * that passed since the last sweep are visited, and only one caller sweeps a given window.
+     * @param window The current window (Unix epoch milliseconds / window)
+     */
+    void evictIdle(final long window) {
+        long swept = sweptWindow.get();
+        long until = window - 1;
+
+        if (until <= swept || !sweptWindow.compareAndSet(swept, until)) {
+            return;
+        }
+
+        for (long w = Math.max(swept, until - WHEEL_SIZE); w < until; ++w) {
+            Queue<Long> slot = wheel[slot(w)];
+
+            for (int pending = slot.size(); 0 < pending; --pending) {
+                Long key = slot.poll();
 
-        long epochMinute = getUnixEpochMinutes();
-    	
-    	synchronized (errorCounter) {
-    		
-    		// increment the counter for this error
-    		
-    		int errorCount = errorCounter.incrementCounter(error, epochMinute);
-    		
-            // check our throttling criteria
+                if (key == null) {
+                    break;
+                }
 
-            if (errorCount <= MAX_DUP_ERROR_PER_MINUTE) {
-                shouldBeProcessed = true;
+                GovernedError governed = buckets.get(key);
+
+                if (governed == null) {
+                    continue;
+                }
+
+                long lastWindow = governed.lastWindow.get();
+
+                if (lastWindow < until) {
+                    buckets.remove(key, governed);
+                } else if (slot(lastWindow) == slot(w)) {
+                    // still live and scheduled in this slot (a later lap of the wheel), keep it
+                    slot.offer(key);
+                }
             }
-            
-            // see if we need to purge our counters of expired entries
+        }
+    }
+
+    /**
+     * @return The number of errors with a token bucket (exact mode)
+     */
+    int size() {
+        return (buckets == null) ? 0 : buckets.size();
+    }
+
+    /**
+     * @return The most frequent errors, most frequent first (sketch mode only, empty otherwise)
+     */
+    public List<ErrorFrequency> getTopErrors() {
+        if (topErrors == null) {
+            return Collections.emptyList();
+        }
+
+        return topErrors.snapshot();
+    }
+
+    /**
+     * @param fingerprint The error fingerprint
+     * @param window The current window
+     * @return The token bucket of the error, scheduled for eviction in the current window
+     */
+    private TokenBucket bucketFor(final long fingerprint, final long window) {
+        GovernedError governed = buckets.get(fingerprint);
 
-            if (nextErrorToCounterCleanUp < epochMinute) {
-            	errorCounter.purgeCounters(epochMinute);
-                nextErrorToCounterCleanUp = epochMinute + CLEAN_UP_MINUTES;
+        if (governed == null) {
+            GovernedError newGoverned = new GovernedError(new TokenBucket(limit * (double) TimeUnit.SECONDS.toMillis(1) / windowMillis, limit), window);
+            governed = buckets.putIfAbsent(fingerprint, newGoverned);
+
+            if (governed == null) {
+                wheel[slot(window)].offer(fingerprint);
+                return newGoverned.bucket;
             }
-    	}
+        }
 
-        return shouldBeProcessed;
+        long lastWindow = governed.lastWindow.get();
+
+        if (lastWindow < window && governed.lastWindow.compareAndSet(lastWindow, window)) {
+            wheel[slot(window)].offer(fingerprint);
+        }
+
+        return governed.bucket;
+    }
+
+    /**
+     * @param window A window
+     * @return The wheel slot of the window
+     */
+    private static int slot(final long window) {
+        return (int) (window & (WHEEL_SIZE - 1));
     }
-       
+
     /**
-     * @return The current Unix epoch minutes
+     * Token bucket of a distinct error and the window it was last used in
      */
-    private long getUnixEpochMinutes() {
-    	return System.currentTimeMillis() / 60000;
+    private static class GovernedError {
+
+        /**
+         * Token bucket of the error
+         */
+        private final TokenBucket bucket;
+
+        /**
+         * Window the bucket was last used in
+         */
+        private final AtomicLong lastWindow;
+
+        /**
+         * Constructor
+         * @param bucket Token bucket of the error
+         * @param window Window the bucket is first used in
+         */
+        private GovernedError(final TokenBucket bucket, final long window) {
+            this.bucket = bucket;
+            this.lastWindow = new AtomicLong(window);
+        }
     }
 }
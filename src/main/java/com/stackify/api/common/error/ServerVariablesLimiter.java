@@ -0,0 +1,174 @@
+/*
+ * Copyright 2026 Stackify
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stackify.api.common.error;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.stackify.api.StackifyError;
+import com.stackify.api.common.ApiConfiguration;
+import com.stackify.api.common.collect.StripedLongMap;
+import com.stackify.api.common.util.Preconditions;
+
+/**
+ * ServerVariablesLimiter
+ * <p>
+ * Sends the server variables (system properties, the bulk of an error's payload) only once per interval, either per
+ * distinct error (fingerprint mode) or per application (app mode), and strips them from the other errors. The default
+ * mode sends them with every error.
+ */
+public class ServerVariablesLimiter {
+
+    /**
+     * Mode sending the server variables with every error
+     */
+    public static final String MODE_ALWAYS = "always";
+
+    /**
+     * Mode sending the server variables once per interval per distinct error
+     */
+    public static final String MODE_FINGERPRINT = "fingerprint";
+
+    /**
+     * Mode sending the server variables once per interval per application
+     */
+    public static final String MODE_APP = "app";
+
+    /**
+     * Key of the application in app mode
+     */
+    private static final long APP_KEY = 0L;
+
+    /**
+     * True to send the server variables with every error
+     */
+    private final boolean always;
+
+    /**
+     * True to track each distinct error, false to track the application
+     */
+    private final boolean perFingerprint;
+
+    /**
+     * Interval (milliseconds) between two errors sent with server variables
+     */
+    private final long intervalMillis;
+
+    /**
+     * Time (epoch milliseconds) the server variables were last sent, by fingerprint (or application)
+     */
+    private final StripedLongMap<AtomicLong> lastSent = new StripedLongMap<AtomicLong>();
+
+    /**
+     * Time (epoch milliseconds) of the next removal of expired entries
+     */
+    private final AtomicLong nextPurgeEpochMs = new AtomicLong();
+
+    /**
+     * Constructor
+     * @param apiConfig API configuration (server variables mode and interval)
+     */
+    public ServerVariablesLimiter(final ApiConfiguration apiConfig) {
+        this(apiConfig.getErrorServerVariables(), apiConfig.getErrorServerVariablesIntervalMillis());
+    }
+
+    /**
+     * Constructor
+     * @param mode always, fingerprint or app (null or unknown values mean always)
+     * @param intervalMillis Interval (milliseconds) between two errors sent with server variables
+     */
+    public ServerVariablesLimiter(final String mode, final long intervalMillis) {
+        Preconditions.checkArgument(0 < intervalMillis);
+
+        String trimmed = mode == null ? null : mode.trim();
+
+        this.perFingerprint = MODE_FINGERPRINT.equalsIgnoreCase(trimmed);
+        this.always = !perFingerprint && !MODE_APP.equalsIgnoreCase(trimmed);
+        this.intervalMillis = intervalMillis;
+    }
+
+    /**
+     * Strips the server variables from the error unless they are due
+     * @param error The error
+     */
+    public void limit(final StackifyError error) {
+        Preconditions.checkNotNull(error);
+
+        if (always || error.getServerVariables() == null) {
+            return;
+        }
+
+        long epochMs = System.currentTimeMillis();
+
+        purge(epochMs);
+
+        long key = perFingerprint ? ErrorCounter.getFingerprint(ErrorCounter.getBaseError(error)) : APP_KEY;
+
+        if (!acquire(key, epochMs)) {
+            error.setServerVariables(null);
+        }
+    }
+
+    /**
+     * @param key The fingerprint (or application key)
+     * @param epochMs Current time (epoch milliseconds)
+     * @return True if the server variables are due, in which case they are recorded as sent
+     */
+    private boolean acquire(final long key, final long epochMs) {
+        AtomicLong last = lastSent.get(key);
+
+        if (last == null) {
+            AtomicLong newLast = new AtomicLong(epochMs);
+            last = lastSent.putIfAbsent(key, newLast);
+
+            if (last == null) {
+                return true;
+            }
+        }
+
+        for (;;) {
+            long sent = last.get();
+
+            if (epochMs - sent < intervalMillis) {
+                return false;
+            }
+
+            if (last.compareAndSet(sent, epochMs)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Stops tracking the entries whose interval ended (at most once per interval)
+     * @param epochMs Current time (epoch milliseconds)
+     */
+    private void purge(final long epochMs) {
+        long next = nextPurgeEpochMs.get();
+
+        if (epochMs < next || !nextPurgeEpochMs.compareAndSet(next, epochMs + intervalMillis)) {
+            return;
+        }
+
+        final long expired = epochMs - intervalMillis;
+
+        lastSent.removeIf(new StripedLongMap.EntryVisitor<AtomicLong>() {
+            @Override
+            public boolean remove(final long key, final AtomicLong sent) {
+                return sent.get() <= expired;
+            }
+        });
+    }
+}
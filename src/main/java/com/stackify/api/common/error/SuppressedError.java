@@ -0,0 +1,125 @@
+/*
+ * Copyright 2026 Stackify
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stackify.api.common.error;
+
+/**
+ * SuppressedError
+ * <p>
+ * Summary of the occurrences of a distinct error the error governor did not send during a window.
+ */
+public class SuppressedError {
+
+    /**
+     * Error type (null for the summary of errors beyond the tracked ones)
+     */
+    private final String errorType;
+
+    /**
+     * Error type code
+     */
+    private final String errorTypeCode;
+
+    /**
+     * Source method
+     */
+    private final String sourceMethod;
+
+    /**
+     * Number of suppressed occurrences
+     */
+    private final long count;
+
+    /**
+     * Unix epoch milliseconds of the first suppressed occurrence
+     */
+    private final long firstEpochMs;
+
+    /**
+     * Unix epoch milliseconds of the last suppressed occurrence
+     */
+    private final long lastEpochMs;
+
+    /**
+     * Constructor
+     * @param errorType Error type
+     * @param errorTypeCode Error type code
+     * @param sourceMethod Source method
+     * @param count Number of suppressed occurrences
+     * @param firstEpochMs First suppressed occurrence
+     * @param lastEpochMs Last suppressed occurrence
+     */
+    public SuppressedError(final String errorType, final String errorTypeCode, final String sourceMethod,
+                           final long count, final long firstEpochMs, final long lastEpochMs) {
+        this.errorType = errorType;
+        this.errorTypeCode = errorTypeCode;
+        this.sourceMethod = sourceMethod;
+        this.count = count;
+        this.firstEpochMs = firstEpochMs;
+        this.lastEpochMs = lastEpochMs;
+    }
+
+    /**
+     * @return the errorType
+     */
+    public String getErrorType() {
+        return errorType;
+    }
+
+    /**
+     * @return the errorTypeCode
+     */
+    public String getErrorTypeCode() {
+        return errorTypeCode;
+    }
+
+    /**
+     * @return the sourceMethod
+     */
+    public String getSourceMethod() {
+        return sourceMethod;
+    }
+
+    /**
+     * @return the count
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return the firstEpochMs
+     */
+    public long getFirstEpochMs() {
+        return firstEpochMs;
+    }
+
+    /**
+     * @return the lastEpochMs
+     */
+    public long getLastEpochMs() {
+        return lastEpochMs;
+    }
+
+    /**
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        return "SuppressedError [errorType=" + errorType + ", errorTypeCode=" + errorTypeCode + ", sourceMethod="
+                + sourceMethod + ", count=" + count + ", firstEpochMs=" + firstEpochMs + ", lastEpochMs="
+                + lastEpochMs + "]";
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2026 Stackify
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stackify.api.common.error;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.stackify.api.ErrorItem;
+import com.stackify.api.common.collect.StripedLongMap;
+
+/**
+ * SuppressedErrors
+ * <p>
+ * Per fingerprint counts of the errors the governor suppressed, drained into summaries once per window. The number of
+ * tracked errors is bounded; occurrences of errors beyond the bound are folded into a single anonymous summary.
+ */
+class SuppressedErrors {
+
+    /**
+     * Upper bound on the number of tracked errors
+     */
+    static final int MAX_ENTRIES = 1000;
+
+    /**
+     * Suppressed counts by fingerprint
+     */
+    private final StripedLongMap<Entry> entries = new StripedLongMap<Entry>();
+
+    /**
+     * Number of tracked errors
+     */
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * Occurrences of errors beyond the bound
+     */
+    private final Entry overflow = new Entry(null);
+
+    /**
+     * Counts a suppressed occurrence
+     * @param fingerprint The error fingerprint
+     * @param baseError The error
+     * @param epochMs Unix epoch milliseconds
+     */
+    void record(final long fingerprint, final ErrorItem baseError, final long epochMs) {
+        Entry entry = entries.get(fingerprint);
+
+        if (entry == null) {
+            if (MAX_ENTRIES <= size.get()) {
+                overflow.record(epochMs);
+                return;
+            }
+
+            Entry newEntry = new Entry(baseError);
+            entry = entries.putIfAbsent(fingerprint, newEntry);
+
+            if (entry == null) {
+                size.incrementAndGet();
+                entry = newEntry;
+            }
+        }
+
+        entry.record(epochMs);
+    }
+
+    /**
+     * Summarizes and resets the counts. Errors that were not suppressed since the previous drain stop being tracked.
+     * @return The summaries
+     */
+    List<SuppressedError> drain() {
+        final List<SuppressedError> summaries = new ArrayList<SuppressedError>();
+
+        int removed = entries.removeIf(new StripedLongMap.EntryVisitor<Entry>() {
+            @Override
+            public boolean remove(final long key, final Entry entry) {
+                SuppressedError summary = entry.drain();
+
+                if (summary == null) {
+                    return true;
+                }
+
+                summaries.add(summary);
+                return false;
+            }
+        });
+
+        size.addAndGet(-removed);
+
+        SuppressedError other = overflow.drain();
+
+        if (other != null) {
+            summaries.add(other);
+        }
+
+        return summaries;
+    }
+
+    /**
+     * Suppressed occurrences of an error
+     */
+    private static class Entry {
+
+        /**
+         * Error type
+         */
+        private final String errorType;
+
+        /**
+         * Error type code
+         */
+        private final String errorTypeCode;
+
+        /**
+         * Source method
+         */
+        private final String sourceMethod;
+
+        /**
+         * Occurrences since the last drain
+         */
+        private final AtomicLong count = new AtomicLong();
+
+        /**
+         * First occurrence since the last drain
+         */
+        private volatile long firstEpochMs;
+
+        /**
+         * Last occurrence
+         */
+        private volatile long lastEpochMs;
+
+        /**
+         * Constructor
+         * @param baseError The error (null for the overflow entry)
+         */
+        private Entry(final ErrorItem baseError) {
+            this.errorType = baseError != null ? baseError.getErrorType() : null;
+            this.errorTypeCode = baseError != null ? baseError.getErrorTypeCode() : null;
+            this.sourceMethod = baseError != null ? baseError.getSourceMethod() : null;
+        }
+
+        /**
+         * @param epochMs Unix epoch milliseconds of the occurrence
+         */
+        private void record(final long epochMs) {
+            if (count.getAndIncrement() == 0) {
+                firstEpochMs = epochMs;
+            }
+
+            lastEpochMs = epochMs;
+        }
+
+        /**
+         * @return The summary since the last drain or null if nothing was suppressed
+         */
+        private SuppressedError drain() {
+            long suppressed = count.getAndSet(0);
+
+            if (suppressed == 0) {
+                return null;
+            }
+
+            return new SuppressedError(errorType, errorTypeCode, sourceMethod, suppressed, firstEpochMs,
+                    Math.max(firstEpochMs, lastEpochMs));
+        }
+    }
+}
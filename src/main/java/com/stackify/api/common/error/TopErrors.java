@@ -0,0 +1,196 @@
+/*
+ * Copyright 2026 Stackify
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stackify.api.common.error;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.stackify.api.ErrorItem;
+import com.stackify.api.common.util.Preconditions;
+
+/**
+ * TopErrors
+ * <p>
+ * Space-Saving summary of the most frequent errors in a fixed number of slots. An error already in the view is counted
+ * without locking. A new error takes a free slot or replaces the least frequent entry, inheriting its count as the
+ * overestimate; that replacement is skipped when another thread is replacing at the same time, so the view is best
+ * effort under contention.
+ */
+class TopErrors {
+
+    /**
+     * The slots
+     */
+    private final AtomicReferenceArray<Entry> entries;
+
+    /**
+     * Guards replacements
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Constructor
+     * @param capacity Number of errors tracked
+     */
+    TopErrors(final int capacity) {
+        Preconditions.checkArgument(0 < capacity);
+        this.entries = new AtomicReferenceArray<Entry>(capacity);
+    }
+
+    /**
+     * Counts one occurrence of the error
+     * @param fingerprint The error fingerprint
+     * @param baseError The error (identity shown in the view)
+     */
+    void offer(final long fingerprint, final ErrorItem baseError) {
+        if (incrementIfPresent(fingerprint)) {
+            return;
+        }
+
+        if (!lock.tryLock()) {
+            return;
+        }
+
+        try {
+            if (incrementIfPresent(fingerprint)) {
+                return;
+            }
+
+            int minIndex = -1;
+            long minCount = Long.MAX_VALUE;
+
+            for (int i = 0; i < entries.length(); ++i) {
+                Entry entry = entries.get(i);
+
+                if (entry == null) {
+                    minIndex = i;
+                    minCount = 0;
+                    break;
+                }
+
+                long count = entry.count.get();
+
+                if (count < minCount) {
+                    minIndex = i;
+                    minCount = count;
+                }
+            }
+
+            entries.set(minIndex, new Entry(fingerprint, baseError, minCount + 1, minCount));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return The tracked errors, most frequent first
+     */
+    List<ErrorFrequency> snapshot() {
+        List<ErrorFrequency> top = new ArrayList<ErrorFrequency>(entries.length());
+
+        for (int i = 0; i < entries.length(); ++i) {
+            Entry entry = entries.get(i);
+
+            if (entry != null) {
+                top.add(new ErrorFrequency(entry.errorType, entry.errorTypeCode, entry.sourceMethod,
+                        entry.count.get(), entry.overestimate));
+            }
+        }
+
+        Collections.sort(top, new Comparator<ErrorFrequency>() {
+            @Override
+            public int compare(final ErrorFrequency a, final ErrorFrequency b) {
+                return Long.compare(b.getCount(), a.getCount());
+            }
+        });
+
+        return top;
+    }
+
+    /**
+     * @param fingerprint The error fingerprint
+     * @return True if the error is in the view (and was counted)
+     */
+    private boolean incrementIfPresent(final long fingerprint) {
+        for (int i = 0; i < entries.length(); ++i) {
+            Entry entry = entries.get(i);
+
+            if (entry != null && entry.fingerprint == fingerprint) {
+                entry.count.incrementAndGet();
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Tracked error
+     */
+    private static class Entry {
+
+        /**
+         * Error fingerprint
+         */
+        private final long fingerprint;
+
+        /**
+         * Error type
+         */
+        private final String errorType;
+
+        /**
+         * Error type code
+         */
+        private final String errorTypeCode;
+
+        /**
+         * Source method
+         */
+        private final String sourceMethod;
+
+        /**
+         * Number of occurrences
+         */
+        private final AtomicLong count;
+
+        /**
+         * Upper bound on the overcount
+         */
+        private final long overestimate;
+
+        /**
+         * Constructor
+         * @param fingerprint Error fingerprint
+         * @param baseError The error
+         * @param count Initial count
+         * @param overestimate Upper bound on the overcount
+         */
+        private Entry(final long fingerprint, final ErrorItem baseError, final long count, final long overestimate) {
+            this.fingerprint = fingerprint;
+            this.errorType = baseError.getErrorType();
+            this.errorTypeCode = baseError.getErrorTypeCode();
+            this.sourceMethod = baseError.getSourceMethod();
+            this.count = new AtomicLong(count);
+            this.overestimate = overestimate;
+        }
+    }
+}
@@ -25,6 +25,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -105,10 +106,59 @@ public class HttpClient {
 	 */
 	public String post(final String path, final byte[] jsonBytes, final boolean gzip)
 			throws IOException, HttpException {
+		return post(path, jsonBytes, gzip, gzip);
+	}
+
+	/**
+	 * Posts data that has already been gzipped to stackify (a retry resends the same bytes without compressing them
+	 * again)
+	 *
+	 * @param path         REST path
+	 * @param gzippedBytes Gzipped JSON bytes
+	 * @return Response string
+	 * @throws IOException
+	 * @throws HttpException
+	 */
+	public String postGzipped(final String path, final byte[] gzippedBytes) throws IOException, HttpException {
+		return post(path, gzippedBytes, true, false);
+	}
+
+	/**
+	 * Gzips the bytes
+	 *
+	 * @param bytes The bytes
+	 * @return The gzipped bytes
+	 * @throws IOException
+	 */
+	public static byte[] gzip(final byte[] bytes) throws IOException {
+		Preconditions.checkNotNull(bytes);
+
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(64, bytes.length / 4));
+
+		GZIPOutputStream stream = new GZIPOutputStream(buffer);
+		stream.write(bytes);
+		stream.close();
+
+		return buffer.toByteArray();
+	}
+
+	/**
+	 * Posts data to stackify
+	 *
+	 * @param path      REST path
+	 * @param body      The body
+	 * @param gzipped   True if the body is sent with the gzip content encoding
+	 * @param compress  True if the body should be gzipped while it is written
+	 * @return Response string
+	 * @throws IOException
+	 * @throws HttpException
+	 */
+	private String post(final String path, final byte[] body, final boolean gzipped, final boolean compress)
+			throws IOException, HttpException {
 		Preconditions.checkNotNull(path);
 		Preconditions.checkArgument(!path.isEmpty());
-		Preconditions.checkNotNull(jsonBytes);
-		Preconditions.checkArgument(0 < jsonBytes.length);
+		Preconditions.checkNotNull(body);
+		Preconditions.checkArgument(0 < body.length);
 
 		HttpURLConnection connection = null;
 
@@ -118,7 +168,7 @@ public class HttpClient {
 			// request properties
 			if (LOGGER.isDebugEnabled()) {
 				LOGGER.debug("#HttpClient #Post Sending request to {}/{} - Body: {}", apiConfig.getApiUrl(), path,
-						(new ObjectMapper()).writeValueAsString(jsonBytes));
+						(new ObjectMapper()).writeValueAsString(body));
 			}
 
 			connection = (HttpURLConnection) url.openConnection(proxy);
@@ -126,7 +176,7 @@ public class HttpClient {
 			connection.setDoOutput(true);
 			connection.setRequestProperty("Content-Type", "application/json");
 
-			if (gzip) {
+			if (gzipped) {
 				connection.setRequestProperty("Content-Encoding", "gzip");
 			}
 
@@ -140,13 +190,13 @@ public class HttpClient {
 
 			OutputStream stream = null;
 
-			if (gzip) {
+			if (compress) {
 				stream = new BufferedOutputStream(new GZIPOutputStream(connection.getOutputStream()));
 			} else {
 				stream = new BufferedOutputStream(connection.getOutputStream());
 			}
 
-			stream.write(jsonBytes);
+			stream.write(body);
 			stream.flush();
 			stream.close();
 
@@ -16,17 +16,24 @@
 package com.stackify.api.common.http;
 
 import java.io.IOException;
-import java.util.Queue;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.stackify.api.common.collect.SynchronizedEvictingQueue;
 import com.stackify.api.common.lang.Threads;
+import com.stackify.api.common.util.Preconditions;
 
 /**
  * HttpRetransmissionQueue
+ * <p>
+ * Holds the bytes of failed requests so they are resent as they are, without being encoded again. The queue is bounded
+ * by the number of requests and by their total size; the oldest requests are evicted first. A failed request is
+ * resent after a jittered exponential backoff and skipped after a maximum number of attempts.
  * @author Eric Martin
  */
 public class HttpResendQueue {
@@ -42,24 +49,84 @@ public class HttpResendQueue {
 	private static final int MAX_POST_ATTEMPTS = 3;
 	
 	/**
-	 * The queue of requests to be retransmitted
+	 * The queue of requests to be retransmitted, oldest first (guarded by this)
 	 */
-	private final Queue<HttpResendQueueItem> resendQueue; 
+	private final Deque<HttpResendQueueItem> resendQueue = new ArrayDeque<HttpResendQueueItem>();
+
+	/**
+	 * Maximum number of queued requests
+	 */
+	private final int maxSize;
+
+	/**
+	 * Maximum total size (bytes) of the queued requests
+	 */
+	private final long maxBytes;
+
+	/**
+	 * Maximum number of attempts (the first post included) before a request is skipped
+	 */
+	private final int maxAttempts;
+
+	/**
+	 * Backoff before the first retry (milliseconds), doubled after each failure
+	 */
+	private final long baseDelayMillis;
+
+	/**
+	 * Maximum backoff (milliseconds)
+	 */
+	private final long maxDelayMillis;
+
+	/**
+	 * Total size (bytes) of the queued requests (guarded by this)
+	 */
+	private long bytes;
 
 	/**
 	 * Constructor
 	 * @param maxSize Maximum size of the queue
 	 */
 	public HttpResendQueue(final int maxSize) {
-		this.resendQueue = new SynchronizedEvictingQueue<HttpResendQueueItem>(maxSize); 
+		this(maxSize, Long.MAX_VALUE, MAX_POST_ATTEMPTS, 0, 0);
+	}
+
+	/**
+	 * Constructor
+	 * @param maxSize Maximum number of queued requests
+	 * @param maxBytes Maximum total size (bytes) of the queued requests
+	 * @param maxAttempts Maximum number of attempts (the first post included) before a request is skipped
+	 * @param baseDelayMillis Backoff before the first retry (milliseconds), doubled after each failure
+	 * @param maxDelayMillis Maximum backoff (milliseconds)
+	 */
+	public HttpResendQueue(final int maxSize, final long maxBytes, final int maxAttempts, final long baseDelayMillis,
+			final long maxDelayMillis) {
+		Preconditions.checkArgument(0 < maxSize);
+		Preconditions.checkArgument(0 < maxBytes);
+		Preconditions.checkArgument(0 < maxAttempts);
+		Preconditions.checkArgument(0 <= baseDelayMillis);
+		Preconditions.checkArgument(baseDelayMillis <= maxDelayMillis);
+
+		this.maxSize = maxSize;
+		this.maxBytes = maxBytes;
+		this.maxAttempts = maxAttempts;
+		this.baseDelayMillis = baseDelayMillis;
+		this.maxDelayMillis = maxDelayMillis;
 	}
 	
 	/**
 	 * @return Current size of the resend queue
 	 */
-	public int size() {
+	public synchronized int size() {
 		return resendQueue.size();
 	}
+
+	/**
+	 * @return Current total size (bytes) of the queued requests
+	 */
+	public synchronized long byteSize() {
+		return bytes;
+	}
 	
 	/**
 	 * Offers a failed request to the resend queue
@@ -67,7 +134,7 @@ public class HttpResendQueue {
 	 * @param e IOException
 	 */
 	public void offer(final byte[] request, final IOException e) {
-		resendQueue.offer(new HttpResendQueueItem(request));
+		offer(new HttpResendQueueItem(request));
 	}
 	
 	/**
@@ -77,7 +144,103 @@ public class HttpResendQueue {
 	 */
 	public void offer(final byte[] request, final HttpException e) {
 		if (!e.isClientError()) {
-			resendQueue.offer(new HttpResendQueueItem(request));
+			offer(new HttpResendQueueItem(request));
+		}
+	}
+
+	/**
+	 * Queues a failed request, due after the backoff for its number of failures. The oldest requests are evicted
+	 * to stay within the bounds.
+	 * @param item The failed request
+	 * @return False if the request has had the maximum number of attempts or alone is larger than the byte bound
+	 * (not queued)
+	 */
+	public synchronized boolean offer(final HttpResendQueueItem item) {
+		Preconditions.checkNotNull(item);
+
+		long length = item.getSize();
+
+		if (maxAttempts <= item.getNumFailures() || maxBytes < length) {
+			return false;
+		}
+
+		while (!resendQueue.isEmpty() && (maxSize <= resendQueue.size() || maxBytes < bytes + length)) {
+			HttpResendQueueItem evicted = resendQueue.pollFirst();
+			bytes -= evicted.getSize();
+		}
+
+		item.setNextAttemptMillis(System.currentTimeMillis() + backoffMillis(item.getNumFailures()));
+
+		resendQueue.addLast(item);
+		bytes += length;
+
+		return true;
+	}
+
+	/**
+	 * Removes the oldest request that is due for a retry
+	 * @param nowMillis Current time (epoch milliseconds)
+	 * @return The request or null if none is due
+	 */
+	public synchronized HttpResendQueueItem pollDue(final long nowMillis) {
+		Iterator<HttpResendQueueItem> it = resendQueue.iterator();
+
+		while (it.hasNext()) {
+			HttpResendQueueItem item = it.next();
+
+			if (item.getNextAttemptMillis() <= nowMillis) {
+				it.remove();
+				bytes -= item.getSize();
+				return item;
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Records another failure of a request taken off the queue and queues it again, unless it has had the maximum
+	 * number of attempts
+	 * @param item The request that failed again
+	 * @return True if the request was queued again, false if it is skipped
+	 */
+	public boolean retry(final HttpResendQueueItem item) {
+		Preconditions.checkNotNull(item);
+
+		item.failed();
+		return offer(item);
+	}
+
+	/**
+	 * Full jitter on the upper half of the exponential backoff, so requests that failed together spread out
+	 * @param numFailures Number of failures of the request
+	 * @return Backoff before the next attempt (milliseconds)
+	 */
+	private long backoffMillis(final int numFailures) {
+		if (baseDelayMillis == 0) {
+			return 0;
+		}
+
+		long delay = Math.min(maxDelayMillis, baseDelayMillis << Math.min(numFailures - 1, 30));
+		long half = delay / 2;
+
+		return half + ThreadLocalRandom.current().nextLong(delay - half + 1);
+	}
+
+	/**
+	 * @return The oldest request or null
+	 */
+	private synchronized HttpResendQueueItem peek() {
+		return resendQueue.peekFirst();
+	}
+
+	/**
+	 * Removes the request if it is still queued
+	 * @param item The request
+	 */
+	private synchronized void remove(final HttpResendQueueItem item) {
+		if (resendQueue.remove(item)) {
+			bytes -= item.getSize();
 		}
 	}
 	
@@ -98,20 +261,18 @@ public class HttpResendQueue {
 	 */
 	public void drain(final HttpClient httpClient, final String path, final boolean gzip) {
 		
-		if (!resendQueue.isEmpty()) {
+		if (0 < size()) {
 			
 			// queued items are available for retransmission
 			
 			try {
 				// drain resend queue until empty or first exception
 				
-				LOGGER.info("Attempting to retransmit {} requests", resendQueue.size());
+				LOGGER.info("Attempting to retransmit {} requests", size());
 				
-				while (!resendQueue.isEmpty()) {
-					
-					// get next item off queue
-					
-					HttpResendQueueItem item = resendQueue.peek();
+				HttpResendQueueItem item;
+
+				while ((item = peek()) != null) {
 					
 					try {
 						
@@ -123,7 +284,7 @@ public class HttpResendQueue {
 						// retransmission successful
 						// remove from queue and sleep for 250ms
 						
-						resendQueue.remove();
+						remove(item);
 						
 						Threads.sleepQuietly(250, TimeUnit.MILLISECONDS);
 						
@@ -134,11 +295,11 @@ public class HttpResendQueue {
 						
 						item.failed();
 						
-						// remove it from the queue if we have had MAX_POST_ATTEMPTS (3) failures for the same request
+						// remove it from the queue if we have had maxAttempts failures for the same request
 						
-						if (MAX_POST_ATTEMPTS <= item.getNumFailures())
+						if (maxAttempts <= item.getNumFailures())
 						{
-							resendQueue.remove();
+							remove(item);
 						}
 						
 						// rethrow original exception from retransmission
@@ -30,6 +30,11 @@ public class HttpResendQueueItem {
 	 * Number of failures for the item;
 	 */
 	private int numFailures;
+
+	/**
+	 * Earliest time of the next attempt (epoch milliseconds)
+	 */
+	private long nextAttemptMillis;
 	
 	/**
 	 * Constructor
@@ -47,6 +52,13 @@ public class HttpResendQueueItem {
 		return jsonBytes;
 	}
 
+	/**
+	 * @return the size of the item (bytes), bounded by the queue
+	 */
+	public long getSize() {
+		return jsonBytes.length;
+	}
+
 	/**
 	 * @return the numFailures
 	 */
@@ -54,6 +66,20 @@ public class HttpResendQueueItem {
 		return numFailures;
 	}
 	
+	/**
+	 * @return the earliest time of the next attempt (epoch milliseconds)
+	 */
+	public long getNextAttemptMillis() {
+		return nextAttemptMillis;
+	}
+
+	/**
+	 * @param nextAttemptMillis the earliest time of the next attempt (epoch milliseconds)
+	 */
+	void setNextAttemptMillis(final long nextAttemptMillis) {
+		this.nextAttemptMillis = nextAttemptMillis;
+	}
+
 	/**
 	 * Increment the number of failures
 	 */
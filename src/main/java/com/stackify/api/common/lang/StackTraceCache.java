@@ -0,0 +1,258 @@
+/*
+ * Copyright 2026 Stackify
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stackify.api.common.lang;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.stackify.api.TraceFrame;
+import com.stackify.api.common.codec.Fingerprints;
+import com.stackify.api.common.util.Preconditions;
+
+/**
+ * StackTraceCache
+ * <p>
+ * Bounded, lock free cache of converted stack traces. The key is a hash of the causal chain shape (the class of every
+ * cause) and of every frame; a hit is confirmed against the cached frames, so a hash collision only costs a conversion.
+ * Like {@link TraceFrameInterner} the table is direct mapped: a slot holds the last skeleton cached for its hash and a
+ * miss replaces it, so a lookup is a single read and the skeletons used most keep coming back to their slot. The
+ * cached skeleton (error types, source methods and immutable frame lists) is shared by every error item built from it,
+ * only the messages are taken from each throwable. Logging the same throwable again (log and rethrow) hits as well.
+ * The frames are trimmed once, when the chain is converted.
+ */
+class StackTraceCache {
+
+    /**
+     * Converts and trims the stack traces
+     */
+    private final StackTraceTrimmer trimmer;
+
+    /**
+     * The slots
+     */
+    private final AtomicReferenceArray<Entry> slots;
+
+    /**
+     * Constructor
+     * @param capacity Number of slots (maximum number of cached stack traces)
+     */
+    StackTraceCache(final int capacity) {
+        this(capacity, StackTraceTrimmer.NONE);
+    }
+
+    /**
+     * Constructor
+     * @param capacity Number of slots (maximum number of cached stack traces)
+     * @param trimmer Converts and trims the stack traces
+     */
+    StackTraceCache(final int capacity, final StackTraceTrimmer trimmer) {
+        Preconditions.checkArgument(0 < capacity);
+        Preconditions.checkNotNull(trimmer);
+
+        this.trimmer = trimmer;
+        this.slots = new AtomicReferenceArray<Entry>(capacity);
+    }
+
+    /**
+     * Gets the skeleton of the causal chain, converting and caching it on a miss
+     * @param chain The throwable and its causes
+     * @param traces The stack trace of each throwable in the chain
+     * @return The skeleton
+     */
+    Skeleton get(final List<Throwable> chain, final StackTraceElement[][] traces) {
+        long hash = hash(chain, traces);
+        int index = (int) ((hash & Long.MAX_VALUE) % slots.length());
+
+        Entry entry = slots.get(index);
+
+        if (entry != null && entry.hash == hash && entry.skeleton.matches(chain, traces)) {
+            return entry.skeleton;
+        }
+
+        Skeleton skeleton = new Skeleton(chain, traces, trimmer);
+
+        slots.set(index, new Entry(hash, skeleton));
+        return skeleton;
+    }
+
+    /**
+     * @return The number of cached stack traces
+     */
+    int size() {
+        int size = 0;
+
+        for (int i = 0; i < slots.length(); ++i) {
+            if (slots.get(i) != null) {
+                ++size;
+            }
+        }
+
+        return size;
+    }
+
+    /**
+     * @param chain The throwable and its causes
+     * @param traces The stack trace of each throwable in the chain
+     * @return Hash of the chain shape and frames
+     */
+    private static long hash(final List<Throwable> chain, final StackTraceElement[][] traces) {
+        long h = Fingerprints.SEED;
+
+        for (int i = 0; i < traces.length; ++i) {
+            h = Fingerprints.hash(h, chain.get(i).getClass().hashCode());
+
+            for (StackTraceElement element : traces[i]) {
+                h = Fingerprints.hash(h, element.hashCode());
+            }
+
+            h = Fingerprints.hash(h, traces[i].length);
+        }
+
+        return Fingerprints.mix(h);
+    }
+
+    /**
+     * Cached skeleton and the hash it was cached by
+     */
+    private static class Entry {
+
+        /**
+         * Hash of the chain shape and frames
+         */
+        private final long hash;
+
+        /**
+         * The skeleton
+         */
+        private final Skeleton skeleton;
+
+        /**
+         * Constructor
+         * @param hash Hash of the chain shape and frames
+         * @param skeleton The skeleton
+         */
+        private Entry(final long hash, final Skeleton skeleton) {
+            this.hash = hash;
+            this.skeleton = skeleton;
+        }
+    }
+
+    /**
+     * Converted causal chain without the messages
+     */
+    static class Skeleton {
+
+        /**
+         * Class of each throwable
+         */
+        private final Class<?>[] types;
+
+        /**
+         * Stack trace of each throwable
+         */
+        private final StackTraceElement[][] traces;
+
+        /**
+         * Error type of each throwable
+         */
+        private final String[] errorTypes;
+
+        /**
+         * Source method of each throwable (null without frames)
+         */
+        private final String[] sourceMethods;
+
+        /**
+         * Immutable frames of each throwable
+         */
+        private final List<List<TraceFrame>> frames;
+
+        /**
+         * Converts the causal chain
+         * @param chain The throwable and its causes
+         * @param traces The stack trace of each throwable in the chain
+         * @param trimmer Converts and trims the stack traces
+         */
+        private Skeleton(final List<Throwable> chain, final StackTraceElement[][] traces, final StackTraceTrimmer trimmer) {
+            int size = traces.length;
+
+            this.types = new Class<?>[size];
+            this.traces = traces;
+            this.errorTypes = new String[size];
+            this.sourceMethods = new String[size];
+            this.frames = new ArrayList<List<TraceFrame>>(size);
+
+            for (int i = 0; i < size; ++i) {
+                types[i] = chain.get(i).getClass();
+                errorTypes[i] = types[i].getCanonicalName();
+
+                StackTraceElement[] stackTrace = traces[i];
+
+                if (0 < stackTrace.length) {
+                    sourceMethods[i] = stackTrace[0].getClassName() + "." + stackTrace[0].getMethodName();
+                }
+
+                frames.add(Collections.unmodifiableList(trimmer.trim(stackTrace, (i == 0) ? null : traces[i - 1])));
+            }
+        }
+
+        /**
+         * @param chain The throwable and its causes
+         * @param traces The stack trace of each throwable in the chain
+         * @return True if this skeleton was converted from an identical chain
+         */
+        private boolean matches(final List<Throwable> chain, final StackTraceElement[][] traces) {
+            if (this.traces.length != traces.length) {
+                return false;
+            }
+
+            for (int i = 0; i < traces.length; ++i) {
+                if (types[i] != chain.get(i).getClass() || !Arrays.equals(this.traces[i], traces[i])) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        /**
+         * @param index Position in the causal chain
+         * @return The error type
+         */
+        String getErrorType(final int index) {
+            return errorTypes[index];
+        }
+
+        /**
+         * @param index Position in the causal chain
+         * @return The source method (null without frames)
+         */
+        String getSourceMethod(final int index) {
+            return sourceMethods[index];
+        }
+
+        /**
+         * @param index Position in the causal chain
+         * @return The immutable, shared frames
+         */
+        List<TraceFrame> getFrames(final int index) {
+            return frames.get(index);
+        }
+    }
+}
@@ -25,7 +25,8 @@ import com.stackify.api.TraceFrame;
 public class StackTraceElements {
 
 	/**
-	 * Converts a StackTraceElement to a TraceFrame
+	 * Converts a StackTraceElement to a new TraceFrame, owned (and modifiable) by the caller. The errors built by this
+	 * library share interned frames instead (see {@link TraceFrameInterner}).
 	 * @param element The StackTraceElement to be converted
 	 * @return The TraceFrame
 	 */
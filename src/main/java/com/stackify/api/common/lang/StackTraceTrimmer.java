@@ -0,0 +1,268 @@
+/*
+ * Copyright 2026 Stackify
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stackify.api.common.lang;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.stackify.api.TraceFrame;
+import com.stackify.api.common.ApiConfiguration;
+import com.stackify.api.common.util.Preconditions;
+
+/**
+ * StackTraceTrimmer
+ * <p>
+ * Converts stack traces to trace frames, trimming them on the way:
+ * <ul>
+ * <li>frames a cause shares with the trace of the throwable it caused are replaced by a single "... N more" frame,
+ * as the JDK prints them</li>
+ * <li>runs of consecutive frames under a folded package prefix (whole package segments, "org.springframework" matches
+ * "org.springframework.web.Foo") are replaced by a single "org.springframework.* (N frames)" frame</li>
+ * <li>at most max frames are kept per trace, the rest are replaced by a single "... N frames truncated" frame</li>
+ * </ul>
+ * Real and synthetic frames are interned. The default trimmer keeps every frame. Each trimmer caches the stack
+ * traces it converted (see StackTraceCache), so appenders configured differently do not share conversions.
+ */
+public class StackTraceTrimmer {
+
+    /**
+     * Trimmer that keeps every frame
+     */
+    public static final StackTraceTrimmer NONE = newBuilder().build();
+
+    /**
+     * Number of distinct causal chains whose converted stack traces are cached
+     */
+    private static final int STACK_TRACE_CACHE_SIZE = 256;
+
+    /**
+     * Maximum number of frames per trace (0 for no limit)
+     */
+    private final int maxFrames;
+
+    /**
+     * True to elide the frames shared with the enclosing trace
+     */
+    private final boolean elideCommonFrames;
+
+    /**
+     * Package prefixes whose runs of frames are folded
+     */
+    private final String[] foldPackages;
+
+    /**
+     * Stack traces converted with this trimmer
+     */
+    private final StackTraceCache cache;
+
+    /**
+     * Builds the trimmer from the API configuration
+     * @param apiConfig API configuration
+     * @return The stack trace trimmer
+     */
+    public static StackTraceTrimmer fromConfiguration(final ApiConfiguration apiConfig) {
+        Builder builder = newBuilder();
+
+        if (apiConfig.getErrorStackTraceMaxFrames() != null) {
+            builder.maxFrames(apiConfig.getErrorStackTraceMaxFrames());
+        }
+
+        builder.elideCommonFrames(Boolean.TRUE.equals(apiConfig.getErrorStackTraceElideCommonFrames()));
+
+        String foldPackages = apiConfig.getErrorStackTraceFoldPackages();
+
+        if (foldPackages != null && !foldPackages.trim().isEmpty()) {
+            for (String prefix : foldPackages.trim().split("\\s*,\\s*")) {
+                builder.foldPackage(prefix);
+            }
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * @param builder The Builder object that contains all of the values for initialization
+     */
+    private StackTraceTrimmer(final Builder builder) {
+        this.maxFrames = builder.maxFrames;
+        this.elideCommonFrames = builder.elideCommonFrames;
+        this.foldPackages = builder.foldPackages.toArray(new String[builder.foldPackages.size()]);
+        this.cache = new StackTraceCache(STACK_TRACE_CACHE_SIZE, this);
+    }
+
+    /**
+     * Converts and trims a stack trace
+     * @param trace The stack trace
+     * @param enclosingTrace The stack trace of the throwable this one caused (null for the outermost throwable)
+     * @return The trace frames
+     */
+    public List<TraceFrame> trim(final StackTraceElement[] trace, final StackTraceElement[] enclosingTrace) {
+        TraceFrameInterner interner = TraceFrameInterner.getDefault();
+
+        // the frames shared with the enclosing trace are at the bottom of both
+
+        int end = trace.length;
+
+        if (elideCommonFrames && enclosingTrace != null) {
+            int m = trace.length - 1;
+            int n = enclosingTrace.length - 1;
+
+            while (0 <= m && 0 <= n && trace[m].equals(enclosingTrace[n])) {
+                --m;
+                --n;
+            }
+
+            end = m + 1;
+        }
+
+        List<TraceFrame> frames = new ArrayList<TraceFrame>(Math.min(end, 0 < maxFrames ? maxFrames : end) + 2);
+
+        int i = 0;
+
+        while (i < end) {
+            if (0 < maxFrames && frames.size() == maxFrames) {
+                frames.add(interner.intern(null, null, "... " + (end - i) + " frames truncated"));
+                break;
+            }
+
+            String prefix = foldPackage(trace[i].getClassName());
+            int j = i + 1;
+
+            if (prefix != null) {
+                while (j < end && prefix.equals(foldPackage(trace[j].getClassName()))) {
+                    ++j;
+                }
+            }
+
+            if (1 < j - i) {
+                frames.add(interner.intern(null, null, prefix + ".* (" + (j - i) + " frames)"));
+            } else {
+                frames.add(interner.intern(trace[i]));
+            }
+
+            i = j;
+        }
+
+        if (end < trace.length) {
+            frames.add(interner.intern(null, null, "... " + (trace.length - end) + " more"));
+        }
+
+        return frames;
+    }
+
+    /**
+     * @return The stack traces converted with this trimmer
+     */
+    StackTraceCache getCache() {
+        return cache;
+    }
+
+    /**
+     * @param className The class name of a frame
+     * @return The fold package prefix the class is under or null
+     */
+    private String foldPackage(final String className) {
+        if (className == null) {
+            return null;
+        }
+
+        for (String prefix : foldPackages) {
+            if (className.startsWith(prefix) && (className.length() == prefix.length() || className.charAt(prefix.length()) == '.')) {
+                return prefix;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * @return A new instance of the Builder
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * StackTraceTrimmer.Builder separates the construction of a StackTraceTrimmer from its representation
+     */
+    public static class Builder {
+
+        /**
+         * Maximum number of frames per trace (0 for no limit)
+         */
+        private int maxFrames = 0;
+
+        /**
+         * True to elide the frames shared with the enclosing trace
+         */
+        private boolean elideCommonFrames = false;
+
+        /**
+         * Package prefixes whose runs of frames are folded
+         */
+        private final List<String> foldPackages = new ArrayList<String>();
+
+        /**
+         * @param maxFrames Maximum number of frames per trace (0 for no limit)
+         * @return Reference to the current object
+         */
+        public Builder maxFrames(final int maxFrames) {
+            Preconditions.checkArgument(0 <= maxFrames);
+            this.maxFrames = maxFrames;
+            return this;
+        }
+
+        /**
+         * @param elideCommonFrames True to elide the frames shared with the enclosing trace
+         * @return Reference to the current object
+         */
+        public Builder elideCommonFrames(final boolean elideCommonFrames) {
+            this.elideCommonFrames = elideCommonFrames;
+            return this;
+        }
+
+        /**
+         * Folds runs of frames under the package prefix ("org.acme", "org.acme." and "org.acme.*" are the same prefix)
+         * @param prefix Package prefix
+         * @return Reference to the current object
+         */
+        public Builder foldPackage(final String prefix) {
+            Preconditions.checkNotNull(prefix);
+
+            String trimmed = prefix.trim();
+
+            if (trimmed.endsWith("*")) {
+                trimmed = trimmed.substring(0, trimmed.length() - 1);
+            }
+
+            if (trimmed.endsWith(".")) {
+                trimmed = trimmed.substring(0, trimmed.length() - 1);
+            }
+
+            Preconditions.checkArgument(!trimmed.isEmpty());
+
+            foldPackages.add(trimmed);
+            return this;
+        }
+
+        /**
+         * @return A new object constructed from this builder
+         */
+        public StackTraceTrimmer build() {
+            return new StackTraceTrimmer(this);
+        }
+    }
+}
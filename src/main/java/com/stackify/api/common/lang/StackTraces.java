@@ -0,0 +1,409 @@
+/*
+ * Copyright 2026 Stackify
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stackify.api.common.lang;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * StackTraces
+ * <p>
+ * Captures frames of the current thread's stack. On Java 9+ the stack is walked lazily with java.lang.StackWalker
+ * (bound once through method handles, since the library is built for Java 8), so finding the caller of a logger
+ * only reads the class names of the top few frames and converts a single frame. Older runtimes fall back to a
+ * Throwable's stack trace.
+ */
+public class StackTraces {
+
+    /**
+     * Walks the stack
+     */
+    private static final Walker WALKER = newWalker();
+
+    /**
+     * Name of this class (its frames and those of its nested classes are skipped)
+     */
+    private static final String CLASS_NAME = StackTraces.class.getName();
+
+    /**
+     * Returns the code that called into the logger class. Frames are matched on their class name, only the frame
+     * returned is converted to a stack trace element.
+     * @param loggerClass The logger class
+     * @return The frame just below the logger's frames or null if the logger is not on the stack
+     */
+    public static StackTraceElement getCaller(final Class<?> loggerClass) {
+        final String loggerClassName = loggerClass.getName();
+
+        return WALKER.walk(new Function<Iterator<Object>, StackTraceElement>() {
+            @Override
+            public StackTraceElement apply(final Iterator<Object> frames) {
+                boolean inLogger = false;
+
+                while (frames.hasNext()) {
+                    Object frame = frames.next();
+
+                    if (loggerClassName.equals(WALKER.getClassName(frame))) {
+                        inLogger = true;
+                    } else if (inLogger) {
+                        return WALKER.toStackTraceElement(frame);
+                    }
+                }
+
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Returns the stack from the frame specified down. The whole stack is returned (from the caller of this class) if
+     * the frame is not found. Only the frames returned are converted to stack trace elements.
+     * @param className The class of the frame (can be null)
+     * @param methodName The method of the frame (can be null)
+     * @param lineNumber The line number of the frame
+     * @return The frames
+     */
+    public static StackTraceElement[] getStackTrace(final String className, final String methodName, final int lineNumber) {
+        List<Object> stack = WALKER.walk(new Function<Iterator<Object>, List<Object>>() {
+            @Override
+            public List<Object> apply(final Iterator<Object> frames) {
+                List<Object> stack = new ArrayList<Object>();
+                boolean found = false;
+
+                while (frames.hasNext()) {
+                    Object frame = frames.next();
+
+                    if (found) {
+                        stack.add(frame);
+                        continue;
+                    }
+
+                    String frameClassName = WALKER.getClassName(frame);
+
+                    if (className != null && methodName != null && className.equals(frameClassName)
+                            && methodName.equals(WALKER.getMethodName(frame)) && lineNumber == WALKER.getLineNumber(frame)) {
+                        found = true;
+                        stack.clear();
+                        stack.add(frame);
+                    } else if (isWalkerFrame(frameClassName)) {
+                        stack.clear();
+                    } else {
+                        stack.add(frame);
+                    }
+                }
+
+                return stack;
+            }
+        });
+
+        StackTraceElement[] stackTrace = new StackTraceElement[stack.size()];
+
+        for (int i = 0; i < stackTrace.length; ++i) {
+            stackTrace[i] = WALKER.toStackTraceElement(stack.get(i));
+        }
+
+        return stackTrace;
+    }
+
+    /**
+     * @param className The class of a frame
+     * @return True if the frame belongs to this class or its nested classes
+     */
+    private static boolean isWalkerFrame(final String className) {
+        return className.startsWith(CLASS_NAME) && (className.length() == CLASS_NAME.length() || className.charAt(CLASS_NAME.length()) == '$');
+    }
+
+    /**
+     * @return True if the stack is walked with java.lang.StackWalker
+     */
+    static boolean isStackWalkerAvailable() {
+        return WALKER instanceof StackWalkerWalker;
+    }
+
+    /**
+     * @return The StackWalker based walker if the runtime has one, the Throwable based walker otherwise
+     */
+    private static Walker newWalker() {
+        try {
+            return new StackWalkerWalker();
+        } catch (Exception e) {
+            return new ThrowableWalker();
+        }
+    }
+
+    /**
+     * Walks the stack of the current thread, top frame first. Frames are opaque (StackWalker.StackFrame or
+     * StackTraceElement) and read through the walker.
+     */
+    private interface Walker {
+
+        /**
+         * @param function Consumes as many frames as it needs
+         * @return The result of the function
+         */
+        <T> T walk(Function<Iterator<Object>, T> function);
+
+        /**
+         * @param frame A frame
+         * @return The class name of the frame
+         */
+        String getClassName(Object frame);
+
+        /**
+         * @param frame A frame
+         * @return The method name of the frame
+         */
+        String getMethodName(Object frame);
+
+        /**
+         * @param frame A frame
+         * @return The line number of the frame
+         */
+        int getLineNumber(Object frame);
+
+        /**
+         * @param frame A frame
+         * @return The stack trace element of the frame
+         */
+        StackTraceElement toStackTraceElement(Object frame);
+    }
+
+    /**
+     * Walks the stack trace of a new Throwable (fills in every frame)
+     */
+    private static class ThrowableWalker implements Walker {
+
+        /**
+         * @see com.stackify.api.common.lang.StackTraces.Walker#walk(java.util.function.Function)
+         */
+        @Override
+        public <T> T walk(final Function<Iterator<Object>, T> function) {
+            return function.apply(Arrays.<Object>asList(new Throwable().getStackTrace()).iterator());
+        }
+
+        /**
+         * @see com.stackify.api.common.lang.StackTraces.Walker#getClassName(java.lang.Object)
+         */
+        @Override
+        public String getClassName(final Object frame) {
+            return ((StackTraceElement) frame).getClassName();
+        }
+
+        /**
+         * @see com.stackify.api.common.lang.StackTraces.Walker#getMethodName(java.lang.Object)
+         */
+        @Override
+        public String getMethodName(final Object frame) {
+            return ((StackTraceElement) frame).getMethodName();
+        }
+
+        /**
+         * @see com.stackify.api.common.lang.StackTraces.Walker#getLineNumber(java.lang.Object)
+         */
+        @Override
+        public int getLineNumber(final Object frame) {
+            return ((StackTraceElement) frame).getLineNumber();
+        }
+
+        /**
+         * @see com.stackify.api.common.lang.StackTraces.Walker#toStackTraceElement(java.lang.Object)
+         */
+        @Override
+        public StackTraceElement toStackTraceElement(final Object frame) {
+            return (StackTraceElement) frame;
+        }
+    }
+
+    /**
+     * Walks the stack lazily with java.lang.StackWalker, through method handles bound once
+     */
+    private static class StackWalkerWalker implements Walker {
+
+        /**
+         * StackWalker.StackFrame class name
+         */
+        private static final String STACK_FRAME = "java.lang.StackWalker$StackFrame";
+
+        /**
+         * The StackWalker instance (null if the runtime has no StackWalker)
+         */
+        private static final Object STACK_WALKER = stackWalker();
+
+        /**
+         * StackWalker.walk(Function), as (Object, Function)Object
+         */
+        private static final MethodHandle WALK = bind("java.lang.StackWalker", "walk", Object.class, Function.class);
+
+        /**
+         * StackWalker.StackFrame.getClassName(), as (Object)String
+         */
+        private static final MethodHandle GET_CLASS_NAME = bind(STACK_FRAME, "getClassName", String.class);
+
+        /**
+         * StackWalker.StackFrame.getMethodName(), as (Object)String
+         */
+        private static final MethodHandle GET_METHOD_NAME = bind(STACK_FRAME, "getMethodName", String.class);
+
+        /**
+         * StackWalker.StackFrame.getLineNumber(), as (Object)int
+         */
+        private static final MethodHandle GET_LINE_NUMBER = bind(STACK_FRAME, "getLineNumber", int.class);
+
+        /**
+         * StackWalker.StackFrame.toStackTraceElement(), as (Object)StackTraceElement
+         */
+        private static final MethodHandle TO_STACK_TRACE_ELEMENT =
+                bind(STACK_FRAME, "toStackTraceElement", StackTraceElement.class);
+
+        /**
+         * @throws IllegalStateException If the runtime has no StackWalker
+         */
+        private StackWalkerWalker() {
+            if (STACK_WALKER == null || WALK == null || GET_CLASS_NAME == null || GET_METHOD_NAME == null
+                    || GET_LINE_NUMBER == null || TO_STACK_TRACE_ELEMENT == null) {
+                throw new IllegalStateException("No java.lang.StackWalker");
+            }
+        }
+
+        /**
+         * @see com.stackify.api.common.lang.StackTraces.Walker#walk(java.util.function.Function)
+         */
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T walk(final Function<Iterator<Object>, T> function) {
+            Function<Stream<Object>, T> walker = new Function<Stream<Object>, T>() {
+                @Override
+                public T apply(final Stream<Object> frames) {
+                    return function.apply(frames.iterator());
+                }
+            };
+
+            try {
+                return (T) (Object) WALK.invokeExact(STACK_WALKER, (Function<?, ?>) walker);
+            } catch (Throwable t) {
+                throw propagate(t);
+            }
+        }
+
+        /**
+         * @see com.stackify.api.common.lang.StackTraces.Walker#getClassName(java.lang.Object)
+         */
+        @Override
+        public String getClassName(final Object frame) {
+            try {
+                return (String) GET_CLASS_NAME.invokeExact(frame);
+            } catch (Throwable t) {
+                throw propagate(t);
+            }
+        }
+
+        /**
+         * @see com.stackify.api.common.lang.StackTraces.Walker#getMethodName(java.lang.Object)
+         */
+        @Override
+        public String getMethodName(final Object frame) {
+            try {
+                return (String) GET_METHOD_NAME.invokeExact(frame);
+            } catch (Throwable t) {
+                throw propagate(t);
+            }
+        }
+
+        /**
+         * @see com.stackify.api.common.lang.StackTraces.Walker#getLineNumber(java.lang.Object)
+         */
+        @Override
+        public int getLineNumber(final Object frame) {
+            try {
+                return (int) GET_LINE_NUMBER.invokeExact(frame);
+            } catch (Throwable t) {
+                throw propagate(t);
+            }
+        }
+
+        /**
+         * @see com.stackify.api.common.lang.StackTraces.Walker#toStackTraceElement(java.lang.Object)
+         */
+        @Override
+        public StackTraceElement toStackTraceElement(final Object frame) {
+            try {
+                return (StackTraceElement) TO_STACK_TRACE_ELEMENT.invokeExact(frame);
+            } catch (Throwable t) {
+                throw propagate(t);
+            }
+        }
+
+        /**
+         * @return StackWalker.getInstance() or null if the runtime has no StackWalker
+         */
+        private static Object stackWalker() {
+            try {
+                return Class.forName("java.lang.StackWalker").getMethod("getInstance").invoke(null);
+            } catch (Exception e) {
+                return null;
+            }
+        }
+
+        /**
+         * Binds a public instance method, with its receiver type erased to Object
+         * @param className The class declaring the method
+         * @param name The method name
+         * @param returnType The return type
+         * @param parameterTypes The parameter types
+         * @return The method handle or null if the runtime has no such method
+         */
+        private static MethodHandle bind(final String className, final String name, final Class<?> returnType,
+                final Class<?>... parameterTypes) {
+            try {
+                // a full lookup: StackWalker.walk is caller sensitive, publicLookup cannot bind it
+                MethodHandle handle = MethodHandles.lookup().findVirtual(Class.forName(className), name,
+                        MethodType.methodType(returnType, parameterTypes));
+                return handle.asType(handle.type().changeParameterType(0, Object.class));
+            } catch (Exception e) {
+                return null;
+            }
+        }
+
+        /**
+         * @param t The exception thrown by the invoked method
+         * @return The unchecked exception to throw
+         */
+        private static RuntimeException propagate(final Throwable t) {
+            if (t instanceof RuntimeException) {
+                return (RuntimeException) t;
+            }
+
+            if (t instanceof Error) {
+                throw (Error) t;
+            }
+
+            return new IllegalStateException(t);
+        }
+    }
+
+    /**
+     * Hidden to prevent construction
+     */
+    private StackTraces() {
+        // do nothing
+    }
+}
@@ -16,10 +16,13 @@
 package com.stackify.api.common.lang;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 
 import com.stackify.api.ErrorItem;
-import com.stackify.api.TraceFrame;
+import com.stackify.api.common.util.Preconditions;
 
 /**
  * Utility class for converting a Throwable object to an ErrorItem object
@@ -28,6 +31,11 @@ import com.stackify.api.TraceFrame;
  */
 public class Throwables {
 
+	/**
+	 * Stack trace of a throwable without one
+	 */
+	private static final StackTraceElement[] NO_FRAMES = new StackTraceElement[0];
+
 	/**
 	 * Returns the Throwable's cause chain as a list. The first entry is the Throwable followed by the cause chain.
 	 * @param throwable The Throwable
@@ -41,9 +49,12 @@ public class Throwables {
 		List<Throwable> causes = new ArrayList<Throwable>();
 		causes.add(throwable);
 		
+		Set<Throwable> seen = Collections.newSetFromMap(new IdentityHashMap<Throwable, Boolean>());
+		seen.add(throwable);
+		
 		Throwable cause = throwable.getCause();
 		
-		while ((cause != null) && (!causes.contains(cause))) {
+		while ((cause != null) && (seen.add(cause))) {
 			causes.add(cause);
 			cause = cause.getCause();
 		}
@@ -52,43 +63,58 @@ public class Throwables {
 	}
 	
 	/**
-	 * Converts a Throwable to an ErrorItem
+	 * Converts a Throwable to an ErrorItem. The stack traces are converted once per distinct causal chain and shared
+	 * (as immutable lists) by the error items of every occurrence, only the messages are built per call.
 	 * @param logMessage The log message (can be null)
 	 * @param t The Throwable to be converted
 	 * @return The ErrorItem
 	 */
 	public static ErrorItem toErrorItem(final String logMessage, final Throwable t) {
+		return toErrorItem(logMessage, t, StackTraceTrimmer.NONE);
+	}
+
+	/**
+	 * Converts a Throwable to an ErrorItem, trimming its stack traces. The converted stack traces are cached by the
+	 * trimmer.
+	 * @param logMessage The log message (can be null)
+	 * @param t The Throwable to be converted
+	 * @param trimmer Converts and trims the stack traces
+	 * @return The ErrorItem
+	 */
+	public static ErrorItem toErrorItem(final String logMessage, final Throwable t, final StackTraceTrimmer trimmer) {
+		Preconditions.checkNotNull(trimmer);
 		
 		// get a flat list of the throwable and the causal chain
 		
 		List<Throwable> throwables = Throwables.getCausalChain(t);
 
-		// create and populate builders for all throwables
-		
-		List<ErrorItem.Builder> builders = new ArrayList<ErrorItem.Builder>(throwables.size());
-		
-		for (int i = 0; i < throwables.size(); ++i) {
-			if (i == 0) {
-				ErrorItem.Builder builder = toErrorItemBuilderWithoutCause(logMessage, throwables.get(i));
-				builders.add(builder);
-			} else {
-				ErrorItem.Builder builder = toErrorItemBuilderWithoutCause(null, throwables.get(i));
-				builders.add(builder);
-			}
+		StackTraceElement[][] traces = new StackTraceElement[throwables.size()][];
+
+		for (int i = 0; i < traces.length; ++i) {
+			StackTraceElement[] stackTrace = throwables.get(i).getStackTrace();
+			traces[i] = (stackTrace != null) ? stackTrace : NO_FRAMES;
 		}
+
+		StackTraceCache.Skeleton skeleton = trimmer.getCache().get(throwables, traces);
+
+		// build the errors innermost first, attaching each child to its parent
 		
-		// attach child errors to their parent in reverse order
-		
-		for (int i = builders.size() - 1; 0 < i; --i) {
-			ErrorItem.Builder parent = builders.get(i - 1);
-			ErrorItem.Builder child = builders.get(i);
-			
-			parent.innerError(child.build());
+		ErrorItem child = null;
+
+		for (int i = traces.length - 1; 0 <= i; --i) {
+			ErrorItem.Builder builder = ErrorItem.newBuilder();
+			builder.message(toErrorItemMessage((i == 0) ? logMessage : null, throwables.get(i).getMessage()));
+			builder.errorType(skeleton.getErrorType(i));
+			builder.sourceMethod(skeleton.getSourceMethod(i));
+			builder.stackTrace(skeleton.getFrames(i));
+			builder.innerError(child);
+
+			child = builder.build();
 		}
 		
 		// return the assembled original error
 		
-		return builders.get(0).build();
+		return child;
 	}
 	
 	/**
@@ -100,36 +126,6 @@ public class Throwables {
 		return toErrorItem(null, t);
 	}
 	
-	/**
-	 * Converts a Throwable to an ErrorItem.Builder and ignores the cause
-	 * @param logMessage The log message
-	 * @param t The Throwable to be converted
-	 * @return The ErrorItem.Builder without the innerError populated
-	 */
-	private static ErrorItem.Builder toErrorItemBuilderWithoutCause(final String logMessage, final Throwable t) {
-		ErrorItem.Builder builder = ErrorItem.newBuilder();
-		builder.message(toErrorItemMessage(logMessage, t.getMessage()));
-		builder.errorType(t.getClass().getCanonicalName());
-		
-		List<TraceFrame> stackFrames = new ArrayList<TraceFrame>();
-		
-		StackTraceElement[] stackTrace = t.getStackTrace();
-		
-		if ((stackTrace != null) && (0 < stackTrace.length)) {
-			StackTraceElement firstFrame = stackTrace[0];
-			builder.sourceMethod(firstFrame.getClassName() + "." + firstFrame.getMethodName());
-			
-			for (int i = 0; i < stackTrace.length; ++i) {
-				TraceFrame stackFrame = StackTraceElements.toTraceFrame(stackTrace[i]);
-				stackFrames.add(stackFrame);
-			}
-		}
-		
-		builder.stackTrace(stackFrames);
-		
-		return builder;
-	}
-	
 	/**
 	 * Constructs the error item message from the log message and the throwable's message
 	 * @param logMessage The log message (can be null)
@@ -164,37 +160,41 @@ public class Throwables {
 	 * @return The error item
 	 */
 	public static ErrorItem toErrorItem(final String logMessage, final String className, final String methodName, final int lineNumber) {
-		
+		return toErrorItem(logMessage, className, methodName, StackTraces.getStackTrace(className, methodName, lineNumber));
+	}
+
+	/**
+	 * Create an error item from a simple log message (without an explicit exception) and the stack captured when it
+	 * was logged (the current thread's stack may not be the logging thread's)
+	 * @param logMessage The log message
+	 * @param className The class that logged the message
+	 * @param methodName The method that logged the message
+	 * @param stackTrace The stack from the logging call down
+	 * @return The error item
+	 */
+	public static ErrorItem toErrorItem(final String logMessage, final String className, final String methodName, final StackTraceElement[] stackTrace) {
+		return toErrorItem(logMessage, className, methodName, stackTrace, StackTraceTrimmer.NONE);
+	}
+
+	/**
+	 * Create an error item from a simple log message (without an explicit exception) and the stack captured when it
+	 * was logged, trimming the stack
+	 * @param logMessage The log message
+	 * @param className The class that logged the message
+	 * @param methodName The method that logged the message
+	 * @param stackTrace The stack from the logging call down
+	 * @param trimmer Converts and trims the stack
+	 * @return The error item
+	 */
+	public static ErrorItem toErrorItem(final String logMessage, final String className, final String methodName, final StackTraceElement[] stackTrace, final StackTraceTrimmer trimmer) {
+		Preconditions.checkNotNull(stackTrace);
+		Preconditions.checkNotNull(trimmer);
+
 		ErrorItem.Builder builder = ErrorItem.newBuilder();
 		builder.message(logMessage);
 		builder.errorType("StringException");
 		builder.sourceMethod(className + "." + methodName);
-		
-		List<TraceFrame> stackFrames = new ArrayList<TraceFrame>();
-
-		StackTraceElement[] stackTrace = (new Throwable()).getStackTrace();
-
-		int start = 0;
-		
-		if ((className != null) && (methodName != null)) {
-			for (int i = 0; i < stackTrace.length; ++i) {
-				StackTraceElement ste = (stackTrace[i]);
-				
-				if (className.equals(ste.getClassName()) && 
-				    methodName.equals(ste.getMethodName()) && 
-				    lineNumber == ste.getLineNumber()) {
-					start = i;
-					break;
-				}
-			}
-		}
-		
-		for (int i = start; i < stackTrace.length; ++i) {
-			TraceFrame stackFrame = StackTraceElements.toTraceFrame(stackTrace[i]);
-			stackFrames.add(stackFrame);
-		}
-
-		builder.stackTrace(stackFrames);
+		builder.stackTrace(trimmer.trim(stackTrace, null));
 		
 		return builder.build();
 	}
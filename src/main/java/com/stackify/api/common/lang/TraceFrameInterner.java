@@ -0,0 +1,220 @@
+/*
+ * Copyright 2026 Stackify
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stackify.api.common.lang;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.stackify.api.TraceFrame;
+import com.stackify.api.common.codec.Fingerprints;
+import com.stackify.api.common.util.Preconditions;
+
+/**
+ * TraceFrameInterner
+ * <p>
+ * Bounded, lock free interning table of trace frames, so the errors queued for sending share one immutable frame per
+ * distinct stack frame instead of holding a copy each. The table is direct mapped: a slot holds the last frame interned
+ * for its hash and a collision replaces it, so memory is fixed and a lookup is a single read. Interned frames reject
+ * the setters; use {@link TraceFrame#toBuilder()} for a modified copy.
+ */
+public class TraceFrameInterner {
+
+    /**
+     * Default number of slots
+     */
+    private static final int DEFAULT_CAPACITY = 4096;
+
+    /**
+     * Shared interner
+     */
+    private static final TraceFrameInterner DEFAULT = new TraceFrameInterner(DEFAULT_CAPACITY);
+
+    /**
+     * The slots
+     */
+    private final AtomicReferenceArray<Entry> slots;
+
+    /**
+     * @return The shared interner
+     */
+    public static TraceFrameInterner getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Constructor
+     * @param capacity Number of slots (rounded up to a power of two)
+     */
+    public TraceFrameInterner(final int capacity) {
+        Preconditions.checkArgument(0 < capacity);
+
+        int c = 1;
+
+        while (c < capacity) {
+            c <<= 1;
+        }
+
+        this.slots = new AtomicReferenceArray<Entry>(c);
+    }
+
+    /**
+     * Gets the canonical frame of a stack trace element
+     * @param element The stack trace element
+     * @return The immutable, shared frame
+     */
+    public TraceFrame intern(final StackTraceElement element) {
+        Preconditions.checkNotNull(element);
+
+        int index = indexFor(element.hashCode());
+        Entry entry = slots.get(index);
+
+        if (entry != null && element.equals(entry.key)) {
+            return entry.frame;
+        }
+
+        Integer lineNum = 0 < element.getLineNumber() ? Integer.valueOf(element.getLineNumber()) : null;
+        InternedTraceFrame frame = new InternedTraceFrame(element.getFileName(), lineNum,
+                element.getClassName() + "." + element.getMethodName());
+
+        slots.set(index, new Entry(element, frame));
+        return frame;
+    }
+
+    /**
+     * Gets the canonical frame with the values specified
+     * @param codeFileName The file name (can be null)
+     * @param lineNum The line number (can be null)
+     * @param method The method name (can be null)
+     * @return The immutable, shared frame
+     */
+    public TraceFrame intern(final String codeFileName, final Integer lineNum, final String method) {
+        int index = indexFor(hashCode(codeFileName, lineNum, method));
+        Entry entry = slots.get(index);
+
+        if (entry != null && entry.key == entry.frame && entry.frame.equals(codeFileName, lineNum, method)) {
+            return entry.frame;
+        }
+
+        InternedTraceFrame frame = new InternedTraceFrame(codeFileName, lineNum, method);
+
+        slots.set(index, new Entry(frame, frame));
+        return frame;
+    }
+
+    /**
+     * @param hash Hash code of the key
+     * @return The slot of the key
+     */
+    private int indexFor(final int hash) {
+        return (int) Fingerprints.mix(hash) & (slots.length() - 1);
+    }
+
+    /**
+     * @param codeFileName The file name
+     * @param lineNum The line number
+     * @param method The method name
+     * @return Hash code of the values
+     */
+    private static int hashCode(final String codeFileName, final Integer lineNum, final String method) {
+        int h = codeFileName == null ? 0 : codeFileName.hashCode();
+        h = 31 * h + (lineNum == null ? 0 : lineNum.hashCode());
+        return 31 * h + (method == null ? 0 : method.hashCode());
+    }
+
+    /**
+     * Interned frame and the key it was interned by
+     */
+    private static class Entry {
+
+        /**
+         * The stack trace element, or the frame itself when interned by value
+         */
+        private final Object key;
+
+        /**
+         * The interned frame
+         */
+        private final InternedTraceFrame frame;
+
+        /**
+         * Constructor
+         * @param key The key
+         * @param frame The interned frame
+         */
+        private Entry(final Object key, final InternedTraceFrame frame) {
+            this.key = key;
+            this.frame = frame;
+        }
+    }
+
+    /**
+     * Trace frame that cannot be modified
+     */
+    private static class InternedTraceFrame extends TraceFrame {
+
+        /**
+         * Constructor
+         * @param codeFileName The file name
+         * @param lineNum The line number
+         * @param method The method name
+         */
+        private InternedTraceFrame(final String codeFileName, final Integer lineNum, final String method) {
+            super(codeFileName, lineNum, method);
+        }
+
+        /**
+         * @param codeFileName The file name
+         * @param lineNum The line number
+         * @param method The method name
+         * @return True if the frame has these values
+         */
+        private boolean equals(final String codeFileName, final Integer lineNum, final String method) {
+            return eq(getCodeFileName(), codeFileName) && eq(getLineNum(), lineNum) && eq(getMethod(), method);
+        }
+
+        /**
+         * @see com.stackify.api.TraceFrame#setCodeFileName(java.lang.String)
+         */
+        @Override
+        public void setCodeFileName(final String codeFileName) {
+            throw new UnsupportedOperationException("Interned trace frames are immutable");
+        }
+
+        /**
+         * @see com.stackify.api.TraceFrame#setLineNum(java.lang.Integer)
+         */
+        @Override
+        public void setLineNum(final Integer lineNum) {
+            throw new UnsupportedOperationException("Interned trace frames are immutable");
+        }
+
+        /**
+         * @see com.stackify.api.TraceFrame#setMethod(java.lang.String)
+         */
+        @Override
+        public void setMethod(final String method) {
+            throw new UnsupportedOperationException("Interned trace frames are immutable");
+        }
+
+        /**
+         * @param a First value (can be null)
+         * @param b Second value (can be null)
+         * @return True if both are null or equal
+         */
+        private static boolean eq(final Object a, final Object b) {
+            return a == null ? b == null : a.equals(b);
+        }
+    }
+}
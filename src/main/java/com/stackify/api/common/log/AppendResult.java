@@ -0,0 +1,61 @@
+/*
+ * Copyright 2026 Stackify
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stackify.api.common.log;
+
+/**
+ * AppendResult
+ * <p>
+ * Outcome of appending a log event
+ */
+public enum AppendResult {
+
+    /**
+     * Queued to be sent
+     */
+    ACCEPTED,
+
+    /**
+     * Dropped by the logger filter
+     */
+    FILTERED,
+
+    /**
+     * Dropped by sampling
+     */
+    SAMPLED_OUT,
+
+    /**
+     * Dropped because the queue was full
+     */
+    DROPPED_FULL,
+
+    /**
+     * Dropped because the appender is not activated or its background service is not running
+     */
+    NOT_RUNNING,
+
+    /**
+     * Dropped because the event could not be converted
+     */
+    FAILED;
+
+    /**
+     * @return True if the event was queued
+     */
+    public boolean isAccepted() {
+        return this == ACCEPTED;
+    }
+}
@@ -17,6 +17,7 @@ package com.stackify.api.common.log;
 
 import com.stackify.api.LogMsg;
 import com.stackify.api.StackifyError;
+import com.stackify.api.common.lang.StackTraceTrimmer;
 
 /**
  * EventAdapter
@@ -39,6 +40,41 @@ public interface EventAdapter<T> {
 	 */
 	StackifyError getStackifyError(final T event, final Throwable exception);
 
+	/**
+	 * Builds a StackifyError from the logging event, on a thread other than the logging thread (asynchronous
+	 * enrichment). An error logged without an exception gets the stack captured by {@link #getStackTrace(Object)}.
+	 * @param event The logging event
+	 * @param exception The exception (optional)
+	 * @param stackTrace The stack captured on the logging thread
+	 * @return The StackifyError
+	 */
+	default StackifyError getStackifyError(final T event, final Throwable exception, final StackTraceElement[] stackTrace) {
+		return getStackifyError(event, exception);
+	}
+
+	/**
+	 * Builds a StackifyError from the logging event, trimming its stack traces with the appender's trimmer. Adapters
+	 * that do not override this method keep every frame.
+	 * @param event The logging event
+	 * @param exception The exception (optional)
+	 * @param stackTrace The stack captured on the logging thread, or null when building on the logging thread
+	 * @param trimmer Converts and trims the stack traces
+	 * @return The StackifyError
+	 */
+	default StackifyError getStackifyError(final T event, final Throwable exception, final StackTraceElement[] stackTrace, final StackTraceTrimmer trimmer) {
+		return (stackTrace != null) ? getStackifyError(event, exception, stackTrace) : getStackifyError(event, exception);
+	}
+
+	/**
+	 * Captures, on the logging thread, the stack of an error logged without an exception, so the error can be built
+	 * on another thread (asynchronous enrichment)
+	 * @param event The logging event
+	 * @return The stack from the logging call down, or null if the adapter does not capture it
+	 */
+	default StackTraceElement[] getStackTrace(final T event) {
+		return null;
+	}
+
 	/**
 	 * Builds a LogMsg from the logging event
 	 * @param event The logging event
@@ -46,6 +82,18 @@ public interface EventAdapter<T> {
 	 * @return The LogMsg
 	 */
 	LogMsg getLogMsg(final T event, final StackifyError error);	
+
+	/**
+	 * Fills a recycled LogMsg slot from the logging event (garbage-free mode). The slot is empty apart from its id.
+	 * Adapters that do not support recycling build a new LogMsg, which is returned instead of the slot.
+	 * @param event The logging event
+	 * @param error The exception (optional)
+	 * @param slot The recycled log message
+	 * @return The LogMsg (the slot if it was filled)
+	 */
+	default LogMsg fillLogMsg(final T event, final StackifyError error, final LogMsg slot) {
+		return getLogMsg(event, error);
+	}
 	
 	/**
 	 * Returns true if the event was logged at an error level
@@ -60,4 +108,24 @@ public interface EventAdapter<T> {
 	 * @return The class name from the log event
 	 */
 	String getClassName(final T event);
+
+	/**
+	 * Returns the level name from the log event, used by the logger filter's minimum level rules
+	 * @param event The logging event
+	 * @return The level name (optional)
+	 */
+	default String getLevel(final T event) {
+		return null;
+	}
+
+	/**
+	 * Returns an event that is safe to hold on to after the logging call returns. Used by asynchronous enrichment,
+	 * which converts the event on the background thread. Implementations for logging frameworks that reuse their
+	 * event objects must return a copy.
+	 * @param event The logging event
+	 * @return The event to convert later
+	 */
+	default T toImmutable(final T event) {
+		return event;
+	}
 }
@@ -20,7 +20,12 @@ import com.stackify.api.LogMsg;
 import com.stackify.api.StackifyError;
 import com.stackify.api.common.ApiConfiguration;
 import com.stackify.api.common.AppIdentityService;
+import com.stackify.api.common.collect.MpscRingBuffer;
+import com.stackify.api.common.error.ErrorFrequency;
 import com.stackify.api.common.error.ErrorGovernor;
+import com.stackify.api.common.error.ServerVariablesLimiter;
+import com.stackify.api.common.error.SuppressedError;
+import com.stackify.api.common.lang.StackTraceTrimmer;
 import com.stackify.api.common.mask.Masker;
 import com.stackify.api.common.util.Preconditions;
 
@@ -31,6 +36,9 @@ import lombok.NonNull;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * LogAppender
@@ -45,9 +53,14 @@ public class LogAppender<T> implements Closeable {
     private static final Logger LOGGER = LoggerFactory.getLogger(LogAppender.class);
 
     /**
-     * Internal package prefix
+     * Tag prefix for the number of occurrences the error governor suppressed
      */
-    private static final String COM_DOT_STACKIFY = "com.stackify.";
+    static final String SUPPRESSED_TAG = "#SUPPRESSED:";
+
+    /**
+     * Tag prefix for the timestamp of the first suppressed occurrence
+     */
+    static final String FIRST_EPOCH_MS_TAG = "#FIRSTEPOCHMS:";
 
     /**
      * Logger project name
@@ -69,19 +82,54 @@ public class LogAppender<T> implements Closeable {
      */
     private LogBackgroundService backgroundService = null;
 
+    /**
+     * Converts log events on the background thread (null unless asynchronous enrichment is enabled)
+     */
+    private AsyncEnricher enricher = null;
+
+    /**
+     * Recyclable log messages (null unless garbage-free mode is enabled)
+     */
+    private LogMsgPool pool = null;
+
     /**
      * Client side error governor to suppress duplicate errors
      */
-    private final ErrorGovernor errorGovernor = new ErrorGovernor();
+    private ErrorGovernor errorGovernor = null;
+
+    /**
+     * Strips the server variables from errors sent within their interval
+     */
+    private ServerVariablesLimiter serverVariablesLimiter = null;
 
     private final Masker masker;
 
     private final boolean skipJson;
 
     /**
-     * Allow logging from com.stackify.*
+     * Trims the stack traces of the errors
+     */
+    private StackTraceTrimmer stackTraceTrimmer = StackTraceTrimmer.NONE;
+
+    /**
+     * Keeps the allowed parts of the web requests attached to errors
      */
-    private boolean allowComDotStackify = false;
+    private WebRequestFilter webRequestFilter = WebRequestFilter.NONE;
+
+    /**
+     * Drops logging by logger name and level (internal com.stackify.* logging unless allowed)
+     */
+    private LoggerFilter filter = null;
+
+    /**
+     * Samples non-error log messages (null unless sampling is configured)
+     */
+    private LogSampler sampler = null;
+
+    /**
+     * True if callers capture the location of every log message, not only errors
+     */
+    private boolean callerLocation = false;
 
     /**
      * Constructor
@@ -124,14 +172,50 @@ public class LogAppender<T> implements Closeable {
 
         // build the services for collecting and sending log messages
 
-        this.collector = new LogCollector(logger, apiConfig.getEnvDetail(), appIdentityService);
+        this.collector = new LogCollector(logger, apiConfig, appIdentityService);
+
+        // build the error governor
+
+        this.errorGovernor = new ErrorGovernor(apiConfig);
+        this.serverVariablesLimiter = new ServerVariablesLimiter(apiConfig);
+
+        // trim the stack traces of the errors
+
+        this.stackTraceTrimmer = StackTraceTrimmer.fromConfiguration(apiConfig);
+
+        // filter the web requests attached to errors
+
+        this.webRequestFilter = WebRequestFilter.fromConfiguration(apiConfig);
+
+        // build the logger filter (skips com.stackify.* unless allowComDotStackify)
+
+        this.filter = LoggerFilter.fromConfiguration(apiConfig, !Boolean.TRUE.equals(apiConfig.getAllowComDotStackify()));
+
+        // build the sampler for non-error log messages
+
+        this.sampler = LogSampler.fromConfiguration(apiConfig);
+
+        // capture caller locations at every level
+
+        this.callerLocation = Boolean.TRUE.equals(apiConfig.getLogCallerLocation());
+
+        // recycle log messages
 
-        // set allowComDotStackify
+        if (Boolean.TRUE.equals(apiConfig.getLogGarbageFree())) {
+            this.pool = collector.getLogMsgPool();
+        }
+
+        // convert log events on the background thread
 
-        if (Boolean.TRUE.equals(apiConfig.getAllowComDotStackify())) {
-            this.allowComDotStackify = true;
+        if (Boolean.TRUE.equals(apiConfig.getLogAsyncEnrichment())) {
+            this.enricher = new AsyncEnricher(LogCollector.<PendingEvent<T>>newQueue(apiConfig));
+            this.collector.addPendingSource(enricher);
         }
 
+        // summarize suppressed errors once per error governor window
+
+        this.collector.addPendingSource(new SuppressedErrorSource());
+
         // build the background service to asynchronously post errors to Stackify
         // startup the background service
 
@@ -155,6 +239,36 @@ public class LogAppender<T> implements Closeable {
     }
 
     /**
+     * @return True if log messages are recycled, in which case callers may also reuse their logging events (an event
+     * is never held on to after append returns, unless asynchronous enrichment copies it with toImmutable)
+     */
+    public boolean isGarbageFree() {
+        return pool != null;
+    }
+
+    /**
+     * @return True if callers should capture the location (source method and line) of log messages at every level,
+     * not only errors
+     */
+    public boolean isCallerLocation() {
+        return callerLocation;
+    }
+
+    /**
+     * @return The most frequent errors, most frequent first (only tracked when the error governor mode is sketch)
+     */
+    public List<ErrorFrequency> getTopErrors() {
+        if (errorGovernor == null) {
+            return Collections.emptyList();
+        }
+
+        return errorGovernor.getTopErrors();
+    }
+
+    /**
+     * Stops the background service. Its shut down flushes the collector, publishing any messages still held in
+     * striped append buffers.
+     *
      * @see java.io.Closeable#close()
      */
     @Override
@@ -170,48 +284,322 @@ public class LogAppender<T> implements Closeable {
      * @param event
      */
     public void append(final T event) {
+        tryAppend(event, 0);
+    }
+
+    /**
+     * Adds the log message to the collector without waiting for room in the queue
+     *
+     * @param event The logging event
+     * @return The outcome
+     */
+    public AppendResult tryAppend(final T event) {
+        return tryAppend(event, 0);
+    }
+
+    /**
+     * Adds the log message to the collector. With asynchronous enrichment the event is only converted, and sampled,
+     * on the background thread, so the outcome is ACCEPTED once the event is captured.
+     *
+     * @param event     The logging event
+     * @param waitNanos Max time (nanoseconds) to wait for room in the queue before dropping (0 to not wait beyond the
+     *                  configured overflow strategy)
+     * @return The outcome
+     */
+    public AppendResult tryAppend(final T event, final long waitNanos) {
 
         // make sure we can append the log message
 
         if (backgroundService == null) {
-            return;
+            return AppendResult.NOT_RUNNING;
         }
 
         if (!backgroundService.isRunning()) {
-            return;
+            return AppendResult.NOT_RUNNING;
         }
 
-        // skip internal logging
+        // skip filtered (and internal) logging
 
-        if (!allowComDotStackify) {
-            String className = eventAdapter.getClassName(event);
-            if (className != null) {
-                if (className.startsWith(COM_DOT_STACKIFY)) {
-                    return;
-                }
-            }
+        String className = eventAdapter.getClassName(event);
+
+        if (!filter.isLoggable(className, eventAdapter.getLevel(event))) {
+            return AppendResult.FILTERED;
         }
 
         // build the log message and queue it to be sent to Stackify
+        // (or only capture the event and its thread context when enrichment is asynchronous)
+
+        if (enricher != null) {
+            return enricher.offer(event, waitNanos) ? AppendResult.ACCEPTED : AppendResult.DROPPED_FULL;
+        }
 
         Throwable exception = eventAdapter.getThrowable(event);
+        boolean isError = (exception != null) || (eventAdapter.isErrorLevel(event));
+
+        LogMsg logMsg = toLogMsg(event, exception, isError, null);
+
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.info("#Log #Appender #Template Logging mesage: {}", event);
+        }
+
+        if (!sample(logMsg, className)) {
+            return AppendResult.SAMPLED_OUT;
+        }
+
+        boolean queued = (0 < waitNanos) ? collector.offerLogMsg(logMsg, waitNanos) : collector.offerLogMsg(logMsg);
+
+        if (!queued && pool != null) {
+            pool.release(logMsg);
+        }
+
+        return queued ? AppendResult.ACCEPTED : AppendResult.DROPPED_FULL;
+    }
+
+    /**
+     * Runs the log message through the sampler, recycling it when it is sampled out
+     *
+     * @param logMsg     The log message
+     * @param loggerName The logger (class) name (optional)
+     * @return True if the message should be queued
+     */
+    private boolean sample(final LogMsg logMsg, final String loggerName) {
+        if (sampler == null || sampler.sample(logMsg, loggerName)) {
+            return true;
+        }
+
+        if (pool != null) {
+            pool.release(logMsg);
+        }
+
+        return false;
+    }
+
+    /**
+     * Builds the log message, running errors through the error governor
+     *
+     * @param event     The logging event
+     * @param exception The exception (optional)
+     * @param isError   True if the event is an error
+     * @param stackTrace The stack captured on the logging thread for an error without an exception (null when
+     *                   converting on the logging thread)
+     * @return The log message
+     */
+    private LogMsg toLogMsg(final T event, final Throwable exception, final boolean isError,
+                            final StackTraceElement[] stackTrace) {
 
         StackifyError error = null;
 
-        if ((exception != null) || (eventAdapter.isErrorLevel(event))) {
-            StackifyError e = eventAdapter.getStackifyError(event, exception);
+        if (isError) {
+            StackifyError e = eventAdapter.getStackifyError(event, exception, stackTrace, stackTraceTrimmer);
 
             if (errorGovernor.errorShouldBeSent(e)) {
+                serverVariablesLimiter.limit(e);
+                e.setWebRequestDetail(webRequestFilter.apply(e.getWebRequestDetail()));
                 error = e;
             }
         }
 
-        LogMsg logMsg = eventAdapter.getLogMsg(event, error);
+        if (pool == null) {
+            return eventAdapter.getLogMsg(event, error);
+        }
 
-        if (LOGGER.isDebugEnabled()) {
-            LOGGER.info("#Log #Appender #Template Logging mesage: {}", event);
+        LogMsg slot = pool.acquire();
+        LogMsg logMsg = eventAdapter.fillLogMsg(event, error, slot);
+
+        if (logMsg != slot) {
+            pool.release(slot);
         }
 
-        collector.addLogMsg(logMsg);
+        return logMsg;
+    }
+
+    /**
+     * Builds the summary log message of a suppressed error
+     *
+     * @param suppressed The suppressed error
+     * @return The log message
+     */
+    static LogMsg toLogMsg(final SuppressedError suppressed) {
+        StringBuilder msg = new StringBuilder(128);
+        msg.append("Error governor suppressed ").append(suppressed.getCount()).append(" occurrence(s) of ");
+
+        if (suppressed.getErrorType() != null) {
+            msg.append(suppressed.getErrorType());
+
+            if (suppressed.getErrorTypeCode() != null) {
+                msg.append(" (").append(suppressed.getErrorTypeCode()).append(')');
+            }
+
+            if (suppressed.getSourceMethod() != null) {
+                msg.append(" at ").append(suppressed.getSourceMethod());
+            }
+        } else {
+            msg.append("untracked errors");
+        }
+
+        List<String> tags = new ArrayList<String>(3);
+        tags.add(SUPPRESSED_TAG + suppressed.getCount());
+        tags.add(FIRST_EPOCH_MS_TAG + suppressed.getFirstEpochMs());
+        tags.add(LogCoalescer.LAST_EPOCH_MS_TAG + suppressed.getLastEpochMs());
+
+        return LogMsg.newBuilder()
+                .msg(msg.toString())
+                .level("error")
+                .epochMs(suppressed.getLastEpochMs())
+                .srcMethod(suppressed.getSourceMethod())
+                .tags(tags)
+                .build();
+    }
+
+    /**
+     * Log event captured on the logging thread
+     */
+    private static class PendingEvent<T> {
+
+        /**
+         * The logging event
+         */
+        private final T event;
+
+        /**
+         * The exception (optional)
+         */
+        private final Throwable exception;
+
+        /**
+         * True if the event is an error
+         */
+        private final boolean isError;
+
+        /**
+         * Thread context of the logging thread
+         */
+        private final LogContextSnapshot context;
+
+        /**
+         * Stack of the logging thread for an error without an exception (optional)
+         */
+        private final StackTraceElement[] stackTrace;
+
+        /**
+         * Constructor
+         *
+         * @param event      The logging event
+         * @param exception  The exception (optional)
+         * @param isError    True if the event is an error
+         * @param context    Thread context of the logging thread
+         * @param stackTrace Stack of the logging thread for an error without an exception (optional)
+         */
+        private PendingEvent(final T event, final Throwable exception, final boolean isError, final LogContextSnapshot context,
+                             final StackTraceElement[] stackTrace) {
+            this.event = event;
+            this.exception = exception;
+            this.isError = isError;
+            this.context = context;
+            this.stackTrace = stackTrace;
+        }
+    }
+
+    /**
+     * Queues log events with a snapshot of their thread context and converts them to log messages when the collector
+     * is flushed
+     */
+    private class AsyncEnricher implements PendingLogSource {
+
+        /**
+         * Log events waiting to be converted
+         */
+        private final MpscRingBuffer<PendingEvent<T>> pending;
+
+        /**
+         * Constructor
+         *
+         * @param pending Log events waiting to be converted
+         */
+        private AsyncEnricher(final MpscRingBuffer<PendingEvent<T>> pending) {
+            this.pending = pending;
+        }
+
+        /**
+         * Captures the log event on the logging thread
+         *
+         * @param event     The logging event
+         * @param waitNanos Max time (nanoseconds) to wait for room
+         * @return False if the event was dropped because the pending queue was full
+         */
+        private boolean offer(final T event, final long waitNanos) {
+            T immutableEvent = eventAdapter.toImmutable(event);
+            Throwable exception = eventAdapter.getThrowable(immutableEvent);
+            boolean isError = (exception != null) || (eventAdapter.isErrorLevel(immutableEvent));
+
+            // an error without an exception takes the logging thread's stack, it is converted on the flush thread
+
+            StackTraceElement[] stackTrace = (isError && exception == null) ? eventAdapter.getStackTrace(immutableEvent) : null;
+
+            PendingEvent<T> pendingEvent = new PendingEvent<T>(immutableEvent, exception, isError, LogContextSnapshot.capture(isError),
+                    stackTrace);
+
+            return (0 < waitNanos) ? pending.offerWithin(pendingEvent, waitNanos) : pending.offer(pendingEvent);
+        }
+
+        /**
+         * @see com.stackify.api.common.log.PendingLogSource#drainTo(com.stackify.api.common.log.LogCollector)
+         */
+        @Override
+        public void drainTo(final LogCollector collector) {
+            int maxToDrain = pending.size();
+
+            for (int i = 0; i < maxToDrain; ++i) {
+                PendingEvent<T> pendingEvent = pending.poll();
+
+                if (pendingEvent == null) {
+                    break;
+                }
+
+                try {
+                    LogMsg logMsg = toLogMsg(pendingEvent.event, pendingEvent.exception, pendingEvent.isError,
+                            pendingEvent.stackTrace);
+                    pendingEvent.context.applyTo(logMsg);
+
+                    if (sample(logMsg, eventAdapter.getClassName(pendingEvent.event))) {
+                        collector.addLogMsg(logMsg);
+                    }
+                } catch (Throwable t) {
+                    LOGGER.info("#Log #Appender Unable to convert log event", t);
+                }
+            }
+        }
+    }
+
+    /**
+     * Queues the suppressed error summaries of the error governor
+     */
+    private class SuppressedErrorSource implements PendingLogSource {
+
+        /**
+         * @see com.stackify.api.common.log.PendingLogSource#drainTo(com.stackify.api.common.log.LogCollector)
+         */
+        @Override
+        public void drainTo(final LogCollector collector) {
+            drain(collector, false);
+        }
+
+        /**
+         * @see com.stackify.api.common.log.PendingLogSource#drainAll(com.stackify.api.common.log.LogCollector)
+         */
+        @Override
+        public void drainAll(final LogCollector collector) {
+            drain(collector, true);
+        }
+
+        /**
+         * @param collector The collector
+         * @param force     True to summarize whether or not the window ended
+         */
+        private void drain(final LogCollector collector, final boolean force) {
+            for (SuppressedError suppressed : errorGovernor.drainSuppressed(force)) {
+                collector.addLogMsg(toLogMsg(suppressed));
+            }
+        }
     }
 }
@@ -52,6 +52,9 @@ public class LogBackgroundService extends BackgroundService {
                                 @NonNull final LogTransport logTransport) {
         this.collector = collector;
         this.logTransport = logTransport;
+
+        // flush early when a batch's worth of messages is queued, the schedule delay only bounds the linger
+        collector.setFlushSignal(this::wakeUp);
     }
 
     @Override
@@ -63,6 +66,11 @@ public class LogBackgroundService extends BackgroundService {
         return scheduler.getScheduleDelay();
     }
 
+    @Override
+    protected boolean isWakeUpAllowed() {
+        return scheduler.getLastHttpError() == 0;
+    }
+
     @Override
     protected void runOneIteration() {
         try {
@@ -77,9 +85,16 @@ public class LogBackgroundService extends BackgroundService {
     @Override
     protected void shutDown() {
         try {
+            collector.prepareShutDown();
             collector.flush(logTransport);
         } catch (Throwable t) {
             log.info("Exception flushing log collector during shut down", t);
         }
+
+        try {
+            collector.close();
+        } catch (Throwable t) {
+            log.info("Exception closing log collector during shut down", t);
+        }
     }
 }
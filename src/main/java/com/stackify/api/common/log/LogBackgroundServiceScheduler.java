@@ -52,9 +52,9 @@ public class LogBackgroundServiceScheduler {
 	private long scheduleDelay = ONE_SECOND;
 
 	/**
-	 * UTC timestamp of the HTTP error
+	 * UTC timestamp of the HTTP error (read by the logging threads to hold off wake ups)
 	 */
-	private long lastHttpError = 0;
+	private volatile long lastHttpError = 0;
 
 	/**
 	 * Sets the next scheduled delay based on the number of messages sent
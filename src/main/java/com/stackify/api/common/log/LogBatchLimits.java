@@ -0,0 +1,120 @@
+/*
+ * Copyright 2026 Stackify
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stackify.api.common.log;
+
+import java.util.concurrent.TimeUnit;
+
+import com.stackify.api.common.ApiConfiguration;
+import com.stackify.api.common.util.Preconditions;
+
+/**
+ * LogBatchLimits
+ * <p>
+ * When a batch of log messages is closed and sent: at whichever comes first of the max number of messages, the max
+ * estimated size (see {@link LogMsgSizes}) and the max linger time. A batch under both size limits is held back until
+ * the next flush while it has lingered less than the max linger time. A single message larger than the max size is
+ * sent in a batch of its own.
+ */
+class LogBatchLimits {
+
+    /**
+     * 100 messages, 1 MB, no linger
+     */
+    static final LogBatchLimits DEFAULT = new LogBatchLimits(100, 1048576, 0);
+
+    /**
+     * Max number of messages in a batch
+     */
+    private final int maxMessages;
+
+    /**
+     * Max estimated size (bytes) of a batch
+     */
+    private final long maxBytes;
+
+    /**
+     * Max time (nanoseconds) a batch under the size limits is held back
+     */
+    private final long maxLingerNanos;
+
+    /**
+     * Constructor
+     * @param maxMessages Max number of messages in a batch
+     * @param maxBytes Max estimated size (bytes) of a batch
+     * @param maxLingerMillis Max time (milliseconds) a batch under the size limits is held back
+     */
+    LogBatchLimits(final int maxMessages, final long maxBytes, final long maxLingerMillis) {
+        Preconditions.checkArgument(0 < maxMessages);
+        Preconditions.checkArgument(0 < maxBytes);
+        Preconditions.checkArgument(0 <= maxLingerMillis);
+
+        this.maxMessages = maxMessages;
+        this.maxBytes = maxBytes;
+        this.maxLingerNanos = TimeUnit.MILLISECONDS.toNanos(maxLingerMillis);
+    }
+
+    /**
+     * @param apiConfig API configuration
+     * @return The batch limits configured
+     */
+    static LogBatchLimits fromConfiguration(final ApiConfiguration apiConfig) {
+        return new LogBatchLimits(Math.max(1, apiConfig.getLogBatchMaxMessages()),
+                Math.max(1, apiConfig.getLogBatchMaxBytes()),
+                Math.max(0, apiConfig.getLogBatchMaxLingerMillis()));
+    }
+
+    /**
+     * @param count Number of messages in the batch
+     * @param bytes Estimated size of the batch
+     * @param size Estimated size of the next message
+     * @return True if the next message can be added to the batch
+     */
+    boolean fits(final int count, final long bytes, final long size) {
+        return count == 0 || (count < maxMessages && bytes + size <= maxBytes);
+    }
+
+    /**
+     * @param count Number of messages in the batch
+     * @param bytes Estimated size of the batch
+     * @return True if the batch is full and must be sent
+     */
+    boolean isFull(final int count, final long bytes) {
+        return maxMessages <= count || maxBytes <= bytes;
+    }
+
+    /**
+     * @param openedNanos When the batch was opened ({@link System#nanoTime()})
+     * @param nowNanos Now ({@link System#nanoTime()})
+     * @return True if the batch has lingered long enough and must be sent
+     */
+    boolean hasLingered(final long openedNanos, final long nowNanos) {
+        return maxLingerNanos <= nowNanos - openedNanos;
+    }
+
+    /**
+     * @return the maxMessages
+     */
+    int getMaxMessages() {
+        return maxMessages;
+    }
+
+    /**
+     * @return the maxBytes
+     */
+    long getMaxBytes() {
+        return maxBytes;
+    }
+}
@@ -0,0 +1,334 @@
+/*
+ * Copyright 2026 Stackify
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stackify.api.common.log;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.stackify.api.LogMsg;
+import com.stackify.api.common.collect.Sink;
+import com.stackify.api.common.util.Preconditions;
+
+/**
+ * LogCoalescer
+ * <p>
+ * Folds exact duplicates (same level, message, data, transaction and source) into one log message. The first
+ * occurrence is held for the coalescing window and every duplicate that arrives within the window only increments
+ * its count. When the window ends the held message is queued, tagged with the number of occurrences (#REPEATED:1234)
+ * and the timestamp of the last one (#LASTEPOCHMS:...), its own timestamp being the first occurrence.
+ * <p>
+ * Messages with an error attached are never coalesced.
+ */
+class LogCoalescer {
+
+    /**
+     * Tag prefix for the number of occurrences
+     */
+    static final String REPEATED_TAG = "#REPEATED:";
+
+    /**
+     * Tag prefix for the timestamp of the last occurrence
+     */
+    static final String LAST_EPOCH_MS_TAG = "#LASTEPOCHMS:";
+
+    /**
+     * Upper bound on the number of held messages, messages beyond it are not coalesced
+     */
+    private static final int MAX_ENTRIES = 1000;
+
+    /**
+     * Outcome of offering a message
+     */
+    enum Result {
+
+        /**
+         * Not coalesced, queue the message
+         */
+        PASS,
+
+        /**
+         * Held until the window ends
+         */
+        HELD,
+
+        /**
+         * Counted as a duplicate of a held message, drop the message
+         */
+        ABSORBED
+    }
+
+    /**
+     * Coalescing window (milliseconds)
+     */
+    private final long windowMillis;
+
+    /**
+     * Held messages by key
+     */
+    private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<Key, Entry>();
+
+    /**
+     * Constructor
+     *
+     * @param windowMillis Coalescing window (milliseconds)
+     */
+    LogCoalescer(final long windowMillis) {
+        Preconditions.checkArgument(0 < windowMillis);
+        this.windowMillis = windowMillis;
+    }
+
+    /**
+     * Holds the message or counts it as a duplicate of a held message
+     *
+     * @param logMsg The log message
+     * @return The outcome
+     */
+    Result offer(final LogMsg logMsg) {
+        if (logMsg.getEx() != null) {
+            return Result.PASS;
+        }
+
+        Key key = new Key(logMsg);
+
+        for (;;) {
+            Entry entry = entries.get(key);
+
+            if (entry != null) {
+                if (entry.add(logMsg.getEpochMs())) {
+                    return Result.ABSORBED;
+                }
+
+                // the entry is being emitted, replace it
+
+                if (entries.replace(key, entry, new Entry(logMsg))) {
+                    return Result.HELD;
+                }
+            } else {
+                if (MAX_ENTRIES <= entries.size()) {
+                    return Result.PASS;
+                }
+
+                if (entries.putIfAbsent(key, new Entry(logMsg)) == null) {
+                    return Result.HELD;
+                }
+            }
+        }
+    }
+
+    /**
+     * Queues the held messages whose window has ended
+     *
+     * @param queue The queue
+     * @param all   True to queue every held message (shut down)
+     * @return The number of messages queued
+     */
+    int drainTo(final Sink<LogMsg> queue, final boolean all) {
+        int drained = 0;
+        long now = System.currentTimeMillis();
+
+        Iterator<Map.Entry<Key, Entry>> it = entries.entrySet().iterator();
+
+        while (it.hasNext()) {
+            Map.Entry<Key, Entry> mapEntry = it.next();
+            Entry entry = mapEntry.getValue();
+
+            if (all || windowMillis <= now - entry.createdMillis) {
+                entries.remove(mapEntry.getKey(), entry);
+                queue.offer(entry.close());
+                ++drained;
+            }
+        }
+
+        return drained;
+    }
+
+    /**
+     * @return Number of held messages
+     */
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Held message
+     */
+    private static class Entry {
+
+        /**
+         * The first occurrence
+         */
+        private final LogMsg logMsg;
+
+        /**
+         * When the entry was created (milliseconds)
+         */
+        private final long createdMillis = System.currentTimeMillis();
+
+        /**
+         * Number of occurrences, negative once the entry is closed
+         */
+        private final AtomicLong count = new AtomicLong(1);
+
+        /**
+         * Timestamp of the last occurrence
+         */
+        private final AtomicLong lastEpochMs;
+
+        /**
+         * Constructor
+         *
+         * @param logMsg The first occurrence
+         */
+        private Entry(final LogMsg logMsg) {
+            this.logMsg = logMsg;
+            this.lastEpochMs = new AtomicLong(logMsg.getEpochMs() != null ? logMsg.getEpochMs() : createdMillis);
+        }
+
+        /**
+         * Counts a duplicate
+         *
+         * @param epochMs Timestamp of the duplicate (optional)
+         * @return False if the entry is closed
+         */
+        private boolean add(final Long epochMs) {
+            for (;;) {
+                long current = count.get();
+
+                if (current < 0) {
+                    return false;
+                }
+
+                if (count.compareAndSet(current, current + 1)) {
+                    if (epochMs != null) {
+                        lastEpochMs.accumulateAndGet(epochMs, Math::max);
+                    }
+                    return true;
+                }
+            }
+        }
+
+        /**
+         * Closes the entry and tags the first occurrence with the count
+         *
+         * @return The message to queue
+         */
+        private LogMsg close() {
+            long occurrences = count.getAndSet(Long.MIN_VALUE);
+
+            if (1 < occurrences) {
+                List<String> tags = logMsg.getTags() != null ? new ArrayList<String>(logMsg.getTags()) : new ArrayList<String>(2);
+                tags.add(REPEATED_TAG + occurrences);
+                tags.add(LAST_EPOCH_MS_TAG + lastEpochMs.get());
+                logMsg.setTags(tags);
+            }
+
+            return logMsg;
+        }
+    }
+
+    /**
+     * Duplicate detection key
+     */
+    private static final class Key {
+
+        /**
+         * Log level
+         */
+        private final String level;
+
+        /**
+         * Message
+         */
+        private final String msg;
+
+        /**
+         * Data
+         */
+        private final String data;
+
+        /**
+         * Transaction id
+         */
+        private final String transId;
+
+        /**
+         * Source method
+         */
+        private final String srcMethod;
+
+        /**
+         * Source line
+         */
+        private final Integer srcLine;
+
+        /**
+         * Precomputed hash code
+         */
+        private final int hash;
+
+        /**
+         * Constructor
+         *
+         * @param logMsg The log message
+         */
+        private Key(final LogMsg logMsg) {
+            this.level = logMsg.getLevel();
+            this.msg = logMsg.getMsg();
+            this.data = logMsg.getData();
+            this.transId = logMsg.getTransId();
+            this.srcMethod = logMsg.getSrcMethod();
+            this.srcLine = logMsg.getSrcLine();
+            this.hash = Objects.hash(level, msg, data, transId, srcMethod, srcLine);
+        }
+
+        /**
+         * @see java.lang.Object#hashCode()
+         */
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        /**
+         * @see java.lang.Object#equals(java.lang.Object)
+         */
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+
+            Key other = (Key) obj;
+
+            return hash == other.hash
+                    && Objects.equals(msg, other.msg)
+                    && Objects.equals(level, other.level)
+                    && Objects.equals(data, other.data)
+                    && Objects.equals(transId, other.transId)
+                    && Objects.equals(srcMethod, other.srcMethod)
+                    && Objects.equals(srcLine, other.srcLine);
+        }
+    }
+}
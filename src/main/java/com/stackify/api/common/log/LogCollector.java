@@ -19,18 +19,20 @@ import com.stackify.api.AppIdentity;
 import com.stackify.api.EnvironmentDetail;
 import com.stackify.api.LogMsg;
 import com.stackify.api.LogMsgGroup;
+import com.stackify.api.common.ApiConfiguration;
 import com.stackify.api.common.AppIdentityService;
-import com.stackify.api.common.collect.SynchronizedEvictingQueue;
+import com.stackify.api.common.collect.MpscRingBuffer;
+import com.stackify.api.common.collect.OverflowStrategy;
+import com.stackify.api.common.collect.StripedBuffer;
 import com.stackify.api.common.util.Preconditions;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
-import net.jodah.failsafe.Failsafe;
-import net.jodah.failsafe.RetryPolicy;
 
-import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Queue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * LogCollector
@@ -41,9 +43,24 @@ import java.util.Queue;
 public class LogCollector {
 
     /**
-     * Max batch size of log messages to be sent in a single request
+     * Max number of log messages waiting to be sent, not counting the errors
      */
-    private static final int MAX_BATCH = 100;
+    private static final int QUEUE_CAPACITY = 10000;
+
+    /**
+     * Max number of error log messages waiting to be sent
+     */
+    private static final int ERROR_QUEUE_CAPACITY = 1000;
+
+    /**
+     * Number of log messages an append stripe holds before it is published to the queue
+     */
+    private static final int STRIPE_CHUNK_SIZE = 32;
+
+    /**
+     * Max time (milliseconds) the shut down flush waits for the groups in flight
+     */
+    private static final long SHUT_DOWN_WAIT_MILLIS = 5000;
 
     private static final String DEFAULT_PLATFORM = "java";
 
@@ -68,13 +85,90 @@ public class LogCollector {
     private final AppIdentityService appIdentityService;
 
     /**
-     * The queue of objects to be transmitted
+     * The queue of objects to be transmitted (errors apart from the other levels)
+     */
+    private final LogLanes queue;
+
+    /**
+     * Per-thread append stripes in front of the queue (null unless striped appends are enabled)
+     */
+    private final StripedBuffer<LogMsg> stripes;
+
+    /**
+     * Sources of log messages produced on the background thread (log events waiting to be converted when enrichment
+     * is asynchronous, suppressed error summaries)
+     */
+    private final List<PendingLogSource> pendingSources = new CopyOnWriteArrayList<PendingLogSource>();
+
+    /**
+     * Recyclable log messages, released once their batch is sent (null unless garbage-free mode is enabled)
+     */
+    private final LogMsgPool pool;
+
+    /**
+     * Folds duplicate messages (null unless coalescing is enabled)
+     */
+    private final LogCoalescer coalescer;
+
+    /**
+     * False once coalescing is stopped for shut down
+     */
+    private volatile boolean coalescing;
+
+    /**
+     * True once the collector is preparing to shut down
+     */
+    private volatile boolean shuttingDown;
+
+    /**
+     * When a batch is closed and sent
+     */
+    private final LogBatchLimits batchLimits;
+
+    /**
+     * Batch held back until the next flush, under the size limits and not lingered long enough (only used by flush)
+     */
+    private List<LogMsg> openBatch;
+
+    /**
+     * Estimated size (bytes) of the open batch
+     */
+    private long openBatchBytes;
+
+    /**
+     * When the open batch was opened ({@link System#nanoTime()})
+     */
+    private long openBatchNanos;
+
+    /**
+     * Group header for the application identity below (only used by flush)
+     */
+    private LogMsgGroup groupHeader;
+
+    /**
+     * Application identity the group header was built for
+     */
+    private AppIdentity groupHeaderIdentity;
+
+    /**
+     * Sends the groups on the sender threads, bounding the groups in flight
+     */
+    private final LogSendWindow sendWindow;
+
+    /**
+     * Number of queued messages that wakes up the flush: a batch's worth, or half the queue (high watermark)
+     */
+    private final int flushSignalThreshold;
+
+    /**
+     * Wakes up the flush once the queue reaches the threshold (optional)
      */
-    private final Queue<LogMsg> queue = new SynchronizedEvictingQueue<LogMsg>(10000);
+    private volatile Runnable flushSignal;
 
-    private final RetryPolicy<LogMsgGroup> retryPolicy = new RetryPolicy<LogMsgGroup>()
-            .withDelay(Duration.ofSeconds(10))
-            .withMaxRetries(3);
+    /**
+     * Assigns ids to the messages queued without one
+     */
+    private final LogIdGenerator idGenerator;
 
     /**
      * Constructor
@@ -87,10 +181,120 @@ public class LogCollector {
                         @NonNull final String logger,
                         @NonNull final EnvironmentDetail envDetail,
                         @NonNull final AppIdentityService appIdentityService) {
+        this(platform, logger, envDetail, appIdentityService, new LogLanes(QUEUE_CAPACITY, ERROR_QUEUE_CAPACITY), false, null, 0);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param logger             The logger (project) name
+     * @param apiConfig          API configuration (environment details and log queue settings)
+     * @param appIdentityService Application identity service
+     */
+    public LogCollector(@NonNull final String logger,
+                        @NonNull final ApiConfiguration apiConfig,
+                        @NonNull final AppIdentityService appIdentityService) {
+        this(DEFAULT_PLATFORM, logger, apiConfig.getEnvDetail(), appIdentityService,
+                LogLanes.fromConfiguration(QUEUE_CAPACITY, apiConfig),
+                Boolean.TRUE.equals(apiConfig.getLogStripedAppend()),
+                Boolean.TRUE.equals(apiConfig.getLogGarbageFree()) ? new LogMsgPool(QUEUE_CAPACITY) : null,
+                apiConfig.getLogCoalesceWindowMillis() != null ? apiConfig.getLogCoalesceWindowMillis() : 0,
+                LogBatchLimits.fromConfiguration(apiConfig),
+                new LogSendWindow(Math.max(1, apiConfig.getLogSendMaxInFlight()),
+                        Math.max(1, apiConfig.getLogResendMaxBytes())));
+    }
+
+    /**
+     * Constructor
+     *
+     * @param platform           Logger platform (log type)
+     * @param logger             The logger (project) name
+     * @param envDetail          Environment details
+     * @param appIdentityService Application identity service
+     * @param queue              The queue of messages to be transmitted (errors apart from the other levels)
+     * @param striped            True to buffer appends in per-thread stripes in front of the queue
+     * @param pool               Recyclable log messages (optional)
+     * @param coalesceWindowMillis Window (milliseconds) in which duplicate messages are folded, 0 to disable
+     */
+    LogCollector(@NonNull final String platform,
+                 @NonNull final String logger,
+                 @NonNull final EnvironmentDetail envDetail,
+                 @NonNull final AppIdentityService appIdentityService,
+                 @NonNull final LogLanes queue,
+                 final boolean striped,
+                 final LogMsgPool pool,
+                 final long coalesceWindowMillis) {
+        this(platform, logger, envDetail, appIdentityService, queue, striped, pool, coalesceWindowMillis,
+                LogBatchLimits.DEFAULT, new LogSendWindow(LogSendWindow.DEFAULT_MAX_IN_FLIGHT));
+    }
+
+    /**
+     * Constructor
+     *
+     * @param platform           Logger platform (log type)
+     * @param logger             The logger (project) name
+     * @param envDetail          Environment details
+     * @param appIdentityService Application identity service
+     * @param queue              The queue of messages to be transmitted (errors apart from the other levels)
+     * @param striped            True to buffer appends in per-thread stripes in front of the queue
+     * @param pool               Recyclable log messages (optional)
+     * @param coalesceWindowMillis Window (milliseconds) in which duplicate messages are folded, 0 to disable
+     * @param batchLimits        When a batch is closed and sent
+     * @param sendWindow         Sends the groups, bounding the groups in flight
+     */
+    LogCollector(@NonNull final String platform,
+                 @NonNull final String logger,
+                 @NonNull final EnvironmentDetail envDetail,
+                 @NonNull final AppIdentityService appIdentityService,
+                 @NonNull final LogLanes queue,
+                 final boolean striped,
+                 final LogMsgPool pool,
+                 final long coalesceWindowMillis,
+                 @NonNull final LogBatchLimits batchLimits,
+                 @NonNull final LogSendWindow sendWindow) {
+        this(platform, logger, envDetail, appIdentityService, queue, striped, pool, coalesceWindowMillis, batchLimits,
+                sendWindow, LogIdGenerators.get());
+    }
+
+    /**
+     * Constructor
+     *
+     * @param platform           Logger platform (log type)
+     * @param logger             The logger (project) name
+     * @param envDetail          Environment details
+     * @param appIdentityService Application identity service
+     * @param queue              The queue of messages to be transmitted (errors apart from the other levels)
+     * @param striped            True to buffer appends in per-thread stripes in front of the queue
+     * @param pool               Recyclable log messages (optional)
+     * @param coalesceWindowMillis Window (milliseconds) in which duplicate messages are folded, 0 to disable
+     * @param batchLimits        When a batch is closed and sent
+     * @param sendWindow         Sends the groups, bounding the groups in flight
+     * @param idGenerator        Assigns ids to the messages queued without one
+     */
+    LogCollector(@NonNull final String platform,
+                 @NonNull final String logger,
+                 @NonNull final EnvironmentDetail envDetail,
+                 @NonNull final AppIdentityService appIdentityService,
+                 @NonNull final LogLanes queue,
+                 final boolean striped,
+                 final LogMsgPool pool,
+                 final long coalesceWindowMillis,
+                 @NonNull final LogBatchLimits batchLimits,
+                 @NonNull final LogSendWindow sendWindow,
+                 @NonNull final LogIdGenerator idGenerator) {
         this.platform = platform;
         this.logger = logger;
         this.envDetail = envDetail;
         this.appIdentityService = appIdentityService;
+        this.queue = queue;
+        this.stripes = striped ? new StripedBuffer<LogMsg>(queue, LogMsg[]::new, STRIPE_CHUNK_SIZE) : null;
+        this.pool = pool;
+        this.coalescer = 0 < coalesceWindowMillis ? new LogCoalescer(coalesceWindowMillis) : null;
+        this.coalescing = coalescer != null;
+        this.batchLimits = batchLimits;
+        this.sendWindow = sendWindow;
+        this.flushSignalThreshold = Math.max(1, Math.min(batchLimits.getMaxMessages(), queue.getCapacity() / 2));
+        this.idGenerator = idGenerator;
     }
 
     /**
@@ -106,17 +310,169 @@ public class LogCollector {
     }
 
     /**
-     * Queues logMsg to be sent
+     * Queues logMsg to be sent, assigning it an id if it has none
      *
      * @param logMsg The log message
      */
     public void addLogMsg(final LogMsg logMsg) {
+        offerLogMsg(logMsg);
+    }
+
+    /**
+     * Queues logMsg to be sent, assigning it an id if it has none
+     *
+     * @param logMsg The log message
+     * @return False if the message was dropped because the queue was full (with striped appends a full queue is only
+     * detected when the stripe is published)
+     */
+    public boolean offerLogMsg(final LogMsg logMsg) {
+        Preconditions.checkNotNull(logMsg);
+
+        if (!logMsg.hasId()) {
+            idGenerator.assignId(logMsg);
+        }
+
+        if (coalescing && coalesce(logMsg)) {
+            return true;
+        }
+
+        boolean queued = (stripes != null) ? stripes.offer(logMsg) : queue.offer(logMsg);
+        signalFlushAtThreshold();
+        return queued;
+    }
+
+    /**
+     * Queues logMsg to be sent, waiting up to the wait budget for room in the queue before the overflow strategy
+     * applies
+     *
+     * @param logMsg    The log message
+     * @param waitNanos Wait budget (nanoseconds)
+     * @return False if the message was dropped because the queue was full
+     */
+    public boolean offerLogMsg(final LogMsg logMsg, final long waitNanos) {
         Preconditions.checkNotNull(logMsg);
-        queue.offer(logMsg);
+
+        if (waitNanos <= 0) {
+            return offerLogMsg(logMsg);
+        }
+
+        if (!logMsg.hasId()) {
+            idGenerator.assignId(logMsg);
+        }
+
+        if (coalescing && coalesce(logMsg)) {
+            return true;
+        }
+
+        boolean queued = queue.offerWithin(logMsg, waitNanos);
+        signalFlushAtThreshold();
+        return queued;
+    }
+
+    /**
+     * Wakes up the flush if the queue holds a batch's worth of messages or has crossed its high watermark, so a burst
+     * is sent (and its memory freed) without waiting for the next scheduled flush
+     */
+    private void signalFlushAtThreshold() {
+        Runnable signal = flushSignal;
+
+        if (signal != null && flushSignalThreshold <= queue.size()) {
+            signal.run();
+        }
+    }
+
+    /**
+     * Holds the message in the coalescer or folds it into a held duplicate
+     *
+     * @param logMsg The log message
+     * @return False if the message is not coalesced and must be queued
+     */
+    private boolean coalesce(final LogMsg logMsg) {
+        switch (coalescer.offer(logMsg)) {
+            case ABSORBED:
+                if (pool != null) {
+                    pool.release(logMsg);
+                }
+                return true;
+            case HELD:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Stops coalescing and queues every held message, and makes the following flushes drain the pending sources
+     * completely, so the shut down flush sends everything
+     */
+    public void prepareShutDown() {
+        shuttingDown = true;
+
+        if (coalescer != null) {
+            coalescing = false;
+            coalescer.drainTo(queue, true);
+        }
+    }
+
+    /**
+     * Sets the signal that wakes up the flush once the queue holds a batch's worth of messages
+     *
+     * @param flushSignal Wakes up the flush (null to rely on the scheduled flushes only)
+     */
+    void setFlushSignal(final Runnable flushSignal) {
+        this.flushSignal = flushSignal;
     }
 
     /**
-     * Flushes the queue by sending all messages to Stackify
+     * Adds a source of log messages that is drained at the start of every flush
+     *
+     * @param pendingSource The pending log source
+     */
+    void addPendingSource(final PendingLogSource pendingSource) {
+        Preconditions.checkNotNull(pendingSource);
+        this.pendingSources.add(pendingSource);
+    }
+
+    /**
+     * @return Recyclable log messages or null if garbage-free mode is disabled
+     */
+    public LogMsgPool getLogMsgPool() {
+        return pool;
+    }
+
+    /**
+     * @return Number of log messages delivered to Stackify (counted in send order)
+     */
+    public long getDeliveredCount() {
+        return sendWindow.getDeliveredCount();
+    }
+
+    /**
+     * @return Number of log messages dropped because the queue was full
+     */
+    public long getDroppedCount() {
+        return queue.getDroppedCount();
+    }
+
+    /**
+     * Shuts the sender threads down once the groups in flight are delivered, to be called after the shut down flush
+     * (nothing can be sent afterwards)
+     *
+     * @throws InterruptedException If interrupted while waiting for the groups in flight
+     */
+    public void close() throws InterruptedException {
+        if (!sendWindow.close(SHUT_DOWN_WAIT_MILLIS)) {
+            log.info("Log messages still in flight when closing the log collector: {}", sendWindow.getInFlightCount());
+        }
+    }
+
+    /**
+     * Flushes the queue by sending all messages to Stackify, errors first, in batches closed at the batch limits. The
+     * last batch is held back until the next flush while it is under the size limits and has not lingered long enough
+     * (except on shut down). The groups are encoded here and sent on the sender threads; a send that failed is thrown
+     * by the first flush after it completed, and its payload is resent by a later flush once its backoff has elapsed.
+     * Pending log events are converted, coalesced messages whose window has ended are queued and messages still held
+     * in append stripes are published to the queue first, so a flush on shut down does not lose them.
      *
      * @param logTransport The LogMsgGroup sender
      * @return The number of messages sent to Stackify
@@ -124,56 +480,163 @@ public class LogCollector {
      */
     public int flush(final LogTransport logTransport) throws Exception {
 
+        for (PendingLogSource source : pendingSources) {
+            if (shuttingDown) {
+                source.drainAll(this);
+            } else {
+                source.drainTo(this);
+            }
+        }
+
+        if (coalescer != null) {
+            coalescer.drainTo(queue, !coalescing);
+        }
+
+        if (stripes != null) {
+            stripes.publish();
+        }
+
+        // resend the payloads of failed sends whose backoff has elapsed (all of them on shut down)
+
+        sendWindow.resendDue(shuttingDown ? Long.MAX_VALUE : System.currentTimeMillis());
+
         int numSent = 0;
-        int maxToSend = queue.size();
+        int maxToDrain = queue.size();
 
-        if (0 < maxToSend) {
-            AppIdentity appIdentity = appIdentityService.getAppIdentity();
+        if (0 < maxToDrain || openBatch != null) {
+            numSent = sendBatches(logTransport, maxToDrain);
+        }
 
-            while (numSent < maxToSend && queue.size() > 0) {
+        if (shuttingDown && !sendWindow.awaitIdle(SHUT_DOWN_WAIT_MILLIS)) {
+            log.info("Log messages still in flight after the shut down flush: {}", sendWindow.getInFlightCount());
+        }
 
-                // get the next batch of messages
-                int batchSize = Math.min(maxToSend - numSent, MAX_BATCH);
+        // report a failed send, the groups sent before it have been delivered
 
-                List<LogMsg> batch = new ArrayList<LogMsg>(batchSize);
+        Throwable failure = sendWindow.takeFailure();
 
-                for (int i = 0; i < batchSize; ++i) {
-                    batch.add(queue.remove());
-                }
+        if (failure instanceof Exception) {
+            throw (Exception) failure;
+        } else if (failure != null) {
+            throw new ExecutionException(failure);
+        }
+
+        return numSent;
+    }
 
-                if (batch.size() > 0) {
-                    // build the log message group
-                    LogMsgGroup group = createLogMessageGroup(batch, platform, logger, envDetail, appIdentity);
+    /**
+     * Drains the queue into batches closed at the batch limits and sends them
+     *
+     * @param logTransport The LogMsgGroup sender
+     * @param maxToDrain   Max number of messages drained from the queue
+     * @return The number of messages sent
+     * @throws InterruptedException If interrupted while waiting for room in the send window
+     */
+    private int sendBatches(final LogTransport logTransport, final int maxToDrain) throws InterruptedException {
+        AppIdentity appIdentity = appIdentityService.getAppIdentity();
 
-                    send(logTransport, group);
+        int numSent = 0;
 
-                    // next iteration
-                    numSent += batchSize;
-                }
+        for (int drained = 0; drained < maxToDrain; ++drained) {
+            LogMsg logMsg = queue.poll();
+
+            if (logMsg == null) {
+                break;
+            }
+
+            long size = LogMsgSizes.estimate(logMsg);
+
+            if (openBatch != null && !batchLimits.fits(openBatch.size(), openBatchBytes, size)) {
+                numSent += sendOpenBatch(logTransport, appIdentity);
+            }
+
+            if (openBatch == null) {
+                openBatch = new ArrayList<LogMsg>(Math.min(maxToDrain - drained, batchLimits.getMaxMessages()));
+                openBatchBytes = 0;
+                openBatchNanos = System.nanoTime();
+            }
+
+            openBatch.add(logMsg);
+            openBatchBytes += size;
+
+            if (batchLimits.isFull(openBatch.size(), openBatchBytes)) {
+                numSent += sendOpenBatch(logTransport, appIdentity);
             }
         }
 
+        // the last batch is under the size limits, hold it back unless it has lingered long enough
+
+        if (openBatch != null && (shuttingDown || batchLimits.hasLingered(openBatchNanos, System.nanoTime()))) {
+            numSent += sendOpenBatch(logTransport, appIdentity);
+        }
+
         return numSent;
     }
 
     /**
-     * Send group to transport - with retry policy configured
+     * Sends the open batch and closes it
+     *
+     * @param logTransport The LogMsgGroup sender
+     * @param appIdentity  Application identity
+     * @return The number of messages sent
+     * @throws InterruptedException If interrupted while waiting for room in the send window
+     */
+    private int sendOpenBatch(final LogTransport logTransport, final AppIdentity appIdentity) throws InterruptedException {
+        List<LogMsg> batch = openBatch;
+        openBatch = null;
+
+        // build the log message group
+        LogMsgGroup group = getGroupHeader(appIdentity).toBuilder().msgs(batch).build();
+
+        // the group is encoded (or copied, by transports that do not encode) before the send returns, the messages
+        // can be recycled right away
+
+        try {
+            sendWindow.send(logTransport, group);
+        } finally {
+            if (pool != null) {
+                pool.releaseAll(batch);
+            }
+        }
+
+        return batch.size();
+    }
+
+    /**
+     * Builds a queue from the log queue settings in the API configuration
+     *
+     * @param apiConfig API configuration
+     * @return The queue of messages to be transmitted
      */
-    private void send(final LogTransport logTransport,
-                      final LogMsgGroup group) {
-        Failsafe.with(retryPolicy).runAsync(() -> logTransport.send(group));
+    static <E> MpscRingBuffer<E> newQueue(final ApiConfiguration apiConfig) {
+        OverflowStrategy overflowStrategy = OverflowStrategy.fromString(apiConfig.getLogQueueOverflow(), OverflowStrategy.DROP_OLDEST);
+        long blockNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, apiConfig.getLogQueueBlockMillis()));
+        return new MpscRingBuffer<E>(QUEUE_CAPACITY, overflowStrategy, blockNanos);
+    }
+
+    /**
+     * Gets the group header (the group without messages), rebuilt only when the application identity changes
+     *
+     * @param appIdentity Application identity (can be null)
+     * @return The group header
+     */
+    private LogMsgGroup getGroupHeader(final AppIdentity appIdentity) {
+        if (groupHeader == null || groupHeaderIdentity != appIdentity) {
+            groupHeader = createLogMessageGroup(platform, logger, envDetail, appIdentity);
+            groupHeaderIdentity = appIdentity;
+        }
+
+        return groupHeader;
     }
 
     /**
-     * @param batch       - a bunch of messages that should be sent over the wire
      * @param platform    - platform (log type)
      * @param logger      - logger (project) name
      * @param envDetail   - environment details
      * @param appIdentity - application identity
-     * @return LogMessage group object with
+     * @return LogMessage group object without messages
      */
-    private LogMsgGroup createLogMessageGroup(final List<LogMsg> batch,
-                                              final String platform,
+    private LogMsgGroup createLogMessageGroup(final String platform,
                                               final String logger,
                                               final EnvironmentDetail envDetail,
                                               final AppIdentity appIdentity) {
@@ -201,8 +664,6 @@ public class LogCollector {
             }
         }
 
-        groupBuilder.msgs(batch);
-
         return groupBuilder.build();
     }
 }
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2026 Stackify
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stackify.api.common.log;
+
+import com.stackify.api.LogMsg;
+import com.stackify.api.StackifyError;
+import com.stackify.api.WebRequestDetail;
+
+/**
+ * LogContextSnapshot
+ * <p>
+ * The thread bound logging context (transaction id, user and web request) captured on the logging thread, so a log
+ * event can be converted on the background thread. The web request is built on the logging thread, while the request
+ * it is read from is still in scope.
+ */
+class LogContextSnapshot {
+
+    /**
+     * Transaction id
+     */
+    private final String transactionId;
+
+    /**
+     * User
+     */
+    private final String user;
+
+    /**
+     * Web request
+     */
+    private final WebRequestDetail webRequest;
+
+    /**
+     * Captures the logging context of the current thread
+     *
+     * @param includeErrorContext True to capture the user and web request (only needed for errors)
+     * @return The snapshot
+     */
+    static LogContextSnapshot capture(final boolean includeErrorContext) {
+        if (APMLogData.isLinked()) {
+            return new LogContextSnapshot(APMLogData.getTransactionId(),
+                    includeErrorContext ? APMLogData.getUser() : null,
+                    includeErrorContext ? APMLogData.getWebRequest() : null);
+        }
+
+        return new LogContextSnapshot(ServletLogContext.getTransactionId(),
+                includeErrorContext ? ServletLogContext.getUser() : null,
+                includeErrorContext ? ServletLogContext.getWebRequest() : null);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param transactionId   Transaction id
+     * @param user            User
+     * @param webRequest      Web request
+     */
+    private LogContextSnapshot(final String transactionId,
+                               final String user,
+                               final WebRequestDetail webRequest) {
+        this.transactionId = transactionId;
+        this.user = user;
+        this.webRequest = webRequest;
+    }
+
+    /**
+     * Copies the captured context onto a message built on another thread. Values that were not captured are left as
+     * the event adapter set them.
+     *
+     * @param logMsg The log message
+     */
+    void applyTo(final LogMsg logMsg) {
+        if (transactionId != null) {
+            logMsg.setTransId(transactionId);
+        }
+
+        StackifyError error = logMsg.getEx();
+
+        if (error != null) {
+            if (user != null) {
+                error.setUserName(user);
+            }
+
+            if (webRequest != null) {
+                error.setWebRequestDetail(webRequest);
+            }
+        }
+    }
+
+    /**
+     * @return the transactionId
+     */
+    String getTransactionId() {
+        return transactionId;
+    }
+
+    /**
+     * @return the user
+     */
+    String getUser() {
+        return user;
+    }
+}
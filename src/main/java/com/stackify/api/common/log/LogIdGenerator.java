@@ -0,0 +1,34 @@
+/*
+ * Copyright 2026 Stackify
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stackify.api.common.log;
+
+import com.stackify.api.LogMsg;
+
+/**
+ * LogIdGenerator
+ * <p>
+ * Assigns ids to new log messages. Implementations are called on the logging thread and should store the id in its
+ * compact form with {@link LogMsg#setId(long, long)}, leaving the text form to be built when the message is encoded.
+ */
+public interface LogIdGenerator {
+
+    /**
+     * Assigns a new id to the log message
+     *
+     * @param logMsg The log message
+     */
+    void assignId(LogMsg logMsg);
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2026 Stackify
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stackify.api.common.log;
+
+import com.stackify.api.common.util.Preconditions;
+
+/**
+ * LogIdGenerators
+ * <p>
+ * Holds the log id generator used for new log messages
+ */
+public class LogIdGenerators {
+
+    /**
+     * The generator
+     */
+    private static volatile LogIdGenerator generator = new TimeOrderedLogIdGenerator();
+
+    /**
+     * @return The log id generator
+     */
+    public static LogIdGenerator get() {
+        return generator;
+    }
+
+    /**
+     * Replaces the log id generator
+     *
+     * @param logIdGenerator The log id generator
+     */
+    public static void set(final LogIdGenerator logIdGenerator) {
+        Preconditions.checkNotNull(logIdGenerator);
+        generator = logIdGenerator;
+    }
+
+    /**
+     * Hidden to prevent construction
+     */
+    private LogIdGenerators() {
+    }
+}
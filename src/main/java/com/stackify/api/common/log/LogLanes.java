@@ -0,0 +1,466 @@
+/*
+ * Copyright 2026 Stackify
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stackify.api.common.log;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import com.stackify.api.LogMsg;
+import com.stackify.api.common.ApiConfiguration;
+import com.stackify.api.common.collect.MpscRingBuffer;
+import com.stackify.api.common.collect.OverflowStrategy;
+import com.stackify.api.common.collect.Sink;
+import com.stackify.api.common.util.Preconditions;
+
+/**
+ * LogLanes
+ * <p>
+ * Queue of log messages waiting to be sent, split into priority lanes. Errors (error and fatal levels, or any message
+ * carrying an exception) have a lane of their own, with its own capacity, so a flood of other messages never evicts
+ * them. The other levels share one capacity over a lane per level: when it is full the oldest message of the lowest
+ * level lane is evicted first, so debug goes before info and info before warn. A message only evicts messages of its
+ * own level (under {@link OverflowStrategy#DROP_OLDEST}) or of lower levels; otherwise the overflow strategy rejects
+ * it or waits for room. Messages are drained error lane first, then from the highest level down.
+ * <p>
+ * The shared capacity is checked against the approximate lane sizes, so concurrent producers can briefly overshoot it.
+ */
+class LogLanes implements Sink<LogMsg> {
+
+    /**
+     * Error lane (error and fatal levels, exceptions)
+     */
+    static final int ERROR = 0;
+
+    /**
+     * Warn lane
+     */
+    static final int WARN = 1;
+
+    /**
+     * Info lane (missing and unknown levels as well)
+     */
+    static final int INFO = 2;
+
+    /**
+     * Debug lane (trace and debug levels)
+     */
+    static final int DEBUG = 3;
+
+    /**
+     * Rank of the warn level
+     */
+    private static final int WARN_RANK = LoggerFilter.rank("warn");
+
+    /**
+     * Rank of the error level
+     */
+    private static final int ERROR_RANK = LoggerFilter.rank("error");
+
+    /**
+     * Rank of the debug level
+     */
+    private static final int DEBUG_RANK = LoggerFilter.rank("debug");
+
+    /**
+     * Longest single park while waiting for room under {@link OverflowStrategy#BLOCK}
+     */
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * Per thread scratch array holding the run of a lane while a chunk is added
+     */
+    private static final ThreadLocal<LogMsg[]> SCRATCH = new ThreadLocal<LogMsg[]>() {
+        @Override
+        protected LogMsg[] initialValue() {
+            return new LogMsg[32];
+        }
+    };
+
+    /**
+     * The lanes, by priority (error lane first)
+     */
+    private final MpscRingBuffer<LogMsg>[] lanes;
+
+    /**
+     * Capacity shared by the warn, info and debug lanes
+     */
+    private final int capacity;
+
+    /**
+     * What to do when the shared capacity is used up
+     */
+    private final OverflowStrategy overflowStrategy;
+
+    /**
+     * Wait budget for {@link OverflowStrategy#BLOCK} (nanoseconds)
+     */
+    private final long blockNanos;
+
+    /**
+     * Number of messages evicted to make room
+     */
+    private final LongAdder evicted = new LongAdder();
+
+    /**
+     * Number of messages rejected
+     */
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * Constructor
+     * @param capacity Capacity shared by the warn, info and debug lanes
+     * @param errorCapacity Capacity of the error lane
+     */
+    LogLanes(final int capacity, final int errorCapacity) {
+        this(capacity, errorCapacity, OverflowStrategy.DROP_OLDEST, 0);
+    }
+
+    /**
+     * Constructor
+     * @param capacity Capacity shared by the warn, info and debug lanes (at least 2)
+     * @param errorCapacity Capacity of the error lane (at least 2)
+     * @param overflowStrategy What to do when a lane is full
+     * @param blockNanos Wait budget for {@link OverflowStrategy#BLOCK} (nanoseconds)
+     */
+    @SuppressWarnings("unchecked")
+    LogLanes(final int capacity, final int errorCapacity, final OverflowStrategy overflowStrategy, final long blockNanos) {
+        Preconditions.checkArgument(1 < capacity);
+        Preconditions.checkArgument(1 < errorCapacity);
+        Preconditions.checkNotNull(overflowStrategy);
+        Preconditions.checkArgument(0 <= blockNanos);
+
+        this.capacity = capacity;
+        this.overflowStrategy = overflowStrategy;
+        this.blockNanos = blockNanos;
+        this.lanes = new MpscRingBuffer[DEBUG + 1];
+
+        lanes[ERROR] = new MpscRingBuffer<LogMsg>(errorCapacity, overflowStrategy, blockNanos);
+
+        for (int lane = WARN; lane <= DEBUG; ++lane) {
+            lanes[lane] = new MpscRingBuffer<LogMsg>(capacity, OverflowStrategy.DROP_NEWEST, 0);
+        }
+    }
+
+    /**
+     * Builds the lanes from the log queue settings in the API configuration
+     * @param capacity Capacity shared by the warn, info and debug lanes
+     * @param apiConfig API configuration
+     * @return The lanes
+     */
+    static LogLanes fromConfiguration(final int capacity, final ApiConfiguration apiConfig) {
+        OverflowStrategy overflowStrategy = OverflowStrategy.fromString(apiConfig.getLogQueueOverflow(), OverflowStrategy.DROP_OLDEST);
+        long blockNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, apiConfig.getLogQueueBlockMillis()));
+        return new LogLanes(capacity, Math.max(2, apiConfig.getLogQueueErrorCapacity()), overflowStrategy, blockNanos);
+    }
+
+    /**
+     * Adds the message, applying the overflow strategy when its lane is full
+     * @param logMsg The log message
+     * @return True if the message was added, false if it was dropped
+     */
+    @Override
+    public boolean offer(final LogMsg logMsg) {
+        return offer(logMsg, blockNanos);
+    }
+
+    /**
+     * Adds the message, applying the overflow strategy when its lane is full
+     * @param logMsg The log message
+     * @param waitNanos Wait budget (nanoseconds) used instead of the configured one under {@link OverflowStrategy#BLOCK}
+     * @return True if the message was added, false if it was dropped
+     */
+    boolean offer(final LogMsg logMsg, final long waitNanos) {
+        Preconditions.checkNotNull(logMsg);
+
+        int lane = laneOf(logMsg);
+
+        if (lane == ERROR) {
+            return lanes[ERROR].offer(logMsg, waitNanos);
+        }
+
+        if (makeRoom(lane, overflowStrategy == OverflowStrategy.DROP_OLDEST)
+                || (overflowStrategy == OverflowStrategy.BLOCK && awaitRoom(lane, waitNanos))) {
+            return lanes[lane].offer(logMsg);
+        }
+
+        rejected.increment();
+        return false;
+    }
+
+    /**
+     * Adds a chunk of messages without ever waiting for room. The messages of each lane are added in one go; shared
+     * capacity is made as for a single message (evicting lower levels, or the same level under
+     * {@link OverflowStrategy#DROP_OLDEST}) and the newest messages that still do not fit are rejected.
+     * @param logMsgs The messages
+     * @param count Number of messages, from the start of the array
+     * @return The number of messages added (each cleared from the array)
+     */
+    @Override
+    public int offerAll(final LogMsg[] logMsgs, final int count) {
+        Preconditions.checkNotNull(logMsgs);
+        Preconditions.checkArgument(0 <= count && count <= logMsgs.length);
+
+        LogMsg[] run = scratch(count);
+        int added = 0;
+
+        for (int lane = ERROR; lane <= DEBUG; ++lane) {
+            int n = 0;
+
+            for (int i = 0; i < count; ++i) {
+                if (logMsgs[i] != null && laneOf(logMsgs[i]) == lane) {
+                    run[n++] = logMsgs[i];
+                }
+            }
+
+            if (n == 0) {
+                continue;
+            }
+
+            added += (lane == ERROR) ? lanes[ERROR].offerAll(run, n) : offerAllShared(lane, run, n);
+
+            // clear the added messages from the chunk, the ones left in the run were dropped
+
+            for (int i = 0, j = 0; j < n; ++i) {
+                if (logMsgs[i] != null && laneOf(logMsgs[i]) == lane) {
+                    if (run[j] == null) {
+                        logMsgs[i] = null;
+                    }
+                    run[j++] = null;
+                }
+            }
+        }
+
+        return added;
+    }
+
+    /**
+     * Adds a run of messages to a warn, info or debug lane, making room in the shared capacity first
+     * @param lane The lane
+     * @param run The messages of the lane
+     * @param n Number of messages
+     * @return The number of messages added (each cleared from the run)
+     */
+    private int offerAllShared(final int lane, final LogMsg[] run, final int n) {
+        int room = capacity - sharedSize();
+        int last = (overflowStrategy == OverflowStrategy.DROP_OLDEST) ? lane : lane + 1;
+
+        for (int victim = DEBUG; room < n && last <= victim; --victim) {
+            while (room < n && lanes[victim].poll() != null) {
+                evicted.increment();
+                ++room;
+            }
+        }
+
+        int fit = Math.max(0, Math.min(n, room));
+        rejected.add(n - fit);
+
+        return lanes[lane].offerAll(run, fit);
+    }
+
+    /**
+     * @param length Minimum length
+     * @return The calling thread's scratch array for the runs of {@link #offerAll(LogMsg[], int)}
+     */
+    private static LogMsg[] scratch(final int length) {
+        LogMsg[] run = SCRATCH.get();
+
+        if (run.length < length) {
+            run = new LogMsg[length];
+            SCRATCH.set(run);
+        }
+
+        return run;
+    }
+
+    /**
+     * Adds the message, first waiting up to the wait budget for room whatever the overflow strategy, then applying
+     * the overflow strategy (without further waiting)
+     * @param logMsg The log message
+     * @param waitNanos Wait budget (nanoseconds)
+     * @return True if the message was added, false if it was dropped
+     */
+    boolean offerWithin(final LogMsg logMsg, final long waitNanos) {
+        Preconditions.checkNotNull(logMsg);
+
+        int lane = laneOf(logMsg);
+
+        if (lane == ERROR) {
+            return lanes[ERROR].offerWithin(logMsg, waitNanos);
+        }
+
+        if (makeRoom(lane, false) || awaitRoom(lane, waitNanos)) {
+            return lanes[lane].offer(logMsg);
+        }
+
+        return offer(logMsg, 0);
+    }
+
+    /**
+     * Removes the next message, error lane first then from the highest level down (oldest first within a lane)
+     * @return The message or null if every lane is empty
+     */
+    LogMsg poll() {
+        for (int lane = ERROR; lane <= DEBUG; ++lane) {
+            LogMsg logMsg = lanes[lane].poll();
+
+            if (logMsg != null) {
+                return logMsg;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Removes up to max messages, error lane first then from the highest level down (oldest first within a lane),
+     * and adds them to the batch
+     * @param batch Destination of the removed messages
+     * @param max Maximum number of messages to remove
+     * @return The number of messages removed
+     */
+    int drainTo(final Collection<? super LogMsg> batch, final int max) {
+        int drained = 0;
+
+        for (int lane = ERROR; lane <= DEBUG && drained < max; ++lane) {
+            drained += lanes[lane].drainTo(batch, max - drained);
+        }
+
+        return drained;
+    }
+
+    /**
+     * @return Capacity shared by the warn, info and debug lanes
+     */
+    int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return Approximate number of messages in every lane
+     */
+    int size() {
+        return lanes[ERROR].size() + sharedSize();
+    }
+
+    /**
+     * @param lane The lane
+     * @return Approximate number of messages in the lane
+     */
+    int size(final int lane) {
+        return lanes[lane].size();
+    }
+
+    /**
+     * @return Total number of dropped messages
+     */
+    long getDroppedCount() {
+        long dropped = evicted.sum() + rejected.sum();
+
+        for (MpscRingBuffer<LogMsg> lane : lanes) {
+            dropped += lane.getDroppedCount();
+        }
+
+        return dropped;
+    }
+
+    /**
+     * @param logMsg The log message
+     * @return The lane of the message
+     */
+    static int laneOf(final LogMsg logMsg) {
+        int rank = LoggerFilter.rank(logMsg.getLevel());
+
+        if (logMsg.getEx() != null || (ERROR_RANK <= rank && rank != Integer.MAX_VALUE)) {
+            return ERROR;
+        } else if (rank == WARN_RANK) {
+            return WARN;
+        } else if (rank <= DEBUG_RANK) {
+            return DEBUG;
+        }
+
+        return INFO;
+    }
+
+    /**
+     * Makes room in the shared capacity if it is used up, evicting the oldest message of the lowest level lane below
+     * the message's own lane (or of its own lane when allowed)
+     * @param lane Lane of the new message
+     * @param evictSameLevel True to evict from the message's own lane as a last resort
+     * @return True if there is room for the message
+     */
+    private boolean makeRoom(final int lane, final boolean evictSameLevel) {
+        if (sharedSize() < capacity) {
+            return true;
+        }
+
+        int last = evictSameLevel ? lane : lane + 1;
+
+        for (int victim = DEBUG; last <= victim; --victim) {
+            if (lanes[victim].poll() != null) {
+                evicted.increment();
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Waits with a growing back off until there is room for the message or the wait budget runs out
+     * @param lane Lane of the new message
+     * @param waitNanos Wait budget (nanoseconds)
+     * @return True if there is room for the message
+     */
+    private boolean awaitRoom(final int lane, final long waitNanos) {
+        if (waitNanos <= 0) {
+            return false;
+        }
+
+        long deadline = System.nanoTime() + waitNanos;
+        long parkNanos = 1000;
+
+        for (;;) {
+            long remaining = deadline - System.nanoTime();
+
+            if (remaining <= 0) {
+                return false;
+            }
+
+            LockSupport.parkNanos(Math.min(parkNanos, remaining));
+
+            if (makeRoom(lane, false)) {
+                return true;
+            }
+
+            parkNanos = Math.min(parkNanos * 2, MAX_PARK_NANOS);
+        }
+    }
+
+    /**
+     * @return Approximate number of messages in the warn, info and debug lanes
+     */
+    private int sharedSize() {
+        int size = 0;
+
+        for (int lane = WARN; lane <= DEBUG; ++lane) {
+            size += lanes[lane].size();
+        }
+
+        return size;
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright 2026 Stackify
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stackify.api.common.log;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.stackify.api.LogMsg;
+import com.stackify.api.LogMsgGroup;
+import com.stackify.api.common.proto.LogMsgGroupConverter;
+import com.stackify.api.common.util.Preconditions;
+
+import lombok.NonNull;
+
+/**
+ * LogMsgGroupEncoder
+ * <p>
+ * Encodes log message groups (JSON or protobuf) reusing the encoded group header: everything but the messages, which
+ * only changes when the application identity does. The header is encoded once and cached, and every group with the
+ * same header only has its messages encoded and spliced in. JSON object members are unordered, so the messages are
+ * appended after the header members; concatenated protobuf messages are merged, so the encoded messages are appended
+ * to the encoded header.
+ */
+class LogMsgGroupEncoder {
+
+    /**
+     * Opens the messages array after the other members
+     */
+    private static final byte[] JSON_MSGS_SEPARATED = ",\"Msgs\":[".getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * Opens the messages array when there is no other member
+     */
+    private static final byte[] JSON_MSGS = "\"Msgs\":[".getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * Closes the messages array and the group
+     */
+    private static final byte[] JSON_END = "]}".getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * Separates the messages
+     */
+    private static final SerializedString JSON_SEPARATOR = new SerializedString(",");
+
+    /**
+     * JSON object mapper
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * JSON writer of the messages
+     */
+    private final ObjectWriter msgWriter;
+
+    /**
+     * Last JSON header (prefix up to the opening of the messages array)
+     */
+    private volatile Header jsonHeader;
+
+    /**
+     * Last protobuf header
+     */
+    private volatile Header protobufHeader;
+
+    /**
+     * Constructor
+     * @param objectMapper JSON object mapper
+     */
+    LogMsgGroupEncoder(@NonNull final ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.msgWriter = objectMapper.writerFor(LogMsg.class);
+    }
+
+    /**
+     * @param group The log message group
+     * @return The group encoded as JSON
+     * @throws IOException
+     */
+    byte[] toJson(final LogMsgGroup group) throws IOException {
+        Preconditions.checkNotNull(group);
+
+        if (group.getMsgs() == null) {
+            return objectMapper.writeValueAsBytes(group);
+        }
+
+        Header header = jsonHeader;
+
+        if (header == null || !header.matches(group)) {
+            LogMsgGroup key = headerOf(group);
+            byte[] encoded = objectMapper.writeValueAsBytes(key);
+
+            // drop the closing brace to append the messages
+
+            ByteArrayOutputStream prefix = new ByteArrayOutputStream(encoded.length + JSON_MSGS_SEPARATED.length);
+            prefix.write(encoded, 0, encoded.length - 1);
+            prefix.write(encoded.length == 2 ? JSON_MSGS : JSON_MSGS_SEPARATED);
+
+            header = new Header(key, prefix.toByteArray());
+            jsonHeader = header;
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(header.bytes.length + 256 * group.getMsgs().size());
+        out.write(header.bytes);
+
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.setRootValueSeparator(JSON_SEPARATOR);
+
+        try {
+            for (LogMsg logMsg : group.getMsgs()) {
+                msgWriter.writeValue(generator, logMsg);
+            }
+        } finally {
+            generator.close();
+        }
+
+        out.write(JSON_END);
+
+        return out.toByteArray();
+    }
+
+    /**
+     * @param group The log message group
+     * @return The group encoded as protobuf
+     */
+    byte[] toProtobuf(final LogMsgGroup group) {
+        Preconditions.checkNotNull(group);
+
+        if (group.getMsgs() == null) {
+            return LogMsgGroupConverter.convert(group).toByteArray();
+        }
+
+        Header header = protobufHeader;
+
+        if (header == null || !header.matches(group)) {
+            LogMsgGroup key = headerOf(group);
+            header = new Header(key, LogMsgGroupConverter.convert(key).toByteArray());
+            protobufHeader = header;
+        }
+
+        byte[] msgs = LogMsgGroupConverter.convertLogs(group.getMsgs()).toByteArray();
+
+        byte[] bytes = Arrays.copyOf(header.bytes, header.bytes.length + msgs.length);
+        System.arraycopy(msgs, 0, bytes, header.bytes.length, msgs.length);
+
+        return bytes;
+    }
+
+    /**
+     * @param group The log message group
+     * @return Copy of the group without the messages
+     */
+    private static LogMsgGroup headerOf(final LogMsgGroup group) {
+        return group.toBuilder().msgs(null).build();
+    }
+
+    /**
+     * Encoded group header
+     */
+    private static class Header {
+
+        /**
+         * The group header (without the messages)
+         */
+        private final LogMsgGroup group;
+
+        /**
+         * The encoded header
+         */
+        private final byte[] bytes;
+
+        /**
+         * Constructor
+         * @param group The group header (without the messages)
+         * @param bytes The encoded header
+         */
+        private Header(final LogMsgGroup group, final byte[] bytes) {
+            this.group = group;
+            this.bytes = bytes;
+        }
+
+        /**
+         * @param other A log message group
+         * @return True if the group has this header (every member but the messages is equal)
+         */
+        private boolean matches(final LogMsgGroup other) {
+            return Objects.equals(group.getCdId(), other.getCdId())
+                    && Objects.equals(group.getCdAppId(), other.getCdAppId())
+                    && Objects.equals(group.getAppNameId(), other.getAppNameId())
+                    && Objects.equals(group.getAppEnvId(), other.getAppEnvId())
+                    && Objects.equals(group.getEnvId(), other.getEnvId())
+                    && Objects.equals(group.getEnv(), other.getEnv())
+                    && Objects.equals(group.getServerName(), other.getServerName())
+                    && Objects.equals(group.getAppName(), other.getAppName())
+                    && Objects.equals(group.getAppLoc(), other.getAppLoc())
+                    && Objects.equals(group.getLogger(), other.getLogger())
+                    && Objects.equals(group.getPlatform(), other.getPlatform())
+                    && Objects.equals(group.getContainer(), other.getContainer())
+                    && Objects.equals(group.getKubernetes(), other.getKubernetes());
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2026 Stackify
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stackify.api.common.log;
+
+import java.util.Collection;
+
+import com.stackify.api.LogMsg;
+import com.stackify.api.common.collect.MpscRingBuffer;
+import com.stackify.api.common.collect.OverflowStrategy;
+
+/**
+ * LogMsgPool
+ * <p>
+ * Pool of recyclable LogMsg slots for the garbage-free append path. The pool is soft: acquire allocates a new slot
+ * when the pool is empty and release drops the slot when the pool is full, so a burst never blocks a logging thread.
+ * Slots are released by the collector once the batch they were sent in has completed.
+ */
+public class LogMsgPool {
+
+    /**
+     * Released slots
+     */
+    private final MpscRingBuffer<LogMsg> slots;
+
+    /**
+     * Constructor
+     *
+     * @param capacity Maximum number of pooled slots
+     */
+    public LogMsgPool(final int capacity) {
+        this.slots = new MpscRingBuffer<LogMsg>(capacity, OverflowStrategy.DROP_NEWEST, 0);
+    }
+
+    /**
+     * @return An empty log message (its id is assigned when it is queued)
+     */
+    public LogMsg acquire() {
+        LogMsg slot = slots.poll();
+
+        if (slot == null) {
+            slot = new LogMsg();
+        }
+
+        return slot;
+    }
+
+    /**
+     * Clears the log message and returns it to the pool
+     *
+     * @param slot The log message
+     */
+    public void release(final LogMsg slot) {
+        slot.setMsg(null);
+        slot.setData(null);
+        slot.setEx(null);
+        slot.setTh(null);
+        slot.setEpochMs(null);
+        slot.setLevel(null);
+        slot.setTransId(null);
+        slot.setSrcMethod(null);
+        slot.setSrcLine(null);
+        slot.setId(null);
+        slot.setTags(null);
+
+        slots.offer(slot);
+    }
+
+    /**
+     * Clears the log messages and returns them to the pool
+     *
+     * @param batch The log messages
+     */
+    public void releaseAll(final Collection<LogMsg> batch) {
+        for (LogMsg slot : batch) {
+            release(slot);
+        }
+    }
+
+    /**
+     * @return Number of slots in the pool
+     */
+    public int size() {
+        return slots.size();
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2026 Stackify
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stackify.api.common.log;
+
+import java.util.List;
+import java.util.Map;
+
+import com.stackify.api.EnvironmentDetail;
+import com.stackify.api.ErrorItem;
+import com.stackify.api.LogMsg;
+import com.stackify.api.StackifyError;
+import com.stackify.api.TraceFrame;
+import com.stackify.api.WebRequestDetail;
+
+/**
+ * LogMsgSizes
+ * <p>
+ * Cheap estimate of the serialized (JSON, before compression) size of a log message. Adds up the lengths of the
+ * values and a fixed overhead per field (name, quotes and separators) without encoding anything; escaping and
+ * multi-byte characters are not accounted for. The protobuf encoding used by the agent socket is smaller, so the
+ * estimate is conservative for it.
+ */
+class LogMsgSizes {
+
+    /**
+     * Overhead of a field: name, quotes, colon and comma
+     */
+    private static final int FIELD_OVERHEAD = 16;
+
+    /**
+     * Overhead of an object or array: braces and separators
+     */
+    private static final int OBJECT_OVERHEAD = 4;
+
+    /**
+     * Size of a number value
+     */
+    private static final int NUMBER_SIZE = 16;
+
+    /**
+     * @param logMsg The log message
+     * @return Estimated serialized size (bytes)
+     */
+    static long estimate(final LogMsg logMsg) {
+        long size = OBJECT_OVERHEAD
+                + field(logMsg.getMsg())
+                + field(logMsg.getData())
+                + field(logMsg.getTh())
+                + field(logMsg.getLevel())
+                + field(logMsg.getTransId())
+                + field(logMsg.getSrcMethod())
+                + field(logMsg.getId())
+                + (logMsg.getEpochMs() != null ? FIELD_OVERHEAD + NUMBER_SIZE : 0)
+                + (logMsg.getSrcLine() != null ? FIELD_OVERHEAD + NUMBER_SIZE : 0);
+
+        List<String> tags = logMsg.getTags();
+
+        if (tags != null) {
+            size += FIELD_OVERHEAD + OBJECT_OVERHEAD;
+
+            for (String tag : tags) {
+                size += value(tag) + 1;
+            }
+        }
+
+        StackifyError ex = logMsg.getEx();
+
+        if (ex != null) {
+            size += FIELD_OVERHEAD + estimate(ex);
+        }
+
+        return size;
+    }
+
+    /**
+     * @param error The error
+     * @return Estimated serialized size (bytes)
+     */
+    private static long estimate(final StackifyError error) {
+        long size = OBJECT_OVERHEAD
+                + field(error.getCustomerName())
+                + field(error.getUserName())
+                + (error.getOccurredEpochMillis() != null ? FIELD_OVERHEAD + NUMBER_SIZE : 0)
+                + field(error.getServerVariables());
+
+        EnvironmentDetail env = error.getEnvironmentDetail();
+
+        if (env != null) {
+            size += FIELD_OVERHEAD + OBJECT_OVERHEAD
+                    + field(env.getDeviceName())
+                    + field(env.getAppName())
+                    + field(env.getAppLocation())
+                    + field(env.getConfiguredAppName())
+                    + field(env.getConfiguredEnvironmentName());
+        }
+
+        for (ErrorItem item = error.getError(); item != null; item = item.getInnerError()) {
+            size += FIELD_OVERHEAD + OBJECT_OVERHEAD
+                    + field(item.getMessage())
+                    + field(item.getErrorType())
+                    + field(item.getErrorTypeCode())
+                    + field(item.getSourceMethod())
+                    + field(item.getData());
+
+            List<TraceFrame> frames = item.getStackTrace();
+
+            if (frames != null) {
+                size += FIELD_OVERHEAD + OBJECT_OVERHEAD;
+
+                for (TraceFrame frame : frames) {
+                    size += OBJECT_OVERHEAD
+                            + field(frame.getCodeFileName())
+                            + field(frame.getMethod())
+                            + (frame.getLineNum() != null ? FIELD_OVERHEAD + NUMBER_SIZE : 0);
+                }
+            }
+        }
+
+        WebRequestDetail request = error.getWebRequestDetail();
+
+        if (request != null) {
+            size += FIELD_OVERHEAD + OBJECT_OVERHEAD
+                    + field(request.getUserIpAddress())
+                    + field(request.getHttpMethod())
+                    + field(request.getRequestProtocol())
+                    + field(request.getRequestUrl())
+                    + field(request.getRequestUrlRoot())
+                    + field(request.getReferralUrl())
+                    + field(request.getHeaders())
+                    + field(request.getCookies())
+                    + field(request.getQueryString())
+                    + field(request.getPostData())
+                    + field(request.getSessionData())
+                    + field(request.getPostDataRaw())
+                    + field(request.getMvcAction())
+                    + field(request.getMvcController())
+                    + field(request.getMvcArea());
+        }
+
+        return size;
+    }
+
+    /**
+     * @param value The value (can be null)
+     * @return Estimated size of the field, 0 if it is null (not serialized)
+     */
+    private static long field(final String value) {
+        return value != null ? FIELD_OVERHEAD + value(value) : 0;
+    }
+
+    /**
+     * @param map The value (can be null)
+     * @return Estimated size of the field, 0 if it is null (not serialized)
+     */
+    private static long field(final Map<String, String> map) {
+        if (map == null) {
+            return 0;
+        }
+
+        long size = FIELD_OVERHEAD + OBJECT_OVERHEAD;
+
+        for (Map.Entry<String, String> entry : map.entrySet()) {
+            size += value(entry.getKey()) + value(entry.getValue()) + OBJECT_OVERHEAD;
+        }
+
+        return size;
+    }
+
+    /**
+     * @param value The value (can be null)
+     * @return Estimated size of the quoted value
+     */
+    private static long value(final String value) {
+        return value != null ? value.length() + 2 : OBJECT_OVERHEAD;
+    }
+
+    /**
+     * Hidden to prevent construction
+     */
+    private LogMsgSizes() {
+        // do nothing
+    }
+}
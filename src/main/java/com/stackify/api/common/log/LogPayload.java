@@ -0,0 +1,123 @@
+/*
+ * Copyright 2026 Stackify
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stackify.api.common.log;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.stackify.api.LogMsg;
+import com.stackify.api.LogMsgGroup;
+import com.stackify.api.common.util.Preconditions;
+
+/**
+ * LogPayload
+ * <p>
+ * A log message group preprocessed and encoded by a transport, ready to be put on the wire. It is built once per
+ * group; every attempt to send the group (the retries included) sends these same bytes.
+ * <p>
+ * A transport that does not encode its groups up front gets a copy of the group instead, taken when the payload is
+ * built: the messages of the original group are recycled as soon as it has been handed to the send window.
+ */
+public class LogPayload {
+
+    /**
+     * The encoded group (not to be modified)
+     */
+    private final byte[] bytes;
+
+    /**
+     * Copy of the group, for transports that do not encode their groups up front
+     */
+    private final LogMsgGroup group;
+
+    /**
+     * Number of messages in the group
+     */
+    private final int msgCount;
+
+    /**
+     * Size of the payload (bytes), estimated for a copy of the group
+     */
+    private final long size;
+
+    /**
+     * Constructor
+     * @param bytes The encoded group (not to be modified)
+     * @param msgCount Number of messages in the group
+     */
+    public LogPayload(final byte[] bytes, final int msgCount) {
+        Preconditions.checkNotNull(bytes);
+        Preconditions.checkArgument(0 <= msgCount);
+
+        this.bytes = bytes;
+        this.group = null;
+        this.msgCount = msgCount;
+        this.size = bytes.length;
+    }
+
+    /**
+     * Constructor
+     * @param group The log message group (copied, with its messages)
+     */
+    public LogPayload(final LogMsgGroup group) {
+        Preconditions.checkNotNull(group);
+
+        List<LogMsg> msgs = null;
+        long estimate = 0;
+
+        if (group.getMsgs() != null) {
+            msgs = new ArrayList<LogMsg>(group.getMsgs().size());
+
+            for (LogMsg msg : group.getMsgs()) {
+                msgs.add(msg.toBuilder().build());
+                estimate += LogMsgSizes.estimate(msg);
+            }
+        }
+
+        this.bytes = null;
+        this.group = group.toBuilder().msgs(msgs).build();
+        this.msgCount = (msgs != null) ? msgs.size() : 0;
+        this.size = estimate;
+    }
+
+    /**
+     * @return The encoded group (not to be modified), or null for a copy of the group
+     */
+    public byte[] getBytes() {
+        return bytes;
+    }
+
+    /**
+     * @return The copy of the group, or null for an encoded group
+     */
+    public LogMsgGroup getGroup() {
+        return group;
+    }
+
+    /**
+     * @return Number of messages in the group
+     */
+    public int getMsgCount() {
+        return msgCount;
+    }
+
+    /**
+     * @return Size of the payload (bytes), estimated for a copy of the group
+     */
+    public long getSize() {
+        return size;
+    }
+}
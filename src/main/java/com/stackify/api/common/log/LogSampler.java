@@ -0,0 +1,336 @@
+/*
+ * Copyright 2026 Stackify
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stackify.api.common.log;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.stackify.api.LogMsg;
+import com.stackify.api.common.ApiConfiguration;
+import com.stackify.api.common.codec.Fingerprints;
+import com.stackify.api.common.concurrent.TokenBucket;
+import com.stackify.api.common.util.Preconditions;
+
+/**
+ * LogSampler
+ * <p>
+ * Samples non-error log messages before they are queued. Messages go through, in order, the token bucket of their
+ * level, the token bucket of their logger and probabilistic sampling. Probabilistic sampling is consistent by default:
+ * the decision is a hash of the transaction id, so the messages of a transaction are kept or dropped together.
+ * <p>
+ * Errors (messages with an error attached or logged at error level or above) are never sampled. Kept messages are
+ * tagged with the sample rate (#SAMPLERATE:0.1) and with the number of messages a token bucket dropped since its
+ * previous kept message (#SAMPLEDROPPED:42), so volumes can be reconstructed.
+ */
+public class LogSampler {
+
+    /**
+     * Tag prefix for the probabilistic sample rate
+     */
+    public static final String SAMPLE_RATE_TAG = "#SAMPLERATE:";
+
+    /**
+     * Tag prefix for the number of messages dropped by a token bucket
+     */
+    public static final String SAMPLE_DROPPED_TAG = "#SAMPLEDROPPED:";
+
+    /**
+     * Upper bound on the number of per logger buckets, loggers beyond it share one bucket
+     */
+    private static final int MAX_LOGGER_BUCKETS = 10000;
+
+    /**
+     * Rank of the error level
+     */
+    private static final int ERROR_RANK = LoggerFilter.rank("error");
+
+    /**
+     * Token buckets by (lower case) level
+     */
+    private final Map<String, Bucket> levelBuckets;
+
+    /**
+     * Rate (per second) of the per logger buckets, 0 if disabled
+     */
+    private final double loggerRate;
+
+    /**
+     * Token buckets by logger name
+     */
+    private final ConcurrentHashMap<String, Bucket> loggerBuckets = new ConcurrentHashMap<String, Bucket>();
+
+    /**
+     * Bucket shared by the loggers beyond MAX_LOGGER_BUCKETS
+     */
+    private final Bucket overflowLoggerBucket;
+
+    /**
+     * Probability (0 to 1) that a message is kept
+     */
+    private final double rate;
+
+    /**
+     * Sample rate tag (null if the rate is 1)
+     */
+    private final String rateTag;
+
+    /**
+     * True to sample on the transaction id
+     */
+    private final boolean consistent;
+
+    /**
+     * Builds the sampler from the API configuration
+     *
+     * @param apiConfig API configuration
+     * @return The sampler or null if no sampling is configured
+     */
+    public static LogSampler fromConfiguration(final ApiConfiguration apiConfig) {
+        Map<String, Double> levelRates = new HashMap<String, Double>();
+
+        String levels = apiConfig.getLogSampleLevels();
+
+        if (levels != null && !levels.trim().isEmpty()) {
+            for (String rule : levels.trim().split("\\s*,\\s*")) {
+                int separator = rule.indexOf('=');
+
+                if (0 < separator) {
+                    levelRates.put(rule.substring(0, separator).trim(), Double.parseDouble(rule.substring(separator + 1).trim()));
+                }
+            }
+        }
+
+        double loggerRate = apiConfig.getLogSampleLoggerRate() != null ? apiConfig.getLogSampleLoggerRate() : 0;
+        double rate = apiConfig.getLogSampleRate() != null ? apiConfig.getLogSampleRate() : 1;
+
+        if (levelRates.isEmpty() && loggerRate <= 0 && 1 <= rate) {
+            return null;
+        }
+
+        return new LogSampler(levelRates, loggerRate, rate, !Boolean.FALSE.equals(apiConfig.getLogSampleConsistent()));
+    }
+
+    /**
+     * Constructor
+     *
+     * @param levelRates Rate (per second) by level
+     * @param loggerRate Rate (per second) of every logger, 0 to disable
+     * @param rate       Probability (0 to 1) that a message is kept
+     * @param consistent True to sample on the transaction id
+     */
+    public LogSampler(final Map<String, Double> levelRates, final double loggerRate, final double rate, final boolean consistent) {
+        Preconditions.checkNotNull(levelRates);
+        Preconditions.checkArgument(0 <= rate && rate <= 1);
+
+        this.levelBuckets = new HashMap<String, Bucket>();
+
+        for (Map.Entry<String, Double> entry : levelRates.entrySet()) {
+            levelBuckets.put(entry.getKey().toLowerCase(Locale.ROOT), new Bucket(entry.getValue()));
+        }
+
+        this.loggerRate = loggerRate;
+        this.overflowLoggerBucket = 0 < loggerRate ? new Bucket(loggerRate) : null;
+        this.rate = rate;
+        this.rateTag = rate < 1 ? SAMPLE_RATE_TAG + rate : null;
+        this.consistent = consistent;
+    }
+
+    /**
+     * Decides if the log message is kept, tagging kept messages with the sampling applied to them
+     *
+     * @param logMsg     The log message
+     * @param loggerName The logger (class) name (optional)
+     * @return True if the message should be queued
+     */
+    public boolean sample(final LogMsg logMsg, final String loggerName) {
+        if (logMsg.getEx() != null || ERROR_RANK <= rankOf(logMsg.getLevel())) {
+            return true;
+        }
+
+        // the probabilistic stage takes no token, so it goes first
+
+        if (rate < 1 && !keep(logMsg.getTransId())) {
+            return false;
+        }
+
+        Bucket levelBucket = levelBucket(logMsg.getLevel());
+
+        if (levelBucket != null && !levelBucket.tryAcquire()) {
+            return false;
+        }
+
+        Bucket loggerBucket = loggerBucket(loggerName);
+
+        if (loggerBucket != null && !loggerBucket.tryAcquire()) {
+
+            // the message is dropped, the level token goes back
+
+            if (levelBucket != null) {
+                levelBucket.release();
+            }
+
+            return false;
+        }
+
+        // tag the kept message
+
+        long levelDropped = levelBucket != null ? levelBucket.takeDropped() : 0;
+        long loggerDropped = loggerBucket != null ? loggerBucket.takeDropped() : 0;
+
+        if (rateTag != null || 0 < levelDropped || 0 < loggerDropped) {
+            List<String> tags = logMsg.getTags() != null ? new ArrayList<String>(logMsg.getTags()) : new ArrayList<String>(2);
+
+            if (rateTag != null) {
+                tags.add(rateTag);
+            }
+
+            if (0 < levelDropped + loggerDropped) {
+                tags.add(SAMPLE_DROPPED_TAG + (levelDropped + loggerDropped));
+            }
+
+            logMsg.setTags(tags);
+        }
+
+        return true;
+    }
+
+    /**
+     * @param transId Transaction id (optional)
+     * @return True if the message is kept by probabilistic sampling
+     */
+    private boolean keep(final String transId) {
+        if (consistent && transId != null) {
+            return toUnitInterval(Fingerprints.mix(transId.hashCode())) < rate;
+        }
+
+        return ThreadLocalRandom.current().nextDouble() < rate;
+    }
+
+    /**
+     * @param level The level (optional)
+     * @return The level's bucket or null
+     */
+    private Bucket levelBucket(final String level) {
+        if (level == null || levelBuckets.isEmpty()) {
+            return null;
+        }
+
+        Bucket bucket = levelBuckets.get(level);
+
+        if (bucket == null) {
+            bucket = levelBuckets.get(level.toLowerCase(Locale.ROOT));
+        }
+
+        return bucket;
+    }
+
+    /**
+     * @param loggerName The logger name (optional)
+     * @return The logger's bucket or null if per logger sampling is disabled
+     */
+    private Bucket loggerBucket(final String loggerName) {
+        if (loggerRate <= 0) {
+            return null;
+        }
+
+        String key = loggerName != null ? loggerName : "";
+        Bucket bucket = loggerBuckets.get(key);
+
+        if (bucket == null) {
+            if (MAX_LOGGER_BUCKETS <= loggerBuckets.size()) {
+                return overflowLoggerBucket;
+            }
+
+            bucket = loggerBuckets.computeIfAbsent(key, k -> new Bucket(loggerRate));
+        }
+
+        return bucket;
+    }
+
+    /**
+     * @param level The level (optional)
+     * @return The level rank (0 for missing and unknown levels)
+     */
+    private static int rankOf(final String level) {
+        int rank = LoggerFilter.rank(level);
+        return rank == Integer.MAX_VALUE ? 0 : rank;
+    }
+
+    /**
+     * @param hash A well mixed hash
+     * @return A value between 0 (inclusive) and 1 (exclusive)
+     */
+    private static double toUnitInterval(final long hash) {
+        return (hash >>> 11) * 0x1.0p-53;
+    }
+
+    /**
+     * Token bucket that counts the messages it dropped
+     */
+    private static class Bucket {
+
+        /**
+         * The token bucket
+         */
+        private final TokenBucket tokens;
+
+        /**
+         * Messages dropped since the last kept message
+         */
+        private final AtomicLong dropped = new AtomicLong();
+
+        /**
+         * Constructor
+         *
+         * @param permitsPerSecond Messages per second (bursts of up to one second)
+         */
+        private Bucket(final double permitsPerSecond) {
+            this.tokens = new TokenBucket(permitsPerSecond, (int) Math.max(1, Math.ceil(permitsPerSecond)));
+        }
+
+        /**
+         * @return True if the message is kept
+         */
+        private boolean tryAcquire() {
+            if (tokens.tryAcquire()) {
+                return true;
+            }
+
+            dropped.incrementAndGet();
+            return false;
+        }
+
+        /**
+         * Gives back a token taken for a message dropped by a later stage
+         */
+        private void release() {
+            tokens.release();
+        }
+
+        /**
+         * @return Messages dropped since the last kept message
+         */
+        private long takeDropped() {
+            return dropped.get() == 0 ? 0 : dropped.getAndSet(0);
+        }
+    }
+}
@@ -0,0 +1,455 @@
+/*
+ * Copyright 2026 Stackify
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stackify.api.common.log;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.stackify.api.LogMsgGroup;
+import com.stackify.api.common.http.HttpException;
+import com.stackify.api.common.http.HttpResendQueue;
+import com.stackify.api.common.http.HttpResendQueueItem;
+import com.stackify.api.common.util.Preconditions;
+
+/**
+ * LogSendWindow
+ * <p>
+ * Sends log message groups on a dedicated, bounded pool of daemon threads, with at most a fixed number of groups in
+ * flight. A send waits for a free slot, so a backlog cannot flood the pool, and the flush thread builds the next
+ * group while the previous ones are on the wire.
+ * <p>
+ * A group is preprocessed and encoded once, on the flush thread. When a send fails, the encoded payload goes to a
+ * resend queue (bounded by count and bytes) and is sent again as it is, after a jittered exponential backoff, by a
+ * later flush; client errors (4xx) are not retried. Transports that do not encode their groups up front get a
+ * copy of the group, resent the same way.
+ * <p>
+ * Completions are tracked in send order: a group only counts as delivered once every group sent before it has
+ * completed, and the first failure is kept until it is taken, so the flush can report what was really delivered.
+ */
+class LogSendWindow {
+
+    /**
+     * Default number of groups in flight
+     */
+    static final int DEFAULT_MAX_IN_FLIGHT = 2;
+
+    /**
+     * Max number of payloads waiting to be resent
+     */
+    private static final int RESEND_MAX_SIZE = 1000;
+
+    /**
+     * Max number of attempts to send a payload, the first one included
+     */
+    private static final int RESEND_MAX_ATTEMPTS = 4;
+
+    /**
+     * Backoff before the first resend (milliseconds), doubled after each failure
+     */
+    private static final long RESEND_BASE_DELAY_MILLIS = 5000;
+
+    /**
+     * Max backoff before a resend (milliseconds)
+     */
+    private static final long RESEND_MAX_DELAY_MILLIS = 60000;
+
+    /**
+     * Idle sender threads are stopped after this time (seconds)
+     */
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    /**
+     * Sender thread number
+     */
+    private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+
+    /**
+     * Free slots in the window
+     */
+    private final Semaphore slots;
+
+    /**
+     * Sender threads
+     */
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Payloads waiting to be resent
+     */
+    private final HttpResendQueue resendQueue;
+
+    /**
+     * Groups in flight, in send order (guarded by this)
+     */
+    private final ArrayDeque<InFlight> inFlight = new ArrayDeque<InFlight>();
+
+    /**
+     * Number of messages delivered, in send order (guarded by this)
+     */
+    private long deliveredCount;
+
+    /**
+     * Number of messages that failed to be delivered, after their last attempt (guarded by this)
+     */
+    private long failedCount;
+
+    /**
+     * First failure not taken yet (guarded by this)
+     */
+    private Throwable failure;
+
+    /**
+     * Constructor
+     * @param maxInFlight Max number of groups in flight
+     */
+    LogSendWindow(final int maxInFlight) {
+        this(maxInFlight, Long.MAX_VALUE);
+    }
+
+    /**
+     * Constructor
+     * @param maxInFlight Max number of groups in flight
+     * @param resendMaxBytes Max total size (bytes) of the payloads waiting to be resent
+     */
+    LogSendWindow(final int maxInFlight, final long resendMaxBytes) {
+        this(maxInFlight, new HttpResendQueue(RESEND_MAX_SIZE, resendMaxBytes, RESEND_MAX_ATTEMPTS,
+                RESEND_BASE_DELAY_MILLIS, RESEND_MAX_DELAY_MILLIS));
+    }
+
+    /**
+     * Constructor
+     * @param maxInFlight Max number of groups in flight
+     * @param resendQueue Payloads waiting to be resent
+     */
+    LogSendWindow(final int maxInFlight, final HttpResendQueue resendQueue) {
+        Preconditions.checkArgument(0 < maxInFlight);
+        Preconditions.checkNotNull(resendQueue);
+
+        this.resendQueue = resendQueue;
+
+        this.slots = new Semaphore(maxInFlight);
+        this.executor = new ThreadPoolExecutor(maxInFlight, maxInFlight, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), r -> {
+                    Thread thread = new Thread(r);
+                    thread.setName("StackifyLogSender-" + THREAD_NUMBER.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Encodes the group on the calling thread, then sends the payload once there is a free slot in the window. The
+     * group (its messages included) is not used once this method returns.
+     * @param logTransport The LogMsgGroup sender
+     * @param group The log message group
+     * @return Completes when this attempt to send the group completes (a failed payload may be resent later)
+     * @throws InterruptedException If interrupted while waiting for a free slot
+     */
+    CompletableFuture<Void> send(final LogTransport logTransport, final LogMsgGroup group) throws InterruptedException {
+        Preconditions.checkNotNull(logTransport);
+        Preconditions.checkNotNull(group);
+
+        int msgCount = (group.getMsgs() != null) ? group.getMsgs().size() : 0;
+
+        LogPayload payload;
+
+        try {
+            payload = logTransport.encode(group);
+        } catch (Throwable t) {
+
+            // nothing to resend, the group is lost
+
+            synchronized (this) {
+                failedCount += msgCount;
+
+                if (failure == null) {
+                    failure = t;
+                }
+            }
+
+            CompletableFuture<Void> failed = new CompletableFuture<Void>();
+            failed.completeExceptionally(t);
+            return failed;
+        }
+
+        Resend resend = new Resend(logTransport, payload);
+        return submit(resend);
+    }
+
+    /**
+     * Sends again the failed payloads whose backoff has elapsed
+     * @param nowMillis Current time (epoch milliseconds), Long.MAX_VALUE to resend every queued payload
+     * @return Number of payloads resent
+     * @throws InterruptedException If interrupted while waiting for a free slot
+     */
+    int resendDue(final long nowMillis) throws InterruptedException {
+        int resent = 0;
+
+        HttpResendQueueItem item;
+
+        while ((item = resendQueue.pollDue(nowMillis)) != null) {
+            submit((Resend) item);
+            ++resent;
+        }
+
+        return resent;
+    }
+
+    /**
+     * Waits until every group in the window has completed
+     * @param timeoutMillis Max wait (milliseconds)
+     * @return True if nothing is in flight
+     * @throws InterruptedException If interrupted while waiting
+     */
+    synchronized boolean awaitIdle(final long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+
+        while (!inFlight.isEmpty()) {
+            long remaining = deadline - System.currentTimeMillis();
+
+            if (remaining <= 0) {
+                return false;
+            }
+
+            wait(remaining);
+        }
+
+        return true;
+    }
+
+    /**
+     * Waits until every group in the window has completed, then shuts the sender threads down (a group still in
+     * flight after the wait completes on its thread, nothing can be sent afterwards)
+     * @param timeoutMillis Max wait (milliseconds)
+     * @return True if nothing was in flight when the sender threads were shut down
+     * @throws InterruptedException If interrupted while waiting
+     */
+    boolean close(final long timeoutMillis) throws InterruptedException {
+        try {
+            return awaitIdle(timeoutMillis);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * @return True once the window has been closed
+     */
+    boolean isClosed() {
+        return executor.isShutdown();
+    }
+
+    /**
+     * @return The first failure since the last call (cleared), or null
+     */
+    synchronized Throwable takeFailure() {
+        Throwable t = failure;
+        failure = null;
+        return t;
+    }
+
+    /**
+     * @return Number of messages delivered, counting a group only once every group sent before it has completed
+     */
+    synchronized long getDeliveredCount() {
+        return deliveredCount;
+    }
+
+    /**
+     * @return Number of messages that failed to be delivered, after their last attempt
+     */
+    synchronized long getFailedCount() {
+        return failedCount;
+    }
+
+    /**
+     * @return Number of groups in the window (in flight, or completed behind a group still in flight)
+     */
+    synchronized int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * @return Number of payloads waiting to be resent
+     */
+    int getResendCount() {
+        return resendQueue.size();
+    }
+
+    /**
+     * Sends the payload on a sender thread once there is a free slot in the window
+     * @param resend The payload, queued for a resend if the attempt fails
+     * @return Completes when the attempt completes
+     * @throws InterruptedException If interrupted while waiting for a free slot
+     */
+    private CompletableFuture<Void> submit(final Resend resend) throws InterruptedException {
+        slots.acquire();
+
+        InFlight send = new InFlight(resend.payload.getMsgCount());
+
+        synchronized (this) {
+            inFlight.add(send);
+        }
+
+        CompletableFuture<Void> sent = new CompletableFuture<Void>();
+
+        try {
+            executor.execute(() -> {
+                try {
+                    resend.run();
+                    sent.complete(null);
+                } catch (Throwable t) {
+                    sent.completeExceptionally(t);
+                }
+            });
+        } catch (RuntimeException e) {
+            complete(send, resend, e);
+            throw e;
+        }
+
+        return sent.whenComplete((result, t) -> complete(send, resend, t));
+    }
+
+    /**
+     * Records the outcome of an attempt (queueing the payload for a resend if it can be retried), retires the
+     * completed groups at the head of the window and frees the slot
+     * @param send The send
+     * @param resend The payload
+     * @param t The failure or null
+     */
+    private void complete(final InFlight send, final Resend resend, final Throwable t) {
+        boolean queued = false;
+
+        if (t != null && !(t instanceof HttpException && ((HttpException) t).isClientError())) {
+            queued = resend.queued ? resendQueue.retry(resend) : resendQueue.offer(resend);
+            resend.queued = true;
+        }
+
+        synchronized (this) {
+            send.done = true;
+            send.failure = t;
+            send.queued = queued;
+
+            while (!inFlight.isEmpty() && inFlight.peekFirst().done) {
+                InFlight head = inFlight.pollFirst();
+
+                if (head.failure == null) {
+                    deliveredCount += head.msgCount;
+                } else {
+                    if (!head.queued) {
+                        failedCount += head.msgCount;
+                    }
+
+                    if (failure == null) {
+                        failure = head.failure;
+                    }
+                }
+            }
+
+            notifyAll();
+        }
+
+        slots.release();
+    }
+
+    /**
+     * Encoded group, queued for a resend after a failed attempt
+     */
+    private static class Resend extends HttpResendQueueItem {
+
+        /**
+         * The LogMsgGroup sender
+         */
+        private final LogTransport logTransport;
+
+        /**
+         * The payload
+         */
+        private final LogPayload payload;
+
+        /**
+         * True once the payload has been queued for a resend
+         */
+        private volatile boolean queued;
+
+        /**
+         * Constructor
+         * @param logTransport The LogMsgGroup sender
+         * @param payload The payload
+         */
+        private Resend(final LogTransport logTransport, final LogPayload payload) {
+            super(payload.getBytes());
+            this.logTransport = logTransport;
+            this.payload = payload;
+        }
+
+        /**
+         * @see com.stackify.api.common.http.HttpResendQueueItem#getSize()
+         */
+        @Override
+        public long getSize() {
+            return payload.getSize();
+        }
+
+        /**
+         * Sends the payload
+         * @throws Exception If the attempt fails
+         */
+        private void run() throws Exception {
+            logTransport.send(payload);
+        }
+    }
+
+    /**
+     * Group in flight
+     */
+    private static class InFlight {
+
+        /**
+         * Number of messages in the group
+         */
+        private final int msgCount;
+
+        /**
+         * True once the send has completed
+         */
+        private boolean done;
+
+        /**
+         * The failure or null
+         */
+        private Throwable failure;
+
+        /**
+         * True if the failed payload has been queued for a resend
+         */
+        private boolean queued;
+
+        /**
+         * Constructor
+         * @param msgCount Number of messages in the group
+         */
+        private InFlight(final int msgCount) {
+            this.msgCount = msgCount;
+        }
+    }
+}
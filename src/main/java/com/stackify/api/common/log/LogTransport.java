@@ -4,6 +4,28 @@ import com.stackify.api.LogMsgGroup;
 
 public interface LogTransport {
 
+    /**
+     * Sends a group of log messages
+     * @param group The log message group
+     */
     void send(final LogMsgGroup group) throws Exception;
 
+    /**
+     * Preprocesses and encodes a group, once; retries resend the payload. By default, the payload is a copy of the
+     * group, sent with {@link #send(LogMsgGroup)} on every attempt.
+     * @param group The log message group
+     * @return The payload
+     */
+    default LogPayload encode(final LogMsgGroup group) throws Exception {
+        return new LogPayload(group);
+    }
+
+    /**
+     * Sends a group encoded by {@link #encode(LogMsgGroup)}. Transports overriding encode override this method too.
+     * @param payload The payload
+     */
+    default void send(final LogPayload payload) throws Exception {
+        send(payload.getGroup());
+    }
+
 }
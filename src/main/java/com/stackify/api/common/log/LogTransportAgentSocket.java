@@ -19,8 +19,6 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.stackify.api.LogMsgGroup;
 import com.stackify.api.common.ApiConfiguration;
 import com.stackify.api.common.mask.Masker;
-import com.stackify.api.common.proto.LogMsgGroupConverter;
-import com.stackify.api.common.proto.StackifyProto;
 import com.stackify.api.common.socket.HttpSocketClient;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
@@ -40,6 +38,11 @@ public class LogTransportAgentSocket implements LogTransport {
 
     private static final String URI_PREFIX = "unix://localhost:80";
 
+    /**
+     * Path for log save
+     */
+    private static final String LOG_PATH = "/log";
+
     /**
      * The API configuration
      */
@@ -49,6 +52,11 @@ public class LogTransportAgentSocket implements LogTransport {
 
     private final HttpSocketClient httpSocketClient;
 
+    /**
+     * Encodes the groups, reusing the encoded group header
+     */
+    private final LogMsgGroupEncoder encoder;
+
     /**
      * The transport logger
      */
@@ -58,6 +66,7 @@ public class LogTransportAgentSocket implements LogTransport {
         this.apiConfig = apiConfig;
         this.logTransportPreProcessor = new LogTransportPreProcessor(masker, skipJson);
         this.httpSocketClient = new HttpSocketClient(apiConfig.getAgentSocketPath());
+        this.encoder = new LogMsgGroupEncoder(new ObjectMapper());
     }
 
     /**
@@ -65,25 +74,46 @@ public class LogTransportAgentSocket implements LogTransport {
      *
      * @param group The log message group
      */
+    @Override
     public void send(@NonNull final LogMsgGroup group) throws Exception {
+        send(encode(group));
+    }
 
-        try {
+    /**
+     * Preprocesses a group of log messages and encodes it to protobuf
+     *
+     * @param group The log message group
+     * @return The payload
+     */
+    @Override
+    public LogPayload encode(@NonNull final LogMsgGroup group) throws Exception {
+
+        // run pre-processor
+        logTransportPreProcessor.execute(group);
 
-            // run pre-processor
-            logTransportPreProcessor.execute(group);
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("#Log #Transport #Socket Encoded request to {} - Body: {}", URI_PREFIX + LOG_PATH,
+                    (new ObjectMapper()).writeValueAsString(group));
+        }
 
-            // convert to protobuf model
-            StackifyProto.LogGroup logGroup = LogMsgGroupConverter.convert(group);
+        // convert to protobuf bytes
+        return new LogPayload(encoder.toProtobuf(group), group.getMsgs() != null ? group.getMsgs().size() : 0);
+    }
+
+    /**
+     * Sends an encoded group of log messages to Stackify
+     *
+     * @param payload The payload
+     */
+    @Override
+    public void send(@NonNull final LogPayload payload) throws Exception {
+
+        try {
 
             // post to stackify
-            HttpPost httpPost = new HttpPost(URI_PREFIX + "/log");
+            HttpPost httpPost = new HttpPost(URI_PREFIX + LOG_PATH);
             httpPost.setHeader("Content-Type", "application/x-protobuf");
-            httpPost.setEntity(new ByteArrayEntity(logGroup.toByteArray()));
-
-            if (LOGGER.isDebugEnabled()) {
-                LOGGER.debug("#Log #Transport #Socket Sending request to {} - Body: {}", httpPost.getURI(),
-                        (new ObjectMapper()).writeValueAsString(group));
-            }
+            httpPost.setEntity(new ByteArrayEntity(payload.getBytes()));
 
             httpSocketClient.send(httpPost);
         } catch (Throwable e) {
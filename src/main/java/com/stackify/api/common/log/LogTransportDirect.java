@@ -27,6 +27,8 @@ import org.slf4j.LoggerFactory;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 
+import java.nio.charset.StandardCharsets;
+
 /**
  * Log Transport - Direct Send log messages directly to Stackify
  *
@@ -52,6 +54,11 @@ public class LogTransportDirect implements LogTransport {
 
     private final LogTransportPreProcessor logTransportPreProcessor;
 
+    /**
+     * Encodes the groups, reusing the encoded group header
+     */
+    private final LogMsgGroupEncoder encoder;
+
     /**
      * The transport logger
      */
@@ -68,6 +75,7 @@ public class LogTransportDirect implements LogTransport {
         this.apiConfig = apiConfig;
         this.objectMapper = objectMapper;
         this.logTransportPreProcessor = new LogTransportPreProcessor(masker, skipJson);
+        this.encoder = new LogMsgGroupEncoder(objectMapper);
     }
 
     /**
@@ -75,9 +83,19 @@ public class LogTransportDirect implements LogTransport {
      *
      * @param group The log message group
      */
+    @Override
     public void send(@NonNull final LogMsgGroup group) throws Exception {
+        send(encode(group));
+    }
 
-        HttpClient httpClient = new HttpClient(apiConfig);
+    /**
+     * Preprocesses a group of log messages and encodes it to gzipped JSON
+     *
+     * @param group The log message group
+     * @return The payload
+     */
+    @Override
+    public LogPayload encode(@NonNull final LogMsgGroup group) throws Exception {
 
         // run pre-processor
 
@@ -85,16 +103,32 @@ public class LogTransportDirect implements LogTransport {
 
         // convert to json bytes
 
-        byte[] jsonBytes = objectMapper.writer().writeValueAsBytes(group);
+        byte[] jsonBytes = encoder.toJson(group);
+
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("#Log #Transport #Direct Encoded request to {} - Body: {}", LOG_SAVE_PATH,
+                    new String(jsonBytes, StandardCharsets.UTF_8));
+        }
+
+        // compress once, retries resend the same bytes
+
+        return new LogPayload(HttpClient.gzip(jsonBytes), group.getMsgs() != null ? group.getMsgs().size() : 0);
+    }
+
+    /**
+     * Sends an encoded group of log messages to Stackify
+     *
+     * @param payload The payload
+     */
+    @Override
+    public void send(@NonNull final LogPayload payload) throws Exception {
+
+        HttpClient httpClient = new HttpClient(apiConfig);
 
         // post to stackify
 
         try {
-            if (LOGGER.isDebugEnabled()) {
-                LOGGER.debug("#Log #Transport #Direct Sending request to {} - Body: {}", LOG_SAVE_PATH,
-                        objectMapper.writeValueAsString(group));
-            }
-            httpClient.post(LOG_SAVE_PATH, jsonBytes, true);
+            httpClient.postGzipped(LOG_SAVE_PATH, payload.getBytes());
         } catch (Exception e) {
             log.info("Queueing logs for retransmission due to Exception");
             log.debug(e.getMessage(), e);
@@ -0,0 +1,389 @@
+/*
+ * Copyright 2026 Stackify
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stackify.api.common.log;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.stackify.api.common.ApiConfiguration;
+import com.stackify.api.common.util.Preconditions;
+
+/**
+ * LoggerFilter
+ * <p>
+ * Include/exclude and minimum level rules by logger (class) name prefix. Prefixes match whole package segments
+ * ("com.acme" matches "com.acme.Foo" but not "com.acmecorp.Foo") and the longest matching prefix wins. When include
+ * rules are present, loggers that do not match one are excluded.
+ * <p>
+ * The rules are compiled into a trie of package segments and the decision for a logger name is cached, so a lookup
+ * is normally one map read. Events without a logger name are only checked against the global minimum level.
+ */
+public class LoggerFilter {
+
+    /**
+     * Upper bound on the number of cached decisions (logger names are normally a bounded set of class names)
+     */
+    private static final int MAX_CACHED_DECISIONS = 10000;
+
+    /**
+     * Decision for excluded loggers
+     */
+    private static final Decision EXCLUDED = new Decision(true, Integer.MAX_VALUE);
+
+    /**
+     * Root of the rule trie (holds the global rules)
+     */
+    private final Node root;
+
+    /**
+     * Decision for events without a logger name
+     */
+    private final Decision anonymous;
+
+    /**
+     * Cached decisions by logger name
+     */
+    private final ConcurrentHashMap<String, Decision> decisions = new ConcurrentHashMap<String, Decision>();
+
+    /**
+     * Builds the filter from the API configuration
+     *
+     * @param apiConfig API configuration
+     * @param excludeComDotStackify True to exclude logging from com.stackify.*
+     * @return The logger filter
+     */
+    public static LoggerFilter fromConfiguration(final ApiConfiguration apiConfig, final boolean excludeComDotStackify) {
+        Builder builder = newBuilder();
+
+        if (excludeComDotStackify) {
+            builder.exclude("com.stackify");
+        }
+
+        for (String prefix : split(apiConfig.getLogFilterInclude())) {
+            builder.include(prefix);
+        }
+
+        for (String prefix : split(apiConfig.getLogFilterExclude())) {
+            builder.exclude(prefix);
+        }
+
+        if (apiConfig.getLogFilterMinLevel() != null) {
+            builder.minLevel(apiConfig.getLogFilterMinLevel().trim());
+        }
+
+        for (String rule : split(apiConfig.getLogFilterLevels())) {
+            int separator = rule.indexOf('=');
+
+            if (0 < separator) {
+                builder.minLevel(rule.substring(0, separator).trim(), rule.substring(separator + 1).trim());
+            }
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * @param builder The Builder object that contains all of the values for initialization
+     */
+    private LoggerFilter(final Builder builder) {
+        this.root = builder.root;
+
+        if (root.include == null) {
+            root.include = !builder.hasIncludes;
+        }
+
+        this.anonymous = new Decision(false, Math.max(root.minLevel, 0));
+    }
+
+    /**
+     * Returns true if an event from the logger at the level should be sent
+     *
+     * @param loggerName The logger (class) name (optional)
+     * @param level      The log level (optional, missing and unknown levels always pass the minimum level rules)
+     * @return True if the event should be sent
+     */
+    public boolean isLoggable(final String loggerName, final String level) {
+        Decision decision = anonymous;
+
+        if (loggerName != null) {
+            decision = decisions.get(loggerName);
+
+            if (decision == null) {
+                decision = decide(loggerName);
+
+                if (decisions.size() < MAX_CACHED_DECISIONS) {
+                    decisions.putIfAbsent(loggerName, decision);
+                }
+            }
+        }
+
+        if (decision.excluded) {
+            return false;
+        }
+
+        return (decision.minLevel == 0) || (decision.minLevel <= rank(level));
+    }
+
+    /**
+     * Walks the trie along the logger name's package segments
+     *
+     * @param loggerName The logger (class) name
+     * @return The decision of the longest matching rules
+     */
+    private Decision decide(final String loggerName) {
+        boolean include = root.include;
+        int minLevel = root.minLevel;
+
+        Node node = root;
+        int start = 0;
+
+        while (node != null && start <= loggerName.length()) {
+            int end = loggerName.indexOf('.', start);
+
+            if (end < 0) {
+                end = loggerName.length();
+            }
+
+            node = node.children.get(loggerName.substring(start, end));
+
+            if (node != null) {
+                if (node.include != null) {
+                    include = node.include;
+                }
+
+                if (0 <= node.minLevel) {
+                    minLevel = node.minLevel;
+                }
+            }
+
+            start = end + 1;
+        }
+
+        return include ? new Decision(false, Math.max(minLevel, 0)) : EXCLUDED;
+    }
+
+    /**
+     * Ranks the log level. Missing and unknown levels rank highest, so they always pass.
+     *
+     * @param level The log level
+     * @return The level rank
+     */
+    static int rank(final String level) {
+        if (level == null) {
+            return Integer.MAX_VALUE;
+        } else if ("trace".equalsIgnoreCase(level) || "finest".equalsIgnoreCase(level) || "finer".equalsIgnoreCase(level)) {
+            return 1;
+        } else if ("debug".equalsIgnoreCase(level) || "fine".equalsIgnoreCase(level)) {
+            return 2;
+        } else if ("info".equalsIgnoreCase(level)) {
+            return 3;
+        } else if ("warn".equalsIgnoreCase(level) || "warning".equalsIgnoreCase(level)) {
+            return 4;
+        } else if ("error".equalsIgnoreCase(level) || "severe".equalsIgnoreCase(level)) {
+            return 5;
+        } else if ("fatal".equalsIgnoreCase(level)) {
+            return 6;
+        }
+
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Splits a comma separated configuration value
+     *
+     * @param value The configured value (optional)
+     * @return The trimmed, non empty items
+     */
+    private static String[] split(final String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return new String[0];
+        }
+
+        return value.trim().split("\\s*,\\s*");
+    }
+
+    /**
+     * @return A new instance of the Builder
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * LoggerFilter.Builder separates the construction of a LoggerFilter from its representation
+     */
+    public static class Builder {
+
+        /**
+         * Root of the rule trie
+         */
+        private final Node root = new Node();
+
+        /**
+         * True if an include rule was added
+         */
+        private boolean hasIncludes = false;
+
+        /**
+         * Includes loggers under the prefix
+         *
+         * @param prefix Logger name prefix
+         * @return Reference to the current object
+         */
+        public Builder include(final String prefix) {
+            node(prefix).include = Boolean.TRUE;
+            hasIncludes = true;
+            return this;
+        }
+
+        /**
+         * Excludes loggers under the prefix
+         *
+         * @param prefix Logger name prefix
+         * @return Reference to the current object
+         */
+        public Builder exclude(final String prefix) {
+            node(prefix).include = Boolean.FALSE;
+            return this;
+        }
+
+        /**
+         * Sets the global minimum level
+         *
+         * @param level The minimum level
+         * @return Reference to the current object
+         */
+        public Builder minLevel(final String level) {
+            root.minLevel = checkedRank(level);
+            return this;
+        }
+
+        /**
+         * Sets the minimum level for loggers under the prefix
+         *
+         * @param prefix Logger name prefix
+         * @param level  The minimum level
+         * @return Reference to the current object
+         */
+        public Builder minLevel(final String prefix, final String level) {
+            node(prefix).minLevel = checkedRank(level);
+            return this;
+        }
+
+        /**
+         * @return A new object constructed from this builder
+         */
+        public LoggerFilter build() {
+            return new LoggerFilter(this);
+        }
+
+        /**
+         * @param level The level
+         * @return The level rank
+         */
+        private static int checkedRank(final String level) {
+            int rank = rank(level);
+            Preconditions.checkArgument(rank != Integer.MAX_VALUE);
+            return rank;
+        }
+
+        /**
+         * Finds or adds the trie node for the prefix ("com.acme", "com.acme." and "com.acme.*" are the same prefix)
+         *
+         * @param prefix Logger name prefix
+         * @return The node
+         */
+        private Node node(final String prefix) {
+            Preconditions.checkNotNull(prefix);
+
+            String trimmed = prefix.trim();
+
+            if (trimmed.endsWith("*")) {
+                trimmed = trimmed.substring(0, trimmed.length() - 1);
+            }
+
+            if (trimmed.endsWith(".")) {
+                trimmed = trimmed.substring(0, trimmed.length() - 1);
+            }
+
+            Preconditions.checkArgument(!trimmed.isEmpty());
+
+            Node node = root;
+
+            for (String segment : trimmed.split("\\.")) {
+                Node child = node.children.get(segment);
+
+                if (child == null) {
+                    child = new Node();
+                    node.children.put(segment, child);
+                }
+
+                node = child;
+            }
+
+            return node;
+        }
+    }
+
+    /**
+     * Rule trie node (one package segment)
+     */
+    private static class Node {
+
+        /**
+         * Child nodes by package segment
+         */
+        private final Map<String, Node> children = new HashMap<String, Node>();
+
+        /**
+         * Include (true) or exclude (false) rule, null if none
+         */
+        private Boolean include;
+
+        /**
+         * Minimum level rank, -1 if none
+         */
+        private int minLevel = -1;
+    }
+
+    /**
+     * Cached decision for a logger name
+     */
+    private static class Decision {
+
+        /**
+         * True if the logger is excluded
+         */
+        private final boolean excluded;
+
+        /**
+         * Minimum level rank (0 for no minimum)
+         */
+        private final int minLevel;
+
+        /**
+         * Constructor
+         *
+         * @param excluded True if the logger is excluded
+         * @param minLevel Minimum level rank
+         */
+        private Decision(final boolean excluded, final int minLevel) {
+            this.excluded = excluded;
+            this.minLevel = minLevel;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2026 Stackify
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stackify.api.common.log;
+
+/**
+ * PendingLogSource
+ * <p>
+ * Source of log messages produced on the background thread, ie. log events that were captured on the logging thread
+ * but not yet converted to log messages. The collector drains it at the start of every flush.
+ */
+interface PendingLogSource {
+
+    /**
+     * Converts the pending log events and adds the resulting messages to the collector
+     *
+     * @param collector The collector
+     */
+    void drainTo(LogCollector collector);
+
+    /**
+     * Adds everything that is pending to the collector, used when the collector is shutting down
+     *
+     * @param collector The collector
+     */
+    default void drainAll(final LogCollector collector) {
+        drainTo(collector);
+    }
+}
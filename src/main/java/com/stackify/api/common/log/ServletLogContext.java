@@ -15,55 +15,34 @@
  */
 package com.stackify.api.common.log;
 
-import org.slf4j.helpers.BasicMDCAdapter;
-import org.slf4j.spi.MDCAdapter;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.stackify.api.WebRequestDetail;
+import com.stackify.api.common.util.Preconditions;
 
 /**
  * ServletLogContext
+ * <p>
+ * Transaction id, user and web request of the current thread, held as objects in a thread local slot. The slot holds
+ * an immutable snapshot (replaced on every put), so capturing the context to hand it to another thread is a read and
+ * restoring it is a write. A web request can be supplied lazily; it is built the first time an error needs it, at
+ * most once per request (each appender filters it, see WebRequestFilter). The context is not inherited by child threads, use
+ * capture/restore or wrap.
  * @author Eric Martin
  */
 public class ServletLogContext {
 
 	/**
-	 * STACKIFY_TRANSACTIONID
+	 * The context of each thread (null when empty)
 	 */
-	private static final String TRANSACTION_ID = "STACKIFY_TRANSACTIONID";
-
-	/**
-	 * STACKIFY_USER
-	 */
-	private static final String USER = "STACKIFY_USER";
-
-	/**
-	 * STACKIFY_WEBREQUEST
-	 */
-	private static final String WEB_REQUEST = "STACKIFY_WEBREQUEST";
-
-	/**
-	 * JSON object mapper
-	 */
-	private static final ObjectMapper JSON = new ObjectMapper();
-
-	/**
-	 * SLF4J's basic MDC implementation
-	 */
-	private static final MDCAdapter MDC = new BasicMDCAdapter();
+	private static final ThreadLocal<Snapshot> CONTEXT = new ThreadLocal<Snapshot>();
 
 	/**
 	 * @return The transaction id from the logging context
 	 */
 	public static String getTransactionId() {
-		
-		String value = MDC.get(TRANSACTION_ID);
-		
-		if ((value != null) && (0 < value.length())) {
-			return value;
-		}
-		
-		return null;
+		return capture().transactionId;
 	}
 	
 	/**
@@ -72,7 +51,8 @@ public class ServletLogContext {
 	 */
 	public static void putTransactionId(final String transactionId) {
 		if ((transactionId != null) && (0 < transactionId.length())) {
-			MDC.put(TRANSACTION_ID, transactionId);
+			Snapshot current = capture();
+			restore(new Snapshot(transactionId, current.user, current.webRequest));
 		}
 	}
 	
@@ -80,14 +60,7 @@ public class ServletLogContext {
 	 * @return The user from the logging context
 	 */
 	public static String getUser() {
-		
-		String value = MDC.get(USER);
-		
-		if ((value != null) && (0 < value.length())) {
-			return value;
-		}
-		
-		return null;
+		return capture().user;
 	}
 	
 	/**
@@ -96,47 +69,207 @@ public class ServletLogContext {
 	 */
 	public static void putUser(final String user) {
 		if ((user != null) && (0 < user.length())) {
-			MDC.put(USER, user);
+			Snapshot current = capture();
+			restore(new Snapshot(current.transactionId, user, current.webRequest));
 		}
 	}
 	
 	/**
-	 * @return The web request from the logging context
+	 * @return The web request from the logging context (built on first use)
 	 */
 	public static WebRequestDetail getWebRequest() {
-		
-		String value = MDC.get(WEB_REQUEST);
-		
-		if ((value != null) && (0 < value.length())) {
-			try {
-				return JSON.readValue(value, WebRequestDetail.class);
-			} catch (Throwable t) {
-				// do nothing
-			}
-		}
-		
-		return null;
+		return capture().getWebRequest();
 	}
-	
+
 	/**
 	 * Sets the web request in the logging context
 	 * @param webRequest The web request
 	 */
 	public static void putWebRequest(final WebRequestDetail webRequest) {
 		if (webRequest != null) {
-			try {
-				String value = JSON.writeValueAsString(webRequest);
-				MDC.put(WEB_REQUEST, value);
-			} catch (Throwable t) {
-				// do nothing
-			}
+			putWebRequest(new Supplier<WebRequestDetail>() {
+				@Override
+				public WebRequestDetail get() {
+					return webRequest;
+				}
+			});
 		}
 	}
+
+	/**
+	 * Sets a web request that is only built (reading the headers, cookies and query string) if an error needs it
+	 * @param webRequest Builds the web request, at most once
+	 */
+	public static void putWebRequest(final Supplier<WebRequestDetail> webRequest) {
+		if (webRequest != null) {
+			Snapshot current = capture();
+			restore(new Snapshot(current.transactionId, current.user, new LazyWebRequest(webRequest)));
+		}
+	}
+
+	/**
+	 * @return The logging context of the current thread, to be restored on another thread
+	 */
+	public static Snapshot capture() {
+		Snapshot snapshot = CONTEXT.get();
+		return snapshot != null ? snapshot : Snapshot.EMPTY;
+	}
+
+	/**
+	 * Replaces the logging context of the current thread
+	 * @param snapshot The captured context
+	 * @return The replaced context (restore it when done)
+	 */
+	public static Snapshot restore(final Snapshot snapshot) {
+		Preconditions.checkNotNull(snapshot);
+
+		Snapshot previous = capture();
+
+		if (snapshot == Snapshot.EMPTY) {
+			CONTEXT.remove();
+		} else {
+			CONTEXT.set(snapshot);
+		}
+
+		return previous;
+	}
+
+	/**
+	 * @param task The task
+	 * @return The task running with the logging context of the current thread
+	 */
+	public static Runnable wrap(final Runnable task) {
+		Preconditions.checkNotNull(task);
+
+		final Snapshot snapshot = capture();
+
+		return new Runnable() {
+			@Override
+			public void run() {
+				Snapshot previous = restore(snapshot);
+
+				try {
+					task.run();
+				} finally {
+					restore(previous);
+				}
+			}
+		};
+	}
+
+	/**
+	 * @param task The task
+	 * @return The task running with the logging context of the current thread
+	 */
+	public static <V> Callable<V> wrap(final Callable<V> task) {
+		Preconditions.checkNotNull(task);
+
+		final Snapshot snapshot = capture();
+
+		return new Callable<V>() {
+			@Override
+			public V call() throws Exception {
+				Snapshot previous = restore(snapshot);
+
+				try {
+					return task.call();
+				} finally {
+					restore(previous);
+				}
+			}
+		};
+	}
 	
 	/**
-	 * Removes our properties from the MDC
+	 * Removes our properties from the logging context
 	 */
 	public static void clear() {
-		MDC.clear();
+		CONTEXT.remove();
+	}
+
+	/**
+	 * Immutable logging context of a thread
+	 */
+	public static final class Snapshot {
+
+		/**
+		 * Empty context
+		 */
+		private static final Snapshot EMPTY = new Snapshot(null, null, null);
+
+		/**
+		 * Transaction id
+		 */
+		private final String transactionId;
+
+		/**
+		 * User
+		 */
+		private final String user;
+
+		/**
+		 * Web request (null if not set)
+		 */
+		private final LazyWebRequest webRequest;
+
+		/**
+		 * Constructor
+		 * @param transactionId Transaction id
+		 * @param user User
+		 * @param webRequest Web request
+		 */
+		private Snapshot(final String transactionId, final String user, final LazyWebRequest webRequest) {
+			this.transactionId = transactionId;
+			this.user = user;
+			this.webRequest = webRequest;
+		}
+
+		/**
+		 * @return The web request (built on first use)
+		 */
+		private WebRequestDetail getWebRequest() {
+			return webRequest != null ? webRequest.get() : null;
+		}
+	}
+
+	/**
+	 * Web request built on first use
+	 */
+	private static final class LazyWebRequest {
+
+		/**
+		 * Builds the web request (dropped once built)
+		 */
+		private Supplier<WebRequestDetail> supplier;
+
+		/**
+		 * The web request
+		 */
+		private WebRequestDetail value;
+
+		/**
+		 * Constructor
+		 * @param supplier Builds the web request
+		 */
+		private LazyWebRequest(final Supplier<WebRequestDetail> supplier) {
+			this.supplier = supplier;
+		}
+
+		/**
+		 * @return The web request or null if it could not be built
+		 */
+		private synchronized WebRequestDetail get() {
+			if (supplier != null) {
+				try {
+					value = supplier.get();
+				} catch (Throwable t) {
+					value = null;
+				}
+
+				supplier = null;
+			}
+
+			return value;
+		}
 	}
 }
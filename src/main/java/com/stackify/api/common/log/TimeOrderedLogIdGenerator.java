@@ -0,0 +1,78 @@
+/*
+ * Copyright 2026 Stackify
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stackify.api.common.log;
+
+import java.security.SecureRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.stackify.api.LogMsg;
+
+/**
+ * TimeOrderedLogIdGenerator
+ * <p>
+ * Default log id generator. Ids follow the UUID version 7 layout: a 48 bit millisecond timestamp, a 12 bit prefix
+ * picked once per process and 62 bits from {@link ThreadLocalRandom}, so generating an id takes no lock and allocates
+ * nothing.
+ */
+public class TimeOrderedLogIdGenerator implements LogIdGenerator {
+
+    /**
+     * Version 7 bits of the most significant half
+     */
+    private static final long VERSION = 0x7000L;
+
+    /**
+     * IETF variant bits of the least significant half
+     */
+    private static final long VARIANT = 0x8000000000000000L;
+
+    /**
+     * Mask for the random bits of the least significant half
+     */
+    private static final long RANDOM_MASK = 0x3FFFFFFFFFFFFFFFL;
+
+    /**
+     * Per process prefix (12 bits)
+     */
+    private final long prefix;
+
+    /**
+     * Constructor
+     */
+    public TimeOrderedLogIdGenerator() {
+        this(new SecureRandom().nextInt() & 0xFFF);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param prefix Per process prefix (the low 12 bits are used)
+     */
+    public TimeOrderedLogIdGenerator(final int prefix) {
+        this.prefix = prefix & 0xFFF;
+    }
+
+    /**
+     * @see com.stackify.api.common.log.LogIdGenerator#assignId(com.stackify.api.LogMsg)
+     */
+    @Override
+    public void assignId(final LogMsg logMsg) {
+        long high = (System.currentTimeMillis() << 16) | VERSION | prefix;
+        long low = (ThreadLocalRandom.current().nextLong() & RANDOM_MASK) | VARIANT;
+
+        logMsg.setId(high, low);
+    }
+}
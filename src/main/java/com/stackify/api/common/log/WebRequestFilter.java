@@ -0,0 +1,152 @@
+/*
+ * Copyright 2026 Stackify
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stackify.api.common.log;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import com.stackify.api.WebRequestDetail;
+import com.stackify.api.common.ApiConfiguration;
+
+/**
+ * WebRequestFilter
+ * <p>
+ * Allowlists of the headers (case insensitive), cookies and query string parameters kept in the web request attached
+ * to errors. A map without an allowlist is kept whole. Each appender applies its own filter to the errors it sends.
+ */
+public class WebRequestFilter {
+
+    /**
+     * Filter keeping everything
+     */
+    public static final WebRequestFilter NONE = new WebRequestFilter(null, null, null);
+
+    /**
+     * Allowed header names in lower case (null to keep all)
+     */
+    private final Set<String> headers;
+
+    /**
+     * Allowed cookie names (null to keep all)
+     */
+    private final Set<String> cookies;
+
+    /**
+     * Allowed query string parameters (null to keep all)
+     */
+    private final Set<String> queryString;
+
+    /**
+     * Builds the filter from the API configuration
+     * @param apiConfig API configuration
+     * @return The web request filter
+     */
+    public static WebRequestFilter fromConfiguration(final ApiConfiguration apiConfig) {
+        return new WebRequestFilter(toSet(apiConfig.getErrorWebRequestHeaders()),
+                toSet(apiConfig.getErrorWebRequestCookies()),
+                toSet(apiConfig.getErrorWebRequestQueryString()));
+    }
+
+    /**
+     * Constructor
+     * @param headers Allowed header names (null to keep all)
+     * @param cookies Allowed cookie names (null to keep all)
+     * @param queryString Allowed query string parameters (null to keep all)
+     */
+    public WebRequestFilter(final Set<String> headers, final Set<String> cookies, final Set<String> queryString) {
+        this.headers = headers == null ? null : lowerCase(headers);
+        this.cookies = cookies == null ? null : Collections.unmodifiableSet(new HashSet<String>(cookies));
+        this.queryString = queryString == null ? null : Collections.unmodifiableSet(new HashSet<String>(queryString));
+    }
+
+    /**
+     * @param webRequest The web request (can be null)
+     * @return The web request with only the allowed headers, cookies and query string parameters
+     */
+    public WebRequestDetail apply(final WebRequestDetail webRequest) {
+        if (webRequest == null || (headers == null && cookies == null && queryString == null)) {
+            return webRequest;
+        }
+
+        return webRequest.toBuilder()
+                .headers(retain(webRequest.getHeaders(), headers, true))
+                .cookies(retain(webRequest.getCookies(), cookies, false))
+                .queryString(retain(webRequest.getQueryString(), queryString, false))
+                .build();
+    }
+
+    /**
+     * @param map The map (can be null)
+     * @param allowed The allowed keys (null to keep all)
+     * @param ignoreCase True if the keys are case insensitive (allowed keys are in lower case)
+     * @return The map with only the allowed keys
+     */
+    private static Map<String, String> retain(final Map<String, String> map, final Set<String> allowed, final boolean ignoreCase) {
+        if (map == null || allowed == null) {
+            return map;
+        }
+
+        Map<String, String> retained = new HashMap<String, String>();
+
+        for (Map.Entry<String, String> entry : map.entrySet()) {
+            String key = entry.getKey();
+
+            if (key != null && allowed.contains(ignoreCase ? key.toLowerCase(Locale.ROOT) : key)) {
+                retained.put(key, entry.getValue());
+            }
+        }
+
+        return retained;
+    }
+
+    /**
+     * @param names The names
+     * @return The names in lower case
+     */
+    private static Set<String> lowerCase(final Set<String> names) {
+        Set<String> lowerCase = new HashSet<String>();
+
+        for (String name : names) {
+            lowerCase.add(name.toLowerCase(Locale.ROOT));
+        }
+
+        return Collections.unmodifiableSet(lowerCase);
+    }
+
+    /**
+     * @param value Comma separated names (null if not configured, empty to keep none)
+     * @return The names or null if not configured
+     */
+    private static Set<String> toSet(final String value) {
+        if (value == null) {
+            return null;
+        }
+
+        Set<String> names = new HashSet<String>();
+
+        for (String name : value.trim().split("\\s*,\\s*")) {
+            if (!name.isEmpty()) {
+                names.add(name);
+            }
+        }
+
+        return names;
+    }
+}
@@ -15,6 +15,8 @@
  */
 package com.stackify.api.common.log.direct;
 
+import com.stackify.api.TraceFrame;
+import com.stackify.api.common.lang.TraceFrameInterner;
 
 /**
  * LogEvent
@@ -25,37 +27,52 @@ public class LogEvent {
 	/**
 	 * Log level
 	 */
-	private final String level;
+	private String level;
 	
 	/**
 	 * Log message
 	 */
-	private final String message;
+	private String message;
 	
 	/**
 	 * Exception
 	 */
-	private final Throwable exception;
+	private Throwable exception;
 
 	/**
 	 * Timestamp
 	 */
-	private final long timestamp;
+	private long timestamp;
 	
 	/**
 	 * Class that logged the event
 	 */
-	private final String className;
+	private String className;
 	
 	/**
 	 * Method that logged the event
 	 */
-	private final String methodName;
+	private String methodName;
 	
 	/**
 	 * Line number that logged the event
 	 */
-	private final int lineNumber;
+	private int lineNumber;
+
+	/**
+	 * Interned frame of the code that logged the event, shared by every event from the same call site
+	 */
+	private TraceFrame callSite;
+
+	/**
+	 * True if the event is reused by its logging thread (garbage-free mode)
+	 */
+	private final boolean reusable;
+
+	/**
+	 * True while a reusable event is being appended
+	 */
+	private boolean inUse;
 	
 	/**
 	 * @return the level
@@ -106,6 +123,13 @@ public class LogEvent {
 		return lineNumber;
 	}
 
+	/**
+	 * @return the callSite (null if the caller was not captured)
+	 */
+	public TraceFrame getCallSite() {
+		return callSite;
+	}
+
 	/**
 	 * @param builder The Builder object that contains all of the values for initialization
 	 */
@@ -117,6 +141,79 @@ public class LogEvent {
 	    this.className = builder.className;
 	    this.methodName = builder.methodName;
 	    this.lineNumber = builder.lineNumber;
+	    this.callSite = builder.callSite;
+	    this.reusable = false;
+	}
+
+	/**
+	 * Constructs an empty event that is reused by its logging thread (see reset)
+	 */
+	LogEvent() {
+		this.reusable = true;
+	}
+
+	/**
+	 * @param event The event to copy
+	 */
+	private LogEvent(final LogEvent event) {
+		this.level = event.level;
+		this.message = event.message;
+		this.exception = event.exception;
+		this.timestamp = event.timestamp;
+		this.className = event.className;
+		this.methodName = event.methodName;
+		this.lineNumber = event.lineNumber;
+		this.callSite = event.callSite;
+		this.reusable = false;
+	}
+
+	/**
+	 * Reinitializes a reusable event and marks it in use
+	 * @param level The log level
+	 * @param message The log message
+	 * @param exception The exception (optional)
+	 * @param caller The code that logged the event (optional)
+	 */
+	void reset(final String level, final String message, final Throwable exception, final StackTraceElement caller) {
+		this.level = level;
+		this.message = message;
+		this.exception = exception;
+		this.timestamp = System.currentTimeMillis();
+		this.className = caller != null ? caller.getClassName() : null;
+		this.methodName = caller != null ? caller.getMethodName() : null;
+		this.lineNumber = caller != null ? caller.getLineNumber() : 0;
+		this.callSite = caller != null ? TraceFrameInterner.getDefault().intern(caller) : null;
+		this.inUse = true;
+	}
+
+	/**
+	 * Releases a reusable event, dropping its references
+	 */
+	void clear() {
+		this.message = null;
+		this.exception = null;
+		this.inUse = false;
+	}
+
+	/**
+	 * @return True if the event is reused by its logging thread
+	 */
+	boolean isReusable() {
+		return reusable;
+	}
+
+	/**
+	 * @return True while a reusable event is being appended
+	 */
+	boolean isInUse() {
+		return inUse;
+	}
+
+	/**
+	 * @return A copy of the event that is not reused
+	 */
+	LogEvent copy() {
+		return new LogEvent(this);
 	}
 
 	/**
@@ -161,6 +258,11 @@ public class LogEvent {
 		 */
 		private int lineNumber;
 
+		/**
+		 * The builder's callSite
+		 */
+		private TraceFrame callSite;
+
 		/**
 		 * Sets the builder's level
 		 * @param level The level to be set
@@ -221,6 +323,19 @@ public class LogEvent {
 		    return this;
 		}
 
+		/**
+		 * Sets the builder's className, methodName, lineNumber and callSite from the code that logged the event
+		 * @param caller The code that logged the event
+		 * @return Reference to the current object
+		 */
+		public Builder caller(final StackTraceElement caller) {
+		    this.className = caller.getClassName();
+		    this.methodName = caller.getMethodName();
+		    this.lineNumber = caller.getLineNumber();
+		    this.callSite = TraceFrameInterner.getDefault().intern(caller);
+		    return this;
+		}
+
 		/**
 		 * @return A new object constructed from this builder
 		 */
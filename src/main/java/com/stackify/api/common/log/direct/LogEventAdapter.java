@@ -19,12 +19,14 @@ import com.stackify.api.EnvironmentDetail;
 import com.stackify.api.LogMsg;
 import com.stackify.api.StackifyError;
 import com.stackify.api.WebRequestDetail;
+import com.stackify.api.common.lang.StackTraceTrimmer;
+import com.stackify.api.common.lang.StackTraces;
 import com.stackify.api.common.lang.Throwables;
 import com.stackify.api.common.log.APMLogData;
 import com.stackify.api.common.log.EventAdapter;
 import com.stackify.api.common.log.ServletLogContext;
-import com.stackify.api.common.util.Maps;
 import com.stackify.api.common.util.Preconditions;
+import com.stackify.api.common.util.SystemProperties;
 
 /**
  * LogEvent
@@ -59,14 +61,31 @@ public class LogEventAdapter implements EventAdapter<LogEvent>  {
 	 */
 	@Override
 	public StackifyError getStackifyError(final LogEvent event, final Throwable exception) {
+		return getStackifyError(event, exception, null);
+	}
+
+	/**
+	 * @see com.stackify.api.common.log.EventAdapter#getStackifyError(java.lang.Object, java.lang.Throwable, java.lang.StackTraceElement[])
+	 */
+	@Override
+	public StackifyError getStackifyError(final LogEvent event, final Throwable exception, final StackTraceElement[] stackTrace) {
+		return getStackifyError(event, exception, stackTrace, StackTraceTrimmer.NONE);
+	}
+
+	/**
+	 * @see com.stackify.api.common.log.EventAdapter#getStackifyError(java.lang.Object, java.lang.Throwable, java.lang.StackTraceElement[], com.stackify.api.common.lang.StackTraceTrimmer)
+	 */
+	@Override
+	public StackifyError getStackifyError(final LogEvent event, final Throwable exception, final StackTraceElement[] stackTrace, final StackTraceTrimmer trimmer) {
 		StackifyError.Builder builder = StackifyError.newBuilder();
 		builder.environmentDetail(envDetail);
 		builder.occurredEpochMillis( event.getTimestamp());
 
 		if (exception != null) {
-			builder.error(Throwables.toErrorItem(event.getMessage(), exception));
+			builder.error(Throwables.toErrorItem(event.getMessage(), exception, trimmer));
 		} else {
-			builder.error(Throwables.toErrorItem(event.getMessage(), event.getClassName(), event.getMethodName(), event.getLineNumber()));
+			StackTraceElement[] trace = (stackTrace != null) ? stackTrace : getStackTrace(event);
+			builder.error(Throwables.toErrorItem(event.getMessage(), event.getClassName(), event.getMethodName(), trace, trimmer));
 		}
 
 		String user = APMLogData.isLinked() ? APMLogData.getUser() : ServletLogContext.getUser();
@@ -81,11 +100,19 @@ public class LogEventAdapter implements EventAdapter<LogEvent>  {
 			builder.webRequestDetail(webRequest);
 		}
 
-		builder.serverVariables(Maps.fromProperties(System.getProperties()));
+		builder.serverVariables(SystemProperties.snapshot());
 
 		return builder.build();
 	}
 
+	/**
+	 * @see com.stackify.api.common.log.EventAdapter#getStackTrace(java.lang.Object)
+	 */
+	@Override
+	public StackTraceElement[] getStackTrace(final LogEvent event) {
+		return StackTraces.getStackTrace(event.getClassName(), event.getMethodName(), event.getLineNumber());
+	}
+
 	/**
 	 * @see com.stackify.api.common.log.EventAdapter#getLogMsg(java.lang.Object, com.google.common.base.Optional)
 	 */
@@ -97,7 +124,12 @@ public class LogEventAdapter implements EventAdapter<LogEvent>  {
 		builder.epochMs(event.getTimestamp());
 
 		if (event.getLevel() != null) {
-			builder.level(event.getLevel().toLowerCase());
+			builder.level(toLowerCase(event.getLevel()));
+		}
+
+		if (event.getCallSite() != null) {
+			builder.srcMethod(event.getCallSite().getMethod());
+			builder.srcLine(event.getCallSite().getLineNum());
 		}
 
 		String transactionId = APMLogData.isLinked() ? APMLogData.getTransactionId() : ServletLogContext.getTransactionId();
@@ -109,6 +141,41 @@ public class LogEventAdapter implements EventAdapter<LogEvent>  {
 		return builder.build();
 	}
 
+	/**
+	 * @see com.stackify.api.common.log.EventAdapter#fillLogMsg(java.lang.Object, com.stackify.api.StackifyError, com.stackify.api.LogMsg)
+	 */
+	@Override
+	public LogMsg fillLogMsg(final LogEvent event, final StackifyError error, final LogMsg slot) {
+		slot.setMsg(event.getMessage());
+		slot.setEx(error);
+		slot.setEpochMs(event.getTimestamp());
+
+		if (event.getLevel() != null) {
+			slot.setLevel(toLowerCase(event.getLevel()));
+		}
+
+		if (event.getCallSite() != null) {
+			slot.setSrcMethod(event.getCallSite().getMethod());
+			slot.setSrcLine(event.getCallSite().getLineNum());
+		}
+
+		String transactionId = APMLogData.isLinked() ? APMLogData.getTransactionId() : ServletLogContext.getTransactionId();
+
+		if (transactionId != null) {
+			slot.setTransId(transactionId);
+		}
+
+		return slot;
+	}
+
+	/**
+	 * @see com.stackify.api.common.log.EventAdapter#toImmutable(java.lang.Object)
+	 */
+	@Override
+	public LogEvent toImmutable(final LogEvent event) {
+		return event.isReusable() ? event.copy() : event;
+	}
+
 	/**
 	 * @see com.stackify.api.common.log.EventAdapter#isErrorLevel(java.lang.Object)
 	 */
@@ -128,4 +195,34 @@ public class LogEventAdapter implements EventAdapter<LogEvent>  {
 	public String getClassName(final LogEvent event) {
 		return event.getClassName();
 	}
+
+	/**
+	 * @see com.stackify.api.common.log.EventAdapter#getLevel(java.lang.Object)
+	 */
+	@Override
+	public String getLevel(final LogEvent event) {
+		return event.getLevel();
+	}
+
+	/**
+	 * Lower cases the level, without allocating for the standard levels
+	 * @param level The log level
+	 * @return The lower case log level
+	 */
+	private static String toLowerCase(final String level) {
+		switch (level) {
+			case "ERROR":
+				return "error";
+			case "WARN":
+				return "warn";
+			case "INFO":
+				return "info";
+			case "DEBUG":
+				return "debug";
+			case "TRACE":
+				return "trace";
+			default:
+				return level.toLowerCase();
+		}
+	}
 }
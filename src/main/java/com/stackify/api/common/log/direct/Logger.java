@@ -15,9 +15,10 @@
  */
 package com.stackify.api.common.log.direct;
 
-import com.stackify.api.common.log.StackTraceUtil;
+import com.stackify.api.common.lang.StackTraces;
 import org.slf4j.LoggerFactory;
 
+import com.stackify.api.common.log.AppendResult;
 import com.stackify.api.common.log.LogAppender;
 
 /**
@@ -31,6 +32,11 @@ public class Logger {
 	 */
 	private static final org.slf4j.Logger LOGGER = LoggerFactory.getLogger(Logger.class);
 
+	/**
+	 * Per thread event reused in garbage-free mode
+	 */
+	private static final ThreadLocal<LogEvent> REUSABLE_EVENT = ThreadLocal.withInitial(LogEvent::new);
+
 	/**
 	 * Queues a log message to be sent to Stackify
 	 * @param level The log level
@@ -41,25 +47,38 @@ public class Logger {
 			LogAppender<LogEvent> appender = LogManager.getAppender();
 
 			if (appender != null) {
-				LogEvent.Builder builder = LogEvent.newBuilder();
-				builder.level(level);
-				builder.message(message);
-
-				if ((level != null) && ("ERROR".equals(level.toUpperCase()))) {
-
-					StackTraceElement caller = StackTraceUtil.getStackTraceElement(new Throwable().getStackTrace());
+				LogEvent event = acquireEvent(appender, level, message, null, getCaller(appender, level));
 
-					if (caller != null) {
-						builder.className(caller.getClassName());
-						builder.methodName(caller.getMethodName());
-						builder.lineNumber(caller.getLineNumber());
-					}
+				try {
+					appender.append(event);
+				} finally {
+					releaseEvent(event);
 				}
+			}
+		} catch (Throwable t) {
+			LOGGER.info("Unable to queue message to Stackify Log API service: {} {}", level, message, t);
+		}
+	}
 
-				appender.append(builder.build());
+	/**
+	 * Queues a log message to be sent to Stackify, reporting the outcome
+	 * @param level The log level
+	 * @param message The log message
+	 * @param waitNanos Max time (nanoseconds) to wait for room in the queue (0 to not wait)
+	 * @return The outcome
+	 */
+	public static AppendResult tryQueueMessage(final String level, final String message, final long waitNanos) {
+		try {
+			LogAppender<LogEvent> appender = LogManager.getAppender();
+
+			if (appender == null) {
+				return AppendResult.NOT_RUNNING;
 			}
+
+			return tryAppend(appender, acquireEvent(appender, level, message, null, getCaller(appender, level)), waitNanos);
 		} catch (Throwable t) {
 			LOGGER.info("Unable to queue message to Stackify Log API service: {} {}", level, message, t);
+			return AppendResult.FAILED;
 		}
 	}
 
@@ -69,15 +88,7 @@ public class Logger {
 	 */
 	public static void queueException(final Throwable e) {
 		if (e != null) {
-			try {
-				LogAppender<LogEvent> appender = LogManager.getAppender();
-
-				if (appender != null) {
-					appender.append(LogEvent.newBuilder().level("ERROR").message(e.getMessage()).exception(e).build());
-				}
-			} catch (Throwable t) {
-				LOGGER.info("Unable to queue exception to Stackify Log API service: {}", e, t);
-			}
+			queueException("ERROR", e.getMessage(), e);
 		}
 	}
 
@@ -92,10 +103,112 @@ public class Logger {
 			LogAppender<LogEvent> appender = LogManager.getAppender();
 
 			if (appender != null) {
-				appender.append(LogEvent.newBuilder().level(level).message(message).exception(e).build());
+				LogEvent event = acquireEvent(appender, level, message, e, null);
+
+				try {
+					appender.append(event);
+				} finally {
+					releaseEvent(event);
+				}
+			}
+		} catch (Throwable t) {
+			LOGGER.info("Unable to queue exception to Stackify Log API service: {} {} {}", level, message, e, t);
+		}
+	}
+
+	/**
+	 * Queues an exception to be sent to Stackify, reporting the outcome
+	 * @param level The log level
+	 * @param message The log message
+	 * @param e The exception
+	 * @param waitNanos Max time (nanoseconds) to wait for room in the queue (0 to not wait)
+	 * @return The outcome
+	 */
+	public static AppendResult tryQueueException(final String level, final String message, final Throwable e, final long waitNanos) {
+		try {
+			LogAppender<LogEvent> appender = LogManager.getAppender();
+
+			if (appender == null) {
+				return AppendResult.NOT_RUNNING;
 			}
+
+			return tryAppend(appender, acquireEvent(appender, level, message, e, null), waitNanos);
 		} catch (Throwable t) {
 			LOGGER.info("Unable to queue exception to Stackify Log API service: {} {} {}", level, message, e, t);
+			return AppendResult.FAILED;
+		}
+	}
+
+	/**
+	 * Appends the event, reporting the outcome
+	 * @param appender The log appender
+	 * @param event The event
+	 * @param waitNanos Max time (nanoseconds) to wait for room in the queue
+	 * @return The outcome
+	 */
+	private static AppendResult tryAppend(final LogAppender<LogEvent> appender, final LogEvent event, final long waitNanos) {
+		try {
+			return appender.tryAppend(event, waitNanos);
+		} finally {
+			releaseEvent(event);
+		}
+	}
+
+	/**
+	 * @param appender The log appender
+	 * @param level The log level
+	 * @return The code that logged the message if the level is error or the appender captures caller locations, null
+	 * otherwise
+	 */
+	private static StackTraceElement getCaller(final LogAppender<LogEvent> appender, final String level) {
+		if (("ERROR".equalsIgnoreCase(level)) || (appender.isCallerLocation())) {
+			return StackTraces.getCaller(Logger.class);
+		}
+
+		return null;
+	}
+
+	/**
+	 * Returns the thread's reusable event in garbage-free mode, a new event otherwise
+	 * @param appender The log appender
+	 * @param level The log level
+	 * @param message The log message
+	 * @param e The exception (optional)
+	 * @param caller The code that logged the event (optional)
+	 * @return The event
+	 */
+	private static LogEvent acquireEvent(final LogAppender<LogEvent> appender, final String level, final String message,
+			final Throwable e, final StackTraceElement caller) {
+		if (appender.isGarbageFree()) {
+			LogEvent event = REUSABLE_EVENT.get();
+
+			// fall back to a new event if the appender logs through this class while appending
+
+			if (!event.isInUse()) {
+				event.reset(level, message, e, caller);
+				return event;
+			}
+		}
+
+		LogEvent.Builder builder = LogEvent.newBuilder();
+		builder.level(level);
+		builder.message(message);
+		builder.exception(e);
+
+		if (caller != null) {
+			builder.caller(caller);
+		}
+
+		return builder.build();
+	}
+
+	/**
+	 * Releases the thread's reusable event once it is appended
+	 * @param event The event
+	 */
+	private static void releaseEvent(final LogEvent event) {
+		if (event.isReusable()) {
+			event.clear();
 		}
 	}
 
@@ -9,6 +9,7 @@ import com.stackify.api.LogMsgGroup;
 import com.stackify.api.StackifyError;
 import com.stackify.api.TraceFrame;
 import com.stackify.api.WebRequestDetail;
+import com.stackify.api.common.lang.TraceFrameInterner;
 import lombok.NonNull;
 
 import java.util.ArrayList;
@@ -20,11 +21,7 @@ import java.util.List;
 public class LogGroupConverter {
 
     private static TraceFrame convert(@NonNull final StackifyProto.LogGroup.Log.Error.ErrorItem.TraceFrame traceFrame) {
-        return TraceFrame.newBuilder()
-                .codeFileName(traceFrame.getCodeFilename())
-                .lineNum(traceFrame.getLineNumber())
-                .method(traceFrame.getMethod())
-                .build();
+        return TraceFrameInterner.getDefault().intern(traceFrame.getCodeFilename(), traceFrame.getLineNumber(), traceFrame.getMethod());
     }
 
     private static ErrorItem convert(@NonNull final StackifyProto.LogGroup.Log.Error.ErrorItem errorItem) {
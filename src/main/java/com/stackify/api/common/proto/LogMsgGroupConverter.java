@@ -285,5 +285,17 @@ public class LogMsgGroupConverter {
         return builder.build();
     }
 
+    /**
+     * Converts only the log messages of a group. Protobuf merges concatenated messages, so the encoded result can be
+     * appended to the encoding of the group header (the group without its messages).
+     */
+    public static StackifyProto.LogGroup convertLogs(@NonNull final List<LogMsg> logMsgs) {
+        StackifyProto.LogGroup.Builder builder = StackifyProto.LogGroup.newBuilder();
+
+        for (LogMsg logMsg : logMsgs) {
+            builder.addLogs(convert(logMsg));
+        }
 
+        return builder.build();
+    }
 }
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2026 Stackify
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stackify.api.common.util;
+
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SystemProperties
+ * <p>
+ * Shared, immutable snapshot of the system properties. Every error used to copy them into a new map; the snapshot is
+ * instead rebuilt only when the properties change (different object, size or hash code). The check itself locks and
+ * walks the properties, so it runs at most once per second; a change is picked up within that delay.
+ */
+public class SystemProperties {
+
+    /**
+     * Minimum time between two checks for changes
+     */
+    private static final long CHECK_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * Current snapshot (null until first requested)
+     */
+    private static volatile Snapshot snapshot;
+
+    /**
+     * @return Immutable snapshot of the system properties
+     */
+    public static Map<String, String> snapshot() {
+        return snapshot(System.nanoTime());
+    }
+
+    /**
+     * @param nowNanos Current time (nanoseconds)
+     * @return Immutable snapshot of the system properties
+     */
+    static Map<String, String> snapshot(final long nowNanos) {
+        Snapshot current = snapshot;
+
+        if (current != null && nowNanos - current.checkedNanos < CHECK_INTERVAL_NANOS) {
+            return current.map;
+        }
+
+        Properties props = System.getProperties();
+        int size = props.size();
+        int hash = props.hashCode();
+
+        Map<String, String> map = (current != null && current.matches(props, size, hash)) ? current.map : Maps.fromProperties(props);
+
+        snapshot = new Snapshot(map, props, size, hash, nowNanos);
+        return map;
+    }
+
+    /**
+     * Snapshot and the state of the properties it was taken from
+     */
+    private static class Snapshot {
+
+        /**
+         * The snapshot
+         */
+        private final Map<String, String> map;
+
+        /**
+         * The properties
+         */
+        private final Properties source;
+
+        /**
+         * Number of properties
+         */
+        private final int size;
+
+        /**
+         * Hash code of the properties
+         */
+        private final int hash;
+
+        /**
+         * Time of the last check (nanoseconds)
+         */
+        private final long checkedNanos;
+
+        /**
+         * Constructor
+         * @param map The snapshot
+         * @param source The properties
+         * @param size Number of properties
+         * @param hash Hash code of the properties
+         * @param checkedNanos Time of the check (nanoseconds)
+         */
+        private Snapshot(final Map<String, String> map, final Properties source, final int size, final int hash, final long checkedNanos) {
+            this.map = map;
+            this.source = source;
+            this.size = size;
+            this.hash = hash;
+            this.checkedNanos = checkedNanos;
+        }
+
+        /**
+         * @param props The properties
+         * @param size Number of properties
+         * @param hash Hash code of the properties
+         * @return True if the properties are unchanged
+         */
+        private boolean matches(final Properties props, final int size, final int hash) {
+            return source == props && this.size == size && this.hash == hash;
+        }
+    }
+
+    /**
+     * Hidden to prevent construction
+     */
+    private SystemProperties() {
+        // do nothing
+    }
+}
@@ -81,4 +81,32 @@ public class LogMsgTest {
 		Assert.assertEquals(srcMethod, logMsgCopy.getSrcMethod());
 		Assert.assertEquals(srcLine, logMsgCopy.getSrcLine());		
 	}
+
+	/**
+	 * testCompactId
+	 */
+	@Test
+	public void testCompactId() {
+		LogMsg logMsg = LogMsg.newBuilder().msg("msg").build();
+		logMsg.setId(0x0123456789abcdefL, 0xfedcba9876543210L);
+
+		Assert.assertEquals("01234567-89ab-cdef-fedc-ba9876543210", logMsg.getId());
+		Assert.assertEquals(logMsg.getId(), logMsg.toBuilder().build().getId());
+
+		logMsg.setId("id");
+		Assert.assertEquals("id", logMsg.getId());
+
+		Assert.assertEquals("id", LogMsg.newBuilder().id("id").build().getId());
+
+		// ids are assigned when the message is queued (nor on deserialization), or generated when first read
+
+		LogMsg withoutId = LogMsg.newBuilder().build();
+		Assert.assertFalse(withoutId.hasId());
+		Assert.assertNotNull(withoutId.getId());
+		Assert.assertTrue(withoutId.hasId());
+		Assert.assertEquals(withoutId.getId(), withoutId.getId());
+
+		Assert.assertFalse(new LogMsg().hasId());
+		Assert.assertNotEquals(new LogMsg().getId(), new LogMsg().getId());
+	}
 }
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2026 Stackify
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stackify.api.common.codec;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Fingerprints JUnit Test
+ */
+public class FingerprintsTest {
+
+    /**
+     * testFingerprint
+     */
+    @Test
+    public void testFingerprint() {
+        long fingerprint = Fingerprints.fingerprint("type", "code", "method");
+
+        Assert.assertEquals(fingerprint, Fingerprints.fingerprint(new StringBuilder("type"), "code", "method"));
+        Assert.assertNotEquals(fingerprint, Fingerprints.fingerprint("method", "code", "type"));
+    }
+
+    /**
+     * testFingerprintBoundaries
+     */
+    @Test
+    public void testFingerprintBoundaries() {
+        Set<Long> fingerprints = new HashSet<Long>();
+        fingerprints.add(Fingerprints.fingerprint("ab", "c", ""));
+        fingerprints.add(Fingerprints.fingerprint("a", "bc", ""));
+        fingerprints.add(Fingerprints.fingerprint("abc", "", ""));
+        fingerprints.add(Fingerprints.fingerprint("abc", null, null));
+        fingerprints.add(Fingerprints.fingerprint("abc", "null", "null"));
+
+        Assert.assertEquals(5, fingerprints.size());
+    }
+
+    /**
+     * testFingerprintDistribution
+     */
+    @Test
+    public void testFingerprintDistribution() {
+        Set<Long> fingerprints = new HashSet<Long>();
+
+        for (int i = 0; i < 100000; ++i) {
+            fingerprints.add(Fingerprints.fingerprint("java.lang.IllegalStateException", null, "com.acme.Service.method" + i));
+        }
+
+        Assert.assertEquals(100000, fingerprints.size());
+    }
+}
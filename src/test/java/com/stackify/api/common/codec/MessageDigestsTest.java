@@ -42,4 +42,13 @@ public class MessageDigestsTest {
 		Assert.assertEquals("E4D909C290D0FB1CA068FFADDF22CBD0", MessageDigests.md5Hex("The quick brown fox jumps over the lazy dog."));
 		Assert.assertEquals("D41D8CD98F00B204E9800998ECF8427E", MessageDigests.md5Hex(""));
 	}
+
+	/**
+	 * testToHex
+	 */
+	@Test
+	public void testToHex() {
+		Assert.assertEquals("", MessageDigests.toHex(new byte[0]));
+		Assert.assertEquals("00017F80FF", MessageDigests.toHex(new byte[]{0, 1, 127, (byte) 128, (byte) 255}));
+	}
 }
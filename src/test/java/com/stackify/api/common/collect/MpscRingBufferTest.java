@@ -0,0 +1,274 @@
+/*
+ * Copyright 2026 Stackify
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stackify.api.common.collect;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * MpscRingBuffer JUnit Test
+ */
+public class MpscRingBufferTest {
+
+    /**
+     * testOfferPoll
+     */
+    @Test
+    public void testOfferPoll() {
+        MpscRingBuffer<String> buffer = new MpscRingBuffer<String>(3);
+        Assert.assertTrue(buffer.isEmpty());
+        Assert.assertNull(buffer.poll());
+
+        for (int lap = 0; lap < 5; ++lap) {
+            Assert.assertTrue(buffer.offer("a"));
+            Assert.assertTrue(buffer.offer("b"));
+            Assert.assertEquals(2, buffer.size());
+
+            Assert.assertEquals("a", buffer.poll());
+            Assert.assertEquals("b", buffer.poll());
+            Assert.assertNull(buffer.poll());
+        }
+
+        Assert.assertEquals(0, buffer.getDroppedCount());
+    }
+
+    /**
+     * testDropOldest
+     */
+    @Test
+    public void testDropOldest() {
+        MpscRingBuffer<String> buffer = new MpscRingBuffer<String>(3, OverflowStrategy.DROP_OLDEST, 0);
+
+        Assert.assertTrue(buffer.offer("a"));
+        Assert.assertTrue(buffer.offer("b"));
+        Assert.assertTrue(buffer.offer("c"));
+        Assert.assertTrue(buffer.offer("d"));
+
+        Assert.assertEquals(3, buffer.size());
+        Assert.assertEquals(1, buffer.getDroppedOldestCount());
+        Assert.assertEquals(0, buffer.getDroppedNewestCount());
+        Assert.assertEquals("b", buffer.poll());
+    }
+
+    /**
+     * testDropNewest
+     */
+    @Test
+    public void testDropNewest() {
+        MpscRingBuffer<String> buffer = new MpscRingBuffer<String>(3, OverflowStrategy.DROP_NEWEST, 0);
+
+        Assert.assertTrue(buffer.offer("a"));
+        Assert.assertTrue(buffer.offer("b"));
+        Assert.assertTrue(buffer.offer("c"));
+        Assert.assertFalse(buffer.offer("d"));
+
+        Assert.assertEquals(3, buffer.size());
+        Assert.assertEquals(0, buffer.getDroppedOldestCount());
+        Assert.assertEquals(1, buffer.getDroppedNewestCount());
+        Assert.assertEquals("a", buffer.poll());
+    }
+
+    /**
+     * testOfferAll
+     */
+    @Test
+    public void testOfferAll() {
+        MpscRingBuffer<String> buffer = new MpscRingBuffer<String>(3, OverflowStrategy.DROP_NEWEST, 0);
+
+        String[] chunk = {"a", "b", "c", "d", null};
+
+        Assert.assertEquals(3, buffer.offerAll(chunk, 4));
+        Assert.assertArrayEquals(new String[] {null, null, null, "d", null}, chunk);
+        Assert.assertEquals(1, buffer.getDroppedNewestCount());
+        Assert.assertEquals("a", buffer.poll());
+
+        Assert.assertEquals(0, buffer.offerAll(new String[0], 0));
+    }
+
+    /**
+     * testOfferAllDropOldest
+     */
+    @Test
+    public void testOfferAllDropOldest() {
+        MpscRingBuffer<String> buffer = new MpscRingBuffer<String>(3, OverflowStrategy.DROP_OLDEST, 0);
+
+        Assert.assertTrue(buffer.offer("a"));
+        Assert.assertTrue(buffer.offer("b"));
+
+        Assert.assertEquals(3, buffer.offerAll(new String[] {"c", "d", "e"}, 3));
+        Assert.assertEquals(2, buffer.getDroppedOldestCount());
+        Assert.assertEquals("c", buffer.poll());
+        Assert.assertEquals("d", buffer.poll());
+        Assert.assertEquals("e", buffer.poll());
+    }
+
+    /**
+     * testOfferAllNeverBlocks
+     */
+    @Test
+    public void testOfferAllNeverBlocks() {
+        MpscRingBuffer<String> buffer = new MpscRingBuffer<String>(2, OverflowStrategy.BLOCK, TimeUnit.MINUTES.toNanos(5));
+
+        Assert.assertEquals(2, buffer.offerAll(new String[] {"a", "b", "c"}, 3));
+        Assert.assertEquals(1, buffer.getDroppedNewestCount());
+    }
+
+    /**
+     * testBlock
+     */
+    @Test
+    public void testBlock() throws Exception {
+        final MpscRingBuffer<String> buffer = new MpscRingBuffer<String>(2, OverflowStrategy.BLOCK, TimeUnit.SECONDS.toNanos(5));
+
+        Assert.assertTrue(buffer.offer("a"));
+        Assert.assertTrue(buffer.offer("a"));
+        Assert.assertFalse(buffer.offer("b", TimeUnit.MILLISECONDS.toNanos(1)));
+        Assert.assertEquals(1, buffer.getDroppedNewestCount());
+
+        Thread consumer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    // do nothing
+                }
+                buffer.poll();
+            }
+        });
+        consumer.start();
+
+        Assert.assertTrue(buffer.offer("c"));
+        consumer.join();
+
+        Assert.assertEquals("a", buffer.poll());
+        Assert.assertEquals("c", buffer.poll());
+        Assert.assertEquals(1, buffer.getDroppedNewestCount());
+    }
+
+    /**
+     * testOfferWithin
+     */
+    @Test
+    public void testOfferWithin() throws Exception {
+        final MpscRingBuffer<String> buffer = new MpscRingBuffer<String>(2, OverflowStrategy.DROP_NEWEST, 0);
+
+        Assert.assertTrue(buffer.offerWithin("a", 0));
+        Assert.assertTrue(buffer.offerWithin("b", 0));
+        Assert.assertFalse(buffer.offerWithin("c", TimeUnit.MILLISECONDS.toNanos(1)));
+        Assert.assertEquals(1, buffer.getDroppedNewestCount());
+
+        Thread consumer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    // do nothing
+                }
+                buffer.poll();
+            }
+        });
+        consumer.start();
+
+        Assert.assertTrue(buffer.offerWithin("d", TimeUnit.SECONDS.toNanos(5)));
+        consumer.join();
+
+        Assert.assertEquals("b", buffer.poll());
+        Assert.assertEquals("d", buffer.poll());
+        Assert.assertEquals(1, buffer.getDroppedNewestCount());
+    }
+
+    /**
+     * testDrainTo
+     */
+    @Test
+    public void testDrainTo() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<Integer>(10);
+
+        for (int i = 0; i < 7; ++i) {
+            buffer.offer(i);
+        }
+
+        List<Integer> batch = new ArrayList<Integer>();
+        Assert.assertEquals(5, buffer.drainTo(batch, 5));
+        Assert.assertEquals(2, buffer.drainTo(batch, 5));
+        Assert.assertEquals(0, buffer.drainTo(batch, 5));
+
+        for (int i = 0; i < 7; ++i) {
+            Assert.assertEquals(Integer.valueOf(i), batch.get(i));
+        }
+    }
+
+    /**
+     * testConcurrentProducers
+     */
+    @Test
+    public void testConcurrentProducers() throws Exception {
+        final int producers = 4;
+        final int perProducer = 10000;
+        final MpscRingBuffer<Integer> buffer = new MpscRingBuffer<Integer>(64, OverflowStrategy.BLOCK, TimeUnit.SECONDS.toNanos(10));
+        final CountDownLatch start = new CountDownLatch(1);
+
+        List<Thread> threads = new ArrayList<Thread>();
+
+        for (int p = 0; p < producers; ++p) {
+            final int base = p * perProducer;
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int i = 0; i < perProducer; ++i) {
+                        buffer.offer(base + i);
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        start.countDown();
+
+        Set<Integer> received = new HashSet<Integer>();
+        List<Integer> batch = new ArrayList<Integer>();
+        long deadline = System.currentTimeMillis() + 30000;
+
+        while (received.size() < producers * perProducer && System.currentTimeMillis() < deadline) {
+            batch.clear();
+            buffer.drainTo(batch, 100);
+            received.addAll(batch);
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Assert.assertEquals(producers * perProducer, received.size());
+        Assert.assertEquals(0, buffer.getDroppedCount());
+        Assert.assertTrue(buffer.isEmpty());
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2026 Stackify
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stackify.api.common.collect;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * StripedBuffer JUnit Test
+ */
+public class StripedBufferTest {
+
+    /**
+     * testChunkPublish
+     */
+    @Test
+    public void testChunkPublish() {
+        MpscRingBuffer<String> sink = new MpscRingBuffer<String>(10);
+        StripedBuffer<String> stripes = new StripedBuffer<String>(sink, String[]::new, 3, 1);
+
+        Assert.assertEquals(1, stripes.getStripeCount());
+
+        stripes.offer("a");
+        stripes.offer("b");
+        Assert.assertTrue(sink.isEmpty());
+
+        stripes.offer("c");
+        Assert.assertEquals(3, sink.size());
+        Assert.assertEquals("a", sink.poll());
+    }
+
+    /**
+     * testChunkPublishDrops
+     */
+    @Test
+    public void testChunkPublishDrops() {
+        MpscRingBuffer<String> sink = new MpscRingBuffer<String>(2, OverflowStrategy.BLOCK, TimeUnit.MINUTES.toNanos(5));
+        StripedBuffer<String> stripes = new StripedBuffer<String>(sink, String[]::new, 3, 1);
+
+        Assert.assertTrue(stripes.offer("a"));
+        Assert.assertTrue(stripes.offer("b"));
+
+        // publishing does not wait for room, the element that completed the stripe is reported as dropped
+
+        Assert.assertFalse(stripes.offer("c"));
+        Assert.assertEquals(1, sink.getDroppedCount());
+
+        stripes.offer("d");
+        stripes.publish();
+        Assert.assertEquals(2, sink.getDroppedCount());
+        Assert.assertEquals("a", sink.poll());
+        Assert.assertEquals("b", sink.poll());
+        Assert.assertTrue(sink.isEmpty());
+    }
+
+    /**
+     * testPublish
+     */
+    @Test
+    public void testPublish() {
+        MpscRingBuffer<String> sink = new MpscRingBuffer<String>(10);
+        StripedBuffer<String> stripes = new StripedBuffer<String>(sink, String[]::new, 8, 4);
+
+        stripes.offer("a");
+        Assert.assertTrue(sink.isEmpty());
+
+        stripes.publish();
+        Assert.assertEquals("a", sink.poll());
+
+        stripes.publish();
+        Assert.assertTrue(sink.isEmpty());
+    }
+
+    /**
+     * testConcurrentProducers
+     */
+    @Test
+    public void testConcurrentProducers() throws Exception {
+        final int producers = 4;
+        final int perProducer = 5000;
+        MpscRingBuffer<Integer> sink = new MpscRingBuffer<Integer>(producers * perProducer);
+        final StripedBuffer<Integer> stripes = new StripedBuffer<Integer>(sink, Integer[]::new, 16, producers);
+
+        List<Thread> threads = new ArrayList<Thread>();
+
+        for (int p = 0; p < producers; ++p) {
+            final int base = p * perProducer;
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < perProducer; ++i) {
+                        stripes.offer(base + i);
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        stripes.publish();
+
+        Set<Integer> received = new HashSet<Integer>();
+        Integer e;
+
+        while ((e = sink.poll()) != null) {
+            received.add(e);
+        }
+
+        Assert.assertEquals(producers * perProducer, received.size());
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2026 Stackify
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stackify.api.common.collect;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * StripedLongMap JUnit Test
+ */
+public class StripedLongMapTest {
+
+    /**
+     * testPutIfAbsent
+     */
+    @Test
+    public void testPutIfAbsent() {
+        StripedLongMap<String> map = new StripedLongMap<String>();
+
+        Assert.assertNull(map.get(0));
+        Assert.assertNull(map.putIfAbsent(0, "zero"));
+        Assert.assertEquals("zero", map.putIfAbsent(0, "other"));
+        Assert.assertNull(map.putIfAbsent(-1, "minus one"));
+
+        Assert.assertEquals("zero", map.get(0));
+        Assert.assertEquals("minus one", map.get(-1));
+        Assert.assertEquals(2, map.size());
+    }
+
+    /**
+     * testRemove
+     */
+    @Test
+    public void testRemove() {
+        StripedLongMap<String> map = new StripedLongMap<String>();
+        String value = "value";
+
+        map.putIfAbsent(42, value);
+
+        Assert.assertFalse(map.remove(42, new String("value")));
+        Assert.assertFalse(map.remove(43, value));
+        Assert.assertTrue(map.remove(42, value));
+        Assert.assertNull(map.get(42));
+        Assert.assertEquals(0, map.size());
+    }
+
+    /**
+     * testAgainstHashMap
+     */
+    @Test
+    public void testAgainstHashMap() {
+        StripedLongMap<Long> map = new StripedLongMap<Long>();
+        Map<Long, Long> expected = new HashMap<Long, Long>();
+        Random random = new Random(7);
+
+        for (int i = 0; i < 50000; ++i) {
+            // small key space (with colliding low bits) so removes and re-inserts are frequent
+            long key = ((long) random.nextInt(64) << 60) | (random.nextInt(512) << 8);
+
+            if (random.nextBoolean()) {
+                Long value = Long.valueOf(i);
+                Long existing = expected.get(key);
+                Assert.assertEquals(existing, map.putIfAbsent(key, value));
+
+                if (existing == null) {
+                    expected.put(key, value);
+                }
+            } else {
+                Long existing = expected.remove(key);
+                Assert.assertEquals(existing != null, existing != null && map.remove(key, existing));
+            }
+        }
+
+        Assert.assertEquals(expected.size(), map.size());
+
+        for (Map.Entry<Long, Long> entry : expected.entrySet()) {
+            Assert.assertSame(entry.getValue(), map.get(entry.getKey()));
+        }
+    }
+
+    /**
+     * testRemoveIf
+     */
+    @Test
+    public void testRemoveIf() {
+        StripedLongMap<Long> map = new StripedLongMap<Long>();
+
+        for (long key = 0; key < 1000; ++key) {
+            map.putIfAbsent(key * 0x9e3779b97f4a7c15L, key);
+        }
+
+        int removed = map.removeIf(new StripedLongMap.EntryVisitor<Long>() {
+            @Override
+            public boolean remove(final long key, final Long value) {
+                return value % 2 == 0;
+            }
+        });
+
+        Assert.assertEquals(500, removed);
+        Assert.assertEquals(500, map.size());
+
+        for (long key = 0; key < 1000; ++key) {
+            Long value = map.get(key * 0x9e3779b97f4a7c15L);
+            Assert.assertEquals(key % 2 == 0 ? null : Long.valueOf(key), value);
+        }
+    }
+}
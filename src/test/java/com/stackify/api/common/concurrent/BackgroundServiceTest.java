@@ -15,6 +15,8 @@
  */
 package com.stackify.api.common.concurrent;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import org.junit.Assert;
 import org.junit.Test;
 import org.mockito.Mockito;
@@ -55,6 +57,74 @@ public class BackgroundServiceTest {
 		Assert.assertFalse(service.isRunning());
 	}
 	
+	/**
+	 * testWakeUp
+	 */
+	@Test
+	public void testWakeUp() {
+		TestBackgroundService service = Mockito.spy(new TestBackgroundService());
+		Mockito.when(service.getNextScheduleDelayMilliseconds()).thenReturn(60000L);
+
+		service.start();
+
+		Mockito.verify(service, Mockito.timeout(5000)).runOneIteration();
+
+		// the next iteration runs now instead of in a minute
+
+		service.wakeUp();
+
+		Mockito.verify(service, Mockito.timeout(5000).times(2)).runOneIteration();
+
+		service.stop();
+	}
+
+	/**
+	 * testWakeUpWhileRescheduling
+	 */
+	@Test
+	public void testWakeUpWhileRescheduling() {
+		final TestBackgroundService service = Mockito.spy(new TestBackgroundService());
+		final AtomicBoolean first = new AtomicBoolean(true);
+
+		// the first reschedule is woken up from another thread while it holds the lock
+
+		Mockito.doAnswer(invocation -> {
+			if (first.compareAndSet(true, false)) {
+				Thread waker = new Thread(service::wakeUp);
+				waker.start();
+				waker.join();
+			}
+			return 60000L;
+		}).when(service).getNextScheduleDelayMilliseconds();
+
+		service.start();
+
+		Mockito.verify(service, Mockito.timeout(5000).times(2)).runOneIteration();
+
+		service.stop();
+	}
+
+	/**
+	 * testWakeUpNotAllowed
+	 */
+	@Test
+	public void testWakeUpNotAllowed() throws Exception {
+		TestBackgroundService service = Mockito.spy(new TestBackgroundService());
+		Mockito.when(service.getNextScheduleDelayMilliseconds()).thenReturn(60000L);
+		Mockito.when(service.isWakeUpAllowed()).thenReturn(false);
+
+		service.start();
+
+		Mockito.verify(service, Mockito.timeout(5000)).runOneIteration();
+
+		service.wakeUp();
+		Thread.sleep(200);
+
+		Mockito.verify(service, Mockito.times(1)).runOneIteration();
+
+		service.stop();
+	}
+	
 	/**
 	 * TestBackgroundService
 	 */
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2026 Stackify
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stackify.api.common.concurrent;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * TokenBucket JUnit Test
+ */
+public class TokenBucketTest {
+
+    /**
+     * testBurstAndRefill
+     */
+    @Test
+    public void testBurstAndRefill() {
+        TokenBucket bucket = new TokenBucket(10, 3);
+        long now = System.nanoTime();
+
+        Assert.assertTrue(bucket.tryAcquire(now));
+        Assert.assertTrue(bucket.tryAcquire(now));
+        Assert.assertTrue(bucket.tryAcquire(now));
+        Assert.assertFalse(bucket.tryAcquire(now));
+
+        // one permit every 100ms
+
+        Assert.assertFalse(bucket.tryAcquire(now + TimeUnit.MILLISECONDS.toNanos(50)));
+        Assert.assertTrue(bucket.tryAcquire(now + TimeUnit.MILLISECONDS.toNanos(100)));
+        Assert.assertFalse(bucket.tryAcquire(now + TimeUnit.MILLISECONDS.toNanos(100)));
+
+        // idle time refills up to the burst only
+
+        long later = now + TimeUnit.SECONDS.toNanos(10);
+
+        Assert.assertTrue(bucket.tryAcquire(later));
+        Assert.assertTrue(bucket.tryAcquire(later));
+        Assert.assertTrue(bucket.tryAcquire(later));
+        Assert.assertFalse(bucket.tryAcquire(later));
+    }
+
+    /**
+     * testRelease
+     */
+    @Test
+    public void testRelease() {
+        TokenBucket bucket = new TokenBucket(0.001, 2);
+        long now = System.nanoTime();
+
+        Assert.assertTrue(bucket.tryAcquire(now));
+        Assert.assertTrue(bucket.tryAcquire(now));
+        Assert.assertFalse(bucket.tryAcquire(now));
+
+        bucket.release();
+
+        Assert.assertTrue(bucket.tryAcquire(now));
+        Assert.assertFalse(bucket.tryAcquire(now));
+    }
+}
@@ -15,6 +15,10 @@
  */
 package com.stackify.api.common.error;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -76,6 +80,27 @@ public class ErrorCounterTest {
 		Assert.assertEquals(expectedHash, ErrorCounter.getUniqueKey(errorItem));
 	}
 	
+	/**
+	 * testGetFingerprintWithNull
+	 */
+	@Test(expected = NullPointerException.class)
+	public void testGetFingerprintWithNull() {
+		ErrorCounter.getFingerprint(null);
+	}
+
+	/**
+	 * testGetFingerprint
+	 */
+	@Test
+	public void testGetFingerprint() {
+		ErrorItem errorItem = ErrorItem.newBuilder().errorType("errorType").errorTypeCode("errorTypeCode").sourceMethod("sourceMethod").build();
+		ErrorItem sameItem = ErrorItem.newBuilder().errorType("errorType").errorTypeCode("errorTypeCode").sourceMethod("sourceMethod").build();
+		ErrorItem otherItem = ErrorItem.newBuilder().errorType("errorType").errorTypeCode("errorTypeCode").sourceMethod("otherMethod").build();
+
+		Assert.assertEquals(ErrorCounter.getFingerprint(errorItem), ErrorCounter.getFingerprint(sameItem));
+		Assert.assertNotEquals(ErrorCounter.getFingerprint(errorItem), ErrorCounter.getFingerprint(otherItem));
+	}
+	
 	/**
 	 * testMinuteCounterNewMinuteCounter
 	 */
@@ -178,4 +203,69 @@ public class ErrorCounterTest {
 		Assert.assertEquals(1, errorCounter.incrementCounter(error1, 2));
 		Assert.assertEquals(1, errorCounter.incrementCounter(error2, 2));
 	}
+
+	/**
+	 * testPurgeCountersWheel
+	 */
+	@Test
+	public void testPurgeCountersWheel() {
+		ErrorCounter errorCounter = new ErrorCounter();
+
+		StackifyError error1 = StackifyError.newBuilder().error(ErrorItem.newBuilder().errorType("errorType_1").build()).build();
+		StackifyError error2 = StackifyError.newBuilder().error(ErrorItem.newBuilder().errorType("errorType_2").build()).build();
+		StackifyError error3 = StackifyError.newBuilder().error(ErrorItem.newBuilder().errorType("errorType_3").build()).build();
+
+		errorCounter.incrementCounter(error1, 100);
+		errorCounter.incrementCounter(error2, 100);
+		errorCounter.incrementCounter(error2, 101);
+		errorCounter.incrementCounter(error3, 150);
+		Assert.assertEquals(3, errorCounter.size());
+
+		errorCounter.purgeCounters(101);
+		Assert.assertEquals(2, errorCounter.size());
+
+		// a late sweep still reaches the counters in slots that lapped the wheel
+		errorCounter.purgeCounters(151);
+		Assert.assertEquals(0, errorCounter.size());
+
+		// already swept
+		errorCounter.incrementCounter(error1, 151);
+		errorCounter.purgeCounters(151);
+		Assert.assertEquals(1, errorCounter.size());
+	}
+
+	/**
+	 * testIncrementCounterConcurrent
+	 */
+	@Test
+	public void testIncrementCounterConcurrent() throws Exception {
+		final ErrorCounter errorCounter = new ErrorCounter();
+		final StackifyError error = StackifyError.newBuilder().error(ErrorItem.newBuilder().errorType("errorType").build()).build();
+		final int threads = 4;
+		final int perThread = 5000;
+		final AtomicInteger max = new AtomicInteger();
+
+		List<Thread> workers = new ArrayList<Thread>();
+
+		for (int t = 0; t < threads; ++t) {
+			Thread worker = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					for (int i = 0; i < perThread; ++i) {
+						int count = errorCounter.incrementCounter(error, 7);
+						max.accumulateAndGet(count, Math::max);
+					}
+				}
+			});
+			worker.start();
+			workers.add(worker);
+		}
+
+		for (Thread worker : workers) {
+			worker.join();
+		}
+
+		Assert.assertEquals(threads * perThread, max.get());
+		Assert.assertEquals(threads * perThread + 1, errorCounter.incrementCounter(error, 7));
+	}
 }
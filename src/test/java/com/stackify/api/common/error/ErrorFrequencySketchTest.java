@@ -0,0 +1,87 @@
+/*
+ * Copyright 2026 Stackify
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stackify.api.common.error;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.stackify.api.common.codec.Fingerprints;
+
+/**
+ * ErrorFrequencySketch JUnit Test
+ */
+public class ErrorFrequencySketchTest {
+
+    /**
+     * testIncrement
+     */
+    @Test
+    public void testIncrement() {
+        ErrorFrequencySketch sketch = new ErrorFrequencySketch(64);
+        long a = Fingerprints.fingerprint("a", null, null);
+        long b = Fingerprints.fingerprint("b", null, null);
+
+        Assert.assertEquals(1, sketch.increment(a, 10));
+        Assert.assertEquals(2, sketch.increment(a, 10));
+        Assert.assertEquals(1, sketch.increment(b, 10));
+        Assert.assertEquals(2, sketch.estimate(a, 10));
+
+        // a new minute restarts the counts
+        Assert.assertEquals(0, sketch.estimate(a, 11));
+        Assert.assertEquals(1, sketch.increment(a, 11));
+    }
+
+    /**
+     * testNeverUndercounts
+     */
+    @Test
+    public void testNeverUndercounts() {
+        ErrorFrequencySketch sketch = new ErrorFrequencySketch(256);
+        int distinct = 5000;
+
+        for (int i = 0; i < distinct; ++i) {
+            for (int j = 0; j <= i % 3; ++j) {
+                sketch.increment(Fingerprints.fingerprint("type", null, "method" + i), 1);
+            }
+        }
+
+        for (int i = 0; i < distinct; ++i) {
+            Assert.assertTrue(i % 3 + 1 <= sketch.estimate(Fingerprints.fingerprint("type", null, "method" + i), 1));
+        }
+    }
+
+    /**
+     * testConstantMemory
+     */
+    @Test
+    public void testConstantMemory() {
+        ErrorFrequencySketch sketch = new ErrorFrequencySketch(1024);
+        long hot = Fingerprints.fingerprint("hot", null, null);
+
+        for (int i = 0; i < 100000; ++i) {
+            sketch.increment(Fingerprints.fingerprint("cold", null, "method" + i), 1);
+
+            if (i % 100 == 0) {
+                sketch.increment(hot, 1);
+            }
+        }
+
+        // 1000 hot errors against ~100 collisions per cell from the unique ones
+        int estimate = sketch.estimate(hot, 1);
+        Assert.assertTrue(1000 <= estimate);
+        Assert.assertTrue(estimate < 1300);
+    }
+}
@@ -15,11 +15,14 @@
  */
 package com.stackify.api.common.error;
 
+import java.util.List;
+
 import org.junit.Assert;
 import org.junit.Test;
 
 import com.stackify.api.ErrorItem;
 import com.stackify.api.StackifyError;
+import com.stackify.api.common.ApiConfiguration;
 
 /**
  * ErrorGovernorTest JUnit Test
@@ -54,4 +57,142 @@ public class ErrorGovernorTest {
 		
 		Assert.assertEquals(true, shouldBeSent);
 	}
+
+	/**
+	 * testErrorShouldBeSentThrottled
+	 */
+	@Test
+	public void testErrorShouldBeSentThrottled() {
+		StackifyError error = StackifyError.newBuilder().error(ErrorItem.newBuilder().errorType("errorType").build()).build();
+
+		for (String mode : new String[] {ErrorGovernor.MODE_EXACT, ErrorGovernor.MODE_SKETCH}) {
+			ErrorGovernor governor = new ErrorGovernor(mode);
+
+			int sent = 0;
+
+			for (int i = 0; i < 150; ++i) {
+				if (governor.errorShouldBeSent(error)) {
+					++sent;
+				}
+			}
+
+			// 100 per minute, unless the test straddles a minute boundary
+			Assert.assertTrue(mode, 100 <= sent && sent <= 150);
+		}
+	}
+
+	/**
+	 * testGetTopErrors
+	 */
+	@Test
+	public void testGetTopErrors() {
+		ErrorGovernor exact = new ErrorGovernor();
+		exact.errorShouldBeSent(StackifyError.newBuilder().error(ErrorItem.newBuilder().errorType("errorType").build()).build());
+		Assert.assertTrue(exact.getTopErrors().isEmpty());
+
+		ErrorGovernor governor = new ErrorGovernor(ApiConfiguration.newBuilder().errorGovernorMode("sketch").build());
+
+		for (int i = 0; i < 1000; ++i) {
+			// one hot error among many unique ones
+			governor.errorShouldBeSent(StackifyError.newBuilder().error(ErrorItem.newBuilder().errorType("hot").sourceMethod("hot").build()).build());
+			governor.errorShouldBeSent(StackifyError.newBuilder().error(ErrorItem.newBuilder().errorType("cold").sourceMethod("cold" + i).build()).build());
+		}
+
+		List<ErrorFrequency> top = governor.getTopErrors();
+
+		Assert.assertEquals(32, top.size());
+		Assert.assertEquals("hot", top.get(0).getErrorType());
+		Assert.assertEquals("hot", top.get(0).getSourceMethod());
+		Assert.assertTrue(1000 <= top.get(0).getCount());
+		Assert.assertTrue(top.get(0).getCount() - top.get(0).getOverestimate() <= 1000);
+	}
+
+	/**
+	 * testDrainSuppressed
+	 */
+	@Test
+	public void testDrainSuppressed() {
+		StackifyError error = StackifyError.newBuilder().error(ErrorItem.newBuilder().errorType("errorType").sourceMethod("sourceMethod").build()).build();
+		StackifyError other = StackifyError.newBuilder().error(ErrorItem.newBuilder().errorType("otherType").build()).build();
+
+		ErrorGovernor governor = new ErrorGovernor(ApiConfiguration.newBuilder().errorGovernorLimit(2).errorGovernorWindowMillis(3600000L).build());
+
+		long start = System.currentTimeMillis();
+
+		for (int i = 0; i < 5; ++i) {
+			Assert.assertEquals(i < 2, governor.errorShouldBeSent(error));
+		}
+
+		Assert.assertTrue(governor.errorShouldBeSent(other));
+
+		// the window has not ended yet
+		Assert.assertTrue(governor.drainSuppressed(false).isEmpty());
+
+		List<SuppressedError> suppressed = governor.drainSuppressed(true);
+		Assert.assertEquals(1, suppressed.size());
+		Assert.assertEquals("errorType", suppressed.get(0).getErrorType());
+		Assert.assertEquals("sourceMethod", suppressed.get(0).getSourceMethod());
+		Assert.assertEquals(3, suppressed.get(0).getCount());
+		Assert.assertTrue(start <= suppressed.get(0).getFirstEpochMs());
+		Assert.assertTrue(suppressed.get(0).getFirstEpochMs() <= suppressed.get(0).getLastEpochMs());
+
+		// counts restart after a summary
+		Assert.assertTrue(governor.drainSuppressed(true).isEmpty());
+		Assert.assertFalse(governor.errorShouldBeSent(error));
+		Assert.assertEquals(1, governor.drainSuppressed(true).get(0).getCount());
+	}
+
+	/**
+	 * testEvictIdle
+	 */
+	@Test
+	public void testEvictIdle() {
+		StackifyError error1 = StackifyError.newBuilder().error(ErrorItem.newBuilder().errorType("errorType_1").build()).build();
+		StackifyError error2 = StackifyError.newBuilder().error(ErrorItem.newBuilder().errorType("errorType_2").build()).build();
+		StackifyError error3 = StackifyError.newBuilder().error(ErrorItem.newBuilder().errorType("errorType_3").build()).build();
+
+		ErrorGovernor governor = new ErrorGovernor(ErrorGovernor.MODE_EXACT, 10, 1000L);
+
+		governor.errorShouldBeSent(error1, 100000L);
+		governor.errorShouldBeSent(error2, 100000L);
+		governor.errorShouldBeSent(error2, 101000L);
+		governor.errorShouldBeSent(error3, 150000L);
+		Assert.assertEquals(3, governor.size());
+
+		// a bucket used in the last full window may not have refilled yet
+		governor.evictIdle(102);
+		Assert.assertEquals(2, governor.size());
+
+		// a late sweep still reaches the buckets in slots that lapped the wheel
+		governor.evictIdle(152);
+		Assert.assertEquals(0, governor.size());
+
+		// already swept
+		governor.errorShouldBeSent(error1, 152000L);
+		governor.evictIdle(152);
+		Assert.assertEquals(1, governor.size());
+	}
+
+	/**
+	 * testDrainSuppressedBounded
+	 */
+	@Test
+	public void testDrainSuppressedBounded() {
+		ErrorGovernor governor = new ErrorGovernor(ErrorGovernor.MODE_SKETCH, 1, 3600000L);
+
+		for (int i = 0; i < SuppressedErrors.MAX_ENTRIES + 10; ++i) {
+			StackifyError error = StackifyError.newBuilder().error(ErrorItem.newBuilder().errorType("errorType").sourceMethod("method" + i).build()).build();
+			governor.errorShouldBeSent(error);
+			governor.errorShouldBeSent(error);
+		}
+
+		List<SuppressedError> suppressed = governor.drainSuppressed(true);
+		Assert.assertEquals(SuppressedErrors.MAX_ENTRIES + 1, suppressed.size());
+
+		long total = 0;
+		for (SuppressedError summary : suppressed) {
+			total += summary.getCount();
+		}
+		Assert.assertTrue(SuppressedErrors.MAX_ENTRIES + 10 <= total);
+	}
 }
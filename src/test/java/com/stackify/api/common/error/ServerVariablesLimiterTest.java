@@ -0,0 +1,114 @@
+/*
+ * Copyright 2026 Stackify
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stackify.api.common.error;
+
+import java.util.Collections;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.stackify.api.ErrorItem;
+import com.stackify.api.StackifyError;
+import com.stackify.api.common.ApiConfiguration;
+
+/**
+ * ServerVariablesLimiter JUnit Test
+ */
+public class ServerVariablesLimiterTest {
+
+    /**
+     * testAlways
+     */
+    @Test
+    public void testAlways() {
+        ServerVariablesLimiter limiter = new ServerVariablesLimiter(ApiConfiguration.newBuilder().build());
+
+        for (int i = 0; i < 3; ++i) {
+            StackifyError error = newError("a");
+            limiter.limit(error);
+            Assert.assertNotNull(error.getServerVariables());
+        }
+    }
+
+    /**
+     * testFingerprint
+     */
+    @Test
+    public void testFingerprint() {
+        ServerVariablesLimiter limiter = new ServerVariablesLimiter(ServerVariablesLimiter.MODE_FINGERPRINT, 3600000);
+
+        Assert.assertTrue(sent(limiter, newError("a")));
+        Assert.assertFalse(sent(limiter, newError("a")));
+        Assert.assertTrue(sent(limiter, newError("b")));
+        Assert.assertFalse(sent(limiter, newError("b")));
+
+        // errors without server variables are left alone
+        StackifyError error = newError("c");
+        error.setServerVariables(null);
+        limiter.limit(error);
+        Assert.assertTrue(sent(limiter, newError("c")));
+    }
+
+    /**
+     * testApp
+     */
+    @Test
+    public void testApp() {
+        ServerVariablesLimiter limiter = new ServerVariablesLimiter(ApiConfiguration.newBuilder()
+                .errorServerVariables(" app ")
+                .errorServerVariablesIntervalMillis(3600000L)
+                .build());
+
+        Assert.assertTrue(sent(limiter, newError("a")));
+        Assert.assertFalse(sent(limiter, newError("b")));
+    }
+
+    /**
+     * testInterval
+     */
+    @Test
+    public void testInterval() throws Exception {
+        ServerVariablesLimiter limiter = new ServerVariablesLimiter(ServerVariablesLimiter.MODE_FINGERPRINT, 20);
+
+        Assert.assertTrue(sent(limiter, newError("a")));
+        Assert.assertFalse(sent(limiter, newError("a")));
+
+        Thread.sleep(40);
+
+        Assert.assertTrue(sent(limiter, newError("a")));
+    }
+
+    /**
+     * @param limiter The limiter
+     * @param error The error
+     * @return True if the server variables were kept
+     */
+    private static boolean sent(final ServerVariablesLimiter limiter, final StackifyError error) {
+        limiter.limit(error);
+        return error.getServerVariables() != null;
+    }
+
+    /**
+     * @param errorType The error type
+     * @return A new error with server variables
+     */
+    private static StackifyError newError(final String errorType) {
+        return StackifyError.newBuilder()
+                .error(ErrorItem.newBuilder().errorType(errorType).build())
+                .serverVariables(Collections.singletonMap("key", "value"))
+                .build();
+    }
+}
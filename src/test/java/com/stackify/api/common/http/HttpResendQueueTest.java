@@ -135,4 +135,64 @@ public class HttpResendQueueTest {
 		resendQueue.drain(httpClient, "/path");
 		Assert.assertEquals(0, resendQueue.size());
 	}
+
+	/**
+	 * testOfferEvictsOldestOverMaxBytes
+	 */
+	@Test
+	public void testOfferEvictsOldestOverMaxBytes() {
+		HttpResendQueue resendQueue = new HttpResendQueue(10, 10, 3, 0, 0);
+
+		HttpResendQueueItem item1 = new HttpResendQueueItem(new byte[4]);
+		HttpResendQueueItem item2 = new HttpResendQueueItem(new byte[4]);
+		HttpResendQueueItem item3 = new HttpResendQueueItem(new byte[4]);
+
+		Assert.assertTrue(resendQueue.offer(item1));
+		Assert.assertTrue(resendQueue.offer(item2));
+		Assert.assertTrue(resendQueue.offer(item3));
+
+		Assert.assertEquals(2, resendQueue.size());
+		Assert.assertEquals(8, resendQueue.byteSize());
+
+		// a request larger than the bound is not queued
+
+		Assert.assertFalse(resendQueue.offer(new HttpResendQueueItem(new byte[11])));
+
+		Assert.assertSame(item2, resendQueue.pollDue(System.currentTimeMillis()));
+		Assert.assertSame(item3, resendQueue.pollDue(System.currentTimeMillis()));
+		Assert.assertNull(resendQueue.pollDue(System.currentTimeMillis()));
+		Assert.assertEquals(0, resendQueue.byteSize());
+	}
+
+	/**
+	 * testRetryBackoff
+	 */
+	@Test
+	public void testRetryBackoff() {
+		HttpResendQueue resendQueue = new HttpResendQueue(10, 1000, 3, 1000, 60000);
+		HttpResendQueueItem item = new HttpResendQueueItem(new byte[]{1});
+
+		long before = System.currentTimeMillis();
+		Assert.assertTrue(resendQueue.offer(item));
+
+		// jittered between half and all of the base delay
+
+		Assert.assertTrue(before + 500 <= item.getNextAttemptMillis());
+		Assert.assertTrue(item.getNextAttemptMillis() <= System.currentTimeMillis() + 1000);
+		Assert.assertNull(resendQueue.pollDue(before));
+		Assert.assertSame(item, resendQueue.pollDue(item.getNextAttemptMillis()));
+
+		// doubled after the second failure
+
+		before = System.currentTimeMillis();
+		Assert.assertTrue(resendQueue.retry(item));
+		Assert.assertTrue(before + 1000 <= item.getNextAttemptMillis());
+		Assert.assertTrue(item.getNextAttemptMillis() <= System.currentTimeMillis() + 2000);
+		Assert.assertSame(item, resendQueue.pollDue(Long.MAX_VALUE));
+
+		// skipped after the third failure
+
+		Assert.assertFalse(resendQueue.retry(item));
+		Assert.assertEquals(0, resendQueue.size());
+	}
 }
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2026 Stackify
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stackify.api.common.lang;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * StackTraceCache JUnit Test
+ */
+public class StackTraceCacheTest {
+
+    /**
+     * testGet
+     */
+    @Test
+    public void testGet() {
+        StackTraceCache cache = new StackTraceCache(2);
+
+        StackTraceElement[][] traces = {{new StackTraceElement("com.acme.Service", "call", "Service.java", 42)}};
+        List<Throwable> chain = Collections.<Throwable>singletonList(new IllegalStateException());
+
+        StackTraceCache.Skeleton skeleton = cache.get(chain, traces);
+
+        Assert.assertEquals("java.lang.IllegalStateException", skeleton.getErrorType(0));
+        Assert.assertEquals("com.acme.Service.call", skeleton.getSourceMethod(0));
+        Assert.assertEquals(1, skeleton.getFrames(0).size());
+        Assert.assertEquals("com.acme.Service.call", skeleton.getFrames(0).get(0).getMethod());
+        Assert.assertEquals(Integer.valueOf(42), skeleton.getFrames(0).get(0).getLineNum());
+
+        // equal frames (other instances) hit
+
+        StackTraceElement[][] same = {{new StackTraceElement("com.acme.Service", "call", "Service.java", 42)}};
+        Assert.assertSame(skeleton, cache.get(Collections.<Throwable>singletonList(new IllegalStateException()), same));
+
+        // another type with the same frames misses
+
+        StackTraceCache.Skeleton other = cache.get(Collections.<Throwable>singletonList(new IllegalArgumentException()), same);
+        Assert.assertNotSame(skeleton, other);
+        Assert.assertEquals("java.lang.IllegalArgumentException", other.getErrorType(0));
+    }
+
+    /**
+     * testBounded
+     */
+    @Test
+    public void testBounded() {
+        StackTraceCache cache = new StackTraceCache(10);
+
+        StackTraceCache.Skeleton last = null;
+        StackTraceElement[][] lastTraces = null;
+
+        for (int i = 0; i < 100; ++i) {
+            lastTraces = new StackTraceElement[][] {{new StackTraceElement("com.acme.Service", "call", "Service.java", i)}};
+            last = cache.get(Collections.<Throwable>singletonList(new IllegalStateException()), lastTraces);
+        }
+
+        // direct mapped, a miss replaces the skeleton in its slot
+
+        Assert.assertTrue(cache.size() <= 10);
+        Assert.assertSame(last, cache.get(Collections.<Throwable>singletonList(new IllegalStateException()), lastTraces));
+    }
+
+    /**
+     * testFramesAreImmutable
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public void testFramesAreImmutable() {
+        StackTraceCache cache = new StackTraceCache(2);
+        StackTraceElement[][] traces = {{}};
+
+        StackTraceCache.Skeleton skeleton = cache.get(Collections.<Throwable>singletonList(new IllegalStateException()), traces);
+
+        Assert.assertNull(skeleton.getSourceMethod(0));
+        skeleton.getFrames(0).add(null);
+    }
+}
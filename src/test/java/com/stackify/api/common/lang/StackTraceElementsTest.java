@@ -46,4 +46,20 @@ public class StackTraceElementsTest {
 		Assert.assertEquals(fileName, frame.getCodeFileName());
 		Assert.assertEquals(Integer.valueOf(lineNumber), frame.getLineNum());	
 	}
+
+	/**
+	 * testToStackFrameMutable
+	 */
+	@Test
+	public void testToStackFrameMutable() {
+		StackTraceElement element = new StackTraceElement("declaringClass", "methodName", "fileName", 14);
+		
+		TraceFrame frame = StackTraceElements.toTraceFrame(element);
+		Assert.assertNotSame(frame, StackTraceElements.toTraceFrame(element));
+		Assert.assertNotSame(frame, TraceFrameInterner.getDefault().intern(element));
+		
+		frame.setLineNum(15);
+		Assert.assertEquals(Integer.valueOf(15), frame.getLineNum());
+		Assert.assertEquals(Integer.valueOf(14), StackTraceElements.toTraceFrame(element).getLineNum());
+	}
 }
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2026 Stackify
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stackify.api.common.lang;
+
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.stackify.api.TraceFrame;
+import com.stackify.api.common.ApiConfiguration;
+
+/**
+ * StackTraceTrimmer JUnit Test
+ */
+public class StackTraceTrimmerTest {
+
+    /**
+     * testNone
+     */
+    @Test
+    public void testNone() {
+        StackTraceElement[] trace = {frame("com.acme.A", 1), frame("com.acme.B", 2), frame("com.acme.C", 3)};
+
+        List<TraceFrame> frames = StackTraceTrimmer.NONE.trim(trace, trace);
+
+        Assert.assertEquals(3, frames.size());
+        Assert.assertEquals("com.acme.A.run", frames.get(0).getMethod());
+        Assert.assertEquals("com.acme.C.run", frames.get(2).getMethod());
+    }
+
+    /**
+     * testElideCommonFrames
+     */
+    @Test
+    public void testElideCommonFrames() {
+        StackTraceElement[] enclosing = {frame("com.acme.Outer", 1), frame("com.acme.Main", 2), frame("com.acme.Main", 3)};
+        StackTraceElement[] cause = {frame("com.acme.Inner", 4), frame("com.acme.Inner", 5), frame("com.acme.Main", 2), frame("com.acme.Main", 3)};
+
+        StackTraceTrimmer trimmer = StackTraceTrimmer.newBuilder().elideCommonFrames(true).build();
+
+        List<TraceFrame> frames = trimmer.trim(cause, enclosing);
+
+        Assert.assertEquals(3, frames.size());
+        Assert.assertEquals(Integer.valueOf(5), frames.get(1).getLineNum());
+        Assert.assertEquals("... 2 more", frames.get(2).getMethod());
+
+        // the outermost trace keeps its frames
+        Assert.assertEquals(3, trimmer.trim(enclosing, null).size());
+    }
+
+    /**
+     * testFoldPackages
+     */
+    @Test
+    public void testFoldPackages() {
+        StackTraceElement[] trace = {
+                frame("com.acme.Controller", 1),
+                frame("org.springframework.web.A", 2),
+                frame("org.springframework.aop.B", 3),
+                frame("org.springframework.C", 4),
+                frame("com.acme.Filter", 5),
+                frame("org.springframework.D", 6),
+                frame("org.springframeworkx.E", 7),
+                frame("org.apache.catalina.F", 8),
+                frame("org.apache.catalina.G", 9)};
+
+        StackTraceTrimmer trimmer = StackTraceTrimmer.newBuilder().foldPackage("org.springframework.*").foldPackage("org.apache.catalina").build();
+
+        List<TraceFrame> frames = trimmer.trim(trace, null);
+
+        Assert.assertEquals(6, frames.size());
+        Assert.assertEquals("com.acme.Controller.run", frames.get(0).getMethod());
+        Assert.assertEquals("org.springframework.* (3 frames)", frames.get(1).getMethod());
+        Assert.assertNull(frames.get(1).getLineNum());
+        Assert.assertEquals("com.acme.Filter.run", frames.get(2).getMethod());
+
+        // a single frame is kept as is, prefixes match whole package segments
+        Assert.assertEquals("org.springframework.D.run", frames.get(3).getMethod());
+        Assert.assertEquals("org.springframeworkx.E.run", frames.get(4).getMethod());
+        Assert.assertEquals("org.apache.catalina.* (2 frames)", frames.get(5).getMethod());
+    }
+
+    /**
+     * testMaxFrames
+     */
+    @Test
+    public void testMaxFrames() {
+        StackTraceElement[] enclosing = new StackTraceElement[20];
+        StackTraceElement[] cause = new StackTraceElement[20];
+
+        for (int i = 0; i < 20; ++i) {
+            enclosing[i] = frame("com.acme.Main", 100 + i);
+            cause[i] = (i < 10) ? frame("com.acme.Inner", i) : enclosing[i];
+        }
+
+        StackTraceTrimmer trimmer = StackTraceTrimmer.newBuilder().maxFrames(4).elideCommonFrames(true).build();
+
+        List<TraceFrame> frames = trimmer.trim(cause, enclosing);
+
+        Assert.assertEquals(6, frames.size());
+        Assert.assertEquals(Integer.valueOf(3), frames.get(3).getLineNum());
+        Assert.assertEquals("... 6 frames truncated", frames.get(4).getMethod());
+        Assert.assertEquals("... 10 more", frames.get(5).getMethod());
+
+        Assert.assertEquals(2, StackTraceTrimmer.newBuilder().maxFrames(4).build().trim(new StackTraceElement[] {cause[0], cause[1]}, null).size());
+    }
+
+    /**
+     * testFromConfiguration
+     */
+    @Test
+    public void testFromConfiguration() {
+        ApiConfiguration config = ApiConfiguration.newBuilder()
+                .errorStackTraceMaxFrames(1)
+                .errorStackTraceElideCommonFrames(true)
+                .errorStackTraceFoldPackages(" org.springframework , org.apache.catalina ")
+                .build();
+
+        StackTraceTrimmer trimmer = StackTraceTrimmer.fromConfiguration(config);
+
+        StackTraceElement[] enclosing = {frame("com.acme.Main", 1)};
+        StackTraceElement[] cause = {frame("org.apache.catalina.A", 2), frame("org.apache.catalina.B", 3), frame("com.acme.C", 4), frame("com.acme.Main", 1)};
+
+        List<TraceFrame> frames = trimmer.trim(cause, enclosing);
+
+        Assert.assertEquals(3, frames.size());
+        Assert.assertEquals("org.apache.catalina.* (2 frames)", frames.get(0).getMethod());
+        Assert.assertEquals("... 1 frames truncated", frames.get(1).getMethod());
+        Assert.assertEquals("... 1 more", frames.get(2).getMethod());
+
+        Assert.assertEquals(4, StackTraceTrimmer.fromConfiguration(ApiConfiguration.newBuilder().build()).trim(cause, enclosing).size());
+    }
+
+    /**
+     * @param className The class name
+     * @param lineNumber The line number
+     * @return A stack trace element
+     */
+    private static StackTraceElement frame(final String className, final int lineNumber) {
+        return new StackTraceElement(className, "run", "File.java", lineNumber);
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2026 Stackify
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stackify.api.common.lang;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * StackTraces JUnit Test
+ */
+public class StackTracesTest {
+
+    /**
+     * testGetCaller
+     */
+    @Test
+    public void testGetCaller() {
+        StackTraceElement caller = FakeLogger.log();
+
+        Assert.assertNotNull(caller);
+        Assert.assertEquals(StackTracesTest.class.getName(), caller.getClassName());
+        Assert.assertEquals("testGetCaller", caller.getMethodName());
+
+        // the logger is not on the stack
+        Assert.assertNull(StackTraces.getCaller(FakeLogger.class));
+    }
+
+    /**
+     * testGetStackTrace
+     */
+    @Test
+    public void testGetStackTrace() {
+        int lineNumber = new Throwable().getStackTrace()[0].getLineNumber() + 1;
+        StackTraceElement[] stackTrace = StackTraces.getStackTrace(StackTracesTest.class.getName(), "testGetStackTrace", lineNumber);
+
+        Assert.assertEquals(StackTracesTest.class.getName(), stackTrace[0].getClassName());
+        Assert.assertEquals(lineNumber, stackTrace[0].getLineNumber());
+
+        // down to the bottom of the stack (StackWalker hides the reflection frames a Throwable shows)
+        StackTraceElement[] full = new Throwable().getStackTrace();
+        Assert.assertEquals(full[full.length - 1], stackTrace[stackTrace.length - 1]);
+        Assert.assertTrue(stackTrace.length <= full.length);
+    }
+
+    /**
+     * testGetStackTraceNotFound
+     */
+    @Test
+    public void testGetStackTraceNotFound() {
+        StackTraceElement[] stackTrace = StackTraces.getStackTrace("className", "methodName", 14);
+
+        // starts with the caller, the frames walking the stack are dropped
+        Assert.assertEquals(StackTracesTest.class.getName(), stackTrace[0].getClassName());
+        Assert.assertEquals("testGetStackTraceNotFound", stackTrace[0].getMethodName());
+
+        Assert.assertEquals("testGetStackTraceNotFound", StackTraces.getStackTrace(null, null, 0)[0].getMethodName());
+    }
+
+    /**
+     * testStackWalkerAvailable
+     */
+    @Test
+    public void testStackWalkerAvailable() {
+        boolean java9 = true;
+
+        try {
+            Class.forName("java.lang.StackWalker");
+        } catch (ClassNotFoundException e) {
+            java9 = false;
+        }
+
+        Assert.assertEquals(java9, StackTraces.isStackWalkerAvailable());
+    }
+
+    /**
+     * Logs through nested calls
+     */
+    private static class FakeLogger {
+
+        /**
+         * @return The caller
+         */
+        private static StackTraceElement log() {
+            return locate();
+        }
+
+        /**
+         * @return The caller
+         */
+        private static StackTraceElement locate() {
+            return StackTraces.getCaller(FakeLogger.class);
+        }
+    }
+}
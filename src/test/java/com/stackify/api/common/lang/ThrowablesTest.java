@@ -271,4 +271,110 @@ public class ThrowablesTest {
 		Assert.assertEquals(className + "." + methodName, topFrame.getMethod());
 		Assert.assertEquals(Integer.valueOf(lineNumber), topFrame.getLineNum());
 	}
+
+	/**
+	 * testToErrorItemSharesStackTrace
+	 */
+	@Test
+	public void testToErrorItemSharesStackTrace() {
+		ErrorItem first = null;
+		ErrorItem second = null;
+
+		for (int i = 0; i < 2; ++i) {
+			RuntimeException t = new RuntimeException("message " + i, new NullPointerException("cause " + i));
+			ErrorItem errorItem = Throwables.toErrorItem("log " + i, t);
+
+			if (i == 0) {
+				first = errorItem;
+			} else {
+				second = errorItem;
+			}
+		}
+
+		// same throw site, only the messages differ
+
+		Assert.assertEquals("message 0 (log 0)", first.getMessage());
+		Assert.assertEquals("message 1 (log 1)", second.getMessage());
+		Assert.assertEquals("cause 1", second.getInnerError().getMessage());
+		Assert.assertSame(first.getStackTrace(), second.getStackTrace());
+		Assert.assertSame(first.getInnerError().getStackTrace(), second.getInnerError().getStackTrace());
+		Assert.assertEquals(first.getSourceMethod(), second.getSourceMethod());
+
+		// log and rethrow of the same instance
+
+		RuntimeException t = new RuntimeException("rethrown");
+		Assert.assertSame(Throwables.toErrorItem(t).getStackTrace(), Throwables.toErrorItem("again", t).getStackTrace());
+
+		// a different throw site does not share
+
+		Assert.assertNotSame(first.getStackTrace(), Throwables.toErrorItem(t).getStackTrace());
+	}
+
+	/**
+	 * testToErrorItemTrimmed
+	 */
+	@Test
+	public void testToErrorItemTrimmed() {
+		StackTraceTrimmer trimmer = StackTraceTrimmer.newBuilder().elideCommonFrames(true).foldPackage("org.junit").build();
+
+		NullPointerException cause = new NullPointerException("cause");
+		RuntimeException t = new RuntimeException("message", cause);
+		ErrorItem errorItem = Throwables.toErrorItem(null, t, trimmer);
+
+		List<TraceFrame> inner = errorItem.getInnerError().getStackTrace();
+
+		// the cause was created one line above, everything below that frame is shared
+		Assert.assertEquals(2, inner.size());
+		Assert.assertEquals(Integer.valueOf(cause.getStackTrace()[0].getLineNumber()), inner.get(0).getLineNum());
+		Assert.assertEquals("... " + (t.getStackTrace().length - 1) + " more", inner.get(1).getMethod());
+
+		boolean folded = false;
+
+		for (TraceFrame frame : errorItem.getStackTrace()) {
+			Assert.assertFalse(frame.getMethod().startsWith("org.junit.runners."));
+			folded |= frame.getMethod().startsWith("org.junit.* (");
+		}
+
+		Assert.assertTrue(folded);
+
+		// each trimmer has its own conversions, the default one keeps every frame
+
+		Assert.assertSame(errorItem.getStackTrace(), Throwables.toErrorItem(null, t, trimmer).getStackTrace());
+		Assert.assertEquals(t.getStackTrace().length, Throwables.toErrorItem(t).getStackTrace().size());
+	}
+
+	/**
+	 * testGetCausalChainIdentity
+	 */
+	@Test
+	public void testGetCausalChainIdentity() {
+		RuntimeException a = new EqualException();
+		RuntimeException b = new EqualException();
+		a.initCause(b);
+
+		// distinct instances that are equal are still walked, a cycle is not
+
+		Assert.assertEquals(2, Throwables.getCausalChain(a).size());
+
+		b.initCause(a);
+		Assert.assertEquals(2, Throwables.getCausalChain(a).size());
+	}
+
+	/**
+	 * Throwable equal to any other of its class
+	 */
+	private static class EqualException extends RuntimeException {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public boolean equals(final Object obj) {
+			return obj instanceof EqualException;
+		}
+
+		@Override
+		public int hashCode() {
+			return 1;
+		}
+	}
 }
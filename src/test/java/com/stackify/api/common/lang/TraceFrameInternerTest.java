@@ -0,0 +1,99 @@
+/*
+ * Copyright 2026 Stackify
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stackify.api.common.lang;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.stackify.api.TraceFrame;
+
+/**
+ * TraceFrameInterner JUnit Test
+ */
+public class TraceFrameInternerTest {
+
+    /**
+     * testInternElement
+     */
+    @Test
+    public void testInternElement() {
+        TraceFrameInterner interner = new TraceFrameInterner(64);
+
+        TraceFrame frame = interner.intern(new StackTraceElement("com.foo.Bar", "baz", "Bar.java", 14));
+
+        Assert.assertEquals("com.foo.Bar.baz", frame.getMethod());
+        Assert.assertEquals("Bar.java", frame.getCodeFileName());
+        Assert.assertEquals(Integer.valueOf(14), frame.getLineNum());
+
+        Assert.assertSame(frame, interner.intern(new StackTraceElement("com.foo.Bar", "baz", "Bar.java", 14)));
+        Assert.assertNotSame(frame, interner.intern(new StackTraceElement("com.foo.Bar", "baz", "Bar.java", 15)));
+
+        TraceFrame noLine = interner.intern(new StackTraceElement("com.foo.Bar", "baz", null, -2));
+        Assert.assertNull(noLine.getLineNum());
+        Assert.assertNull(noLine.getCodeFileName());
+    }
+
+    /**
+     * testInternValues
+     */
+    @Test
+    public void testInternValues() {
+        TraceFrameInterner interner = new TraceFrameInterner(64);
+
+        TraceFrame frame = interner.intern("Bar.java", 14, "com.foo.Bar.baz");
+
+        Assert.assertSame(frame, interner.intern("Bar.java", 14, "com.foo.Bar.baz"));
+        Assert.assertSame(interner.intern(null, null, null), interner.intern(null, null, null));
+        Assert.assertNotSame(frame, interner.intern("Bar.java", 15, "com.foo.Bar.baz"));
+
+        Assert.assertEquals(TraceFrame.newBuilder().codeFileName("Bar.java").lineNum(14).method("com.foo.Bar.baz").build(), frame);
+    }
+
+    /**
+     * testBounded
+     */
+    @Test
+    public void testBounded() {
+        TraceFrameInterner interner = new TraceFrameInterner(16);
+
+        for (int i = 0; i < 1000; ++i) {
+            TraceFrame frame = interner.intern("Bar.java", i, "com.foo.Bar.baz");
+            Assert.assertEquals(Integer.valueOf(i), frame.getLineNum());
+        }
+
+        // a collision replaces the slot, the frame is still converted correctly
+        Assert.assertEquals(Integer.valueOf(1), interner.intern("Bar.java", 1, "com.foo.Bar.baz").getLineNum());
+    }
+
+    /**
+     * testImmutable
+     */
+    @Test
+    public void testImmutable() {
+        TraceFrame frame = new TraceFrameInterner(16).intern("Bar.java", 14, "com.foo.Bar.baz");
+
+        try {
+            frame.setLineNum(15);
+            Assert.fail();
+        } catch (UnsupportedOperationException e) {
+            Assert.assertEquals(Integer.valueOf(14), frame.getLineNum());
+        }
+
+        TraceFrame copy = frame.toBuilder().lineNum(15).build();
+        copy.setMethod("method");
+        Assert.assertEquals("method", copy.getMethod());
+    }
+}
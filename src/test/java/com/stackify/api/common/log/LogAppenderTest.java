@@ -18,11 +18,25 @@ package com.stackify.api.common.log;
 import com.stackify.api.EnvironmentDetail;
 import com.stackify.api.LogMsg;
 import com.stackify.api.StackifyError;
+import com.stackify.api.TraceFrame;
+import com.stackify.api.WebRequestDetail;
 import com.stackify.api.common.ApiConfiguration;
 import com.stackify.api.common.error.ErrorGovernor;
+import com.stackify.api.common.error.SuppressedError;
+import com.stackify.api.common.lang.StackTraceTrimmer;
+import com.stackify.api.common.log.direct.LogEvent;
+import com.stackify.api.common.log.direct.LogEventAdapter;
 import com.stackify.api.common.mask.Masker;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PrepareForTest;
@@ -101,7 +115,7 @@ public class LogAppenderTest {
 
 		EventAdapter<String> adapter = Mockito.mock(EventAdapter.class);
 		Mockito.when(adapter.getThrowable(event)).thenReturn(t);
-		Mockito.when(adapter.getStackifyError(event, t)).thenReturn(error);
+		Mockito.when(adapter.getStackifyError(Mockito.eq(event), Mockito.eq(t), Mockito.isNull(StackTraceElement[].class), Mockito.any(StackTraceTrimmer.class))).thenReturn(error);
 		Mockito.when(adapter.getLogMsg(event, error)).thenReturn(logMsg);
 
 		ErrorGovernor governor = Mockito.mock(ErrorGovernor.class);
@@ -127,9 +141,256 @@ public class LogAppenderTest {
 
 		appender.close();
 
+		Mockito.verify(collector).offerLogMsg(logMsg);
+	}
+
+	/**
+	 * testAppendFiltersWebRequest
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testAppendFiltersWebRequest() throws Exception {
+		String event = "log event";
+		Throwable t = new NullPointerException();
+
+		Map<String, String> headers = new HashMap<String, String>();
+		headers.put("User-Agent", "agent");
+		headers.put("Authorization", "secret");
+
+		StackifyError error = StackifyError.newBuilder()
+				.webRequestDetail(WebRequestDetail.newBuilder().headers(headers).build()).build();
+		LogMsg logMsg = Mockito.mock(LogMsg.class);
+
+		EventAdapter<String> adapter = Mockito.mock(EventAdapter.class);
+		Mockito.when(adapter.getThrowable(event)).thenReturn(t);
+		Mockito.when(adapter.getStackifyError(Mockito.eq(event), Mockito.eq(t), Mockito.isNull(StackTraceElement[].class), Mockito.any(StackTraceTrimmer.class))).thenReturn(error);
+		Mockito.when(adapter.getLogMsg(event, error)).thenReturn(logMsg);
+
+		ErrorGovernor governor = Mockito.mock(ErrorGovernor.class);
+		Mockito.when(governor.errorShouldBeSent(Mockito.any(StackifyError.class))).thenReturn(true);
+		PowerMockito.whenNew(ErrorGovernor.class).withAnyArguments().thenReturn(governor);
+
+		LogAppender<String> appender = new LogAppender<String>("logger", adapter, new Masker());
+
+		LogCollector collector = Mockito.mock(LogCollector.class);
+		PowerMockito.whenNew(LogCollector.class).withAnyArguments().thenReturn(collector);
+
+		LogBackgroundService background = PowerMockito.mock(LogBackgroundService.class);
+		PowerMockito.whenNew(LogBackgroundService.class).withAnyArguments().thenReturn(background);
+
+		ApiConfiguration config = ApiConfiguration.newBuilder().apiUrl("url").apiKey("key")
+				.envDetail(Mockito.mock(EnvironmentDetail.class)).errorWebRequestHeaders("user-agent").build();
+
+		appender.activate(config);
+
+		Mockito.when(background.isRunning()).thenReturn(true);
+
+		appender.append(event);
+
+		appender.close();
+
+		Assert.assertEquals(Collections.singletonMap("User-Agent", "agent"), error.getWebRequestDetail().getHeaders());
+	}
+
+	/**
+	 * testAppendAsyncEnrichment
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testAppendAsyncEnrichment() throws Exception {
+		String event = "log event";
+		Throwable t = new NullPointerException();
+		StackifyError error = Mockito.mock(StackifyError.class);
+		LogMsg logMsg = Mockito.mock(LogMsg.class);
+
+		EventAdapter<String> adapter = Mockito.mock(EventAdapter.class);
+		Mockito.when(adapter.toImmutable(event)).thenReturn(event);
+		Mockito.when(adapter.getThrowable(event)).thenReturn(t);
+		Mockito.when(adapter.getStackifyError(Mockito.eq(event), Mockito.eq(t), Mockito.isNull(StackTraceElement[].class), Mockito.any(StackTraceTrimmer.class))).thenReturn(error);
+		Mockito.when(adapter.getLogMsg(event, error)).thenReturn(logMsg);
+
+		ErrorGovernor governor = Mockito.mock(ErrorGovernor.class);
+		Mockito.when(governor.errorShouldBeSent(Mockito.any(StackifyError.class))).thenReturn(true);
+		PowerMockito.whenNew(ErrorGovernor.class).withAnyArguments().thenReturn(governor);
+
+		LogAppender<String> appender = new LogAppender<String>("logger", adapter, new Masker());
+
+		LogCollector collector = Mockito.mock(LogCollector.class);
+		PowerMockito.whenNew(LogCollector.class).withAnyArguments().thenReturn(collector);
+
+		LogBackgroundService background = PowerMockito.mock(LogBackgroundService.class);
+		PowerMockito.whenNew(LogBackgroundService.class).withAnyArguments().thenReturn(background);
+
+		ApiConfiguration config = ApiConfiguration.newBuilder().apiUrl("url").apiKey("key")
+				.envDetail(Mockito.mock(EnvironmentDetail.class)).logAsyncEnrichment(true).build();
+
+		appender.activate(config);
+
+		ArgumentCaptor<PendingLogSource> source = ArgumentCaptor.forClass(PendingLogSource.class);
+		Mockito.verify(collector, Mockito.times(2)).addPendingSource(source.capture());
+
+		Mockito.when(background.isRunning()).thenReturn(true);
+
+		appender.append(event);
+
+		Mockito.verify(adapter, Mockito.never()).getStackifyError(Mockito.eq(event), Mockito.eq(t), Mockito.<StackTraceElement[]>any(), Mockito.any(StackTraceTrimmer.class));
+		Mockito.verify(collector, Mockito.never()).addLogMsg(Mockito.any(LogMsg.class));
+
+		source.getAllValues().get(0).drainTo(collector);
+
+		appender.close();
+
+		Mockito.verify(governor).errorShouldBeSent(error);
 		Mockito.verify(collector).addLogMsg(logMsg);
 	}
 
+	/**
+	 * testAppendAsyncStringError
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testAppendAsyncStringError() throws Exception {
+		ErrorGovernor governor = Mockito.mock(ErrorGovernor.class);
+		Mockito.when(governor.errorShouldBeSent(Mockito.any(StackifyError.class))).thenReturn(true);
+		PowerMockito.whenNew(ErrorGovernor.class).withAnyArguments().thenReturn(governor);
+
+		EnvironmentDetail envDetail = Mockito.mock(EnvironmentDetail.class);
+		LogAppender<LogEvent> appender = new LogAppender<LogEvent>("logger", new LogEventAdapter(envDetail), new Masker());
+
+		LogCollector collector = Mockito.mock(LogCollector.class);
+		PowerMockito.whenNew(LogCollector.class).withAnyArguments().thenReturn(collector);
+
+		LogBackgroundService background = PowerMockito.mock(LogBackgroundService.class);
+		PowerMockito.whenNew(LogBackgroundService.class).withAnyArguments().thenReturn(background);
+
+		ApiConfiguration config = ApiConfiguration.newBuilder().apiUrl("url").apiKey("key")
+				.envDetail(envDetail).allowComDotStackify(true).logAsyncEnrichment(true).build();
+
+		appender.activate(config);
+
+		ArgumentCaptor<PendingLogSource> source = ArgumentCaptor.forClass(PendingLogSource.class);
+		Mockito.verify(collector, Mockito.times(2)).addPendingSource(source.capture());
+
+		Mockito.when(background.isRunning()).thenReturn(true);
+
+		// the caller frame is on the same line as the append
+
+		appender.append(LogEvent.newBuilder().level("ERROR").message("string error").caller(new Throwable().getStackTrace()[0]).build());
+
+		// converted on another thread, like the flush
+
+		Thread flushThread = new Thread(() -> source.getAllValues().get(0).drainTo(collector));
+		flushThread.start();
+		flushThread.join(5000);
+
+		appender.close();
+
+		ArgumentCaptor<LogMsg> logMsg = ArgumentCaptor.forClass(LogMsg.class);
+		Mockito.verify(collector).addLogMsg(logMsg.capture());
+
+		List<TraceFrame> frames = logMsg.getValue().getEx().getError().getStackTrace();
+		Assert.assertEquals(LogAppenderTest.class.getName() + ".testAppendAsyncStringError", frames.get(0).getMethod());
+	}
+
+	/**
+	 * testTryAppend
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testTryAppend() throws Exception {
+		String event = "log event";
+		String internalEvent = "internal log event";
+		LogMsg logMsg = Mockito.mock(LogMsg.class);
+
+		EventAdapter<String> adapter = Mockito.mock(EventAdapter.class);
+		Mockito.when(adapter.getLogMsg(event, null)).thenReturn(logMsg);
+		Mockito.when(adapter.getClassName(internalEvent)).thenReturn("com.stackify.api.common.log.LogBackgroundService");
+
+		LogAppender<String> appender = new LogAppender<String>("logger", adapter, new Masker());
+
+		Assert.assertEquals(AppendResult.NOT_RUNNING, appender.tryAppend(event));
+
+		LogCollector collector = Mockito.mock(LogCollector.class);
+		PowerMockito.whenNew(LogCollector.class).withAnyArguments().thenReturn(collector);
+
+		LogBackgroundService background = PowerMockito.mock(LogBackgroundService.class);
+		PowerMockito.whenNew(LogBackgroundService.class).withAnyArguments().thenReturn(background);
+
+		ApiConfiguration config = ApiConfiguration.newBuilder().apiUrl("url").apiKey("key")
+				.envDetail(Mockito.mock(EnvironmentDetail.class)).build();
+
+		appender.activate(config);
+
+		Assert.assertEquals(AppendResult.NOT_RUNNING, appender.tryAppend(event));
+
+		Mockito.when(background.isRunning()).thenReturn(true);
+
+		Assert.assertEquals(AppendResult.FILTERED, appender.tryAppend(internalEvent));
+
+		Mockito.when(collector.offerLogMsg(logMsg)).thenReturn(true);
+		Assert.assertEquals(AppendResult.ACCEPTED, appender.tryAppend(event));
+
+		Mockito.when(collector.offerLogMsg(logMsg)).thenReturn(false);
+		Assert.assertEquals(AppendResult.DROPPED_FULL, appender.tryAppend(event));
+
+		Mockito.when(collector.offerLogMsg(logMsg, 1000L)).thenReturn(true);
+		Assert.assertEquals(AppendResult.ACCEPTED, appender.tryAppend(event, 1000L));
+
+		appender.close();
+	}
+
+	/**
+	 * testSuppressedErrorSummaries
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testSuppressedErrorSummaries() throws Exception {
+		EventAdapter<String> adapter = Mockito.mock(EventAdapter.class);
+
+		SuppressedError suppressed = new SuppressedError("java.lang.IllegalStateException", null, "com.acme.Service.call", 42, 1000L, 2000L);
+
+		ErrorGovernor governor = Mockito.mock(ErrorGovernor.class);
+		Mockito.when(governor.drainSuppressed(false)).thenReturn(Collections.<SuppressedError>emptyList());
+		Mockito.when(governor.drainSuppressed(true)).thenReturn(Collections.singletonList(suppressed));
+		PowerMockito.whenNew(ErrorGovernor.class).withAnyArguments().thenReturn(governor);
+
+		LogAppender<String> appender = new LogAppender<String>("logger", adapter, new Masker());
+
+		LogCollector collector = Mockito.mock(LogCollector.class);
+		PowerMockito.whenNew(LogCollector.class).withAnyArguments().thenReturn(collector);
+
+		LogBackgroundService background = PowerMockito.mock(LogBackgroundService.class);
+		PowerMockito.whenNew(LogBackgroundService.class).withAnyArguments().thenReturn(background);
+
+		ApiConfiguration config = ApiConfiguration.newBuilder().apiUrl("url").apiKey("key")
+				.envDetail(Mockito.mock(EnvironmentDetail.class)).build();
+
+		appender.activate(config);
+
+		ArgumentCaptor<PendingLogSource> source = ArgumentCaptor.forClass(PendingLogSource.class);
+		Mockito.verify(collector).addPendingSource(source.capture());
+
+		source.getValue().drainTo(collector);
+		Mockito.verify(collector, Mockito.never()).addLogMsg(Mockito.any(LogMsg.class));
+
+		source.getValue().drainAll(collector);
+
+		ArgumentCaptor<LogMsg> logMsg = ArgumentCaptor.forClass(LogMsg.class);
+		Mockito.verify(collector).addLogMsg(logMsg.capture());
+
+		Assert.assertEquals("Error governor suppressed 42 occurrence(s) of java.lang.IllegalStateException at com.acme.Service.call", logMsg.getValue().getMsg());
+		Assert.assertEquals("error", logMsg.getValue().getLevel());
+		Assert.assertEquals(Long.valueOf(2000L), logMsg.getValue().getEpochMs());
+		Assert.assertEquals(Arrays.asList(LogAppender.SUPPRESSED_TAG + 42, LogAppender.FIRST_EPOCH_MS_TAG + 1000, LogCoalescer.LAST_EPOCH_MS_TAG + 2000), logMsg.getValue().getTags());
+
+		appender.close();
+	}
+
 	/**
 	 * testAppendWithoutActivate
 	 *
@@ -188,6 +449,7 @@ public class LogAppenderTest {
 
 		appender.close();
 
-		Mockito.verifyZeroInteractions(collector);
+		Mockito.verify(collector).addPendingSource(Mockito.any(PendingLogSource.class));
+		Mockito.verifyNoMoreInteractions(collector);
 	}
 }
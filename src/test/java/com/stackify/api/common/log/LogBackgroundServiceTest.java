@@ -17,6 +17,7 @@ package com.stackify.api.common.log;
 
 import org.junit.Assert;
 import org.junit.Test;
+import org.mockito.InOrder;
 import org.mockito.Mockito;
 
 /**
@@ -37,6 +38,8 @@ public class LogBackgroundServiceTest {
         LogBackgroundService service = new LogBackgroundService(collector, sender);
 
         Assert.assertFalse(service.isRunning());
+        Assert.assertTrue(service.isWakeUpAllowed());
+        Mockito.verify(collector).setFlushSignal(Mockito.any(Runnable.class));
     }
 
     /**
@@ -50,7 +53,9 @@ public class LogBackgroundServiceTest {
 
         service.shutDown();
 
-        Mockito.verify(collector).flush(Mockito.any(LogTransportDirect.class));
+        InOrder inOrder = Mockito.inOrder(collector);
+        inOrder.verify(collector).flush(Mockito.any(LogTransportDirect.class));
+        inOrder.verify(collector).close();
     }
 
     /**
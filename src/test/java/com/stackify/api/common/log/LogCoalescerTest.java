@@ -0,0 +1,68 @@
+/*
+ * Copyright 2026 Stackify
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stackify.api.common.log;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.stackify.api.LogMsg;
+import com.stackify.api.StackifyError;
+import com.stackify.api.common.collect.MpscRingBuffer;
+
+/**
+ * LogCoalescer JUnit Test
+ */
+public class LogCoalescerTest {
+
+    /**
+     * testOffer
+     */
+    @Test
+    public void testOffer() {
+        LogCoalescer coalescer = new LogCoalescer(60000);
+
+        Assert.assertEquals(LogCoalescer.Result.HELD, coalescer.offer(LogMsg.newBuilder().level("info").msg("a").build()));
+        Assert.assertEquals(LogCoalescer.Result.ABSORBED, coalescer.offer(LogMsg.newBuilder().level("info").msg("a").build()));
+        Assert.assertEquals(LogCoalescer.Result.HELD, coalescer.offer(LogMsg.newBuilder().level("warn").msg("a").build()));
+        Assert.assertEquals(LogCoalescer.Result.HELD, coalescer.offer(LogMsg.newBuilder().level("info").msg("a").transId("t").build()));
+        Assert.assertEquals(LogCoalescer.Result.PASS,
+                coalescer.offer(LogMsg.newBuilder().level("info").msg("a").ex(StackifyError.newBuilder().build()).build()));
+
+        Assert.assertEquals(3, coalescer.size());
+    }
+
+    /**
+     * testWindow
+     */
+    @Test
+    public void testWindow() throws Exception {
+        LogCoalescer coalescer = new LogCoalescer(20);
+        MpscRingBuffer<LogMsg> queue = new MpscRingBuffer<LogMsg>(10);
+
+        coalescer.offer(LogMsg.newBuilder().level("info").msg("a").build());
+        Assert.assertEquals(0, coalescer.drainTo(queue, false));
+
+        Thread.sleep(50);
+
+        Assert.assertEquals(1, coalescer.drainTo(queue, false));
+        Assert.assertNull(queue.poll().getTags());
+
+        // a new window starts after the held message is queued
+
+        Assert.assertEquals(LogCoalescer.Result.HELD, coalescer.offer(LogMsg.newBuilder().level("info").msg("a").build()));
+        Assert.assertEquals(1, coalescer.drainTo(queue, true));
+    }
+}
@@ -20,9 +20,18 @@ import com.stackify.api.EnvironmentDetail;
 import com.stackify.api.LogMsg;
 import com.stackify.api.LogMsgGroup;
 import com.stackify.api.common.AppIdentityService;
+import com.stackify.api.common.collect.OverflowStrategy;
+import com.stackify.api.common.http.HttpResendQueue;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
+
 /**
  * LogCollector JUnit Test
  *
@@ -35,7 +44,7 @@ public class LogCollectorTest {
      */
     @Test
     public void testFlushEmpty() throws Exception {
-        LogTransportDirect sender = Mockito.mock(LogTransportDirect.class);
+        LogTransportDirect sender = mockTransport();
         AppIdentityService appIdentityService = Mockito.mock(AppIdentityService.class);
         LogCollector collector = new LogCollector("logger", Mockito.mock(EnvironmentDetail.class), appIdentityService);
 
@@ -45,12 +54,33 @@ public class LogCollectorTest {
         Mockito.verifyZeroInteractions(appIdentityService);
     }
 
+    /**
+     * testAddAssignsId
+     */
+    @Test
+    public void testAddAssignsId() throws Exception {
+        LogIdGenerator idGenerator = logMsg -> logMsg.setId(0, 42);
+
+        LogCollector collector = new LogCollector("java", "logger", Mockito.mock(EnvironmentDetail.class),
+                Mockito.mock(AppIdentityService.class), new LogLanes(100, 100), false, null, 0, LogBatchLimits.DEFAULT,
+                new LogSendWindow(1), idGenerator);
+
+        LogMsg withoutId = LogMsg.newBuilder().level("info").msg("new").build();
+        LogMsg withId = LogMsg.newBuilder().level("info").msg("resent").id("id").build();
+
+        collector.addLogMsg(withoutId);
+        collector.offerLogMsg(withId, TimeUnit.SECONDS.toNanos(1));
+
+        Assert.assertEquals("00000000-0000-0000-0000-00000000002a", withoutId.getId());
+        Assert.assertEquals("id", withId.getId());
+    }
+
     /**
      * testAddAndFlushWithoutAppIdentity
      */
     @Test
     public void testAddAndFlushWithoutAppIdentity() throws Exception {
-        LogTransportDirect sender = Mockito.mock(LogTransportDirect.class);
+        LogTransportDirect sender = mockTransport();
 
         AppIdentityService appIdentityService = Mockito.mock(AppIdentityService.class);
         Mockito.when(appIdentityService.getAppIdentity()).thenReturn(null);
@@ -71,7 +101,7 @@ public class LogCollectorTest {
      */
     @Test
     public void testAddAndFlushWithAppIdentity() throws Exception {
-        LogTransportDirect sender = Mockito.mock(LogTransportDirect.class);
+        LogTransportDirect sender = mockTransport();
 
         AppIdentityService appIdentityService = Mockito.mock(AppIdentityService.class);
         Mockito.when(appIdentityService.getAppIdentity()).thenReturn(Mockito.mock(AppIdentity.class));
@@ -85,6 +115,352 @@ public class LogCollectorTest {
         collector.flush(sender);
 
         Mockito.verify(appIdentityService).getAppIdentity();
-        Mockito.verify(sender).send(Mockito.any(LogMsgGroup.class));
+        Mockito.verify(sender).encode(Mockito.any(LogMsgGroup.class));
+        Mockito.verify(sender, Mockito.timeout(5000)).send(Mockito.any(LogPayload.class));
+    }
+
+    /**
+     * testAddDropsNewestWhenFull
+     */
+    @Test
+    public void testAddDropsNewestWhenFull() throws Exception {
+        LogTransportDirect sender = mockTransport();
+        AppIdentityService appIdentityService = Mockito.mock(AppIdentityService.class);
+
+        LogCollector collector = new LogCollector("java", "logger", Mockito.mock(EnvironmentDetail.class), appIdentityService,
+                new LogLanes(2, 2, OverflowStrategy.DROP_NEWEST, 0), false, null, 0);
+
+        Assert.assertTrue(collector.offerLogMsg(Mockito.mock(LogMsg.class)));
+        Assert.assertTrue(collector.offerLogMsg(Mockito.mock(LogMsg.class)));
+        Assert.assertFalse(collector.offerLogMsg(Mockito.mock(LogMsg.class)));
+        Assert.assertFalse(collector.offerLogMsg(Mockito.mock(LogMsg.class), TimeUnit.MILLISECONDS.toNanos(1)));
+
+        Assert.assertEquals(2, collector.getDroppedCount());
+        Assert.assertEquals(2, collector.flush(sender));
+    }
+
+    /**
+     * testStripedAddAndFlush
+     */
+    @Test
+    public void testStripedAddAndFlush() throws Exception {
+        LogTransportDirect sender = mockTransport();
+        AppIdentityService appIdentityService = Mockito.mock(AppIdentityService.class);
+
+        LogCollector collector = new LogCollector("java", "logger", Mockito.mock(EnvironmentDetail.class), appIdentityService,
+                new LogLanes(100, 100), true, null, 0);
+
+        collector.addLogMsg(Mockito.mock(LogMsg.class));
+        collector.addLogMsg(Mockito.mock(LogMsg.class));
+        collector.addLogMsg(Mockito.mock(LogMsg.class));
+
+        Assert.assertEquals(3, collector.flush(sender));
+        Assert.assertEquals(0, collector.flush(sender));
+    }
+
+    /**
+     * testCoalesce
+     */
+    @Test
+    public void testCoalesce() throws Exception {
+        LogTransportDirect sender = mockTransport();
+        AppIdentityService appIdentityService = Mockito.mock(AppIdentityService.class);
+
+        LogCollector collector = new LogCollector("java", "logger", Mockito.mock(EnvironmentDetail.class), appIdentityService,
+                new LogLanes(100, 100), false, null, TimeUnit.HOURS.toMillis(1));
+
+        for (int i = 0; i < 1000; ++i) {
+            collector.addLogMsg(LogMsg.newBuilder().level("info").msg("retrying").epochMs(1000L + i).build());
+        }
+
+        collector.addLogMsg(LogMsg.newBuilder().level("info").msg("other").build());
+
+        // held until the window ends (or shut down)
+
+        Assert.assertEquals(0, collector.flush(sender));
+
+        collector.prepareShutDown();
+
+        ArgumentCaptor<LogMsgGroup> groupCaptor = ArgumentCaptor.forClass(LogMsgGroup.class);
+        Assert.assertEquals(2, collector.flush(sender));
+
+        Mockito.verify(sender, Mockito.timeout(5000)).encode(groupCaptor.capture());
+
+        for (LogMsg logMsg : groupCaptor.getValue().getMsgs()) {
+            if ("retrying".equals(logMsg.getMsg())) {
+                Assert.assertEquals(Long.valueOf(1000L), logMsg.getEpochMs());
+                Assert.assertTrue(logMsg.getTags().contains(LogCoalescer.REPEATED_TAG + 1000));
+                Assert.assertTrue(logMsg.getTags().contains(LogCoalescer.LAST_EPOCH_MS_TAG + 1999));
+            } else {
+                Assert.assertNull(logMsg.getTags());
+            }
+        }
+
+        // coalescing is off after shut down
+
+        collector.addLogMsg(LogMsg.newBuilder().level("info").msg("retrying").build());
+        Assert.assertEquals(1, collector.flush(sender));
+    }
+
+    /**
+     * testFlushErrorsFirst
+     */
+    @Test
+    public void testFlushErrorsFirst() throws Exception {
+        LogTransportDirect sender = mockTransport();
+        AppIdentityService appIdentityService = Mockito.mock(AppIdentityService.class);
+
+        LogCollector collector = new LogCollector("java", "logger", Mockito.mock(EnvironmentDetail.class), appIdentityService,
+                new LogLanes(2, 2), false, null, 0);
+
+        collector.addLogMsg(LogMsg.newBuilder().level("info").msg("info 1").build());
+        collector.addLogMsg(LogMsg.newBuilder().level("info").msg("info 2").build());
+        collector.addLogMsg(LogMsg.newBuilder().level("info").msg("info 3").build());
+        collector.addLogMsg(LogMsg.newBuilder().level("error").msg("error").build());
+
+        // the info flood evicts info only
+
+        Assert.assertEquals(1, collector.getDroppedCount());
+
+        ArgumentCaptor<LogMsgGroup> groupCaptor = ArgumentCaptor.forClass(LogMsgGroup.class);
+        Assert.assertEquals(3, collector.flush(sender));
+
+        Mockito.verify(sender, Mockito.timeout(5000)).encode(groupCaptor.capture());
+
+        Assert.assertEquals("error", groupCaptor.getValue().getMsgs().get(0).getMsg());
+        Assert.assertEquals("info 2", groupCaptor.getValue().getMsgs().get(1).getMsg());
+        Assert.assertEquals("info 3", groupCaptor.getValue().getMsgs().get(2).getMsg());
+    }
+
+    /**
+     * testBatchMaxMessages
+     */
+    @Test
+    public void testBatchMaxMessages() throws Exception {
+        LogTransportDirect sender = mockTransport();
+        AppIdentityService appIdentityService = Mockito.mock(AppIdentityService.class);
+
+        LogCollector collector = new LogCollector("java", "logger", Mockito.mock(EnvironmentDetail.class), appIdentityService,
+                new LogLanes(100, 100), false, null, 0, new LogBatchLimits(3, 1048576, 0),
+                new LogSendWindow(1));
+
+        for (int i = 0; i < 7; ++i) {
+            collector.addLogMsg(LogMsg.newBuilder().level("info").msg("short").build());
+        }
+
+        ArgumentCaptor<LogMsgGroup> groupCaptor = ArgumentCaptor.forClass(LogMsgGroup.class);
+        Assert.assertEquals(7, collector.flush(sender));
+
+        Mockito.verify(sender, Mockito.timeout(5000).times(3)).encode(groupCaptor.capture());
+
+        int total = 0;
+
+        for (LogMsgGroup group : groupCaptor.getAllValues()) {
+            Assert.assertTrue(group.getMsgs().size() <= 3);
+            total += group.getMsgs().size();
+        }
+
+        Assert.assertEquals(7, total);
+    }
+
+    /**
+     * testBatchMaxBytes
+     */
+    @Test
+    public void testBatchMaxBytes() throws Exception {
+        LogTransportDirect sender = mockTransport();
+        AppIdentityService appIdentityService = Mockito.mock(AppIdentityService.class);
+
+        LogMsg big = LogMsg.newBuilder().level("info").msg(new String(new char[1000])).build();
+        big.setId(0, 1);
+        long size = LogMsgSizes.estimate(big);
+
+        LogCollector collector = new LogCollector("java", "logger", Mockito.mock(EnvironmentDetail.class), appIdentityService,
+                new LogLanes(100, 100), false, null, 0, new LogBatchLimits(100, 2 * size + 1, 0),
+                new LogSendWindow(1));
+
+        for (int i = 0; i < 5; ++i) {
+            collector.addLogMsg(big.toBuilder().build());
+        }
+
+        // a message larger than the limit is sent on its own
+
+        collector.addLogMsg(LogMsg.newBuilder().level("info").msg(new String(new char[5000])).build());
+
+        ArgumentCaptor<LogMsgGroup> groupCaptor = ArgumentCaptor.forClass(LogMsgGroup.class);
+        Assert.assertEquals(6, collector.flush(sender));
+
+        Mockito.verify(sender, Mockito.timeout(5000).times(4)).encode(groupCaptor.capture());
+
+        int total = 0;
+
+        for (LogMsgGroup group : groupCaptor.getAllValues()) {
+            Assert.assertTrue(group.getMsgs().size() <= 2);
+            total += group.getMsgs().size();
+        }
+
+        Assert.assertEquals(6, total);
+    }
+
+    /**
+     * testBatchLinger
+     */
+    @Test
+    public void testBatchLinger() throws Exception {
+        LogTransportDirect sender = mockTransport();
+        AppIdentityService appIdentityService = Mockito.mock(AppIdentityService.class);
+
+        LogSendWindow sendWindow = new LogSendWindow(1);
+
+        LogCollector collector = new LogCollector("java", "logger", Mockito.mock(EnvironmentDetail.class), appIdentityService,
+                new LogLanes(100, 100), false, null, 0, new LogBatchLimits(3, 1048576, TimeUnit.HOURS.toMillis(1)),
+                sendWindow);
+
+        for (int i = 0; i < 4; ++i) {
+            collector.addLogMsg(LogMsg.newBuilder().level("info").msg("short").build());
+        }
+
+        // the full batch is sent, the last one lingers
+
+        Assert.assertEquals(3, collector.flush(sender));
+
+        collector.addLogMsg(LogMsg.newBuilder().level("info").msg("short").build());
+        Assert.assertEquals(0, collector.flush(sender));
+
+        collector.prepareShutDown();
+        Assert.assertEquals(2, collector.flush(sender));
+
+        // closing releases the sender threads
+        collector.close();
+        Assert.assertTrue(sendWindow.isClosed());
+    }
+
+    /**
+     * testFlushReportsFailure
+     */
+    @Test
+    public void testFlushReportsFailure() throws Exception {
+        LogTransportDirect sender = mockTransport();
+        Mockito.doThrow(new IOException("unavailable")).when(sender).send(Mockito.any(LogPayload.class));
+
+        AppIdentityService appIdentityService = Mockito.mock(AppIdentityService.class);
+
+        LogCollector collector = new LogCollector("java", "logger", Mockito.mock(EnvironmentDetail.class), appIdentityService,
+                new LogLanes(100, 100), false, null, 0, LogBatchLimits.DEFAULT,
+                new LogSendWindow(1, new HttpResendQueue(10, 1000, 1, 0, 0)));
+
+        collector.addLogMsg(LogMsg.newBuilder().level("info").msg("lost").build());
+        collector.prepareShutDown();
+
+        try {
+            collector.flush(sender);
+            Assert.fail();
+        } catch (IOException e) {
+            Assert.assertEquals("unavailable", e.getMessage());
+        }
+
+        Assert.assertEquals(0, collector.getDeliveredCount());
+        Assert.assertEquals(0, collector.flush(sender));
+    }
+
+    /**
+     * testFlushResendsPayload
+     */
+    @Test
+    public void testFlushResendsPayload() throws Exception {
+        LogTransportDirect sender = mockTransport();
+        Mockito.doThrow(new IOException("unavailable")).doNothing().when(sender).send(Mockito.any(LogPayload.class));
+
+        AppIdentityService appIdentityService = Mockito.mock(AppIdentityService.class);
+
+        LogCollector collector = new LogCollector("java", "logger", Mockito.mock(EnvironmentDetail.class), appIdentityService,
+                new LogLanes(100, 100), false, null, 0, LogBatchLimits.DEFAULT,
+                new LogSendWindow(1, new HttpResendQueue(10, 100000, 3, 0, 0)));
+
+        collector.addLogMsg(LogMsg.newBuilder().level("info").msg("retried").build());
+        collector.prepareShutDown();
+
+        try {
+            collector.flush(sender);
+            Assert.fail();
+        } catch (IOException e) {
+            Assert.assertEquals("unavailable", e.getMessage());
+        }
+
+        // the next flush resends the payload, without encoding the group again
+
+        Assert.assertEquals(0, collector.flush(sender));
+        Assert.assertEquals(1, collector.getDeliveredCount());
+
+        ArgumentCaptor<LogPayload> payloadCaptor = ArgumentCaptor.forClass(LogPayload.class);
+
+        Mockito.verify(sender).encode(Mockito.any(LogMsgGroup.class));
+        Mockito.verify(sender, Mockito.times(2)).send(payloadCaptor.capture());
+        Assert.assertSame(payloadCaptor.getAllValues().get(0), payloadCaptor.getAllValues().get(1));
+    }
+
+    /**
+     * testFlushSignalAtThreshold
+     */
+    @Test
+    public void testFlushSignalAtThreshold() throws Exception {
+        LogCollector collector = new LogCollector("java", "logger", Mockito.mock(EnvironmentDetail.class),
+                Mockito.mock(AppIdentityService.class), new LogLanes(100, 100), false, null, 0,
+                new LogBatchLimits(20, 1048576, 0), new LogSendWindow(1));
+
+        AtomicInteger signals = new AtomicInteger();
+        collector.setFlushSignal(signals::incrementAndGet);
+
+        for (int i = 0; i < 19; ++i) {
+            collector.addLogMsg(LogMsg.newBuilder().level("info").msg("msg " + i).build());
+        }
+
+        Assert.assertEquals(0, signals.get());
+
+        // a batch's worth of messages is queued
+
+        collector.addLogMsg(LogMsg.newBuilder().level("info").msg("msg 19").build());
+        Assert.assertEquals(1, signals.get());
+
+        collector.flush(mockTransport());
+
+        collector.addLogMsg(LogMsg.newBuilder().level("info").msg("after flush").build());
+        Assert.assertEquals(1, signals.get());
+    }
+
+    /**
+     * testFlushSignalAtHighWatermark
+     */
+    @Test
+    public void testFlushSignalAtHighWatermark() throws Exception {
+        LogCollector collector = new LogCollector("java", "logger", Mockito.mock(EnvironmentDetail.class),
+                Mockito.mock(AppIdentityService.class), new LogLanes(10, 10), false, null, 0,
+                LogBatchLimits.DEFAULT, new LogSendWindow(1));
+
+        AtomicInteger signals = new AtomicInteger();
+        collector.setFlushSignal(signals::incrementAndGet);
+
+        for (int i = 0; i < 4; ++i) {
+            collector.addLogMsg(LogMsg.newBuilder().level("info").msg("msg " + i).build());
+        }
+
+        Assert.assertEquals(0, signals.get());
+
+        // half the queue is used, well under a batch
+
+        collector.addLogMsg(LogMsg.newBuilder().level("info").msg("msg 4").build());
+        Assert.assertEquals(1, signals.get());
+    }
+
+    /**
+     * @return A mock transport encoding each group to a payload of its size
+     */
+    private static LogTransportDirect mockTransport() throws Exception {
+        LogTransportDirect sender = Mockito.mock(LogTransportDirect.class);
+        Mockito.when(sender.encode(Mockito.any(LogMsgGroup.class))).thenAnswer(invocation -> {
+            LogMsgGroup group = invocation.getArgument(0);
+            return new LogPayload(new byte[] {1}, group.getMsgs().size());
+        });
+        return sender;
     }
 }
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2026 Stackify
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stackify.api.common.log;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.stackify.api.LogMsg;
+import com.stackify.api.StackifyError;
+import com.stackify.api.WebRequestDetail;
+
+/**
+ * LogContextSnapshot JUnit Test
+ */
+public class LogContextSnapshotTest {
+
+    /**
+     * Clears the servlet logging context
+     */
+    @After
+    public void clear() {
+        ServletLogContext.clear();
+    }
+
+    /**
+     * testCaptureAndApply
+     */
+    @Test
+    public void testCaptureAndApply() throws Exception {
+        ServletLogContext.putTransactionId("tx");
+        ServletLogContext.putUser("user");
+        ServletLogContext.putWebRequest(WebRequestDetail.newBuilder().requestUrl("/path").build());
+
+        final LogContextSnapshot snapshot = LogContextSnapshot.capture(true);
+
+        ServletLogContext.clear();
+
+        // apply on a "background" thread without any context
+
+        final LogMsg logMsg = LogMsg.newBuilder().msg("msg").ex(StackifyError.newBuilder().build()).build();
+
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                snapshot.applyTo(logMsg);
+            }
+        });
+        thread.start();
+        thread.join();
+
+        Assert.assertEquals("tx", logMsg.getTransId());
+        Assert.assertEquals("user", logMsg.getEx().getUserName());
+        Assert.assertEquals("/path", logMsg.getEx().getWebRequestDetail().getRequestUrl());
+    }
+
+    /**
+     * testCaptureWithoutErrorContext
+     */
+    @Test
+    public void testCaptureWithoutErrorContext() {
+        ServletLogContext.putTransactionId("tx");
+        ServletLogContext.putUser("user");
+
+        LogContextSnapshot snapshot = LogContextSnapshot.capture(false);
+
+        Assert.assertEquals("tx", snapshot.getTransactionId());
+        Assert.assertNull(snapshot.getUser());
+
+        LogMsg logMsg = LogMsg.newBuilder().msg("msg").transId("other").build();
+        snapshot.applyTo(logMsg);
+
+        Assert.assertEquals("tx", logMsg.getTransId());
+        Assert.assertNull(logMsg.getEx());
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2026 Stackify
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stackify.api.common.log;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.stackify.api.ErrorItem;
+import com.stackify.api.LogMsg;
+import com.stackify.api.StackifyError;
+import com.stackify.api.common.collect.OverflowStrategy;
+
+/**
+ * LogLanes JUnit Test
+ */
+public class LogLanesTest {
+
+    /**
+     * testLaneOf
+     */
+    @Test
+    public void testLaneOf() {
+        Assert.assertEquals(LogLanes.ERROR, LogLanes.laneOf(msg("fatal", "m")));
+        Assert.assertEquals(LogLanes.ERROR, LogLanes.laneOf(msg("SEVERE", "m")));
+        Assert.assertEquals(LogLanes.ERROR, LogLanes.laneOf(LogMsg.newBuilder().level("info")
+                .ex(StackifyError.newBuilder().error(ErrorItem.newBuilder().build()).build()).build()));
+        Assert.assertEquals(LogLanes.WARN, LogLanes.laneOf(msg("warning", "m")));
+        Assert.assertEquals(LogLanes.INFO, LogLanes.laneOf(msg("info", "m")));
+        Assert.assertEquals(LogLanes.INFO, LogLanes.laneOf(msg(null, "m")));
+        Assert.assertEquals(LogLanes.INFO, LogLanes.laneOf(msg("custom", "m")));
+        Assert.assertEquals(LogLanes.DEBUG, LogLanes.laneOf(msg("trace", "m")));
+        Assert.assertEquals(LogLanes.DEBUG, LogLanes.laneOf(msg("fine", "m")));
+    }
+
+    /**
+     * testEvictsLowestLevelFirst
+     */
+    @Test
+    public void testEvictsLowestLevelFirst() {
+        LogLanes lanes = new LogLanes(3, 2);
+
+        Assert.assertTrue(lanes.offer(msg("debug", "d")));
+        Assert.assertTrue(lanes.offer(msg("info", "i")));
+        Assert.assertTrue(lanes.offer(msg("warn", "w1")));
+
+        Assert.assertTrue(lanes.offer(msg("warn", "w2")));
+        Assert.assertEquals(0, lanes.size(LogLanes.DEBUG));
+
+        Assert.assertTrue(lanes.offer(msg("warn", "w3")));
+        Assert.assertEquals(0, lanes.size(LogLanes.INFO));
+
+        // only warn messages left, the oldest one goes
+
+        Assert.assertTrue(lanes.offer(msg("warn", "w4")));
+
+        // a lower level never evicts a higher one
+
+        Assert.assertFalse(lanes.offer(msg("debug", "d2")));
+        Assert.assertFalse(lanes.offer(msg("info", "i2")));
+        Assert.assertEquals(3, lanes.size(LogLanes.WARN));
+
+        Assert.assertEquals(5, lanes.getDroppedCount());
+        Assert.assertEquals(Arrays.asList("w2", "w3", "w4"), drain(lanes));
+    }
+
+    /**
+     * testErrorsNotEvicted
+     */
+    @Test
+    public void testErrorsNotEvicted() {
+        LogLanes lanes = new LogLanes(2, 2);
+
+        Assert.assertTrue(lanes.offer(msg("error", "e1")));
+
+        for (int i = 0; i < 100; ++i) {
+            Assert.assertTrue(lanes.offer(msg("info", "i" + i)));
+        }
+
+        Assert.assertTrue(lanes.offer(msg("fatal", "e2")));
+        Assert.assertEquals(4, lanes.size());
+        Assert.assertEquals(98, lanes.getDroppedCount());
+
+        // error lane first
+
+        Assert.assertEquals(Arrays.asList("e1", "e2", "i98", "i99"), drain(lanes));
+    }
+
+    /**
+     * testDropNewest
+     */
+    @Test
+    public void testDropNewest() {
+        LogLanes lanes = new LogLanes(2, 2, OverflowStrategy.DROP_NEWEST, 0);
+
+        Assert.assertTrue(lanes.offer(msg("debug", "d")));
+        Assert.assertTrue(lanes.offer(msg("info", "i1")));
+
+        // still evicts a lower level
+
+        Assert.assertTrue(lanes.offer(msg("info", "i2")));
+        Assert.assertFalse(lanes.offer(msg("info", "i3")));
+        Assert.assertFalse(lanes.offerWithin(msg("info", "i4"), TimeUnit.MILLISECONDS.toNanos(1)));
+
+        Assert.assertTrue(lanes.offer(msg("error", "e1")));
+        Assert.assertTrue(lanes.offer(msg("error", "e2")));
+        Assert.assertFalse(lanes.offer(msg("error", "e3")));
+
+        Assert.assertEquals(4, lanes.getDroppedCount());
+        Assert.assertEquals(Arrays.asList("e1", "e2", "i1", "i2"), drain(lanes));
+    }
+
+    /**
+     * testOfferAll
+     */
+    @Test
+    public void testOfferAll() {
+        LogLanes lanes = new LogLanes(3, 2, OverflowStrategy.BLOCK, TimeUnit.MINUTES.toNanos(5));
+
+        Assert.assertTrue(lanes.offer(msg("debug", "d1")));
+        Assert.assertTrue(lanes.offer(msg("info", "i1")));
+
+        LogMsg[] chunk = {msg("warn", "w1"), msg("error", "e1"), msg("debug", "d2"), msg("warn", "w2"),
+            msg("error", "e2"), msg("error", "e3"), msg("info", "i2")};
+
+        // warn evicts debug, info and debug do not fit, the third error overflows its lane
+
+        Assert.assertEquals(4, lanes.offerAll(chunk, chunk.length));
+        Assert.assertNull(chunk[0]);
+        Assert.assertNull(chunk[1]);
+        Assert.assertEquals("d2", chunk[2].getMsg());
+        Assert.assertNull(chunk[3]);
+        Assert.assertNull(chunk[4]);
+        Assert.assertEquals("e3", chunk[5].getMsg());
+        Assert.assertEquals("i2", chunk[6].getMsg());
+
+        Assert.assertEquals(4, lanes.getDroppedCount());
+        Assert.assertEquals(Arrays.asList("e1", "e2", "w1", "w2", "i1"), drain(lanes));
+    }
+
+    /**
+     * testBlock
+     */
+    @Test
+    public void testBlock() throws Exception {
+        final LogLanes lanes = new LogLanes(2, 2, OverflowStrategy.BLOCK, TimeUnit.SECONDS.toNanos(5));
+
+        Assert.assertTrue(lanes.offer(msg("info", "i1")));
+        Assert.assertTrue(lanes.offer(msg("info", "i2")));
+        Assert.assertFalse(lanes.offer(msg("info", "i3"), TimeUnit.MILLISECONDS.toNanos(1)));
+
+        Thread consumer = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            lanes.drainTo(new ArrayList<LogMsg>(), 1);
+        });
+
+        consumer.start();
+
+        Assert.assertTrue(lanes.offer(msg("info", "i4")));
+
+        consumer.join();
+
+        Assert.assertEquals(Arrays.asList("i2", "i4"), drain(lanes));
+    }
+
+    /**
+     * @param level The level
+     * @param text The message
+     * @return The log message
+     */
+    private static LogMsg msg(final String level, final String text) {
+        return LogMsg.newBuilder().level(level).msg(text).build();
+    }
+
+    /**
+     * @param lanes The lanes
+     * @return The messages drained from the lanes
+     */
+    private static List<String> drain(final LogLanes lanes) {
+        List<LogMsg> batch = new ArrayList<LogMsg>();
+        lanes.drainTo(batch, Integer.MAX_VALUE);
+
+        List<String> msgs = new ArrayList<String>();
+
+        for (LogMsg logMsg : batch) {
+            msgs.add(logMsg.getMsg());
+        }
+
+        return msgs;
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2026 Stackify
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stackify.api.common.log;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stackify.api.Container;
+import com.stackify.api.LogMsg;
+import com.stackify.api.LogMsgGroup;
+import com.stackify.api.StackifyError;
+import com.stackify.api.common.lang.Throwables;
+import com.stackify.api.common.proto.LogMsgGroupConverter;
+import com.stackify.api.common.proto.StackifyProto;
+
+/**
+ * LogMsgGroupEncoder JUnit Test
+ */
+public class LogMsgGroupEncoderTest {
+
+    /**
+     * testToJson
+     */
+    @Test
+    public void testToJson() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        LogMsgGroupEncoder encoder = new LogMsgGroupEncoder(objectMapper);
+
+        LogMsgGroup group = group();
+
+        for (int i = 0; i < 2; ++i) {
+            Assert.assertEquals(objectMapper.readTree(objectMapper.writeValueAsBytes(group)),
+                    objectMapper.readTree(encoder.toJson(group)));
+        }
+
+        // a new identity invalidates the header
+
+        LogMsgGroup other = group.toBuilder().cdId(2).envId(3).container(null).build();
+        Assert.assertEquals(objectMapper.readTree(objectMapper.writeValueAsBytes(other)),
+                objectMapper.readTree(encoder.toJson(other)));
+
+        // no header member, no message
+
+        LogMsgGroup empty = LogMsgGroup.newBuilder().msgs(new ArrayList<LogMsg>()).build();
+        Assert.assertEquals(objectMapper.readTree(objectMapper.writeValueAsBytes(empty)),
+                objectMapper.readTree(encoder.toJson(empty)));
+
+        LogMsgGroup noMsgs = group.toBuilder().msgs(null).build();
+        Assert.assertEquals(objectMapper.readTree(objectMapper.writeValueAsBytes(noMsgs)),
+                objectMapper.readTree(encoder.toJson(noMsgs)));
+    }
+
+    /**
+     * testToProtobuf
+     */
+    @Test
+    public void testToProtobuf() throws Exception {
+        LogMsgGroupEncoder encoder = new LogMsgGroupEncoder(new ObjectMapper());
+
+        LogMsgGroup group = group();
+
+        for (int i = 0; i < 2; ++i) {
+            Assert.assertEquals(LogMsgGroupConverter.convert(group), StackifyProto.LogGroup.parseFrom(encoder.toProtobuf(group)));
+        }
+
+        LogMsgGroup other = group.toBuilder().appName("other").msgs(Collections.singletonList(group.getMsgs().get(0))).build();
+        Assert.assertEquals(LogMsgGroupConverter.convert(other), StackifyProto.LogGroup.parseFrom(encoder.toProtobuf(other)));
+    }
+
+    /**
+     * @return A log message group with a header and messages
+     */
+    private static LogMsgGroup group() {
+        StackifyError error = StackifyError.newBuilder()
+                .error(Throwables.toErrorItem("error", new IllegalStateException("failed")))
+                .build();
+
+        return LogMsgGroup.newBuilder()
+                .cdId(1)
+                .appNameId("app")
+                .env("prod")
+                .serverName("server")
+                .appName("app \"name\"")
+                .platform("java")
+                .logger("logger")
+                .container(Container.newBuilder().containerId("c1").build())
+                .msgs(Arrays.asList(
+                        LogMsg.newBuilder().level("info").msg("first").epochMs(1L).build(),
+                        LogMsg.newBuilder().level("error").msg("second").ex(error).tags(Arrays.asList("a", "b")).build()))
+                .build();
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2026 Stackify
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stackify.api.common.log;
+
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.stackify.api.LogMsg;
+
+/**
+ * LogMsgPool JUnit Test
+ */
+public class LogMsgPoolTest {
+
+    /**
+     * testAcquireRelease
+     */
+    @Test
+    public void testAcquireRelease() {
+        LogMsgPool pool = new LogMsgPool(4);
+        Assert.assertEquals(0, pool.size());
+
+        LogMsg slot = pool.acquire();
+        slot.setMsg("msg");
+        slot.setLevel("info");
+        slot.setEpochMs(1L);
+        slot.setId("id");
+
+        pool.release(slot);
+        Assert.assertEquals(1, pool.size());
+
+        LogMsg recycled = pool.acquire();
+        Assert.assertSame(slot, recycled);
+        Assert.assertNull(recycled.getMsg());
+        Assert.assertNull(recycled.getLevel());
+        Assert.assertNull(recycled.getEpochMs());
+        Assert.assertFalse(recycled.hasId());
+        Assert.assertEquals(0, pool.size());
+    }
+
+    /**
+     * testReleaseWhenFull
+     */
+    @Test
+    public void testReleaseWhenFull() {
+        LogMsgPool pool = new LogMsgPool(2);
+
+        pool.releaseAll(Arrays.asList(new LogMsg(), new LogMsg(), new LogMsg()));
+
+        Assert.assertEquals(2, pool.size());
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2026 Stackify
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stackify.api.common.log;
+
+import java.util.Collections;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stackify.api.LogMsg;
+import com.stackify.api.StackifyError;
+import com.stackify.api.common.lang.Throwables;
+
+/**
+ * LogMsgSizes JUnit Test
+ */
+public class LogMsgSizesTest {
+
+    /**
+     * testEstimate
+     */
+    @Test
+    public void testEstimate() throws Exception {
+        assertClose(LogMsg.newBuilder().build());
+        assertClose(LogMsg.newBuilder().level("info").msg("hello world").th("main").epochMs(1L).build());
+        assertClose(LogMsg.newBuilder().level("info").msg(new String(new char[10000]).replace('\0', 'x'))
+                .tags(Collections.singletonList("tag")).srcMethod("com.acme.Foo.bar").srcLine(12).build());
+
+        StackifyError error = StackifyError.newBuilder()
+                .error(Throwables.toErrorItem("error", new IllegalStateException(new RuntimeException("cause"))))
+                .serverVariables(Collections.singletonMap("java.version", "1.8"))
+                .occurredEpochMillis(1L)
+                .build();
+
+        assertClose(LogMsg.newBuilder().level("error").msg("error").ex(error).build());
+    }
+
+    /**
+     * Asserts the estimate is within a factor of two of the JSON size
+     * @param logMsg The log message
+     */
+    private static void assertClose(final LogMsg logMsg) throws Exception {
+        long estimate = LogMsgSizes.estimate(logMsg);
+        int actual = new ObjectMapper().writeValueAsBytes(logMsg).length;
+
+        Assert.assertTrue(estimate + " < " + actual, actual / 2 <= estimate);
+        Assert.assertTrue(estimate + " > " + actual, estimate <= actual * 2);
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2026 Stackify
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stackify.api.common.log;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.stackify.api.LogMsg;
+import com.stackify.api.StackifyError;
+import com.stackify.api.common.ApiConfiguration;
+
+/**
+ * LogSampler JUnit Test
+ */
+public class LogSamplerTest {
+
+    /**
+     * testFromConfiguration
+     */
+    @Test
+    public void testFromConfiguration() {
+        Assert.assertNull(LogSampler.fromConfiguration(ApiConfiguration.newBuilder().build()));
+        Assert.assertNull(LogSampler.fromConfiguration(ApiConfiguration.newBuilder().logSampleRate(1.0).build()));
+        Assert.assertNotNull(LogSampler.fromConfiguration(ApiConfiguration.newBuilder().logSampleRate(0.5).build()));
+        Assert.assertNotNull(LogSampler.fromConfiguration(ApiConfiguration.newBuilder().logSampleLevels("debug=10").build()));
+        Assert.assertNotNull(LogSampler.fromConfiguration(ApiConfiguration.newBuilder().logSampleLoggerRate(10.0).build()));
+    }
+
+    /**
+     * testErrorsBypass
+     */
+    @Test
+    public void testErrorsBypass() {
+        LogSampler sampler = new LogSampler(Collections.<String, Double>emptyMap(), 0, 0, false);
+
+        Assert.assertFalse(sampler.sample(LogMsg.newBuilder().level("info").build(), "com.acme.Foo"));
+        Assert.assertTrue(sampler.sample(LogMsg.newBuilder().level("error").build(), "com.acme.Foo"));
+        Assert.assertTrue(sampler.sample(LogMsg.newBuilder().level("info").ex(StackifyError.newBuilder().build()).build(), "com.acme.Foo"));
+    }
+
+    /**
+     * testLevelBucket
+     */
+    @Test
+    public void testLevelBucket() {
+        Map<String, Double> levelRates = new HashMap<String, Double>();
+        levelRates.put("DEBUG", 0.001);
+
+        LogSampler sampler = new LogSampler(levelRates, 0, 1, false);
+
+        Assert.assertTrue(sampler.sample(LogMsg.newBuilder().level("debug").build(), null));
+        Assert.assertFalse(sampler.sample(LogMsg.newBuilder().level("debug").build(), null));
+        Assert.assertFalse(sampler.sample(LogMsg.newBuilder().level("debug").build(), null));
+        Assert.assertTrue(sampler.sample(LogMsg.newBuilder().level("info").build(), null));
+    }
+
+    /**
+     * testLoggerBucket
+     */
+    @Test
+    public void testLoggerBucket() {
+        LogSampler sampler = new LogSampler(Collections.<String, Double>emptyMap(), 0.001, 1, false);
+
+        Assert.assertTrue(sampler.sample(LogMsg.newBuilder().level("info").build(), "com.acme.Foo"));
+        Assert.assertFalse(sampler.sample(LogMsg.newBuilder().level("info").build(), "com.acme.Foo"));
+        Assert.assertTrue(sampler.sample(LogMsg.newBuilder().level("info").build(), "com.acme.Bar"));
+    }
+
+    /**
+     * testLevelTokenReturned
+     */
+    @Test
+    public void testLevelTokenReturned() {
+        Map<String, Double> levelRates = new HashMap<String, Double>();
+        levelRates.put("info", 2.0);
+
+        LogSampler sampler = new LogSampler(levelRates, 0.001, 1, false);
+
+        Assert.assertTrue(sampler.sample(LogMsg.newBuilder().level("info").build(), "com.acme.Foo"));
+
+        // dropped by the logger bucket, the level token is not spent
+
+        Assert.assertFalse(sampler.sample(LogMsg.newBuilder().level("info").build(), "com.acme.Foo"));
+        Assert.assertTrue(sampler.sample(LogMsg.newBuilder().level("info").build(), "com.acme.Bar"));
+    }
+
+    /**
+     * testConsistentSampling
+     */
+    @Test
+    public void testConsistentSampling() {
+        LogSampler sampler = new LogSampler(Collections.<String, Double>emptyMap(), 0, 0.5, true);
+
+        int kept = 0;
+
+        for (int i = 0; i < 1000; ++i) {
+            String transId = "trans-" + i;
+            boolean first = sampler.sample(LogMsg.newBuilder().level("info").transId(transId).build(), null);
+
+            for (int j = 0; j < 5; ++j) {
+                Assert.assertEquals(first, sampler.sample(LogMsg.newBuilder().level("info").transId(transId).build(), null));
+            }
+
+            if (first) {
+                ++kept;
+            }
+        }
+
+        Assert.assertTrue(400 < kept && kept < 600);
+    }
+
+    /**
+     * testTags
+     */
+    @Test
+    public void testTags() {
+        LogSampler sampler = new LogSampler(Collections.<String, Double>emptyMap(), 0, 0.999999, true);
+
+        LogMsg logMsg = LogMsg.newBuilder().level("info").tags(Collections.singletonList("existing")).build();
+
+        for (int i = 0; i < 100 && !sampler.sample(logMsg, null); ++i) {
+            logMsg.setTags(Collections.singletonList("existing"));
+        }
+
+        Assert.assertTrue(logMsg.getTags().contains("existing"));
+        Assert.assertTrue(logMsg.getTags().contains(LogSampler.SAMPLE_RATE_TAG + 0.999999));
+
+        Map<String, Double> levelRates = new HashMap<String, Double>();
+        levelRates.put("info", 1000000.0);
+
+        LogMsg unsampled = LogMsg.newBuilder().level("info").build();
+        Assert.assertTrue(new LogSampler(levelRates, 0, 1, false).sample(unsampled, null));
+        Assert.assertNull(unsampled.getTags());
+    }
+}
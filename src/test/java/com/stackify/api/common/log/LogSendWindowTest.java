@@ -0,0 +1,325 @@
+/*
+ * Copyright 2026 Stackify
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stackify.api.common.log;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.stackify.api.LogMsg;
+import com.stackify.api.LogMsgGroup;
+import com.stackify.api.common.http.HttpException;
+import com.stackify.api.common.http.HttpResendQueue;
+
+/**
+ * LogSendWindow JUnit Test
+ */
+public class LogSendWindowTest {
+
+    /**
+     * testBoundedInFlight
+     */
+    @Test
+    public void testBoundedInFlight() throws Exception {
+        LogSendWindow window = new LogSendWindow(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+
+        window.send(new TestTransport(payload -> {
+            started.countDown();
+            release.await();
+        }), group(2));
+
+        Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        Thread second = new Thread(() -> {
+            try {
+                window.send(new TestTransport(payload -> { }), group(3));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        second.start();
+
+        // the second send waits for a free slot
+
+        second.join(100);
+        Assert.assertTrue(second.isAlive());
+        Assert.assertEquals(1, window.getInFlightCount());
+
+        release.countDown();
+        second.join(5000);
+
+        Assert.assertTrue(window.awaitIdle(5000));
+        Assert.assertEquals(5, window.getDeliveredCount());
+    }
+
+    /**
+     * testOrderedCompletion
+     */
+    @Test
+    public void testOrderedCompletion() throws Exception {
+        LogSendWindow window = new LogSendWindow(2);
+        CountDownLatch release = new CountDownLatch(1);
+
+        window.send(new TestTransport(payload -> release.await()), group(2));
+        CompletableFuture<Void> second = window.send(new TestTransport(payload -> { }), group(3));
+
+        second.get(5, TimeUnit.SECONDS);
+
+        // the second group completed first, it is not delivered before the first one
+
+        Assert.assertEquals(0, window.getDeliveredCount());
+        Assert.assertEquals(2, window.getInFlightCount());
+
+        release.countDown();
+
+        Assert.assertTrue(window.awaitIdle(5000));
+        Assert.assertEquals(5, window.getDeliveredCount());
+        Assert.assertNull(window.takeFailure());
+    }
+
+    /**
+     * testClose
+     */
+    @Test
+    public void testClose() throws Exception {
+        LogSendWindow window = new LogSendWindow(2);
+        CountDownLatch release = new CountDownLatch(1);
+
+        window.send(new TestTransport(payload -> release.await()), group(2));
+
+        // the group still in flight after the wait completes on its thread
+
+        Assert.assertFalse(window.close(10));
+        Assert.assertTrue(window.isClosed());
+
+        release.countDown();
+
+        Assert.assertTrue(window.awaitIdle(5000));
+        Assert.assertEquals(2, window.getDeliveredCount());
+        Assert.assertTrue(window.close(0));
+    }
+
+    /**
+     * testFailure
+     */
+    @Test
+    public void testFailure() throws Exception {
+        LogSendWindow window = new LogSendWindow(2, new HttpResendQueue(10, 1000, 2, 0, 0));
+        IOException failure = new IOException("unavailable");
+
+        TestTransport failing = new TestTransport(payload -> {
+            throw failure;
+        });
+
+        window.send(failing, group(2));
+        window.send(new TestTransport(payload -> { }), group(3));
+
+        Assert.assertTrue(window.awaitIdle(5000));
+
+        // the failed payload waits for a resend
+
+        Assert.assertEquals(3, window.getDeliveredCount());
+        Assert.assertEquals(0, window.getFailedCount());
+        Assert.assertEquals(1, window.getResendCount());
+        Assert.assertSame(failure, window.takeFailure());
+        Assert.assertNull(window.takeFailure());
+
+        // the second attempt fails as well, the payload is dropped
+
+        Assert.assertEquals(1, window.resendDue(System.currentTimeMillis()));
+        Assert.assertTrue(window.awaitIdle(5000));
+
+        Assert.assertEquals(2, window.getFailedCount());
+        Assert.assertEquals(0, window.getResendCount());
+        Assert.assertEquals(1, failing.encoded.get());
+        Assert.assertEquals(2, failing.sent.size());
+        Assert.assertSame(failing.sent.get(0), failing.sent.get(1));
+    }
+
+    /**
+     * testResendSamePayload
+     */
+    @Test
+    public void testResendSamePayload() throws Exception {
+        LogSendWindow window = new LogSendWindow(1, new HttpResendQueue(10, 1000, 3, 0, 0));
+        AtomicInteger attempts = new AtomicInteger();
+
+        TestTransport transport = new TestTransport(payload -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IOException("unavailable");
+            }
+        });
+
+        window.send(transport, group(2));
+        Assert.assertTrue(window.awaitIdle(5000));
+        Assert.assertNotNull(window.takeFailure());
+
+        Assert.assertEquals(1, window.resendDue(System.currentTimeMillis()));
+        Assert.assertTrue(window.awaitIdle(5000));
+
+        // encoded once, the same bytes were sent twice
+
+        Assert.assertEquals(2, window.getDeliveredCount());
+        Assert.assertEquals(0, window.getFailedCount());
+        Assert.assertEquals(1, transport.encoded.get());
+        Assert.assertEquals(2, transport.sent.size());
+        Assert.assertSame(transport.sent.get(0), transport.sent.get(1));
+    }
+
+    /**
+     * testClientErrorNotResent
+     */
+    @Test
+    public void testClientErrorNotResent() throws Exception {
+        LogSendWindow window = new LogSendWindow(1, new HttpResendQueue(10, 1000, 3, 0, 0));
+
+        window.send(new TestTransport(payload -> {
+            throw new HttpException(400);
+        }), group(2));
+
+        Assert.assertTrue(window.awaitIdle(5000));
+
+        Assert.assertEquals(2, window.getFailedCount());
+        Assert.assertEquals(0, window.getResendCount());
+        Assert.assertTrue(window.takeFailure() instanceof HttpException);
+    }
+
+    /**
+     * testGroupTransport
+     */
+    @Test
+    public void testGroupTransport() throws Exception {
+        LogSendWindow window = new LogSendWindow(1, new HttpResendQueue(10, 1000, 3, 0, 0));
+        IOException failure = new IOException("unavailable");
+        List<String> sent = new ArrayList<String>();
+        AtomicInteger attempts = new AtomicInteger();
+
+        // a transport implementing only send(LogMsgGroup), failing on its first attempt
+
+        LogTransport transport = group -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw failure;
+            }
+
+            sent.add(group.getMsgs().get(0).getMsg());
+        };
+
+        LogMsgGroup group = group(3);
+        window.send(transport, group);
+
+        // the messages are recycled once the send returns, the transport gets a copy
+
+        group.getMsgs().get(0).setMsg(null);
+
+        Assert.assertTrue(window.awaitIdle(5000));
+        Assert.assertEquals(0, window.getDeliveredCount());
+        Assert.assertEquals(0, window.getFailedCount());
+        Assert.assertEquals(1, window.getResendCount());
+        Assert.assertSame(failure, window.takeFailure());
+
+        // the copy is resent
+
+        Assert.assertEquals(1, window.resendDue(Long.MAX_VALUE));
+        Assert.assertTrue(window.awaitIdle(5000));
+
+        Assert.assertEquals(3, window.getDeliveredCount());
+        Assert.assertEquals(0, window.getResendCount());
+        Assert.assertEquals(Arrays.asList("msg 0"), sent);
+    }
+
+    /**
+     * @param size Number of messages
+     * @return A log message group
+     */
+    private static LogMsgGroup group(final int size) {
+        LogMsg[] msgs = new LogMsg[size];
+
+        for (int i = 0; i < size; ++i) {
+            msgs[i] = LogMsg.newBuilder().msg("msg " + i).build();
+        }
+
+        return LogMsgGroup.newBuilder().msgs(Arrays.asList(msgs)).build();
+    }
+
+    /**
+     * Sends a payload
+     */
+    private interface PayloadSender {
+
+        /**
+         * @param payload The payload
+         */
+        void send(LogPayload payload) throws Exception;
+    }
+
+    /**
+     * Transport counting the encodes and recording the payloads sent
+     */
+    private static class TestTransport implements LogTransport {
+
+        /**
+         * Sends the payloads
+         */
+        private final PayloadSender sender;
+
+        /**
+         * Number of groups encoded
+         */
+        private final AtomicInteger encoded = new AtomicInteger();
+
+        /**
+         * Payloads sent, in order
+         */
+        private final List<LogPayload> sent = new ArrayList<LogPayload>();
+
+        /**
+         * @param sender Sends the payloads
+         */
+        private TestTransport(final PayloadSender sender) {
+            this.sender = sender;
+        }
+
+        @Override
+        public void send(final LogMsgGroup group) throws Exception {
+            send(encode(group));
+        }
+
+        @Override
+        public LogPayload encode(final LogMsgGroup group) {
+            encoded.incrementAndGet();
+            return new LogPayload(new byte[] {1}, group.getMsgs().size());
+        }
+
+        @Override
+        public void send(final LogPayload payload) throws Exception {
+            synchronized (sent) {
+                sent.add(payload);
+            }
+
+            sender.send(payload);
+        }
+    }
+}
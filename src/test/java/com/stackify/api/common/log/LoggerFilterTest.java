@@ -0,0 +1,118 @@
+/*
+ * Copyright 2026 Stackify
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stackify.api.common.log;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.stackify.api.common.ApiConfiguration;
+
+/**
+ * LoggerFilter JUnit Test
+ */
+public class LoggerFilterTest {
+
+    /**
+     * testNoRules
+     */
+    @Test
+    public void testNoRules() {
+        LoggerFilter filter = LoggerFilter.newBuilder().build();
+
+        Assert.assertTrue(filter.isLoggable("com.acme.Foo", "debug"));
+        Assert.assertTrue(filter.isLoggable(null, null));
+    }
+
+    /**
+     * testExclude
+     */
+    @Test
+    public void testExclude() {
+        LoggerFilter filter = LoggerFilter.newBuilder().exclude("com.stackify.").exclude("org.hibernate.*").build();
+
+        Assert.assertFalse(filter.isLoggable("com.stackify.api.common.log.LogBackgroundService", "info"));
+        Assert.assertFalse(filter.isLoggable("org.hibernate.SQL", "info"));
+        Assert.assertFalse(filter.isLoggable("org.hibernate", "info"));
+        Assert.assertTrue(filter.isLoggable("org.hibernatex.SQL", "info"));
+        Assert.assertTrue(filter.isLoggable("com.acme.Foo", "info"));
+
+        // cached decision
+
+        Assert.assertFalse(filter.isLoggable("org.hibernate.SQL", "info"));
+    }
+
+    /**
+     * testInclude
+     */
+    @Test
+    public void testInclude() {
+        LoggerFilter filter = LoggerFilter.newBuilder()
+                .include("com.acme")
+                .exclude("com.acme.noisy")
+                .include("com.acme.noisy.Important")
+                .build();
+
+        Assert.assertTrue(filter.isLoggable("com.acme.Foo", "info"));
+        Assert.assertFalse(filter.isLoggable("org.example.Foo", "info"));
+        Assert.assertFalse(filter.isLoggable("com.acme.noisy.Chatty", "error"));
+        Assert.assertTrue(filter.isLoggable("com.acme.noisy.Important", "info"));
+        Assert.assertTrue(filter.isLoggable(null, "info"));
+    }
+
+    /**
+     * testMinLevel
+     */
+    @Test
+    public void testMinLevel() {
+        LoggerFilter filter = LoggerFilter.newBuilder()
+                .minLevel("info")
+                .minLevel("org.springframework", "WARN")
+                .minLevel("org.springframework.web", "debug")
+                .build();
+
+        Assert.assertFalse(filter.isLoggable("com.acme.Foo", "debug"));
+        Assert.assertTrue(filter.isLoggable("com.acme.Foo", "INFO"));
+        Assert.assertFalse(filter.isLoggable("org.springframework.beans.Factory", "info"));
+        Assert.assertTrue(filter.isLoggable("org.springframework.beans.Factory", "error"));
+        Assert.assertTrue(filter.isLoggable("org.springframework.web.Servlet", "debug"));
+        Assert.assertFalse(filter.isLoggable(null, "trace"));
+        Assert.assertTrue(filter.isLoggable("com.acme.Foo", null));
+        Assert.assertTrue(filter.isLoggable("com.acme.Foo", "custom"));
+    }
+
+    /**
+     * testFromConfiguration
+     */
+    @Test
+    public void testFromConfiguration() {
+        ApiConfiguration config = ApiConfiguration.newBuilder()
+                .logFilterExclude("org.hibernate, org.apache.http")
+                .logFilterMinLevel("debug")
+                .logFilterLevels("org.springframework=warn,com.acme.noisy=error")
+                .build();
+
+        LoggerFilter filter = LoggerFilter.fromConfiguration(config, true);
+
+        Assert.assertFalse(filter.isLoggable("com.stackify.api.Foo", "error"));
+        Assert.assertFalse(filter.isLoggable("org.apache.http.wire", "error"));
+        Assert.assertFalse(filter.isLoggable("com.acme.Foo", "trace"));
+        Assert.assertTrue(filter.isLoggable("com.acme.Foo", "debug"));
+        Assert.assertFalse(filter.isLoggable("org.springframework.Foo", "info"));
+        Assert.assertFalse(filter.isLoggable("com.acme.noisy.Foo", "warn"));
+
+        Assert.assertTrue(LoggerFilter.fromConfiguration(config, false).isLoggable("com.stackify.api.Foo", "error"));
+    }
+}
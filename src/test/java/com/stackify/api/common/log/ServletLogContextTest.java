@@ -16,6 +16,10 @@
 package com.stackify.api.common.log;
 
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -87,4 +91,83 @@ public class ServletLogContextTest {
 
 		Assert.assertNull(ServletLogContext.getWebRequest());
 	}
+
+	/**
+	 * testLazyWebRequest
+	 */
+	@Test
+	public void testLazyWebRequest() {
+		ServletLogContext.clear();
+
+		final AtomicInteger built = new AtomicInteger();
+
+		ServletLogContext.putWebRequest(new Supplier<WebRequestDetail>() {
+			@Override
+			public WebRequestDetail get() {
+				built.incrementAndGet();
+				return WebRequestDetail.newBuilder().requestUrl("/path").build();
+			}
+		});
+		ServletLogContext.putUser("user");
+
+		Assert.assertEquals(0, built.get());
+
+		WebRequestDetail webRequest = ServletLogContext.getWebRequest();
+
+		Assert.assertEquals("/path", webRequest.getRequestUrl());
+		Assert.assertSame(webRequest, ServletLogContext.getWebRequest());
+		Assert.assertEquals(1, built.get());
+
+		ServletLogContext.clear();
+	}
+
+	/**
+	 * testCaptureAndRestore
+	 */
+	@Test
+	public void testCaptureAndRestore() throws Exception {
+		ServletLogContext.clear();
+
+		ServletLogContext.putTransactionId("tx");
+		ServletLogContext.putUser("user");
+
+		ServletLogContext.Snapshot snapshot = ServletLogContext.capture();
+
+		// later changes do not affect the captured context
+
+		ServletLogContext.putUser("other");
+		Assert.assertEquals("other", ServletLogContext.getUser());
+
+		ServletLogContext.Snapshot previous = ServletLogContext.restore(snapshot);
+		Assert.assertEquals("user", ServletLogContext.getUser());
+		ServletLogContext.restore(previous);
+		Assert.assertEquals("other", ServletLogContext.getUser());
+
+		// hand the context to another thread
+
+		final AtomicReference<String> seen = new AtomicReference<String>();
+
+		Thread thread = new Thread(ServletLogContext.wrap(new Runnable() {
+			@Override
+			public void run() {
+				seen.set(ServletLogContext.getTransactionId());
+			}
+		}));
+		thread.start();
+		thread.join();
+
+		Assert.assertEquals("tx", seen.get());
+
+		Callable<String> user = ServletLogContext.wrap(new Callable<String>() {
+			@Override
+			public String call() {
+				return ServletLogContext.getUser();
+			}
+		});
+
+		ServletLogContext.clear();
+
+		Assert.assertEquals("other", user.call());
+		Assert.assertNull(ServletLogContext.getUser());
+	}
 }
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2026 Stackify
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stackify.api.common.log;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.stackify.api.LogMsg;
+
+/**
+ * TimeOrderedLogIdGenerator JUnit Test
+ */
+public class TimeOrderedLogIdGeneratorTest {
+
+    /**
+     * testLayout
+     */
+    @Test
+    public void testLayout() {
+        long before = System.currentTimeMillis();
+
+        LogMsg logMsg = new LogMsg();
+        new TimeOrderedLogIdGenerator(0xABC).assignId(logMsg);
+
+        long after = System.currentTimeMillis();
+
+        UUID uuid = UUID.fromString(logMsg.getId());
+        Assert.assertEquals(uuid.toString(), logMsg.getId());
+        Assert.assertEquals(7, uuid.version());
+        Assert.assertEquals(2, uuid.variant());
+        Assert.assertEquals(0xABC, uuid.getMostSignificantBits() & 0xFFF);
+
+        long timestamp = uuid.getMostSignificantBits() >>> 16;
+        Assert.assertTrue(before <= timestamp && timestamp <= after);
+    }
+
+    /**
+     * testUnique
+     */
+    @Test
+    public void testUnique() {
+        TimeOrderedLogIdGenerator generator = new TimeOrderedLogIdGenerator();
+        Set<String> ids = new HashSet<String>();
+
+        for (int i = 0; i < 10000; ++i) {
+            LogMsg logMsg = new LogMsg();
+            generator.assignId(logMsg);
+            Assert.assertTrue(ids.add(logMsg.getId()));
+        }
+    }
+
+    /**
+     * testTimeOrdered
+     */
+    @Test
+    public void testTimeOrdered() throws Exception {
+        TimeOrderedLogIdGenerator generator = new TimeOrderedLogIdGenerator();
+
+        LogMsg first = new LogMsg();
+        generator.assignId(first);
+
+        Thread.sleep(2);
+
+        LogMsg second = new LogMsg();
+        generator.assignId(second);
+
+        Assert.assertTrue(first.getId().compareTo(second.getId()) < 0);
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2026 Stackify
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stackify.api.common.log;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.stackify.api.WebRequestDetail;
+import com.stackify.api.common.ApiConfiguration;
+
+/**
+ * WebRequestFilter JUnit Test
+ */
+public class WebRequestFilterTest {
+
+    /**
+     * testNone
+     */
+    @Test
+    public void testNone() {
+        WebRequestDetail webRequest = newWebRequest();
+
+        Assert.assertSame(webRequest, WebRequestFilter.NONE.apply(webRequest));
+        Assert.assertSame(webRequest, WebRequestFilter.fromConfiguration(ApiConfiguration.newBuilder().build()).apply(webRequest));
+        Assert.assertNull(WebRequestFilter.NONE.apply(null));
+    }
+
+    /**
+     * testFromConfiguration
+     */
+    @Test
+    public void testFromConfiguration() {
+        WebRequestFilter filter = WebRequestFilter.fromConfiguration(ApiConfiguration.newBuilder()
+                .errorWebRequestHeaders("user-agent, X-Request-Id")
+                .errorWebRequestCookies("")
+                .build());
+
+        WebRequestDetail webRequest = newWebRequest();
+        WebRequestDetail filtered = filter.apply(webRequest);
+
+        Assert.assertEquals(2, filtered.getHeaders().size());
+        Assert.assertEquals("agent", filtered.getHeaders().get("User-Agent"));
+        Assert.assertEquals("id", filtered.getHeaders().get("x-request-id"));
+        Assert.assertTrue(filtered.getCookies().isEmpty());
+        Assert.assertEquals(webRequest.getQueryString(), filtered.getQueryString());
+        Assert.assertEquals("/path", filtered.getRequestUrl());
+
+        // the original is left alone
+        Assert.assertEquals(3, webRequest.getHeaders().size());
+    }
+
+    /**
+     * @return A web request with headers, cookies and a query string
+     */
+    private static WebRequestDetail newWebRequest() {
+        Map<String, String> headers = new HashMap<String, String>();
+        headers.put("User-Agent", "agent");
+        headers.put("x-request-id", "id");
+        headers.put("Authorization", "secret");
+
+        Map<String, String> cookies = new HashMap<String, String>();
+        cookies.put("JSESSIONID", "session");
+
+        Map<String, String> queryString = new HashMap<String, String>();
+        queryString.put("q", "query");
+
+        return WebRequestDetail.newBuilder()
+                .requestUrl("/path")
+                .headers(headers)
+                .cookies(cookies)
+                .queryString(queryString)
+                .build();
+    }
+}
@@ -18,11 +18,22 @@ package com.stackify.api.common.log.direct;
 import com.stackify.api.EnvironmentDetail;
 import com.stackify.api.ErrorItem;
 import com.stackify.api.LogMsg;
+import com.stackify.api.LogMsgGroup;
 import com.stackify.api.StackifyError;
+import com.stackify.api.common.ApiConfiguration;
+import com.stackify.api.common.AppIdentityService;
+import com.stackify.api.common.lang.StackTraceTrimmer;
+import com.stackify.api.common.log.LogCollector;
+import com.stackify.api.common.log.LogMsgPool;
+import com.stackify.api.common.log.LogPayload;
+import com.stackify.api.common.log.LogTransport;
 import org.junit.Assert;
+import org.junit.Assume;
 import org.junit.Test;
 import org.mockito.Mockito;
 
+import java.lang.management.ManagementFactory;
+
 /**
  * LogEventAdapterTest
  *
@@ -72,6 +83,36 @@ public class LogEventAdapterTest {
         Assert.assertEquals(exception.getClass().getCanonicalName(), errorItem.getErrorType());
     }
 
+    /**
+     * testGetStackifyErrorTrimmed
+     */
+    @Test
+    public void testGetStackifyErrorTrimmed() {
+        LogEventAdapter adapter = new LogEventAdapter(Mockito.mock(EnvironmentDetail.class));
+        Throwable exception = new NullPointerException();
+        LogEvent event = LogEvent.newBuilder().exception(exception).build();
+
+        StackTraceTrimmer trimmer = StackTraceTrimmer.newBuilder().maxFrames(1).build();
+
+        Assert.assertEquals(2, adapter.getStackifyError(event, exception, null, trimmer).getError().getStackTrace().size());
+        Assert.assertEquals(exception.getStackTrace().length, adapter.getStackifyError(event, exception).getError().getStackTrace().size());
+    }
+
+    /**
+     * testGetStackifyErrorSharesServerVariables
+     */
+    @Test
+    public void testGetStackifyErrorSharesServerVariables() {
+        LogEventAdapter adapter = new LogEventAdapter(Mockito.mock(EnvironmentDetail.class));
+        Throwable exception = new NullPointerException();
+
+        StackifyError first = adapter.getStackifyError(LogEvent.newBuilder().exception(exception).build(), exception);
+        StackifyError second = adapter.getStackifyError(LogEvent.newBuilder().exception(exception).build(), exception);
+
+        Assert.assertEquals(System.getProperty("java.version"), first.getServerVariables().get("java.version"));
+        Assert.assertSame(first.getServerVariables(), second.getServerVariables());
+    }
+
     /**
      * testGetLogMsg
      */
@@ -113,6 +154,31 @@ public class LogEventAdapterTest {
         Assert.assertNull(logMsg.getLevel());
     }
 
+    /**
+     * testGetLogMsgWithCaller
+     */
+    @Test
+    public void testGetLogMsgWithCaller() {
+        StackTraceElement caller = new StackTraceElement("com.acme.Foo", "bar", "Foo.java", 14);
+        LogEvent event = LogEvent.newBuilder().level("info").message("message").caller(caller).build();
+
+        Assert.assertEquals("com.acme.Foo", event.getClassName());
+        Assert.assertEquals("bar", event.getMethodName());
+        Assert.assertEquals(14, event.getLineNumber());
+
+        LogEventAdapter adapter = new LogEventAdapter(Mockito.mock(EnvironmentDetail.class));
+
+        LogMsg logMsg = adapter.getLogMsg(event, null);
+        Assert.assertEquals("com.acme.Foo.bar", logMsg.getSrcMethod());
+        Assert.assertEquals(Integer.valueOf(14), logMsg.getSrcLine());
+
+        LogMsg slot = adapter.fillLogMsg(event, null, new LogMsg());
+        Assert.assertEquals("com.acme.Foo.bar", slot.getSrcMethod());
+        Assert.assertEquals(Integer.valueOf(14), slot.getSrcLine());
+
+        Assert.assertNull(adapter.getLogMsg(LogEvent.newBuilder().message("message").build(), null).getSrcMethod());
+    }
+
     /**
      * testIsErrorLevel
      */
@@ -142,4 +208,107 @@ public class LogEventAdapterTest {
         LogEvent isStackify = LogEvent.newBuilder().className("com.stackify.api.common.log.LogBackgroundService").build();
         Assert.assertEquals("com.stackify.api.common.log.LogBackgroundService", adapter.getClassName(isStackify));
     }
+
+    /**
+     * testFillLogMsg
+     */
+    @Test
+    public void testFillLogMsg() {
+        LogEvent event = LogEvent.newBuilder().level("INFO").message("message").build();
+
+        EnvironmentDetail envDetail = Mockito.mock(EnvironmentDetail.class);
+        LogEventAdapter adapter = new LogEventAdapter(envDetail);
+
+        StackifyError error = Mockito.mock(StackifyError.class);
+        LogMsg slot = new LogMsg();
+
+        LogMsg logMsg = adapter.fillLogMsg(event, error, slot);
+        Assert.assertSame(slot, logMsg);
+        Assert.assertEquals("message", logMsg.getMsg());
+        Assert.assertEquals(error, logMsg.getEx());
+        Assert.assertEquals(event.getTimestamp(), logMsg.getEpochMs().longValue());
+        Assert.assertEquals("info", logMsg.getLevel());
+    }
+
+    /**
+     * testToImmutable
+     */
+    @Test
+    public void testToImmutable() {
+        LogEventAdapter adapter = new LogEventAdapter(Mockito.mock(EnvironmentDetail.class));
+
+        LogEvent built = LogEvent.newBuilder().level("INFO").message("message").build();
+        Assert.assertSame(built, adapter.toImmutable(built));
+
+        LogEvent reusable = new LogEvent();
+        reusable.reset("INFO", "message", null, null);
+
+        LogEvent copy = adapter.toImmutable(reusable);
+        reusable.clear();
+
+        Assert.assertNotSame(reusable, copy);
+        Assert.assertEquals("message", copy.getMessage());
+        Assert.assertEquals(reusable.getTimestamp(), copy.getTimestamp());
+    }
+
+    /**
+     * testGarbageFreeSteadyStateAllocation
+     */
+    @Test
+    public void testGarbageFreeSteadyStateAllocation() throws Exception {
+        java.lang.management.ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(threadBean instanceof com.sun.management.ThreadMXBean);
+
+        com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+        Assume.assumeTrue(allocationBean.isThreadAllocatedMemorySupported());
+        allocationBean.setThreadAllocatedMemoryEnabled(true);
+
+        EnvironmentDetail envDetail = Mockito.mock(EnvironmentDetail.class);
+        ApiConfiguration config = ApiConfiguration.newBuilder().envDetail(envDetail).logGarbageFree(true).build();
+
+        LogEventAdapter adapter = new LogEventAdapter(envDetail);
+        LogCollector collector = new LogCollector("logger", config, Mockito.mock(AppIdentityService.class));
+        LogEvent event = new LogEvent();
+        String message = "message";
+        int perRound = 1000;
+        long allocated = 0;
+
+        LogTransport transport = Mockito.mock(LogTransport.class);
+        Mockito.when(transport.encode(Mockito.any(LogMsgGroup.class))).thenReturn(new LogPayload(new byte[] {1}, perRound));
+        LogMsgPool pool = collector.getLogMsgPool();
+
+        // mirrors LogAppender.append and Logger.queueMessage in garbage-free mode
+
+        for (int round = 0; round < 20; ++round) {
+            long threadId = Thread.currentThread().getId();
+            long before = allocationBean.getThreadAllocatedBytes(threadId);
+
+            for (int i = 0; i < perRound; ++i) {
+                event.reset("INFO", message, null, null);
+                collector.addLogMsg(adapter.fillLogMsg(event, null, pool.acquire()));
+                event.clear();
+            }
+
+            long after = allocationBean.getThreadAllocatedBytes(threadId);
+
+            // the first rounds fill the pool and warm up the JIT
+
+            if (10 <= round) {
+                allocated += after - before;
+            }
+
+            Assert.assertEquals(perRound, collector.flush(transport));
+
+            long deadline = System.currentTimeMillis() + 10000;
+
+            while (pool.size() < perRound && System.currentTimeMillis() < deadline) {
+                Thread.sleep(1);
+            }
+        }
+
+        // only the boxed timestamp is left on the append path
+
+        long perAppend = allocated / (10 * perRound);
+        Assert.assertTrue("allocated " + perAppend + " bytes per append", perAppend < 64);
+    }
 }
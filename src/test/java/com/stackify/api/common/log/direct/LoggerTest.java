@@ -15,15 +15,22 @@
  */
 package com.stackify.api.common.log.direct;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 
+import com.stackify.api.common.log.AppendResult;
 import com.stackify.api.common.log.LogAppender;
 
 /**
@@ -123,4 +130,107 @@ public class LoggerTest {
 		Assert.assertNotNull(eventCaptor.getValue().getMethodName());
 		Assert.assertTrue(0 < eventCaptor.getValue().getLineNumber());
 	}
+
+	/**
+	 * testQueueMessageCallerLocation
+	 */
+	@Test
+	public void testQueueMessageCallerLocation() {
+		LogAppender<LogEvent> appender = Mockito.mock(LogAppender.class);
+		PowerMockito.mockStatic(LogManager.class);
+		PowerMockito.when(LogManager.getAppender()).thenReturn(appender);
+
+		Logger.queueMessage("INFO", "message");
+
+		Mockito.when(appender.isCallerLocation()).thenReturn(true);
+
+		for (int i = 0; i < 2; ++i) {
+			Logger.queueMessage("INFO", "message");
+		}
+
+		ArgumentCaptor<LogEvent> eventCaptor = ArgumentCaptor.forClass(LogEvent.class);
+		Mockito.verify(appender, Mockito.times(3)).append(eventCaptor.capture());
+
+		Assert.assertNull(eventCaptor.getAllValues().get(0).getCallSite());
+
+		LogEvent event = eventCaptor.getAllValues().get(1);
+		Assert.assertEquals(LoggerTest.class.getName(), event.getClassName());
+		Assert.assertEquals("testQueueMessageCallerLocation", event.getMethodName());
+		Assert.assertEquals(LoggerTest.class.getName() + ".testQueueMessageCallerLocation", event.getCallSite().getMethod());
+		Assert.assertEquals(Integer.valueOf(event.getLineNumber()), event.getCallSite().getLineNum());
+
+		// same call site, same frame
+		Assert.assertSame(event.getCallSite(), eventCaptor.getAllValues().get(2).getCallSite());
+	}
+
+	/**
+	 * testQueueMessageGarbageFree
+	 */
+	@Test
+	public void testQueueMessageGarbageFree() {
+		LogAppender<LogEvent> appender = Mockito.mock(LogAppender.class);
+		Mockito.when(appender.isGarbageFree()).thenReturn(true);
+		PowerMockito.mockStatic(LogManager.class);
+		PowerMockito.when(LogManager.getAppender()).thenReturn(appender);
+
+		final List<String> messages = new ArrayList<String>();
+
+		Mockito.doAnswer(new Answer<Void>() {
+			@Override
+			public Void answer(final InvocationOnMock invocation) {
+				messages.add(((LogEvent) invocation.getArguments()[0]).getMessage());
+				return null;
+			}
+		}).when(appender).append(Mockito.any(LogEvent.class));
+
+		Logger.queueMessage("INFO", "first");
+		Logger.queueMessage("INFO", "second");
+
+		ArgumentCaptor<LogEvent> eventCaptor = ArgumentCaptor.forClass(LogEvent.class);
+		Mockito.verify(appender, Mockito.times(2)).append(eventCaptor.capture());
+
+		Assert.assertSame(eventCaptor.getAllValues().get(0), eventCaptor.getAllValues().get(1));
+		Assert.assertEquals(Arrays.asList("first", "second"), messages);
+		Assert.assertNull(eventCaptor.getValue().getMessage());
+	}
+
+	/**
+	 * testTryQueueMessage
+	 */
+	@Test
+	public void testTryQueueMessage() {
+		PowerMockito.mockStatic(LogManager.class);
+		PowerMockito.when(LogManager.getAppender()).thenReturn(null);
+
+		Assert.assertEquals(AppendResult.NOT_RUNNING, Logger.tryQueueMessage("INFO", "message", 0));
+
+		LogAppender<LogEvent> appender = Mockito.mock(LogAppender.class);
+		Mockito.when(appender.tryAppend(Mockito.any(LogEvent.class), Mockito.eq(5L))).thenReturn(AppendResult.DROPPED_FULL);
+		PowerMockito.when(LogManager.getAppender()).thenReturn(appender);
+
+		Assert.assertEquals(AppendResult.DROPPED_FULL, Logger.tryQueueMessage("INFO", "message", 5));
+
+		ArgumentCaptor<LogEvent> eventCaptor = ArgumentCaptor.forClass(LogEvent.class);
+		Mockito.verify(appender).tryAppend(eventCaptor.capture(), Mockito.eq(5L));
+		Assert.assertEquals("message", eventCaptor.getValue().getMessage());
+	}
+
+	/**
+	 * testTryQueueException
+	 */
+	@Test
+	public void testTryQueueException() {
+		LogAppender<LogEvent> appender = Mockito.mock(LogAppender.class);
+		Mockito.when(appender.tryAppend(Mockito.any(LogEvent.class), Mockito.eq(0L))).thenReturn(AppendResult.ACCEPTED);
+		PowerMockito.mockStatic(LogManager.class);
+		PowerMockito.when(LogManager.getAppender()).thenReturn(appender);
+
+		Throwable exception = new NullPointerException();
+
+		Assert.assertEquals(AppendResult.ACCEPTED, Logger.tryQueueException("ERROR", "message", exception, 0));
+
+		ArgumentCaptor<LogEvent> eventCaptor = ArgumentCaptor.forClass(LogEvent.class);
+		Mockito.verify(appender).tryAppend(eventCaptor.capture(), Mockito.eq(0L));
+		Assert.assertEquals(exception, eventCaptor.getValue().getException());
+	}
 }
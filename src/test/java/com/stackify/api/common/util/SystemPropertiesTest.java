@@ -0,0 +1,69 @@
+/*
+ * Copyright 2026 Stackify
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stackify.api.common.util;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * SystemProperties JUnit Test
+ */
+public class SystemPropertiesTest {
+
+    /**
+     * testSnapshot
+     */
+    @Test
+    public void testSnapshot() {
+        String key = "stackify.test.SystemPropertiesTest";
+        long now = System.nanoTime();
+        long second = TimeUnit.SECONDS.toNanos(1);
+
+        Map<String, String> snapshot = SystemProperties.snapshot(now);
+
+        Assert.assertEquals(System.getProperty("java.version"), snapshot.get("java.version"));
+
+        // unchanged properties share the snapshot
+
+        Assert.assertSame(snapshot, SystemProperties.snapshot(now + second));
+
+        try {
+            System.setProperty(key, "value");
+
+            // not checked again within a second
+
+            Assert.assertSame(snapshot, SystemProperties.snapshot(now + second + 1));
+
+            Map<String, String> changed = SystemProperties.snapshot(now + 2 * second);
+
+            Assert.assertNotSame(snapshot, changed);
+            Assert.assertEquals("value", changed.get(key));
+            Assert.assertNull(snapshot.get(key));
+        } finally {
+            System.clearProperty(key);
+        }
+
+        try {
+            snapshot.put(key, "value");
+            Assert.fail();
+        } catch (UnsupportedOperationException e) {
+            Assert.assertNull(snapshot.get(key));
+        }
+    }
+}